@@ -27,6 +27,22 @@ repositories {
     mavenCentral()
 }
 
+/**
+ * UidBenchmark needs uid-generator in the local maven repository, so it is only built with -PuidGenerator.
+ */
+val UID_GENERATOR_KEY = "uidGenerator"
+val uidGeneratorEnabled = project.hasProperty(UID_GENERATOR_KEY)
+
+sourceSets {
+    named("jmh") {
+        java {
+            if (!uidGeneratorEnabled) {
+                exclude("**/UidBenchmark.java")
+            }
+        }
+    }
+}
+
 dependencies {
     implementation("me.ahoo.cosid:cosid-jdbc:1.15.2")
     implementation("me.ahoo.cosid:cosid-test:1.15.2")
@@ -44,6 +60,15 @@ dependencies {
      * mvn install -Dmaven.test.skip=true
      */
 //    testImplementation("com.xiaoju.uemc.tinyid:tinyid-client:0.1.0-SNAPSHOT")
+    /**
+     * WARNING：中央仓库没有找到百度官方提供的Jar!!!
+     * git clone https://github.com/baidu/uid-generator
+     * mvn install -Dmaven.test.skip=true
+     * gradle cosid-benchmark:jmh -PuidGenerator
+     */
+    if (uidGeneratorEnabled) {
+        jmh("com.baidu.fsg:uid-generator:1.0.0-SNAPSHOT")
+    }
 
     jmh("org.openjdk.jmh:jmh-core:1.35")
     jmh("org.openjdk.jmh:jmh-generator-annprocess:1.35")
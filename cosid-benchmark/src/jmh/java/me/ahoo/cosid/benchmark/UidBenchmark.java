@@ -13,10 +13,86 @@
 
 package me.ahoo.cosid.benchmark;
 
+import me.ahoo.cosid.snowflake.RingSnowflakeId;
+import me.ahoo.cosid.snowflake.SecondSnowflakeId;
+
+import com.baidu.fsg.uid.impl.CachedUidGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
 /**
- * TODO
+ * Pre-filled ring of {@link RingSnowflakeId} head to head with Baidu {@link CachedUidGenerator}.
+ * Both use the same bit layout and ring capacity, and both borrow future seconds while filling.
+ * Only built with {@code -PuidGenerator}, see {@code build.gradle.kts}.
  *
  * @author ahoo wang
  */
+@State(Scope.Benchmark)
 public class UidBenchmark {
+    /**
+     * The default epoch of {@link CachedUidGenerator} has exhausted its 28 time bits.
+     */
+    private static final String EPOCH = "2024-01-01";
+    private static final int TIME_BITS = 28;
+    private static final int WORKER_BITS = 22;
+    private static final int SEQ_BITS = 13;
+    private static final int BOOST_POWER = 3;
+    private static final int PADDING_FACTOR = 50;
+    private static final long MAX_LOOKAHEAD_SECONDS = 60;
+    
+    CachedUidGenerator cachedUidGenerator;
+    RingSnowflakeId ringSnowflakeId;
+    
+    @Setup
+    public void setup() throws Exception {
+        cachedUidGenerator = new CachedUidGenerator();
+        cachedUidGenerator.setWorkerIdAssigner(() -> 1L);
+        cachedUidGenerator.setTimeBits(TIME_BITS);
+        cachedUidGenerator.setWorkerBits(WORKER_BITS);
+        cachedUidGenerator.setSeqBits(SEQ_BITS);
+        cachedUidGenerator.setBoostPower(BOOST_POWER);
+        cachedUidGenerator.setPaddingFactor(PADDING_FACTOR);
+        cachedUidGenerator.setEpochStr(EPOCH);
+        cachedUidGenerator.afterPropertiesSet();
+        
+        int capacity = (1 << SEQ_BITS) << BOOST_POWER;
+        long epoch = LocalDate.parse(EPOCH).atStartOfDay(ZoneId.systemDefault()).toEpochSecond();
+        SecondSnowflakeId secondSnowflakeId = new SecondSnowflakeId(epoch, TIME_BITS, WORKER_BITS, SEQ_BITS, 1,
+            SecondSnowflakeId.DEFAULT_SEQUENCE_RESET_THRESHOLD, MAX_LOOKAHEAD_SECONDS);
+        ringSnowflakeId = new RingSnowflakeId(secondSnowflakeId, capacity, PADDING_FACTOR, RingSnowflakeId.DEFAULT_FILL_EXECUTOR);
+    }
+    
+    @Benchmark
+    public long cachedUidGenerator_generate() {
+        return cachedUidGenerator.getUID();
+    }
+    
+    @Benchmark
+    public long ringSnowflakeId_generate() {
+        return ringSnowflakeId.generate();
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long cachedUidGenerator_generate_multiThread() {
+        return cachedUidGenerator.getUID();
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long ringSnowflakeId_generate_multiThread() {
+        return ringSnowflakeId.generate();
+    }
+    
+    @TearDown
+    public void tearDown() throws Exception {
+        cachedUidGenerator.destroy();
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid;
+
+import static me.ahoo.cosid.segment.IdSegment.TIME_TO_LIVE_FOREVER;
+
+import me.ahoo.cosid.segment.DefaultSegmentId;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.SegmentChainId;
+import me.ahoo.cosid.segment.SegmentId;
+import me.ahoo.cosid.segment.concurrent.PrefetchWorkerExecutorService;
+import me.ahoo.cosid.snowflake.ClockSyncSnowflakeId;
+import me.ahoo.cosid.snowflake.MillisecondSnowflakeId;
+import me.ahoo.cosid.snowflake.SnowflakeId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Batch generate Benchmark.
+ *
+ * @author ahoo wang
+ */
+@State(Scope.Benchmark)
+public class BatchGenerateBenchmark {
+    
+    @Param({"100", "5000"})
+    int batchSize;
+    SegmentId segmentId;
+    SegmentChainId segmentChainId;
+    SnowflakeId snowflakeId;
+    
+    /**
+     * Initialize IdGenerator.
+     */
+    @Setup
+    public void setup() {
+        segmentId = new DefaultSegmentId(new IdSegmentDistributor.Mock());
+        segmentChainId = new SegmentChainId(TIME_TO_LIVE_FOREVER, 10, new IdSegmentDistributor.Mock(), PrefetchWorkerExecutorService.DEFAULT);
+        snowflakeId = new ClockSyncSnowflakeId(new MillisecondSnowflakeId(1));
+    }
+    
+    private long[] loopGenerate(IdGenerator idGenerator) {
+        long[] ids = new long[batchSize];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = idGenerator.generate();
+        }
+        return ids;
+    }
+    
+    @Benchmark
+    public long[] segmentId_loopGenerate() {
+        return loopGenerate(segmentId);
+    }
+    
+    @Benchmark
+    public long[] segmentId_batchGenerate() {
+        return segmentId.generate(batchSize);
+    }
+    
+    @Benchmark
+    public long[] segmentChainId_loopGenerate() {
+        return loopGenerate(segmentChainId);
+    }
+    
+    @Benchmark
+    public long[] segmentChainId_batchGenerate() {
+        return segmentChainId.generate(batchSize);
+    }
+    
+    @Benchmark
+    public long[] snowflakeId_loopGenerate() {
+        return loopGenerate(snowflakeId);
+    }
+    
+    @Benchmark
+    public long[] snowflakeId_batchGenerate() {
+        return snowflakeId.generate(batchSize);
+    }
+}
@@ -14,6 +14,7 @@
 package me.ahoo.cosid;
 
 import me.ahoo.cosid.util.Clock;
+import me.ahoo.cosid.util.MillisecondClock;
 
 import org.openjdk.jmh.annotations.Benchmark;
 
@@ -38,4 +39,14 @@ public class ClockBenchmark {
     public long cacheSecondTime() {
         return Clock.CACHE.secondTime();
     }
+
+    @Benchmark
+    public long tickerTime() {
+        return MillisecondClock.of(MillisecondClock.Type.TICKER).currentTimeMillis();
+    }
+
+    @Benchmark
+    public long hybridPreciseTime() {
+        return MillisecondClock.of(MillisecondClock.Type.HYBRID).preciseTimeMillis();
+    }
 }
@@ -41,6 +41,7 @@ public class CosIdGeneratorBenchmark {
     CosIdGenerator radix62CosIdGenerator;
     CosIdGenerator radix36CosIdGenerator;
     CosIdGenerator customizeRadix62CosIdGenerator;
+    String radix62Id;
     
     /**
      * Initialize IdGenerator.
@@ -54,6 +55,7 @@ public class CosIdGeneratorBenchmark {
         final int customizeSequenceResetThreshold = ~(-1 << (customizeSequenceBit - 1));
         customizeRadix62CosIdGenerator =
             new ClockSyncCosIdGenerator(new Radix62CosIdGenerator(DEFAULT_TIMESTAMP_BIT, DEFAULT_MACHINE_BIT, customizeSequenceBit, 1, customizeSequenceResetThreshold));
+        radix62Id = radix62CosIdGenerator.generateAsString();
     }
     
     @Benchmark
@@ -95,4 +97,14 @@ public class CosIdGeneratorBenchmark {
     public CosIdState cosIdGeneratorCustomize62_generateAsState() {
         return customizeRadix62CosIdGenerator.generateAsState();
     }
+    
+    @Benchmark
+    public String cosIdGenerator62_generateAsStringViaState() {
+        return radix62CosIdGenerator.getStateParser().asString(radix62CosIdGenerator.generateAsState());
+    }
+    
+    @Benchmark
+    public CosIdState cosIdGenerator62_asState() {
+        return radix62CosIdGenerator.getStateParser().asState(radix62Id);
+    }
 }
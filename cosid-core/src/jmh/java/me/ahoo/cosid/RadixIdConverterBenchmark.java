@@ -0,0 +1,84 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid;
+
+import me.ahoo.cosid.converter.Radix62IdConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Radix IdConverter Benchmark.
+ *
+ * @author ahoo wang
+ */
+@State(Scope.Thread)
+public class RadixIdConverterBenchmark {
+    
+    long id;
+    String idString;
+    byte[] bytes;
+    char[] chars;
+    ByteBuffer byteBuffer;
+    
+    /**
+     * Initialize buffers.
+     */
+    @Setup
+    public void setup() {
+        id = System.currentTimeMillis() << 22;
+        idString = Radix62IdConverter.PAD_START.asString(id);
+        bytes = new byte[Radix62IdConverter.MAX_CHAR_SIZE];
+        chars = new char[Radix62IdConverter.MAX_CHAR_SIZE];
+        byteBuffer = ByteBuffer.allocateDirect(Radix62IdConverter.MAX_CHAR_SIZE);
+    }
+    
+    @Benchmark
+    public String asString() {
+        return Radix62IdConverter.PAD_START.asString(id++);
+    }
+    
+    @Benchmark
+    public byte[] encodeBytes() {
+        Radix62IdConverter.PAD_START.encode(id++, bytes, 0);
+        return bytes;
+    }
+    
+    @Benchmark
+    public char[] encodeChars() {
+        Radix62IdConverter.PAD_START.encode(id++, chars, 0);
+        return chars;
+    }
+    
+    @Benchmark
+    public ByteBuffer encodeByteBuffer() {
+        byteBuffer.clear();
+        Radix62IdConverter.PAD_START.encode(id++, byteBuffer);
+        return byteBuffer;
+    }
+    
+    @Benchmark
+    public long asLong() {
+        return Radix62IdConverter.PAD_START.asLong(idString);
+    }
+    
+    @Benchmark
+    public long asLongBytes() {
+        return Radix62IdConverter.PAD_START.asLong(bytes, 0, bytes.length);
+    }
+}
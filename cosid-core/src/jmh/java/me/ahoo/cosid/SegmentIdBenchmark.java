@@ -20,6 +20,7 @@ import me.ahoo.cosid.segment.DefaultSegmentId;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 import me.ahoo.cosid.segment.SegmentChainId;
 import me.ahoo.cosid.segment.SegmentId;
+import me.ahoo.cosid.segment.ThreadLocalSegmentId;
 import me.ahoo.cosid.segment.concurrent.PrefetchWorkerExecutorService;
 
 import org.openjdk.jmh.annotations.Benchmark;
@@ -40,6 +41,7 @@ public class SegmentIdBenchmark {
     
     SegmentId segmentId;
     SegmentChainId segmentChainId;
+    ThreadLocalSegmentId threadLocalSegmentId;
     AtomicLongGenerator atomicLongGenerator;
     
     /**
@@ -50,6 +52,7 @@ public class SegmentIdBenchmark {
         atomicLongGenerator = new AtomicLongGenerator();
         segmentId = new DefaultSegmentId(new IdSegmentDistributor.Mock());
         segmentChainId = new SegmentChainId(TIME_TO_LIVE_FOREVER, 10, new IdSegmentDistributor.Mock(), PrefetchWorkerExecutorService.DEFAULT);
+        threadLocalSegmentId = new ThreadLocalSegmentId(new SegmentChainId(TIME_TO_LIVE_FOREVER, 10, new IdSegmentDistributor.Mock(), PrefetchWorkerExecutorService.DEFAULT));
     }
     
     @Benchmark
@@ -71,5 +74,10 @@ public class SegmentIdBenchmark {
     public long segmentChainId_generate() {
         return segmentChainId.generate();
     }
+    
+    @Benchmark
+    public long threadLocalSegmentId_generate() {
+        return threadLocalSegmentId.generate();
+    }
 
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid;
+
+import me.ahoo.cosid.converter.SnowflakeFriendlyIdConverter;
+import me.ahoo.cosid.snowflake.MillisecondSnowflakeId;
+import me.ahoo.cosid.snowflake.MillisecondSnowflakeIdStateParser;
+import me.ahoo.cosid.snowflake.SnowflakeId;
+import me.ahoo.cosid.snowflake.SnowflakeIdStateParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Snowflake FriendlyId Benchmark.
+ *
+ * @author ahoo wang
+ */
+@State(Scope.Benchmark)
+public class SnowflakeFriendlyIdBenchmark {
+    SnowflakeId snowflakeId;
+    SnowflakeIdStateParser stateParser;
+    long id;
+    String friendlyId;
+    
+    /**
+     * Initialize IdGenerator.
+     */
+    @Setup
+    public void setup() {
+        snowflakeId = new MillisecondSnowflakeId(1);
+        stateParser = MillisecondSnowflakeIdStateParser.INSTANCE;
+        id = snowflakeId.generate();
+        friendlyId = stateParser.asFriendlyId(id);
+    }
+    
+    @Benchmark
+    public String parser_asString() {
+        return stateParser.parse(snowflakeId.generate()).getFriendlyId();
+    }
+    
+    @Benchmark
+    public String converter_asString() {
+        return SnowflakeFriendlyIdConverter.INSTANCE.asString(snowflakeId.generate());
+    }
+    
+    @Benchmark
+    public long parser_asLong() {
+        return stateParser.parse(friendlyId).getId();
+    }
+    
+    @Benchmark
+    public long converter_asLong() {
+        return SnowflakeFriendlyIdConverter.INSTANCE.asLong(friendlyId);
+    }
+}
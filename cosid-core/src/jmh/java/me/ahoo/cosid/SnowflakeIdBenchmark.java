@@ -16,17 +16,21 @@ package me.ahoo.cosid;
 import me.ahoo.cosid.machine.ClockBackwardsSynchronizer;
 import me.ahoo.cosid.snowflake.ClockSyncSnowflakeId;
 import me.ahoo.cosid.snowflake.DefaultSnowflakeFriendlyId;
+import me.ahoo.cosid.snowflake.LockFreeMillisecondSnowflakeId;
 import me.ahoo.cosid.snowflake.MillisecondSnowflakeId;
+import me.ahoo.cosid.snowflake.RingSnowflakeId;
 import me.ahoo.cosid.snowflake.SafeJavaScriptSnowflakeId;
 import me.ahoo.cosid.snowflake.SecondSnowflakeId;
 import me.ahoo.cosid.snowflake.SnowflakeFriendlyId;
 import me.ahoo.cosid.snowflake.SnowflakeId;
 import me.ahoo.cosid.snowflake.SnowflakeIdState;
+import me.ahoo.cosid.snowflake.StripedSnowflakeId;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
 
 /**
  * SnowflakeId Benchmark.
@@ -36,7 +40,10 @@ import org.openjdk.jmh.annotations.State;
 @State(Scope.Benchmark)
 public class SnowflakeIdBenchmark {
     SnowflakeId millisecondSnowflakeId;
+    SnowflakeId lockFreeMillisecondSnowflakeId;
+    SnowflakeId stripedSnowflakeId;
     SnowflakeId secondSnowflakeId;
+    SnowflakeId ringSecondSnowflakeId;
     SnowflakeId safeJsMillisecondSnowflakeId;
     SnowflakeId safeJsSecondSnowflakeId;
     SnowflakeFriendlyId snowflakeFriendlyId;
@@ -47,7 +54,10 @@ public class SnowflakeIdBenchmark {
     @Setup
     public void setup() {
         millisecondSnowflakeId = new ClockSyncSnowflakeId(new MillisecondSnowflakeId(1));
+        lockFreeMillisecondSnowflakeId = new ClockSyncSnowflakeId(new LockFreeMillisecondSnowflakeId(1));
+        stripedSnowflakeId = new ClockSyncSnowflakeId(new StripedSnowflakeId(1));
         secondSnowflakeId = new ClockSyncSnowflakeId(new SecondSnowflakeId(1));
+        ringSecondSnowflakeId = new RingSnowflakeId(new SecondSnowflakeId(1));
         safeJsSecondSnowflakeId = new ClockSyncSnowflakeId(SafeJavaScriptSnowflakeId.ofSecond(1));
         safeJsMillisecondSnowflakeId = new ClockSyncSnowflakeId(SafeJavaScriptSnowflakeId.ofMillisecond(1));
         snowflakeFriendlyId = new DefaultSnowflakeFriendlyId(new ClockSyncSnowflakeId(new MillisecondSnowflakeId(1), ClockBackwardsSynchronizer.DEFAULT));
@@ -58,6 +68,29 @@ public class SnowflakeIdBenchmark {
         return millisecondSnowflakeId.generate();
     }
 
+    @Benchmark
+    public long lockFreeMillisecondSnowflakeId_generate() {
+        return lockFreeMillisecondSnowflakeId.generate();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long millisecondSnowflakeId_generate_multiThread() {
+        return millisecondSnowflakeId.generate();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long lockFreeMillisecondSnowflakeId_generate_multiThread() {
+        return lockFreeMillisecondSnowflakeId.generate();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long stripedSnowflakeId_generate_multiThread() {
+        return stripedSnowflakeId.generate();
+    }
+
     @Benchmark
     public SnowflakeIdState millisecondSnowflakeId_friendlyId() {
         return snowflakeFriendlyId.friendlyId();
@@ -68,6 +101,17 @@ public class SnowflakeIdBenchmark {
         return secondSnowflakeId.generate();
     }
 
+    @Benchmark
+    public long ringSecondSnowflakeId_generate() {
+        return ringSecondSnowflakeId.generate();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long ringSecondSnowflakeId_generate_multiThread() {
+        return ringSecondSnowflakeId.generate();
+    }
+
     @Benchmark
     public long safeJsMillisecondSnowflakeId_generate() {
         return safeJsMillisecondSnowflakeId.generate();
@@ -40,4 +40,33 @@ public interface IdConverter {
      * @return {@code long} type ID
      */
     long asLong(@Nonnull String idString);
+    
+    /**
+     * write {@code long} type ID into {@code dst} starting at {@code offset}, so that streaming writers need not materialize a {@link String}.
+     *
+     * @param id     {@code long} type ID
+     * @param dst    destination buffer
+     * @param offset destination offset
+     * @return the number of written chars, {@code -1} if {@code dst} has not enough chars left and nothing is written
+     */
+    default int asChars(long id, @Nonnull char[] dst, int offset) {
+        String idString = asString(id);
+        if (idString.length() > dst.length - offset) {
+            return -1;
+        }
+        idString.getChars(0, idString.length(), dst, offset);
+        return idString.length();
+    }
+    
+    /**
+     * convert the ID chars in {@code src} from {@code offset} to {@code offset + length} to {@code long}.
+     *
+     * @param src    source chars
+     * @param offset source offset
+     * @param length ID length
+     * @return {@code long} type ID
+     */
+    default long asLong(@Nonnull char[] src, int offset, int length) {
+        return asLong(new String(src, offset, length));
+    }
 }
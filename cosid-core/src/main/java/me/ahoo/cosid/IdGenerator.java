@@ -43,6 +43,31 @@ public interface IdGenerator extends StringIdGenerator {
      */
     long generate();
     
+    /**
+     * Generate distributed IDs in bulk, filling the whole {@code ids} buffer.
+     * Implementations may claim the whole batch at once instead of generating the IDs one by one.
+     *
+     * @param ids buffer to be filled with generated distributed IDs
+     */
+    default void generate(long[] ids) {
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = generate();
+        }
+    }
+    
+    /**
+     * Generate {@code count} distributed IDs in bulk.
+     *
+     * @param count number of IDs to generate
+     * @return generated distributed IDs
+     */
+    @Nonnull
+    default long[] generate(int count) {
+        long[] ids = new long[count];
+        generate(ids);
+        return ids;
+    }
+    
     @Nonnull
     @Override
     default String generateAsString() {
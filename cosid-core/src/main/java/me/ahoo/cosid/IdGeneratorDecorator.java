@@ -31,4 +31,9 @@ public interface IdGeneratorDecorator extends IdGenerator {
         return getActual().generate();
     }
     
+    @Override
+    default void generate(long[] ids) {
+        getActual().generate(ids);
+    }
+    
 }
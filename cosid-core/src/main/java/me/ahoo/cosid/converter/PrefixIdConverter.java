@@ -16,6 +16,7 @@ package me.ahoo.cosid.converter;
 import me.ahoo.cosid.IdConverter;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
 
 import javax.annotation.Nonnull;
 
@@ -54,4 +55,36 @@ public class PrefixIdConverter implements IdConverter {
         String idStr = idString.substring(prefix.length());
         return idConverter.asLong(idStr);
     }
+    
+    @Override
+    public int asChars(long id, @Nonnull char[] dst, int offset) {
+        final int prefixLength = prefix.length();
+        if (prefixLength > dst.length - offset) {
+            return -1;
+        }
+        final int idLength = idConverter.asChars(id, dst, offset + prefixLength);
+        if (idLength < 0) {
+            return -1;
+        }
+        prefix.getChars(0, prefixLength, dst, offset);
+        return prefixLength + idLength;
+    }
+    
+    @Override
+    public long asLong(@Nonnull char[] src, int offset, int length) {
+        final int prefixLength = prefix.length();
+        if (length < prefixLength || !startsWithPrefix(src, offset)) {
+            throw new NumberFormatException(Strings.lenientFormat("For input string:[%s]. must start with prefix:[%s]!", new String(src, offset, Math.max(0, length)), prefix));
+        }
+        return idConverter.asLong(src, offset + prefixLength, length - prefixLength);
+    }
+    
+    private boolean startsWithPrefix(char[] src, int offset) {
+        for (int i = 0; i < prefix.length(); i++) {
+            if (src[offset + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -19,6 +19,8 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 
 import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 public abstract class RadixIdConverter implements IdConverter {
     /**
@@ -70,9 +72,34 @@ public abstract class RadixIdConverter implements IdConverter {
     
     public static final char PAD_CHAR = ZERO;
     
+    /**
+     * digit char -> offset, {@code -1} if not a digit char.
+     */
+    private static final byte[] OFFSETS = new byte[LOWERCASE_Z + 1];
+    
+    static {
+        for (int i = 0; i < OFFSETS.length; i++) {
+            OFFSETS[i] = -1;
+        }
+        for (int i = 0; i < digits.length; i++) {
+            OFFSETS[digits[i]] = (byte) i;
+        }
+    }
+    
     private final boolean padStart;
     private final int charSize;
     private final long maxId;
+    private final int radix;
+    private final int radixSquare;
+    /**
+     * two digit chars of every value in {@code [0, radix^2)}, so that each division emits two chars.
+     */
+    private final char[] pairChars;
+    private final byte[] pairBytes;
+    /**
+     * {@code radix^i}, used to count the digits of an id without dividing.
+     */
+    private final long[] powers;
     
     protected RadixIdConverter(boolean padStart, int charSize) {
         Preconditions.checkArgument(charSize > 0 && charSize <= getMaxCharSize(), "charSize cannot be greater than MAX_CHAR_SIZE[%s]!", getMaxCharSize());
@@ -83,19 +110,31 @@ public abstract class RadixIdConverter implements IdConverter {
         } else {
             this.maxId = Double.valueOf(Math.pow(getRadix(), charSize)).longValue();
         }
+        this.radix = getRadix();
+        this.radixSquare = radix * radix;
+        this.pairChars = new char[radixSquare * 2];
+        this.pairBytes = new byte[radixSquare * 2];
+        for (int value = 0; value < radixSquare; value++) {
+            pairChars[value * 2] = digits[value / radix];
+            pairChars[value * 2 + 1] = digits[value % radix];
+            pairBytes[value * 2] = (byte) pairChars[value * 2];
+            pairBytes[value * 2 + 1] = (byte) pairChars[value * 2 + 1];
+        }
+        this.powers = new long[getMaxCharSize()];
+        long power = 1;
+        for (int i = 0; i < powers.length; i++) {
+            powers[i] = power;
+            if (i < powers.length - 1) {
+                power *= radix;
+            }
+        }
     }
     
     public static int offset(char digitChar) {
-        if (digitChar >= ZERO && digitChar <= NINE) {
-            return digitChar - ZERO;
-        }
-        if (digitChar >= UPPERCASE_A && digitChar <= UPPERCASE_Z) {
-            return digitChar - UPPERCASE_A + UPPERCASE_OFFSET;
-        }
-        if (digitChar >= LOWERCASE_A && digitChar <= LOWERCASE_Z) {
-            return digitChar - LOWERCASE_A + LOWERCASE_OFFSET;
+        if (digitChar >= OFFSETS.length) {
+            return -1;
         }
-        return -1;
+        return OFFSETS[digitChar];
     }
     
     public static int maxCharSize(int radix, int bits) {
@@ -120,57 +159,223 @@ public abstract class RadixIdConverter implements IdConverter {
     
     abstract int getMaxCharSize();
     
+    private void checkId(long id) {
+        Preconditions.checkArgument(id > -1, "id[%s] must be greater than -1!", id);
+        if (charSize < getMaxCharSize()) {
+            Preconditions.checkArgument(id < maxId, "id[%s] cannot be greater than maxId:[%s]!", id, maxId);
+        }
+    }
+    
+    /**
+     * Get the number of chars that encoding {@code id} writes.
+     *
+     * @param id id
+     * @return encoded length
+     */
+    public int encodedLength(long id) {
+        if (padStart) {
+            return charSize;
+        }
+        int digitCount = 0;
+        while (digitCount < powers.length && id >= powers[digitCount]) {
+            digitCount++;
+        }
+        return digitCount;
+    }
+    
+    /**
+     * Encode {@code id} into {@code dst} starting at {@code offset} without any allocation.
+     *
+     * @param id     id
+     * @param dst    destination buffer, must have {@link #encodedLength(long)} chars left at {@code offset}
+     * @param offset destination offset
+     * @return the number of written chars
+     */
+    public int encode(long id, char[] dst, int offset) {
+        checkId(id);
+        final int length = encodedLength(id);
+        int charIdx = offset + length;
+        while (id >= radixSquare) {
+            final long quotient = id / radixSquare;
+            final int pair = (int) (id - quotient * radixSquare) << 1;
+            dst[--charIdx] = pairChars[pair + 1];
+            dst[--charIdx] = pairChars[pair];
+            id = quotient;
+        }
+        if (id >= radix) {
+            final int pair = (int) id << 1;
+            dst[--charIdx] = pairChars[pair + 1];
+            dst[--charIdx] = pairChars[pair];
+        } else if (id > 0) {
+            dst[--charIdx] = digits[(int) id];
+        }
+        while (charIdx > offset) {
+            dst[--charIdx] = PAD_CHAR;
+        }
+        return length;
+    }
+    
+    /**
+     * Encode {@code id} into {@code dst} as ASCII bytes starting at {@code offset} without any allocation.
+     *
+     * @param id     id
+     * @param dst    destination buffer, must have {@link #encodedLength(long)} bytes left at {@code offset}
+     * @param offset destination offset
+     * @return the number of written bytes
+     */
+    public int encode(long id, byte[] dst, int offset) {
+        checkId(id);
+        final int length = encodedLength(id);
+        int byteIdx = offset + length;
+        while (id >= radixSquare) {
+            final long quotient = id / radixSquare;
+            final int pair = (int) (id - quotient * radixSquare) << 1;
+            dst[--byteIdx] = pairBytes[pair + 1];
+            dst[--byteIdx] = pairBytes[pair];
+            id = quotient;
+        }
+        if (id >= radix) {
+            final int pair = (int) id << 1;
+            dst[--byteIdx] = pairBytes[pair + 1];
+            dst[--byteIdx] = pairBytes[pair];
+        } else if (id > 0) {
+            dst[--byteIdx] = (byte) digits[(int) id];
+        }
+        while (byteIdx > offset) {
+            dst[--byteIdx] = (byte) PAD_CHAR;
+        }
+        return length;
+    }
+    
+    /**
+     * Encode {@code id} into {@code dst} as ASCII bytes at its position and advance the position.
+     *
+     * @param id  id
+     * @param dst destination buffer
+     * @return the number of written bytes
+     */
+    public int encode(long id, ByteBuffer dst) {
+        final int position = dst.position();
+        if (dst.hasArray()) {
+            final int length = encode(id, dst.array(), dst.arrayOffset() + position);
+            dst.position(position + length);
+            return length;
+        }
+        checkId(id);
+        final int length = encodedLength(id);
+        int byteIdx = position + length;
+        while (id >= radixSquare) {
+            final long quotient = id / radixSquare;
+            final int pair = (int) (id - quotient * radixSquare) << 1;
+            dst.put(--byteIdx, pairBytes[pair + 1]);
+            dst.put(--byteIdx, pairBytes[pair]);
+            id = quotient;
+        }
+        if (id >= radix) {
+            final int pair = (int) id << 1;
+            dst.put(--byteIdx, pairBytes[pair + 1]);
+            dst.put(--byteIdx, pairBytes[pair]);
+        } else if (id > 0) {
+            dst.put(--byteIdx, (byte) digits[(int) id]);
+        }
+        while (byteIdx > position) {
+            dst.put(--byteIdx, (byte) PAD_CHAR);
+        }
+        dst.position(position + length);
+        return length;
+    }
+    
     @Nonnull
     @Override
     public String asString(long id) {
-        
-        Preconditions.checkArgument(id > -1, "id[%s] must be greater than -1!", id);
-        
-        final int maxCharSize = getMaxCharSize();
-        
-        if (charSize < maxCharSize) {
-            Preconditions.checkArgument(id < maxId, "id[%s] cannot be greater than maxId:[%s]!", id, maxId);
+        char[] buf = new char[encodedLength(id)];
+        encode(id, buf, 0);
+        return new String(buf);
+    }
+    
+    @Override
+    public int asChars(long id, @Nonnull char[] dst, int offset) {
+        checkId(id);
+        if (encodedLength(id) > dst.length - offset) {
+            return -1;
         }
-        
-        char[] buf = new char[charSize];
-        int charIdx = charSize;
-        final int radix = getRadix();
-        while (id > 0) {
-            int mod = (int) (id % radix);
-            buf[--charIdx] = digits[mod];
-            id = id / radix;
-        }
-        
-        if (padStart && charIdx > 0) {
-            while (charIdx > 0) {
-                buf[--charIdx] = PAD_CHAR;
+        return encode(id, dst, offset);
+    }
+    
+    @Override
+    public long asLong(@Nonnull String idString) {
+        return asLong((CharSequence) idString, 0, idString.length());
+    }
+    
+    /**
+     * Decode the id encoded in {@code src} from {@code offset} to {@code offset + length} without any allocation.
+     *
+     * @param src    source chars
+     * @param offset source offset
+     * @param length encoded length
+     * @return id
+     */
+    public long asLong(@Nonnull CharSequence src, int offset, int length) {
+        checkDecodeLength(src, offset, length);
+        long result = 0;
+        for (int charIdx = offset; charIdx < offset + length; charIdx++) {
+            final int digit = offset(src.charAt(charIdx));
+            if (digit < 0) {
+                throw invalidDigit(src, offset, length, charIdx);
             }
+            result = result * radix + digit;
         }
-        
-        return new String(buf, charIdx, (charSize - charIdx));
+        return result;
     }
     
-    public long asLong(@Nonnull String idString) {
-        char firstChar = idString.charAt(0);
-        if (firstChar < ZERO) {
-            throw new NumberFormatException(Strings.lenientFormat("For input string: [%s]!", idString));
+    @Override
+    public long asLong(@Nonnull char[] src, int offset, int length) {
+        checkDecodeLength(src, offset, length);
+        long result = 0;
+        for (int charIdx = offset; charIdx < offset + length; charIdx++) {
+            final int digit = offset(src[charIdx]);
+            if (digit < 0) {
+                throw invalidDigit(src, offset, length, charIdx);
+            }
+            result = result * radix + digit;
         }
+        return result;
+    }
+    
+    public long asLong(@Nonnull byte[] src, int offset, int length) {
+        checkDecodeLength(src, offset, length);
         long result = 0;
-        int charIdx = 0;
-        int charLen = idString.length();
-        if (charLen > charSize) {
-            throw new NumberFormatException(Strings.lenientFormat("For input string:[%s]. charLen cannot be greater than charSize:[%s]!", idString, charSize));
-        }
-        final int radix = getRadix();
-        while (charIdx < charLen) {
-            char digitChar = idString.charAt(charIdx++);
-            int digit = offset(digitChar);
+        for (int byteIdx = offset; byteIdx < offset + length; byteIdx++) {
+            final int digit = offset((char) (src[byteIdx] & 0xFF));
             if (digit < 0) {
-                throw new NumberFormatException(Strings.lenientFormat("For input string:[%s]. digitChar:[%s]@[%s] !", idString, digitChar, charIdx));
+                throw invalidDigit(src, offset, length, byteIdx);
             }
-            result *= radix;
-            result += digit;
+            result = result * radix + digit;
         }
         return result;
     }
+    
+    private void checkDecodeLength(Object src, int offset, int length) {
+        if (length <= 0) {
+            throw new NumberFormatException(Strings.lenientFormat("For input string: [%s]!", describe(src, offset, Math.max(0, length))));
+        }
+        if (length > charSize) {
+            throw new NumberFormatException(Strings.lenientFormat("For input string:[%s]. charLen cannot be greater than charSize:[%s]!", describe(src, offset, length), charSize));
+        }
+    }
+    
+    private static NumberFormatException invalidDigit(Object src, int offset, int length, int digitIdx) {
+        String input = describe(src, offset, length);
+        return new NumberFormatException(Strings.lenientFormat("For input string:[%s]. digitChar:[%s]@[%s] !", input, input.charAt(digitIdx - offset), digitIdx - offset + 1));
+    }
+    
+    private static String describe(Object src, int offset, int length) {
+        if (src instanceof byte[]) {
+            return new String((byte[]) src, offset, length, StandardCharsets.ISO_8859_1);
+        }
+        if (src instanceof char[]) {
+            return new String((char[]) src, offset, length);
+        }
+        return ((CharSequence) src).subSequence(offset, offset + length).toString();
+    }
 }
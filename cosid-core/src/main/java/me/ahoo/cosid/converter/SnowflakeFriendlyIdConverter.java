@@ -18,6 +18,7 @@ import me.ahoo.cosid.snowflake.MillisecondSnowflakeIdStateParser;
 import me.ahoo.cosid.snowflake.SnowflakeIdStateParser;
 
 import javax.annotation.Nonnull;
+import java.nio.CharBuffer;
 
 /**
  * Snowflake FriendlyId Converter.
@@ -41,11 +42,21 @@ public class SnowflakeFriendlyIdConverter implements IdConverter {
     @Nonnull
     @Override
     public String asString(long id) {
-        return snowflakeIdStateParser.parse(id).getFriendlyId();
+        return snowflakeIdStateParser.asFriendlyId(id);
     }
 
     @Override
     public long asLong(@Nonnull String idString) {
-        return snowflakeIdStateParser.parse(idString).getId();
+        return snowflakeIdStateParser.asId(idString);
+    }
+
+    @Override
+    public int asChars(long id, @Nonnull char[] dst, int offset) {
+        return snowflakeIdStateParser.asFriendlyId(id, dst, offset);
+    }
+
+    @Override
+    public long asLong(@Nonnull char[] src, int offset, int length) {
+        return snowflakeIdStateParser.asId(CharBuffer.wrap(src, offset, length));
     }
 }
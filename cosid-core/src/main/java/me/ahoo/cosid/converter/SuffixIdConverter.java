@@ -17,6 +17,7 @@ package me.ahoo.cosid.converter;
 import me.ahoo.cosid.IdConverter;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
 
 import javax.annotation.Nonnull;
 
@@ -54,4 +55,32 @@ public class SuffixIdConverter implements IdConverter {
         String idStr = idString.substring(0, idString.length() - suffix.length());
         return idConverter.asLong(idStr);
     }
+    
+    @Override
+    public int asChars(long id, @Nonnull char[] dst, int offset) {
+        final int idLength = idConverter.asChars(id, dst, offset);
+        if (idLength < 0 || suffix.length() > dst.length - offset - idLength) {
+            return -1;
+        }
+        suffix.getChars(0, suffix.length(), dst, offset + idLength);
+        return idLength + suffix.length();
+    }
+    
+    @Override
+    public long asLong(@Nonnull char[] src, int offset, int length) {
+        final int idLength = length - suffix.length();
+        if (idLength < 0 || !endsWithSuffix(src, offset + idLength)) {
+            throw new NumberFormatException(Strings.lenientFormat("For input string:[%s]. must end with suffix:[%s]!", new String(src, offset, Math.max(0, length)), suffix));
+        }
+        return idConverter.asLong(src, offset, idLength);
+    }
+    
+    private boolean endsWithSuffix(char[] src, int suffixOffset) {
+        for (int i = 0; i < suffix.length(); i++) {
+            if (src[suffixOffset + i] != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -25,6 +25,10 @@ import javax.annotation.Nonnull;
 public class ToStringIdConverter implements IdConverter {
 
     public static final IdConverter INSTANCE = new ToStringIdConverter();
+    /**
+     * 18 decimal digits never overflow {@code long}.
+     */
+    private static final int MAX_FAST_PARSE_LENGTH = 18;
 
     @Nonnull
     @Override
@@ -36,4 +40,58 @@ public class ToStringIdConverter implements IdConverter {
     public long asLong(@Nonnull String idString) {
         return Long.parseLong(idString);
     }
+
+    @Override
+    public int asChars(long id, @Nonnull char[] dst, int offset) {
+        if (id == Long.MIN_VALUE) {
+            return IdConverter.super.asChars(id, dst, offset);
+        }
+        final boolean negative = id < 0;
+        long value = negative ? -id : id;
+        int length = negative ? 2 : 1;
+        for (long remaining = value; remaining >= 10; remaining /= 10) {
+            length++;
+        }
+        if (length > dst.length - offset) {
+            return -1;
+        }
+        int charIdx = offset + length;
+        do {
+            dst[--charIdx] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        if (negative) {
+            dst[offset] = '-';
+        }
+        return length;
+    }
+
+    /**
+     * Parse up to {@link #MAX_FAST_PARSE_LENGTH} chars in place,
+     * longer or malformed input falls back to {@link Long#parseLong(String)} for its overflow checks and error messages.
+     */
+    @Override
+    public long asLong(@Nonnull char[] src, int offset, int length) {
+        if (length <= 0 || length > MAX_FAST_PARSE_LENGTH) {
+            return IdConverter.super.asLong(src, offset, length);
+        }
+        final int end = offset + length;
+        int charIdx = offset;
+        final boolean negative = src[charIdx] == '-';
+        if (negative || src[charIdx] == '+') {
+            charIdx++;
+        }
+        if (charIdx == end) {
+            return IdConverter.super.asLong(src, offset, length);
+        }
+        long value = 0;
+        for (; charIdx < end; charIdx++) {
+            final char digitChar = src[charIdx];
+            if (digitChar < '0' || digitChar > '9') {
+                return IdConverter.super.asLong(src, offset, length);
+            }
+            value = value * 10 + (digitChar - '0');
+        }
+        return negative ? -value : value;
+    }
 }
@@ -20,6 +20,13 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nonnull;
 
+/**
+ * Clock Sync CosIdGenerator.
+ * Waits for the clock to catch up with {@link me.ahoo.cosid.machine.DefaultClockBackwardsSynchronizer} by default,
+ * or never blocks with {@link me.ahoo.cosid.machine.LogicalClockBackwardsSynchronizer} when {@code actual} tolerates the clock backwards with its {@code maxLookahead}.
+ *
+ * @author ahoo wang
+ */
 @Slf4j
 public class ClockSyncCosIdGenerator implements CosIdGenerator {
     private final CosIdGenerator actual;
@@ -64,4 +71,18 @@ public class ClockSyncCosIdGenerator implements CosIdGenerator {
         }
     }
     
+    @Nonnull
+    @Override
+    public String generateAsString() {
+        try {
+            return actual.generateAsString();
+        } catch (ClockBackwardsException exception) {
+            if (log.isWarnEnabled()) {
+                log.warn(exception.getMessage(), exception);
+            }
+            clockBackwardsSynchronizer.syncUninterruptibly(actual.getLastTimestamp());
+            return actual.generateAsString();
+        }
+    }
+    
 }
@@ -13,6 +13,8 @@
 
 package me.ahoo.cosid.cosid;
 
+import me.ahoo.cosid.util.MillisecondClock;
+
 /**
  * [timestamp(44)]-[machineId-(20)]-[sequence-(16)] = 80 BITS = 15 CHARS.
  */
@@ -23,7 +25,15 @@ public class Radix62CosIdGenerator extends RadixCosIdGenerator {
     }
     
     public Radix62CosIdGenerator(int timestampBit, int machineIdBit, int sequenceBit, int machineId, int sequenceResetThreshold) {
-        super(timestampBit, machineIdBit, sequenceBit, machineId, sequenceResetThreshold, RadixCosIdStateParser.ofRadix62(timestampBit, machineIdBit, sequenceBit));
+        this(timestampBit, machineIdBit, sequenceBit, machineId, sequenceResetThreshold, MillisecondClock.SYSTEM);
+    }
+    
+    public Radix62CosIdGenerator(int timestampBit, int machineIdBit, int sequenceBit, int machineId, int sequenceResetThreshold, MillisecondClock clock) {
+        this(timestampBit, machineIdBit, sequenceBit, machineId, sequenceResetThreshold, clock, 0L);
+    }
+    
+    public Radix62CosIdGenerator(int timestampBit, int machineIdBit, int sequenceBit, int machineId, int sequenceResetThreshold, MillisecondClock clock, long maxLookahead) {
+        super(timestampBit, machineIdBit, sequenceBit, machineId, sequenceResetThreshold, RadixCosIdStateParser.ofRadix62(timestampBit, machineIdBit, sequenceBit), clock, maxLookahead);
     }
     
 }
@@ -15,6 +15,7 @@ package me.ahoo.cosid.cosid;
 
 import me.ahoo.cosid.snowflake.exception.ClockBackwardsException;
 import me.ahoo.cosid.snowflake.exception.TimestampOverflowException;
+import me.ahoo.cosid.util.MillisecondClock;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Strings;
@@ -32,12 +33,18 @@ public class RadixCosIdGenerator implements CosIdGenerator {
     private final int maxMachine;
     private final int maxSequence;
     private final int sequenceResetThreshold;
+    private final long maxLookahead;
     
     private final int machineId;
     private int sequence = 0;
-    private long lastTimestamp = -1L;
+    private long lastTimestamp;
     
     private final CosIdIdStateParser stateParser;
+    private final MillisecondClock clock;
+    /**
+     * Reused by {@link #generateAsString()} under the generator lock, only when {@link #stateParser} is a {@link RadixCosIdStateParser}.
+     */
+    private final char[] stringBuffer;
     
     public RadixCosIdGenerator(int timestampBit,
                                int machineIdBit,
@@ -45,6 +52,32 @@ public class RadixCosIdGenerator implements CosIdGenerator {
                                int machineId,
                                int sequenceResetThreshold,
                                CosIdIdStateParser stateParser) {
+        this(timestampBit, machineIdBit, sequenceBit, machineId, sequenceResetThreshold, stateParser, MillisecondClock.SYSTEM);
+    }
+    
+    public RadixCosIdGenerator(int timestampBit,
+                               int machineIdBit,
+                               int sequenceBit,
+                               int machineId,
+                               int sequenceResetThreshold,
+                               CosIdIdStateParser stateParser,
+                               MillisecondClock clock) {
+        this(timestampBit, machineIdBit, sequenceBit, machineId, sequenceResetThreshold, stateParser, clock, 0L);
+    }
+    
+    /**
+     * Create a RadixCosIdGenerator.
+     *
+     * @param maxLookahead how many milliseconds the timestamp may be borrowed ahead of the clock once the sequence is exhausted, {@code 0} spins instead
+     */
+    public RadixCosIdGenerator(int timestampBit,
+                               int machineIdBit,
+                               int sequenceBit,
+                               int machineId,
+                               int sequenceResetThreshold,
+                               CosIdIdStateParser stateParser,
+                               MillisecondClock clock,
+                               long maxLookahead) {
         this.maxTimestamp = ~(-1L << timestampBit);
         this.maxMachine = ~(-1 << machineIdBit);
         this.maxSequence = ~(-1 << sequenceBit);
@@ -52,8 +85,18 @@ public class RadixCosIdGenerator implements CosIdGenerator {
         if (machineId > this.maxMachine || machineId < 0) {
             throw new IllegalArgumentException(Strings.lenientFormat("machineId can't be greater than maxMachine[%s] or less than 0 .", maxMachine));
         }
+        if (maxLookahead < 0) {
+            throw new IllegalArgumentException(Strings.lenientFormat("maxLookahead[%s] can't be less than 0 .", maxLookahead));
+        }
         this.machineId = machineId;
+        this.maxLookahead = maxLookahead;
         this.stateParser = stateParser;
+        this.clock = clock;
+        /*
+         * Reserve the whole lookahead, a previous owner of the same machine id may have borrowed up to maxLookahead before a restart.
+         */
+        this.lastTimestamp = maxLookahead > 0 ? clock.currentTimeMillis() + maxLookahead : -1L;
+        this.stringBuffer = stateParser instanceof RadixCosIdStateParser ? new char[((RadixCosIdStateParser) stateParser).getTotalCharSize()] : null;
     }
     
     @Override
@@ -72,19 +115,49 @@ public class RadixCosIdGenerator implements CosIdGenerator {
         return stateParser;
     }
     
+    public MillisecondClock getClock() {
+        return clock;
+    }
+    
+    public long getMaxLookahead() {
+        return maxLookahead;
+    }
+    
+    /**
+     * Get how many milliseconds the last timestamp is running ahead of the clock.
+     * Read without synchronization, only used for monitoring.
+     *
+     * @return lookahead
+     */
+    public long getLookahead() {
+        return Math.max(0L, lastTimestamp - clock.currentTimeMillis());
+    }
+    
+    /**
+     * Borrow {@code lastTimestamp + 1} while it stays within {@link #maxLookahead} of the clock, otherwise spin until the clock catches up.
+     */
     private long nextTime() {
-        long time = System.currentTimeMillis();
-        while (time <= lastTimestamp) {
-            time = System.currentTimeMillis();
+        final long borrowFloor = lastTimestamp - maxLookahead;
+        long time = clock.preciseTimeMillis();
+        while (time <= borrowFloor) {
+            time = clock.preciseTimeMillis();
         }
-        return time;
+        return Math.max(time, lastTimestamp + 1);
     }
     
-    @Nonnull
-    public synchronized CosIdState generateAsState() {
-        long currentTimestamp = System.currentTimeMillis();
+    /**
+     * Advance {@link #lastTimestamp} and {@link #sequence}, must be called under the generator lock.
+     */
+    private void nextState() {
+        long currentTimestamp = clock.currentTimeMillis();
         if (currentTimestamp < lastTimestamp) {
-            throw new ClockBackwardsException(lastTimestamp, currentTimestamp);
+            if (lastTimestamp - currentTimestamp > maxLookahead) {
+                throw new ClockBackwardsException(lastTimestamp, currentTimestamp);
+            }
+            /*
+             * Keep the borrowed timestamp until the clock catches up.
+             */
+            currentTimestamp = lastTimestamp;
         }
         
         //region Reset sequence based on sequence reset threshold,Optimize the problem of uneven sharding.
@@ -106,13 +179,25 @@ public class RadixCosIdGenerator implements CosIdGenerator {
             throw new TimestampOverflowException(0, currentTimestamp, maxTimestamp);
         }
         lastTimestamp = currentTimestamp;
+    }
+    
+    @Nonnull
+    public synchronized CosIdState generateAsState() {
+        nextState();
         return new CosIdState(lastTimestamp, machineId, sequence);
     }
     
+    /**
+     * Encode the fields straight into the reused {@link #stringBuffer} without an intermediate {@link CosIdState}, the only allocation is the returned {@link String}.
+     */
     @Nonnull
     @Override
-    public String generateAsString() {
-        CosIdState state = generateAsState();
-        return stateParser.asString(state);
+    public synchronized String generateAsString() {
+        nextState();
+        if (stringBuffer == null) {
+            return stateParser.asString(lastTimestamp, machineId, sequence);
+        }
+        int written = ((RadixCosIdStateParser) stateParser).encode(lastTimestamp, machineId, sequence, stringBuffer, 0);
+        return new String(stringBuffer, 0, written);
     }
 }
@@ -26,21 +26,55 @@ public class RadixCosIdStateParser implements CosIdIdStateParser {
     private final RadixIdConverter timestampConvert;
     private final RadixIdConverter machineConvert;
     private final RadixIdConverter sequenceConvert;
+    private final int machineOffset;
+    private final int sequenceOffset;
+    private final int totalCharSize;
     
     public RadixCosIdStateParser(RadixIdConverter timestampConvert, RadixIdConverter machineConvert, RadixIdConverter sequenceConvert) {
         this.timestampConvert = timestampConvert;
         this.machineConvert = machineConvert;
         this.sequenceConvert = sequenceConvert;
+        this.machineOffset = timestampConvert.getCharSize();
+        this.sequenceOffset = machineOffset + machineConvert.getCharSize();
+        this.totalCharSize = sequenceOffset + sequenceConvert.getCharSize();
+    }
+    
+    public int getTotalCharSize() {
+        return totalCharSize;
     }
     
     @Override
     public CosIdState asState(String id) {
-        int totalCharSize = timestampConvert.getCharSize() + machineConvert.getCharSize() + sequenceConvert.getCharSize();
+        return asState((CharSequence) id);
+    }
+    
+    /**
+     * Decode the three fields in place, without splitting {@code id} into substrings.
+     *
+     * @param id id
+     * @return CosIdState
+     */
+    public CosIdState asState(CharSequence id) {
         Preconditions.checkArgument(id.length() == totalCharSize, "id[%s] length must equal to totalCharSize:[%s].", id, totalCharSize);
-        String timestampPart = id.substring(0, timestampConvert.getCharSize());
-        String machineIdPart = id.substring(timestampConvert.getCharSize(), timestampConvert.getCharSize() + machineConvert.getCharSize());
-        String sequencePart = id.substring(timestampConvert.getCharSize() + machineConvert.getCharSize());
-        return new CosIdState(timestampConvert.asLong(timestampPart), (int) machineConvert.asLong(machineIdPart), (int) sequenceConvert.asLong(sequencePart));
+        long timestamp = timestampConvert.asLong(id, 0, machineOffset);
+        int machineId = (int) machineConvert.asLong(id, machineOffset, sequenceOffset - machineOffset);
+        int sequence = (int) sequenceConvert.asLong(id, sequenceOffset, totalCharSize - sequenceOffset);
+        return new CosIdState(timestamp, machineId, sequence);
+    }
+    
+    /**
+     * Encode the three fields into {@code dst} starting at {@code offset}, which must have {@link #getTotalCharSize()} chars left.
+     * Each field is written right after the previous one, so converters without {@code padStart} write fewer chars,
+     * the same as concatenating their {@code asString}.
+     *
+     * @return the number of written chars
+     */
+    public int encode(long lastTimestamp, int machineId, int sequence, char[] dst, int offset) {
+        int position = offset;
+        position += timestampConvert.encode(lastTimestamp, dst, position);
+        position += machineConvert.encode(machineId, dst, position);
+        position += sequenceConvert.encode(sequence, dst, position);
+        return position - offset;
     }
     
     public String asString(CosIdState cosIdState) {
@@ -49,18 +83,24 @@ public class RadixCosIdStateParser implements CosIdIdStateParser {
     
     @Override
     public String asString(long lastTimestamp, int machineId, int sequence) {
-        return timestampConvert.asString(lastTimestamp) + machineConvert.asString(machineId) + sequenceConvert.asString(sequence);
+        char[] buf = new char[totalCharSize];
+        int written = encode(lastTimestamp, machineId, sequence, buf, 0);
+        return new String(buf, 0, written);
     }
     
     static RadixCosIdStateParser ofRadix62(int timestampBits, int machineIdBits, int sequenceBits) {
+        return ofRadix62(timestampBits, machineIdBits, sequenceBits, true);
+    }
+    
+    static RadixCosIdStateParser ofRadix62(int timestampBits, int machineIdBits, int sequenceBits, boolean padStart) {
         final int radix = 62;
         final int timestampMaxCharSize = RadixIdConverter.maxCharSize(radix, timestampBits);
         final int machineIdMaxCharSize = RadixIdConverter.maxCharSize(radix, machineIdBits);
         final int sequenceMaxCharSize = RadixIdConverter.maxCharSize(radix, sequenceBits);
         return new RadixCosIdStateParser(
-            new Radix62IdConverter(true, timestampMaxCharSize),
-            new Radix62IdConverter(true, machineIdMaxCharSize),
-            new Radix62IdConverter(true, sequenceMaxCharSize)
+            new Radix62IdConverter(padStart, timestampMaxCharSize),
+            new Radix62IdConverter(padStart, machineIdMaxCharSize),
+            new Radix62IdConverter(padStart, sequenceMaxCharSize)
         );
     }
     
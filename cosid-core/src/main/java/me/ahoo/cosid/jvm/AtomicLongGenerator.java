@@ -30,4 +30,15 @@ public class AtomicLongGenerator implements IdGenerator {
     public long generate() {
         return idGen.incrementAndGet();
     }
+
+    @Override
+    public void generate(long[] ids) {
+        if (ids.length == 0) {
+            return;
+        }
+        final long preId = idGen.getAndAdd(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = preId + i + 1;
+        }
+    }
 }
@@ -21,6 +21,10 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nonnull;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Abstract MachineIdDistributor.
@@ -92,6 +96,28 @@ public abstract class AbstractMachineIdDistributor implements MachineIdDistribut
         guardRemote(namespace, instanceId, lastLocalState, safeGuardDuration);
     }
     
+    /**
+     * 1. reset the local {@link MachineState} of each instance
+     * 2. {@link #guardAllRemote} the instances whose local state is found
+     */
+    @Nonnull
+    @Override
+    public Map<NamespacedInstanceId, Throwable> guardAll(Collection<NamespacedInstanceId> namespacedInstanceIds, Duration safeGuardDuration) {
+        Map<NamespacedInstanceId, Throwable> failures = new HashMap<>();
+        Map<NamespacedInstanceId, MachineState> machineStates = new LinkedHashMap<>(namespacedInstanceIds.size());
+        for (NamespacedInstanceId namespacedInstanceId : namespacedInstanceIds) {
+            try {
+                machineStates.put(namespacedInstanceId, resetStorage(namespacedInstanceId.getNamespace(), namespacedInstanceId.getInstanceId()));
+            } catch (Throwable throwable) {
+                failures.put(namespacedInstanceId, throwable);
+            }
+        }
+        if (!machineStates.isEmpty()) {
+            failures.putAll(guardAllRemote(machineStates, safeGuardDuration));
+        }
+        return failures;
+    }
+    
     
     private MachineState resetStorage(String namespace, InstanceId instanceId) {
         Preconditions.checkArgument(!Strings.isNullOrEmpty(namespace), "namespace can not be empty!");
@@ -110,4 +136,24 @@ public abstract class AbstractMachineIdDistributor implements MachineIdDistribut
     
     protected abstract void guardRemote(String namespace, InstanceId instanceId, MachineState machineState, Duration safeGuardDuration);
     
+    /**
+     * Guard the remote machine states of all instances, {@link #guardRemote} one by one by default.
+     *
+     * @param machineStates local machine states of the instances
+     * @param safeGuardDuration safe Guard Duration
+     * @return the failures of the instances that could not be guarded
+     */
+    protected Map<NamespacedInstanceId, Throwable> guardAllRemote(Map<NamespacedInstanceId, MachineState> machineStates, Duration safeGuardDuration) {
+        Map<NamespacedInstanceId, Throwable> failures = new HashMap<>();
+        for (Map.Entry<NamespacedInstanceId, MachineState> entry : machineStates.entrySet()) {
+            NamespacedInstanceId namespacedInstanceId = entry.getKey();
+            try {
+                guardRemote(namespacedInstanceId.getNamespace(), namespacedInstanceId.getInstanceId(), entry.getValue(), safeGuardDuration);
+            } catch (Throwable throwable) {
+                failures.put(namespacedInstanceId, throwable);
+            }
+        }
+        return failures;
+    }
+    
 }
@@ -30,6 +30,15 @@ public interface ClockBackwardsSynchronizer {
 
     void syncUninterruptibly(long lastTimestamp) throws ClockTooManyBackwardsException;
 
+    /**
+     * Get how many milliseconds the clock may go backwards while the generator keeps issuing IDs from its last timestamp instead of waiting.
+     *
+     * @return tolerance, {@code 0} waits for the clock to catch up
+     */
+    default long getTolerance() {
+        return 0L;
+    }
+
     static long getBackwardsTimeStamp(long lastTimestamp) {
         return lastTimestamp - System.currentTimeMillis();
     }
@@ -17,12 +17,17 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Default MachineId Guarder implementation.
@@ -42,6 +47,9 @@ public class DefaultMachineIdGuarder implements MachineIdGuarder {
     private final Duration safeGuardDuration;
     private volatile ScheduledFuture<?> scheduledFuture;
     private final AtomicBoolean running = new AtomicBoolean(false);
+    private final LongAdder guardCount = new LongAdder();
+    private final LongAdder guardNanos = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
     
     public DefaultMachineIdGuarder(MachineIdDistributor machineIdDistributor, Duration safeGuardDuration) {
         this(machineIdDistributor, executorService(), DEFAULT_INITIAL_DELAY, DEFAULT_DELAY, safeGuardDuration);
@@ -79,6 +87,24 @@ public class DefaultMachineIdGuarder implements MachineIdGuarder {
         return registeredInstanceIds;
     }
     
+    public long getGuardCount() {
+        return guardCount.sum();
+    }
+    
+    /**
+     * Get the total time spent guarding.
+     * unit {@link TimeUnit#NANOSECONDS}
+     *
+     * @return guard nanos
+     */
+    public long getGuardNanos() {
+        return guardNanos.sum();
+    }
+    
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+    
     @Override
     public void start() {
         if (log.isDebugEnabled()) {
@@ -93,13 +119,27 @@ public class DefaultMachineIdGuarder implements MachineIdGuarder {
         if (log.isDebugEnabled()) {
             log.debug("Safe guard registered Instances:[{}].", registeredInstanceIds.size());
         }
-        for (NamespacedInstanceId registeredInstance : registeredInstanceIds) {
-            try {
-                machineIdDistributor.guard(registeredInstance.getNamespace(), registeredInstance.getInstanceId(), safeGuardDuration);
-            } catch (Throwable throwable) {
-                if (log.isErrorEnabled()) {
-                    log.error("Guard Failed:[{}]!", throwable.getMessage(), throwable);
-                }
+        final List<NamespacedInstanceId> instanceIds = new ArrayList<>(registeredInstanceIds);
+        if (instanceIds.isEmpty()) {
+            return;
+        }
+        final long guardStart = System.nanoTime();
+        Map<NamespacedInstanceId, Throwable> failures;
+        try {
+            failures = machineIdDistributor.guardAll(instanceIds, safeGuardDuration);
+        } catch (Throwable throwable) {
+            failures = new HashMap<>();
+            for (NamespacedInstanceId registeredInstance : instanceIds) {
+                failures.put(registeredInstance, throwable);
+            }
+        } finally {
+            guardCount.add(instanceIds.size());
+            guardNanos.add(System.nanoTime() - guardStart);
+        }
+        failureCount.add(failures.size());
+        for (Map.Entry<NamespacedInstanceId, Throwable> failure : failures.entrySet()) {
+            if (log.isErrorEnabled()) {
+                log.error("Guard Failed:[{}] - [{}]!", failure.getKey(), failure.getValue().getMessage(), failure.getValue());
             }
         }
     }
@@ -0,0 +1,70 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.machine;
+
+import me.ahoo.cosid.snowflake.exception.ClockTooManyBackwardsException;
+
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logical Clock Backwards Synchronizer.
+ * Never parks or spins the caller thread: a clock backwards within {@code tolerance} is left to the generator,
+ * which keeps issuing IDs from its last timestamp with the spare sequence space and borrowed time
+ * (a generator created with a {@code maxLookahead} of at least {@code tolerance}), anything beyond fails fast.
+ *
+ * <p>Only meant for the generator decorators, the machine ID distributors still need the {@link DefaultClockBackwardsSynchronizer} to wait for the clock.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class LogicalClockBackwardsSynchronizer implements ClockBackwardsSynchronizer {
+    public static final int DEFAULT_TOLERANCE = DefaultClockBackwardsSynchronizer.DEFAULT_BROKEN_THRESHOLD;
+    
+    private final int tolerance;
+    
+    public LogicalClockBackwardsSynchronizer() {
+        this(DEFAULT_TOLERANCE);
+    }
+    
+    public LogicalClockBackwardsSynchronizer(int tolerance) {
+        Preconditions.checkArgument(tolerance > 0, "tolerance:[%s] must be greater than 0!", tolerance);
+        this.tolerance = tolerance;
+    }
+    
+    @Override
+    public long getTolerance() {
+        return tolerance;
+    }
+    
+    @Override
+    public void sync(long lastTimestamp) throws ClockTooManyBackwardsException {
+        syncUninterruptibly(lastTimestamp);
+    }
+    
+    @Override
+    public void syncUninterruptibly(long lastTimestamp) throws ClockTooManyBackwardsException {
+        long backwardsStamp = ClockBackwardsSynchronizer.getBackwardsTimeStamp(lastTimestamp);
+        if (backwardsStamp <= 0) {
+            return;
+        }
+        if (log.isWarnEnabled()) {
+            log.warn("Sync backwardsStamp:[{}] - lastStamp:[{}].", backwardsStamp, lastTimestamp);
+        }
+        if (backwardsStamp > tolerance) {
+            throw new ClockTooManyBackwardsException(lastTimestamp, System.currentTimeMillis(), tolerance);
+        }
+    }
+}
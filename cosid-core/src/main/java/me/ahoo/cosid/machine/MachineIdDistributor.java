@@ -17,6 +17,9 @@ package me.ahoo.cosid.machine;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * MachineId Distributor.
@@ -82,5 +85,26 @@ public interface MachineIdDistributor {
      * @param safeGuardDuration safe Guard Duration
      */
     void guard(String namespace, InstanceId instanceId, Duration safeGuardDuration) throws NotFoundMachineStateException, MachineIdLostException;
-
+    
+    /**
+     * Guard the machine ids of all instances in one guard cycle.
+     * Implementations backed by a remote store should override it to guard all instances within a single round trip.
+     *
+     * @param namespacedInstanceIds namespaced instance ids
+     * @param safeGuardDuration safe Guard Duration
+     * @return the failures of the instances that could not be guarded, empty when all instances are guarded
+     */
+    @Nonnull
+    default Map<NamespacedInstanceId, Throwable> guardAll(Collection<NamespacedInstanceId> namespacedInstanceIds, Duration safeGuardDuration) {
+        Map<NamespacedInstanceId, Throwable> failures = new HashMap<>();
+        for (NamespacedInstanceId namespacedInstanceId : namespacedInstanceIds) {
+            try {
+                guard(namespacedInstanceId.getNamespace(), namespacedInstanceId.getInstanceId(), safeGuardDuration);
+            } catch (Throwable throwable) {
+                failures.put(namespacedInstanceId, throwable);
+            }
+        }
+        return failures;
+    }
+    
 }
@@ -16,9 +16,12 @@ package me.ahoo.cosid.provider;
 import me.ahoo.cosid.IdGenerator;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -33,6 +36,8 @@ public class DefaultIdGeneratorProvider implements IdGeneratorProvider {
     private volatile IdGenerator shareIdGenerator;
 
     private final ConcurrentHashMap<String, IdGenerator> nameMapIdGen;
+    
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
 
     public DefaultIdGeneratorProvider() {
         nameMapIdGen = new ConcurrentHashMap<>();
@@ -52,7 +57,7 @@ public class DefaultIdGeneratorProvider implements IdGeneratorProvider {
     @Override
     public IdGenerator removeShare() {
         shareIdGenerator = null;
-        return nameMapIdGen.remove(SHARE);
+        return removeNamed(SHARE);
     }
 
     @Override
@@ -66,18 +71,33 @@ public class DefaultIdGeneratorProvider implements IdGeneratorProvider {
         if (SHARE.equals(name)) {
             return removeShare();
         }
-        return nameMapIdGen.remove(name);
+        return removeNamed(name);
+    }
+    
+    private IdGenerator removeNamed(String name) {
+        IdGenerator removed = nameMapIdGen.remove(name);
+        if (removed != null) {
+            for (Listener listener : listeners) {
+                listener.onRemove(name, removed);
+            }
+        }
+        return removed;
     }
 
     @Override
     public void set(String name, IdGenerator idGenerator) {
         nameMapIdGen.put(name, idGenerator);
+        for (Listener listener : listeners) {
+            listener.onSet(name, idGenerator);
+        }
     }
 
     @Override
     public void clear() {
         shareIdGenerator = null;
-        nameMapIdGen.clear();
+        for (String name : nameMapIdGen.keySet()) {
+            removeNamed(name);
+        }
     }
 
     @Override
@@ -85,4 +105,14 @@ public class DefaultIdGeneratorProvider implements IdGeneratorProvider {
         return nameMapIdGen.values();
     }
 
+    @Override
+    public Set<Map.Entry<String, IdGenerator>> entries() {
+        return nameMapIdGen.entrySet();
+    }
+    
+    @Override
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
 }
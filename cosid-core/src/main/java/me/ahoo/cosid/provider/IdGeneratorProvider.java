@@ -18,8 +18,12 @@ import me.ahoo.cosid.IdGenerator;
 import com.google.common.base.Strings;
 
 import javax.annotation.concurrent.ThreadSafe;
+import java.util.AbstractMap;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * {@link IdGenerator} container.
@@ -95,4 +99,49 @@ public interface IdGeneratorProvider {
      */
     Collection<IdGenerator> getAll();
     
+    /**
+     * get all ID generator with its name.
+     * Implementations that can not list the names only return the shared ID generator.
+     *
+     * @return all ID generator entries
+     */
+    default Set<Map.Entry<String, IdGenerator>> entries() {
+        IdGenerator share = getShare();
+        if (share == null) {
+            return Collections.emptySet();
+        }
+        return Collections.singleton(new AbstractMap.SimpleImmutableEntry<>(SHARE, share));
+    }
+    
+    /**
+     * Add a listener notified of every ID generator set or removed afterwards.
+     * Implementations that can not notify ignore the listener.
+     *
+     * @param listener listener
+     */
+    default void addListener(Listener listener) {
+    }
+    
+    /**
+     * Listener of the ID generators set to or removed from an {@link IdGeneratorProvider}.
+     */
+    interface Listener {
+        /**
+         * Called after an ID generator is set, including a replacement of the one with the same name.
+         *
+         * @param name name of ID generator
+         * @param idGenerator ID generator
+         */
+        void onSet(String name, IdGenerator idGenerator);
+        
+        /**
+         * Called after an ID generator is removed.
+         *
+         * @param name name of ID generator
+         * @param idGenerator removed ID generator
+         */
+        default void onRemove(String name, IdGenerator idGenerator) {
+        }
+    }
+    
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.segment;
+
+import me.ahoo.cosid.util.Clock;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+
+/**
+ * Adaptive IdSegment Distributor.
+ * Measures the consumption rate between two fetches and resizes the step so that the backing distributor is hit about once per {@code fetchInterval},
+ * bounded by {@code [minStep, maxStep]}. The step grows or shrinks at most by a factor of {@link #RESIZE_FACTOR} per fetch.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class AdaptiveIdSegmentDistributor implements IdSegmentDistributor {
+    public static final Duration DEFAULT_FETCH_INTERVAL = Duration.ofSeconds(1);
+    public static final long DEFAULT_MAX_STEP_MULTIPLIER = 100;
+    public static final int RESIZE_FACTOR = 2;
+    
+    private final IdSegmentDistributor actual;
+    private final long minStep;
+    private final long maxStep;
+    private final long fetchIntervalNanos;
+    
+    private volatile long step;
+    private boolean fetched;
+    private long lastFetchNanos;
+    private long lastFetchedIds;
+    
+    public AdaptiveIdSegmentDistributor(IdSegmentDistributor actual) {
+        this(actual, actual.getStep(), Math.multiplyExact(actual.getStep(), DEFAULT_MAX_STEP_MULTIPLIER), DEFAULT_FETCH_INTERVAL);
+    }
+    
+    public AdaptiveIdSegmentDistributor(IdSegmentDistributor actual, long minStep, long maxStep, Duration fetchInterval) {
+        IdSegmentDistributor.ensureStep(minStep);
+        Preconditions.checkArgument(maxStep >= minStep, "maxStep:[%s] must be greater than or equal to minStep:[%s].", maxStep, minStep);
+        Preconditions.checkArgument(!fetchInterval.isNegative() && !fetchInterval.isZero(), "fetchInterval:[%s] must be greater than 0.", fetchInterval);
+        this.actual = actual;
+        this.minStep = minStep;
+        this.maxStep = maxStep;
+        this.fetchIntervalNanos = fetchInterval.toNanos();
+        this.step = Math.max(minStep, Math.min(maxStep, actual.getStep()));
+    }
+    
+    public IdSegmentDistributor getActual() {
+        return actual;
+    }
+    
+    public long getMinStep() {
+        return minStep;
+    }
+    
+    public long getMaxStep() {
+        return maxStep;
+    }
+    
+    @Nonnull
+    @Override
+    public String getNamespace() {
+        return actual.getNamespace();
+    }
+    
+    @Nonnull
+    @Override
+    public String getName() {
+        return actual.getName();
+    }
+    
+    /**
+     * Get the base step of the {@link #getActual() actual} distributor.
+     * It stays constant, while {@link #nextIdSegment(long)} fetches segments of {@link #getAdaptiveStep()}.
+     * {@link SegmentChainId} sizes its prefetch window by the step of the segments actually in its chain.
+     *
+     * @return base step
+     */
+    @Override
+    public long getStep() {
+        return actual.getStep();
+    }
+    
+    /**
+     * Get the current adaptive step.
+     *
+     * @return current adaptive step
+     */
+    public long getAdaptiveStep() {
+        return step;
+    }
+    
+    @Override
+    public long nextMaxId(long step) {
+        long maxId = actual.nextMaxId(step);
+        adapt(step, System.nanoTime());
+        return maxId;
+    }
+    
+    /**
+     * Reads the step once, so that the returned segment always matches the fetched range even if the step is resized concurrently.
+     */
+    @Nonnull
+    @Override
+    public IdSegment nextIdSegment(long ttl) {
+        Preconditions.checkArgument(ttl > 0, "ttl:[%s] must be greater than 0.", ttl);
+        
+        final long currentStep = this.step;
+        final long maxId = nextMaxId(currentStep);
+        return new DefaultIdSegment(maxId, currentStep, Clock.CACHE.secondTime(), ttl);
+    }
+    
+    @Nonnull
+    @Override
+    public IdSegment nextIdSegment(int segments, long ttl) {
+        Preconditions.checkArgument(segments > 0, "segments:[%s] must be greater than 0.", segments);
+        Preconditions.checkArgument(ttl > 0, "ttl:[%s] must be greater than 0.", ttl);
+        
+        final long totalStep = Math.multiplyExact(this.step, segments);
+        final long maxId = nextMaxId(totalStep);
+        final IdSegment nextIdSegment = new DefaultIdSegment(maxId, totalStep, Clock.CACHE.secondTime(), ttl);
+        return new MergedIdSegment(segments, nextIdSegment);
+    }
+    
+    @VisibleForTesting
+    synchronized void adapt(long fetchedIds, long nowNanos) {
+        final boolean preFetched = fetched;
+        final long preFetchNanos = lastFetchNanos;
+        final long preFetchedIds = lastFetchedIds;
+        fetched = true;
+        lastFetchNanos = nowNanos;
+        lastFetchedIds = fetchedIds;
+        if (!preFetched) {
+            return;
+        }
+        final long elapsedNanos = Math.max(1, nowNanos - preFetchNanos);
+        final double idsPerNano = (double) preFetchedIds / elapsedNanos;
+        final long expectedStep = (long) Math.min(Long.MAX_VALUE, idsPerNano * fetchIntervalNanos);
+        
+        final long preStep = this.step;
+        long nextStep = Math.max(preStep / RESIZE_FACTOR, Math.min(expectedStep, preStep * RESIZE_FACTOR));
+        nextStep = Math.max(minStep, Math.min(maxStep, nextStep));
+        if (nextStep == preStep) {
+            return;
+        }
+        this.step = nextStep;
+        if (log.isDebugEnabled()) {
+            log.debug("Adapt [{}] - step:[{}->{}] - consumed:[{}] in [{}]ns.", getNamespacedName(), preStep, nextStep, preFetchedIds, elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.segment;
+
+import me.ahoo.cosid.util.Clock;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Asynchronous IdSegment Distributor.
+ * Fetches the next max id without blocking the calling thread, so that many segment fetches can be in flight at the same time.
+ *
+ * @author ahoo wang
+ */
+public interface AsyncIdSegmentDistributor extends IdSegmentDistributor {
+    
+    @Nonnull
+    CompletionStage<Long> nextMaxIdAsync(long step);
+    
+    @Nonnull
+    default CompletionStage<Long> nextMaxIdAsync() {
+        return nextMaxIdAsync(getStep());
+    }
+    
+    @Nonnull
+    default CompletionStage<IdSegment> nextIdSegmentAsync(long ttl) {
+        Preconditions.checkArgument(ttl > 0, "ttl:[%s] must be greater than 0.", ttl);
+        
+        final long step = getStep();
+        return nextMaxIdAsync(step).thenApply(maxId -> new DefaultIdSegment(maxId, step, Clock.CACHE.secondTime(), ttl));
+    }
+    
+    @Nonnull
+    default CompletionStage<IdSegment> nextIdSegmentAsync(int segments, long ttl) {
+        Preconditions.checkArgument(segments > 0, "segments:[%s] must be greater than 0.", segments);
+        Preconditions.checkArgument(ttl > 0, "ttl:[%s] must be greater than 0.", ttl);
+        
+        final long totalStep = getStep(segments);
+        return nextMaxIdAsync(totalStep).thenApply(maxId -> {
+            IdSegment nextIdSegment = new DefaultIdSegment(maxId, totalStep, Clock.CACHE.secondTime(), ttl);
+            return new MergedIdSegment(segments, nextIdSegment);
+        });
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalescing IdSegment Distributor.
+ * Concurrent {@link #nextMaxId(long)} calls that queue up while the actual distributor is busy are merged into a single call with the summed step,
+ * and the resulting range is split among the waiters in arrival order.
+ * So the backend is hit at most once per round trip, however many callers ask at the same time.
+ *
+ * <p>A merged call never asks for more than {@code maxStep}, the waiters beyond it are served by the next call of the same round,
+ * e.g. to stay within the reservoir step of a {@link ReservoirIdSegmentDistributor}. A single waiter asking for more is served alone.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class CoalescingIdSegmentDistributor implements IdSegmentDistributor {
+    
+    private final IdSegmentDistributor actual;
+    private final long maxStep;
+    private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock fetchLock = new ReentrantLock();
+    
+    public CoalescingIdSegmentDistributor(IdSegmentDistributor actual) {
+        this(actual, Long.MAX_VALUE);
+    }
+    
+    public CoalescingIdSegmentDistributor(IdSegmentDistributor actual, long maxStep) {
+        IdSegmentDistributor.ensureStep(maxStep);
+        this.actual = actual;
+        this.maxStep = maxStep;
+    }
+    
+    public IdSegmentDistributor getActual() {
+        return actual;
+    }
+    
+    public long getMaxStep() {
+        return maxStep;
+    }
+    
+    @Nonnull
+    @Override
+    public String getNamespace() {
+        return actual.getNamespace();
+    }
+    
+    @Nonnull
+    @Override
+    public String getName() {
+        return actual.getName();
+    }
+    
+    @Override
+    public long getStep() {
+        return actual.getStep();
+    }
+    
+    @Override
+    public long nextMaxId(long step) {
+        IdSegmentDistributor.ensureStep(step);
+        Waiter waiter = new Waiter(step);
+        waiters.add(waiter);
+        fetchLock.lock();
+        try {
+            /*
+             * Whoever holds the lock fetches for every queued waiter, so a waiter that acquires it later may already be done.
+             */
+            if (!waiter.done) {
+                fetch();
+            }
+        } finally {
+            fetchLock.unlock();
+        }
+        if (waiter.error != null) {
+            throw waiter.error;
+        }
+        return waiter.maxId;
+    }
+    
+    private void fetch() {
+        List<Waiter> batch = new ArrayList<>();
+        long totalStep = 0;
+        Waiter waiter;
+        while ((waiter = waiters.poll()) != null) {
+            if (!batch.isEmpty() && waiter.step > maxStep - totalStep) {
+                fetch(batch, totalStep);
+                batch = new ArrayList<>();
+                totalStep = 0;
+            }
+            batch.add(waiter);
+            totalStep = Math.addExact(totalStep, waiter.step);
+        }
+        if (!batch.isEmpty()) {
+            fetch(batch, totalStep);
+        }
+    }
+    
+    private void fetch(List<Waiter> batch, long totalStep) {
+        try {
+            final long maxId = actual.nextMaxId(totalStep);
+            if (log.isDebugEnabled()) {
+                log.debug("Fetch [{}] - waiters:[{}] - totalStep:[{}] - maxId:[{}].", getNamespacedName(), batch.size(), totalStep, maxId);
+            }
+            long offset = maxId - totalStep;
+            for (Waiter each : batch) {
+                offset += each.step;
+                each.maxId = offset;
+                each.done = true;
+            }
+        } catch (RuntimeException runtimeException) {
+            for (Waiter each : batch) {
+                each.error = runtimeException;
+                each.done = true;
+            }
+        }
+    }
+    
+    /**
+     * Fields are written and read under {@link #fetchLock}.
+     */
+    private static final class Waiter {
+        private final long step;
+        private long maxId;
+        private RuntimeException error;
+        private boolean done;
+        
+        private Waiter(long step) {
+            this.step = step;
+        }
+    }
+}
@@ -98,6 +98,27 @@ public class DefaultIdSegment implements IdSegment {
         return nextSeq;
     }
 
+    /**
+     * Claim the whole requested range with a single {@code getAndAdd}.
+     */
+    @Override
+    public int incrementAndGet(long[] ids, int fromIndex) {
+        final int count = ids.length - fromIndex;
+        if (count <= 0 || isOverflow()) {
+            return 0;
+        }
+
+        final long preSeq = S.getAndAdd(this, count);
+        if (preSeq >= maxId) {
+            return 0;
+        }
+        final int filled = (int) Math.min(count, maxId - preSeq);
+        for (int i = 0; i < filled; i++) {
+            ids[fromIndex + i] = preSeq + i + 1;
+        }
+        return filled;
+    }
+
     @Override
     public String toString() {
         return "DefaultIdSegment{"
@@ -75,4 +75,38 @@ public class DefaultSegmentId implements SegmentId {
         }
     }
 
+    @Override
+    public void generate(long[] ids) {
+        if (ids.length == 0) {
+            return;
+        }
+        if (maxIdDistributor.getStep() == ONE_STEP) {
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = maxIdDistributor.nextMaxId();
+            }
+            return;
+        }
+        int filled = 0;
+        if (segment.isAvailable()) {
+            filled += segment.incrementAndGet(ids, filled);
+            if (filled == ids.length) {
+                return;
+            }
+        }
+
+        synchronized (this) {
+            while (true) {
+                if (segment.isAvailable()) {
+                    filled += segment.incrementAndGet(ids, filled);
+                    if (filled == ids.length) {
+                        return;
+                    }
+                }
+                IdSegment nextIdSegment = maxIdDistributor.nextIdSegment(idSegmentTtl);
+                segment.ensureNextIdSegment(nextIdSegment);
+                segment = nextIdSegment;
+            }
+        }
+    }
+
 }
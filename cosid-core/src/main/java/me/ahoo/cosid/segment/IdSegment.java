@@ -92,6 +92,26 @@ public interface IdSegment extends Comparable<IdSegment> {
     
     long incrementAndGet();
     
+    /**
+     * Claim sequences in bulk and fill them into {@code ids} starting at {@code fromIndex}.
+     *
+     * @param ids       buffer to be filled
+     * @param fromIndex index of the first element to be filled
+     * @return the number of filled sequences, {@code 0} when overflow
+     */
+    default int incrementAndGet(long[] ids, int fromIndex) {
+        int filled = 0;
+        for (int i = fromIndex; i < ids.length; i++) {
+            long nextSeq = incrementAndGet();
+            if (isOverflow(nextSeq)) {
+                break;
+            }
+            ids[i] = nextSeq;
+            filled++;
+        }
+        return filled;
+    }
+    
     @Override
     default int compareTo(IdSegment other) {
         if (getOffset() == other.getOffset()) {
@@ -124,6 +124,11 @@ public class IdSegmentChain implements IdSegment {
     public long incrementAndGet() {
         return idSegment.incrementAndGet();
     }
+    
+    @Override
+    public int incrementAndGet(long[] ids, int fromIndex) {
+        return idSegment.incrementAndGet(ids, fromIndex);
+    }
 
     @Override
     public String toString() {
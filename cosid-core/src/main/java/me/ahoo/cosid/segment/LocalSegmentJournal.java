@@ -0,0 +1,373 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.segment;
+
+import me.ahoo.cosid.CosIdException;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Local Segment Journal.
+ * A memory-mapped file that records the {@link IdSegment} ranges leased by a {@link SegmentChainId} and how far they have been consumed,
+ * so that a restarted {@link SegmentChainId} can resume from the still valid, unused ranges without calling the {@link IdSegmentDistributor}.
+ *
+ * <p>Every write goes to the mapped page cache, which survives a process crash. {@link MappedByteBuffer#force()} is called by the periodic flush, on {@link #close()}
+ * and each time the head moves forward, before any ID of the new head is handed out, so the recorded head also survives a host crash or power loss.
+ *
+ * <p>The consumed watermark is exact only after a clean {@link #close()}. After an unclean shutdown the whole segment that was the head at crash time is skipped.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class LocalSegmentJournal implements AutoCloseable {
+    public static final String DEFAULT_JOURNAL_LOCATION_PATH = "./cosid-segment-journal/";
+    public static final int DEFAULT_CAPACITY = 64;
+    public static final Duration DEFAULT_FLUSH_PERIOD = Duration.ofSeconds(1);
+
+    private static final int MAGIC = 0x436F5344;
+    private static final int VERSION = 1;
+    private static final int MAGIC_POSITION = 0;
+    private static final int VERSION_POSITION = 4;
+    private static final int CLEAN_POSITION = 8;
+    private static final int COUNT_POSITION = 12;
+    private static final int CONSUMED_POSITION = 16;
+    private static final int HEAD_MAX_ID_POSITION = 24;
+    private static final int HEADER_SIZE = 32;
+    /**
+     * maxId + offset + fetchTime.
+     */
+    private static final int ENTRY_SIZE = 24;
+
+    private static volatile ScheduledExecutorService flushExecutor;
+
+    private final File journalFile;
+    private final int capacity;
+    private final Duration flushPeriod;
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel fileChannel;
+    private final FileLock fileLock;
+    private final MappedByteBuffer buffer;
+    private volatile LongSupplier consumedSupplier;
+    private volatile ScheduledFuture<?> flushFuture;
+    /**
+     * The head max id that has been forced to the storage device.
+     */
+    private volatile long forcedHeadMaxId = IdSegment.SEQUENCE_OVERFLOW;
+    private volatile boolean closed;
+
+    public LocalSegmentJournal(File journalFile) {
+        this(journalFile, DEFAULT_CAPACITY, DEFAULT_FLUSH_PERIOD);
+    }
+
+    public LocalSegmentJournal(File journalFile, int capacity, Duration flushPeriod) {
+        Preconditions.checkNotNull(journalFile, "journalFile can not be null!");
+        Preconditions.checkArgument(capacity > 0, "capacity:[%s] must be greater than 0.", capacity);
+        Preconditions.checkArgument(!flushPeriod.isNegative() && !flushPeriod.isZero(), "flushPeriod:[%s] must be greater than 0.", flushPeriod);
+        this.journalFile = journalFile;
+        this.capacity = capacity;
+        this.flushPeriod = flushPeriod;
+        File journalDirectory = journalFile.getAbsoluteFile().getParentFile();
+        if (journalDirectory != null && !journalDirectory.exists()) {
+            boolean ignored = journalDirectory.mkdirs();
+        }
+        try {
+            this.randomAccessFile = new RandomAccessFile(journalFile, "rw");
+            this.fileChannel = randomAccessFile.getChannel();
+            this.fileLock = tryLock(fileChannel);
+            if (fileLock == null) {
+                fileChannel.close();
+                throw new CosIdException(Strings.lenientFormat("Journal file:[%s] is locked by another journal.", journalFile.getAbsolutePath()));
+            }
+            this.buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * ENTRY_SIZE);
+        } catch (IOException e) {
+            throw new CosIdException(e.getMessage(), e);
+        }
+        if (buffer.getInt(MAGIC_POSITION) != MAGIC || buffer.getInt(VERSION_POSITION) != VERSION) {
+            if (log.isInfoEnabled()) {
+                log.info("Init journal : [{}].", journalFile.getAbsolutePath());
+            }
+            reset();
+        }
+    }
+
+    /**
+     * Open the journal of {@code namespacedName} under {@code journalLocation}.
+     *
+     * @param journalLocation journal directory
+     * @param namespacedName  namespaced name of the {@link IdSegmentDistributor}
+     * @return journal
+     */
+    public static LocalSegmentJournal open(String journalLocation, String namespacedName) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(journalLocation), "journalLocation can not be empty!");
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(namespacedName), "namespacedName can not be empty!");
+        return new LocalSegmentJournal(new File(journalLocation, namespacedName + ".journal"));
+    }
+
+    public File getJournalFile() {
+        return journalFile;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized boolean isCleanShutdown() {
+        return buffer.getInt(CLEAN_POSITION) == 1;
+    }
+
+    public synchronized int size() {
+        return buffer.getInt(COUNT_POSITION);
+    }
+
+    /**
+     * Get the head max id that has been forced to the storage device, IDs up to it are skipped on recovery.
+     *
+     * @return forced head max id
+     */
+    public long getForcedHeadMaxId() {
+        return forcedHeadMaxId;
+    }
+
+    /**
+     * Read the still valid, unused ranges and mark the journal as in use.
+     * After an unclean shutdown, the segment that was the head at crash time is treated as fully consumed.
+     *
+     * @param ttl time to live of the recovered segments
+     * @return recovered segments, ordered by {@link IdSegment#getOffset()}
+     */
+    public synchronized List<IdSegment> recover(long ttl) {
+        final boolean clean = isCleanShutdown();
+        final long consumed = buffer.getLong(CONSUMED_POSITION);
+        final long watermark = clean ? consumed : Math.max(consumed, buffer.getLong(HEAD_MAX_ID_POSITION));
+        final int count = buffer.getInt(COUNT_POSITION);
+        List<IdSegment> recovered = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int entryPosition = entryPosition(i);
+            final long maxId = buffer.getLong(entryPosition);
+            final long offset = Math.max(buffer.getLong(entryPosition + 8), watermark);
+            final long fetchTime = buffer.getLong(entryPosition + 16);
+            if (maxId <= offset) {
+                continue;
+            }
+            IdSegment idSegment = new DefaultIdSegment(maxId, maxId - offset, fetchTime, ttl);
+            if (idSegment.isExpired()) {
+                continue;
+            }
+            recovered.add(idSegment);
+        }
+        recovered.sort(null);
+        buffer.putInt(CLEAN_POSITION, 0);
+        buffer.putLong(CONSUMED_POSITION, watermark);
+        buffer.putLong(HEAD_MAX_ID_POSITION, watermark);
+        buffer.force();
+        forcedHeadMaxId = watermark;
+        if (log.isInfoEnabled()) {
+            log.info("Recover [{}] - clean:[{}] - watermark:[{}] - recovered:[{}].", journalFile.getName(), clean, watermark, recovered.size());
+        }
+        return recovered;
+    }
+
+    /**
+     * Record a leased range. When the journal is full, the oldest range is dropped, which only wastes it.
+     *
+     * @param idSegment leased segment
+     */
+    public synchronized void append(IdSegment idSegment) {
+        if (closed) {
+            return;
+        }
+        compact(buffer.getLong(CONSUMED_POSITION));
+        int count = buffer.getInt(COUNT_POSITION);
+        if (count == capacity) {
+            shiftLeft(1, count);
+            count--;
+        }
+        final int entryPosition = entryPosition(count);
+        buffer.putLong(entryPosition, idSegment.getMaxId());
+        buffer.putLong(entryPosition + 8, idSegment.getOffset());
+        buffer.putLong(entryPosition + 16, idSegment.getFetchTime());
+        buffer.putInt(COUNT_POSITION, count + 1);
+    }
+
+    /**
+     * Record the segment that became the head and force it to the storage device, which bounds what may have been consumed if the process or the host crashes.
+     * Must be called before any ID of the new head is handed out.
+     *
+     * @param headMaxId max id of the new head segment
+     */
+    public synchronized void markHead(long headMaxId) {
+        if (closed || headMaxId <= forcedHeadMaxId) {
+            return;
+        }
+        if (headMaxId > buffer.getLong(HEAD_MAX_ID_POSITION)) {
+            buffer.putLong(HEAD_MAX_ID_POSITION, headMaxId);
+        }
+        buffer.force();
+        forcedHeadMaxId = headMaxId;
+    }
+
+    /**
+     * Bind the supplier of the last consumed sequence and start the periodic flush.
+     *
+     * @param consumedSupplier last consumed sequence supplier
+     */
+    public synchronized void bind(LongSupplier consumedSupplier) {
+        Preconditions.checkState(this.consumedSupplier == null, "Journal:[%s] is already bound.", journalFile.getName());
+        this.consumedSupplier = consumedSupplier;
+        final long periodNanos = flushPeriod.toNanos();
+        flushFuture = flushExecutor().scheduleWithFixedDelay(this::flush, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Write the last consumed sequence and force the mapped buffer to the storage device.
+     */
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+        try {
+            writeConsumed();
+            buffer.force();
+        } catch (Throwable throwable) {
+            if (log.isWarnEnabled()) {
+                log.warn("Flush [{}] failed.", journalFile.getName(), throwable);
+            }
+        }
+    }
+
+    /**
+     * Record the exact consumed sequence and mark a clean shutdown.
+     * Must be called after the bound {@link SegmentChainId} stopped generating, otherwise IDs generated afterwards may be handed out again on restart.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        if (flushFuture != null) {
+            flushFuture.cancel(false);
+        }
+        writeConsumed();
+        buffer.putInt(CLEAN_POSITION, 1);
+        buffer.force();
+        closed = true;
+        forcedHeadMaxId = Long.MAX_VALUE;
+        try {
+            fileLock.release();
+            fileChannel.close();
+            randomAccessFile.close();
+        } catch (IOException e) {
+            throw new CosIdException(e.getMessage(), e);
+        }
+        if (log.isInfoEnabled()) {
+            log.info("Close [{}] - consumed:[{}].", journalFile.getName(), buffer.getLong(CONSUMED_POSITION));
+        }
+    }
+
+    private void writeConsumed() {
+        final LongSupplier currentSupplier = consumedSupplier;
+        if (currentSupplier == null) {
+            return;
+        }
+        final long consumed = currentSupplier.getAsLong();
+        if (consumed > buffer.getLong(CONSUMED_POSITION)) {
+            buffer.putLong(CONSUMED_POSITION, consumed);
+        }
+    }
+
+    /**
+     * Drop the ranges below the flushed consumed sequence, the head range is kept so that a clean shutdown can still resume from it.
+     */
+    private void compact(long consumed) {
+        final int count = buffer.getInt(COUNT_POSITION);
+        int retained = 0;
+        for (int i = 0; i < count; i++) {
+            final int from = entryPosition(i);
+            if (buffer.getLong(from) <= consumed) {
+                continue;
+            }
+            if (retained != i) {
+                copyEntry(from, entryPosition(retained));
+            }
+            retained++;
+        }
+        buffer.putInt(COUNT_POSITION, retained);
+    }
+
+    private void shiftLeft(int dropped, int count) {
+        for (int i = dropped; i < count; i++) {
+            copyEntry(entryPosition(i), entryPosition(i - dropped));
+        }
+        buffer.putInt(COUNT_POSITION, count - dropped);
+    }
+
+    private void copyEntry(int from, int to) {
+        buffer.putLong(to, buffer.getLong(from));
+        buffer.putLong(to + 8, buffer.getLong(from + 8));
+        buffer.putLong(to + 16, buffer.getLong(from + 16));
+    }
+
+    private void reset() {
+        buffer.putInt(MAGIC_POSITION, MAGIC);
+        buffer.putInt(VERSION_POSITION, VERSION);
+        buffer.putInt(CLEAN_POSITION, 0);
+        buffer.putInt(COUNT_POSITION, 0);
+        buffer.putLong(CONSUMED_POSITION, IdSegment.SEQUENCE_OVERFLOW);
+        buffer.putLong(HEAD_MAX_ID_POSITION, IdSegment.SEQUENCE_OVERFLOW);
+    }
+
+    @Nullable
+    private static FileLock tryLock(FileChannel fileChannel) throws IOException {
+        try {
+            return fileChannel.tryLock();
+        } catch (OverlappingFileLockException overlappingFileLockException) {
+            return null;
+        }
+    }
+
+    private static int entryPosition(int index) {
+        return HEADER_SIZE + index * ENTRY_SIZE;
+    }
+
+    private static ScheduledExecutorService flushExecutor() {
+        if (flushExecutor == null) {
+            synchronized (LocalSegmentJournal.class) {
+                if (flushExecutor == null) {
+                    flushExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("LocalSegmentJournal-Flush-%d").setDaemon(true).build());
+                }
+            }
+        }
+        return flushExecutor;
+    }
+}
@@ -81,6 +81,11 @@ public class MergedIdSegment implements IdSegment {
         return idSegment.incrementAndGet();
     }
     
+    @Override
+    public int incrementAndGet(long[] ids, int fromIndex) {
+        return idSegment.incrementAndGet(ids, fromIndex);
+    }
+    
     @Override
     public String toString() {
         return "MergedIdSegment{"
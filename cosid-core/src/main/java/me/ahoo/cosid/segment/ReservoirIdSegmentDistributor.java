@@ -0,0 +1,143 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Reservoir IdSegment Distributor.
+ * Leases large ranges of {@code step * multiplier} IDs from the actual distributor and answers {@link #nextMaxId(long)} from memory
+ * by carving sub-ranges out of them. The next range is prefetched in the background once the current one is half consumed,
+ * and prefetched again on every call while the backend keeps failing,
+ * so callers are decoupled from backend latency spikes and short backend outages.
+ *
+ * <p>The unconsumed part of the reservoir is lost on restart, the same as for the prefetched segments of {@link SegmentChainId}.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class ReservoirIdSegmentDistributor implements IdSegmentDistributor {
+    public static final int DEFAULT_MULTIPLIER = 10;
+    public static final Executor DEFAULT_PREFETCH_EXECUTOR =
+        Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("ReservoirIdSegmentDistributor-Prefetch-%d").setDaemon(true).build());
+    
+    private final IdSegmentDistributor actual;
+    private final long reservoirStep;
+    private final Executor prefetchExecutor;
+    /**
+     * The last carved max id of the current reservoir range {@code (cursor, maxId]}.
+     */
+    private long cursor;
+    private long maxId;
+    private CompletableFuture<Long> nextReservoir;
+    
+    public ReservoirIdSegmentDistributor(IdSegmentDistributor actual) {
+        this(actual, DEFAULT_MULTIPLIER, DEFAULT_PREFETCH_EXECUTOR);
+    }
+    
+    public ReservoirIdSegmentDistributor(IdSegmentDistributor actual, int multiplier, Executor prefetchExecutor) {
+        Preconditions.checkArgument(multiplier > 0, "multiplier:[%s] must be greater than 0.", multiplier);
+        this.actual = actual;
+        this.reservoirStep = Math.multiplyExact(actual.getStep(), multiplier);
+        this.prefetchExecutor = prefetchExecutor;
+    }
+    
+    public IdSegmentDistributor getActual() {
+        return actual;
+    }
+    
+    public long getReservoirStep() {
+        return reservoirStep;
+    }
+    
+    /**
+     * Get the number of IDs left in the current reservoir range.
+     *
+     * @return remaining
+     */
+    public synchronized long getRemaining() {
+        return maxId - cursor;
+    }
+    
+    @Nonnull
+    @Override
+    public String getNamespace() {
+        return actual.getNamespace();
+    }
+    
+    @Nonnull
+    @Override
+    public String getName() {
+        return actual.getName();
+    }
+    
+    @Override
+    public long getStep() {
+        return actual.getStep();
+    }
+    
+    /**
+     * Carve {@code step} IDs out of the reservoir, a {@code step} greater than the reservoir step goes to the actual distributor directly.
+     */
+    @Override
+    public synchronized long nextMaxId(long step) {
+        IdSegmentDistributor.ensureStep(step);
+        if (step > reservoirStep) {
+            return actual.nextMaxId(step);
+        }
+        if (maxId - cursor < step) {
+            refill();
+        }
+        cursor += step;
+        if ((nextReservoir == null || nextReservoir.isCompletedExceptionally()) && maxId - cursor < reservoirStep / 2) {
+            nextReservoir = CompletableFuture.supplyAsync(() -> actual.nextMaxId(reservoirStep), prefetchExecutor);
+        }
+        return cursor;
+    }
+    
+    /**
+     * Switch to the prefetched range, the rest of the current range is dropped as it is too short for the requested step.
+     * Fetches synchronously when the prefetch has failed, so a backend error only surfaces once the reservoir is drained.
+     */
+    private void refill() {
+        final CompletableFuture<Long> prefetched = nextReservoir;
+        nextReservoir = null;
+        long reservoirMaxId;
+        if (prefetched == null) {
+            reservoirMaxId = actual.nextMaxId(reservoirStep);
+        } else {
+            try {
+                reservoirMaxId = prefetched.join();
+            } catch (RuntimeException prefetchError) {
+                if (log.isWarnEnabled()) {
+                    log.warn("Refill [{}] - prefetch failed, fetch again.", getNamespacedName(), prefetchError);
+                }
+                reservoirMaxId = actual.nextMaxId(reservoirStep);
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Refill [{}] - reservoirStep:[{}] - maxId:[{}].", getNamespacedName(), reservoirStep, reservoirMaxId);
+        }
+        cursor = reservoirMaxId - reservoirStep;
+        maxId = reservoirMaxId;
+    }
+}
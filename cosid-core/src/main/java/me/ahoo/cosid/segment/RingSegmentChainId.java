@@ -0,0 +1,249 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.segment;
+
+import me.ahoo.cosid.IdGeneratorDecorator;
+import me.ahoo.cosid.segment.concurrent.AffinityJob;
+import me.ahoo.cosid.segment.concurrent.PrefetchWorker;
+import me.ahoo.cosid.segment.concurrent.PrefetchWorkerExecutorService;
+
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ring pre-generation segment chain algorithm ID generator.
+ * The prefetch worker is the single producer of a bounded {@code long[]} ring, filled ahead of demand from the {@link IdSegmentChain} of the actual {@link SegmentChainId}.
+ * {@link #generate()} is a single sequence claim on the ring, without walking the {@link IdSegmentChain} and without overflow checks.
+ *
+ * <p>When the ring is drained, the caller falls back to the actual {@link SegmentChainId} and wakes up the producer,
+ * so IDs are unique but only trend increasing across the ring and the fallback.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class RingSegmentChainId implements SegmentId, IdGeneratorDecorator {
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final SegmentChainId actual;
+    private final long[] ring;
+    private final int mask;
+    private final int capacity;
+    private final int lowWatermark;
+    /**
+     * Next sequence to be claimed by the consumers.
+     */
+    private final AtomicLong head = new AtomicLong();
+    /**
+     * Next sequence to be published by the producer, only written by the producer.
+     */
+    private volatile long tail;
+    private final LongAdder drainedCount = new LongAdder();
+    private final FillJob fillJob;
+
+    public RingSegmentChainId(SegmentChainId actual) {
+        this(actual, DEFAULT_CAPACITY, PrefetchWorkerExecutorService.DEFAULT);
+    }
+
+    /**
+     * Create a {@link RingSegmentChainId}.
+     *
+     * @param capacity ring capacity, rounded up to a power of 2
+     */
+    public RingSegmentChainId(SegmentChainId actual, int capacity, PrefetchWorkerExecutorService prefetchWorkerExecutorService) {
+        Preconditions.checkArgument(capacity > 1 && capacity <= 1 << 30, "capacity:[%s] must be in (1, 2^30].", capacity);
+        this.actual = actual;
+        this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.ring = new long[this.capacity];
+        this.lowWatermark = this.capacity / 2;
+        this.fillJob = new FillJob();
+        fillJob.fill();
+        prefetchWorkerExecutorService.submit(fillJob);
+    }
+
+    @Nonnull
+    @Override
+    public SegmentChainId getActual() {
+        return actual;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get the number of pre-generated IDs in the ring.
+     * Read without synchronization, only used for monitoring.
+     *
+     * @return fill level
+     */
+    public int getFillLevel() {
+        return (int) Math.max(0, tail - head.get());
+    }
+
+    /**
+     * Get the number of times that the ring was drained and the caller fell back to the actual {@link SegmentChainId}.
+     *
+     * @return drained count
+     */
+    public long getDrainedCount() {
+        return drainedCount.sum();
+    }
+
+    public FillJob getFillJob() {
+        return fillJob;
+    }
+
+    @Override
+    public long generate() {
+        while (true) {
+            final long currentHead = head.get();
+            final long currentTail = tail;
+            if (currentHead >= currentTail) {
+                drainedCount.increment();
+                fillJob.hungry();
+                return actual.generate();
+            }
+            /*
+             * Read before claiming, the producer never overwrites a slot that has not been claimed.
+             */
+            final long id = ring[(int) currentHead & mask];
+            if (head.compareAndSet(currentHead, currentHead + 1)) {
+                if (currentTail - currentHead <= lowWatermark) {
+                    fillJob.wakeup();
+                }
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Claim as many pre-generated IDs as available with a single sequence claim, the rest falls back to the actual {@link SegmentChainId}.
+     *
+     * @param ids buffer to be filled with generated distributed IDs
+     */
+    @Override
+    public void generate(long[] ids) {
+        if (ids.length == 0) {
+            return;
+        }
+        while (true) {
+            final long currentHead = head.get();
+            final long currentTail = tail;
+            final int claimed = (int) Math.min(ids.length, currentTail - currentHead);
+            if (claimed <= 0) {
+                drainedCount.increment();
+                fillJob.hungry();
+                actual.generate(ids);
+                return;
+            }
+            for (int i = 0; i < claimed; i++) {
+                ids[i] = ring[(int) (currentHead + i) & mask];
+            }
+            if (head.compareAndSet(currentHead, currentHead + claimed)) {
+                if (currentTail - currentHead - claimed < lowWatermark) {
+                    fillJob.wakeup();
+                }
+                for (int i = claimed; i < ids.length; i++) {
+                    ids[i] = actual.generate();
+                }
+                return;
+            }
+        }
+    }
+
+    public class FillJob implements AffinityJob {
+        private final long[] chunk = new long[lowWatermark];
+        /**
+         * Set by the first claim below the low watermark and cleared by {@link #fill()}, so the other claims do not touch the {@link PrefetchWorker}.
+         */
+        private final AtomicBoolean wakeupRequested = new AtomicBoolean();
+        private volatile PrefetchWorker prefetchWorker;
+
+        @Override
+        public String getJobId() {
+            return actual.getPrefetchJob().getJobId() + "@ring";
+        }
+
+        @Override
+        public void setHungerTime(long hungerTime) {
+            actual.getPrefetchJob().setHungerTime(hungerTime);
+        }
+
+        @Override
+        public void hungry() {
+            if (prefetchWorker == null) {
+                return;
+            }
+            AffinityJob.super.hungry();
+        }
+
+        /**
+         * Called on every claim below the low watermark, only the first one after a {@link #fill()} wakes up the {@link PrefetchWorker}.
+         * A lost wakeup is retried by the periodic prefetch or by {@link #hungry()} once the ring is drained.
+         */
+        private void wakeup() {
+            final PrefetchWorker currentPrefetchWorker = prefetchWorker;
+            if (currentPrefetchWorker == null) {
+                return;
+            }
+            if (wakeupRequested.get() || !wakeupRequested.compareAndSet(false, true)) {
+                return;
+            }
+            currentPrefetchWorker.wakeup(this);
+        }
+
+        @Override
+        public PrefetchWorker getPrefetchWorker() {
+            return prefetchWorker;
+        }
+
+        @Override
+        public void setPrefetchWorker(PrefetchWorker prefetchWorker) {
+            if (this.prefetchWorker != null) {
+                return;
+            }
+            this.prefetchWorker = prefetchWorker;
+        }
+
+        @Override
+        public void run() {
+            fill();
+        }
+
+        /**
+         * Fill the free slots of the ring chunk by chunk, only called by the single producer.
+         */
+        synchronized void fill() {
+            wakeupRequested.set(false);
+            long currentTail = tail;
+            while (capacity - (currentTail - head.get()) >= chunk.length) {
+                actual.generate(chunk);
+                for (int i = 0; i < chunk.length; i++) {
+                    ring[(int) (currentTail + i) & mask] = chunk[i];
+                }
+                currentTail += chunk.length;
+                tail = currentTail;
+            }
+            if (log.isTraceEnabled()) {
+                log.trace("Fill [{}] - tail:[{}].", getJobId(), currentTail);
+            }
+        }
+    }
+}
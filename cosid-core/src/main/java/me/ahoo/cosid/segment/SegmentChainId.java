@@ -24,6 +24,10 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Segment chain algorithm ID generator.
  * <p><img src="../doc-files/SegmentChainId.png" alt="SegmentChainId"></p>
@@ -33,24 +37,49 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class SegmentChainId implements SegmentId {
     public static final int DEFAULT_SAFE_DISTANCE = 10;
+    private static final AtomicLongFieldUpdater<PrefetchJob> LOW_WATERMARK_SEQUENCE = AtomicLongFieldUpdater.newUpdater(PrefetchJob.class, "lowWatermarkSequence");
     
     private final long idSegmentTtl;
     private final int safeDistance;
     private final IdSegmentDistributor maxIdDistributor;
     private final PrefetchJob prefetchJob;
+    @Nullable
+    private final LocalSegmentJournal journal;
     private volatile IdSegmentChain headChain = IdSegmentChain.newRoot();
+    private final LongAdder hungerCount = new LongAdder();
+    private final LongAdder giveUpCount = new LongAdder();
     
     public SegmentChainId(IdSegmentDistributor maxIdDistributor) {
         this(TIME_TO_LIVE_FOREVER, DEFAULT_SAFE_DISTANCE, maxIdDistributor, PrefetchWorkerExecutorService.DEFAULT);
     }
     
     public SegmentChainId(long idSegmentTtl, int safeDistance, IdSegmentDistributor maxIdDistributor, PrefetchWorkerExecutorService prefetchWorkerExecutorService) {
+        this(idSegmentTtl, safeDistance, maxIdDistributor, prefetchWorkerExecutorService, null);
+    }
+    
+    /**
+     * Create a {@link SegmentChainId} that resumes from the unused ranges recorded in {@code journal} before fetching from {@code maxIdDistributor}.
+     *
+     * @param journal local segment journal, or {@code null} to disable the journal
+     */
+    public SegmentChainId(long idSegmentTtl, int safeDistance, IdSegmentDistributor maxIdDistributor, PrefetchWorkerExecutorService prefetchWorkerExecutorService,
+                          @Nullable LocalSegmentJournal journal) {
         Preconditions.checkArgument(idSegmentTtl > 0, Strings.lenientFormat("Illegal idSegmentTtl parameter:[%s].", idSegmentTtl));
         Preconditions.checkArgument(safeDistance > 0, "The safety distance must be greater than 0.");
         this.idSegmentTtl = idSegmentTtl;
         this.safeDistance = safeDistance;
         this.maxIdDistributor = maxIdDistributor;
-        prefetchJob = new PrefetchJob(headChain);
+        this.journal = journal;
+        IdSegmentChain tailChain = headChain;
+        if (journal != null) {
+            for (IdSegment recoveredSegment : journal.recover(idSegmentTtl)) {
+                IdSegmentChain recoveredChain = new IdSegmentChain(tailChain, recoveredSegment);
+                tailChain.setNext(recoveredChain);
+                tailChain = recoveredChain;
+            }
+            journal.bind(this::getConsumedSequence);
+        }
+        prefetchJob = new PrefetchJob(tailChain);
         prefetchWorkerExecutorService.submit(prefetchJob);
     }
     
@@ -58,6 +87,43 @@ public class SegmentChainId implements SegmentId {
         return headChain;
     }
     
+    public PrefetchJob getPrefetchJob() {
+        return prefetchJob;
+    }
+    
+    @Nullable
+    public LocalSegmentJournal getJournal() {
+        return journal;
+    }
+    
+    /**
+     * Get the last sequence handed out by the head chain, all sequences up to it have been consumed.
+     *
+     * @return last consumed sequence
+     */
+    private long getConsumedSequence() {
+        final IdSegmentChain currentHeadChain = headChain;
+        return Math.min(currentHeadChain.getSequence(), currentHeadChain.getMaxId());
+    }
+    
+    /**
+     * Get the number of times that the caller thread had to fetch the next {@link IdSegmentChain} synchronously.
+     *
+     * @return hunger count
+     */
+    public long getHungerCount() {
+        return hungerCount.sum();
+    }
+    
+    /**
+     * Get the number of next {@link IdSegmentChain} given up because of {@link NextIdSegmentExpiredException}.
+     *
+     * @return give up count
+     */
+    public long getGiveUpCount() {
+        return giveUpCount.sum();
+    }
+    
     /**
      * No lock, because it is not important, as long as the {@link #headChain} is trending forward.
      * -----
@@ -70,18 +136,58 @@ public class SegmentChainId implements SegmentId {
      * </pre>
      *
      * @param forwardChain forward IdSegmentChain
+     * @return true if the {@link #headChain} moved forward
      */
-    private void forward(IdSegmentChain forwardChain) {
+    private boolean forward(IdSegmentChain forwardChain) {
         if (forwardChain.compareTo(headChain) > 0) {
             if (log.isDebugEnabled()) {
                 log.debug("Forward [{}] - [{}] -> [{}].", maxIdDistributor.getNamespacedName(), headChain, forwardChain);
             }
             headChain = forwardChain;
+            if (journal != null) {
+                journal.markHead(forwardChain.getMaxId());
+            }
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Called by the generating threads for every generated sequence, a single volatile read unless the sequence crossed the low watermark.
+     * With a journal, the head is forced to the journal before the sequence is handed out, also when another thread moved the head forward.
+     *
+     * @param forwardChain forward IdSegmentChain
+     * @param lastSeq last generated sequence
+     */
+    private void forwardAndCheckLowWatermark(IdSegmentChain forwardChain, long lastSeq) {
+        forward(forwardChain);
+        if (journal != null && forwardChain.getMaxId() > journal.getForcedHeadMaxId()) {
+            journal.markHead(forwardChain.getMaxId());
+        }
+        if (lastSeq >= prefetchJob.lowWatermarkSequence) {
+            prefetchJob.reachLowWatermark();
         }
     }
     
     private IdSegmentChain generateNext(IdSegmentChain previousChain, int segments) {
-        return maxIdDistributor.nextIdSegmentChain(previousChain, segments, idSegmentTtl);
+        IdSegmentChain nextChain = maxIdDistributor.nextIdSegmentChain(previousChain, segments, idSegmentTtl);
+        if (journal != null) {
+            journal.append(nextChain.getIdSegment());
+        }
+        return nextChain;
+    }
+    
+    /**
+     * Get the step of a single segment of {@code chain}, the unit of the prefetch window.
+     * It follows the step actually fetched, e.g. by {@link AdaptiveIdSegmentDistributor}, rather than the base step of the {@link IdSegmentDistributor}.
+     *
+     * @param chain IdSegmentChain
+     * @return step of a single segment
+     */
+    private long segmentStep(IdSegmentChain chain) {
+        final IdSegment idSegment = chain.getIdSegment();
+        final long step = idSegment instanceof MergedIdSegment ? ((MergedIdSegment) idSegment).getSingleStep() : idSegment.getStep();
+        return step > 0 ? step : maxIdDistributor.getStep();
     }
     
     @Override
@@ -92,41 +198,85 @@ public class SegmentChainId implements SegmentId {
                 if (currentChain.isAvailable()) {
                     long nextSeq = currentChain.incrementAndGet();
                     if (!currentChain.isOverflow(nextSeq)) {
-                        forward(currentChain);
+                        forwardAndCheckLowWatermark(currentChain, nextSeq);
                         return nextSeq;
                     }
                 }
                 currentChain = currentChain.getNext();
             }
-            
-            try {
-                final IdSegmentChain preIdSegmentChain = headChain;
-                
-                if (preIdSegmentChain.trySetNext((preChain) -> generateNext(preChain, safeDistance))) {
-                    IdSegmentChain nextChain = preIdSegmentChain.getNext();
-                    forward(nextChain);
-                    if (log.isDebugEnabled()) {
-                        log.debug("Generate [{}] - headChain.version:[{}->{}].", maxIdDistributor.getNamespacedName(), preIdSegmentChain.getVersion(), nextChain.getVersion());
+            hungry();
+        }
+    }
+    
+    /**
+     * Fill the whole {@code ids} buffer, claiming each available {@link IdSegment} range with a single atomic operation.
+     *
+     * @param ids buffer to be filled with generated distributed IDs
+     */
+    @Override
+    public void generate(long[] ids) {
+        if (ids.length == 0) {
+            return;
+        }
+        int filled = 0;
+        while (true) {
+            IdSegmentChain currentChain = headChain;
+            while (currentChain != null) {
+                if (currentChain.isAvailable()) {
+                    filled += currentChain.incrementAndGet(ids, filled);
+                    if (filled == ids.length) {
+                        forwardAndCheckLowWatermark(currentChain, ids[filled - 1]);
+                        return;
                     }
                 }
-            } catch (NextIdSegmentExpiredException nextIdSegmentExpiredException) {
-                if (log.isWarnEnabled()) {
-                    log.warn("Generate [{}] - gave up this next IdSegmentChain.", maxIdDistributor.getNamespacedName(), nextIdSegmentExpiredException);
+                currentChain = currentChain.getNext();
+            }
+            hungry();
+        }
+    }
+    
+    /**
+     * The available {@link IdSegmentChain} is exhausted, try to append the next {@link IdSegmentChain} synchronously and notify the prefetch job.
+     */
+    private void hungry() {
+        hungerCount.increment();
+        try {
+            final IdSegmentChain preIdSegmentChain = headChain;
+            
+            if (preIdSegmentChain.trySetNext((preChain) -> generateNext(preChain, safeDistance))) {
+                IdSegmentChain nextChain = preIdSegmentChain.getNext();
+                forward(nextChain);
+                if (log.isDebugEnabled()) {
+                    log.debug("Generate [{}] - headChain.version:[{}->{}].", maxIdDistributor.getNamespacedName(), preIdSegmentChain.getVersion(), nextChain.getVersion());
                 }
             }
-            this.prefetchJob.hungry();
+        } catch (NextIdSegmentExpiredException nextIdSegmentExpiredException) {
+            giveUpCount.increment();
+            if (log.isWarnEnabled()) {
+                log.warn("Generate [{}] - gave up this next IdSegmentChain.", maxIdDistributor.getNamespacedName(), nextIdSegmentExpiredException);
+            }
         }
+        this.prefetchJob.hungry();
     }
     
     public class PrefetchJob implements AffinityJob {
         private static final int MAX_PREFETCH_DISTANCE = 100_000_000;
+        private static final long DISARMED = Long.MAX_VALUE;
         /**
          * Duration.ofSeconds(5);
          */
         private static final long hungerThreshold = 5;
         private volatile PrefetchWorker prefetchWorker;
         private int prefetchDistance = safeDistance;
-        private IdSegmentChain tailChain;
+        /**
+         * Generating threads wake up the prefetch worker once the head-to-tail gap falls below it.
+         */
+        private final int lowWatermark = Math.max(1, safeDistance / 2);
+        /**
+         * The sequence at which the head-to-tail gap falls below {@link #lowWatermark}, re-armed by every prefetch and disarmed by the first generating thread crossing it.
+         */
+        volatile long lowWatermarkSequence = DISARMED;
+        private volatile IdSegmentChain tailChain;
         /**
          * last Hunger Time.
          *
@@ -161,13 +311,58 @@ public class SegmentChainId implements SegmentId {
             this.prefetchWorker = prefetchWorker;
         }
         
+        public int getPrefetchDistance() {
+            return prefetchDistance;
+        }
+        
+        public int getLowWatermark() {
+            return lowWatermark;
+        }
+        
+        /**
+         * Wake up the prefetch worker once per crossing of the {@link #lowWatermarkSequence}.
+         */
+        void reachLowWatermark() {
+            final PrefetchWorker currentPrefetchWorker = prefetchWorker;
+            if (currentPrefetchWorker == null) {
+                return;
+            }
+            final long currentLowWatermarkSequence = lowWatermarkSequence;
+            if (currentLowWatermarkSequence != DISARMED && LOW_WATERMARK_SEQUENCE.compareAndSet(this, currentLowWatermarkSequence, DISARMED)) {
+                currentPrefetchWorker.wakeup(this);
+            }
+        }
+        
+        private void armLowWatermark() {
+            final IdSegmentChain currentTailChain = tailChain;
+            lowWatermarkSequence = currentTailChain.getMaxId() - (long) lowWatermark * segmentStep(currentTailChain);
+        }
+        
+        /**
+         * Get the number of prefetched segments between the head chain and the tail chain.
+         * Read without synchronization, only used for monitoring.
+         *
+         * @return head to tail gap
+         */
+        public int getHeadToTailGap() {
+            final IdSegmentChain currentTailChain = tailChain;
+            return Math.max(0, headChain.gap(currentTailChain, segmentStep(currentTailChain)));
+        }
+        
         @Override
         public void run() {
             prefetch();
         }
         
         public void prefetch() {
-            
+            try {
+                doPrefetch();
+            } finally {
+                armLowWatermark();
+            }
+        }
+        
+        private void doPrefetch() {
             long wakeupTimeGap = Clock.CACHE.secondTime() - lastHungerTime;
             final boolean hunger = wakeupTimeGap < hungerThreshold;
             
@@ -197,7 +392,7 @@ public class SegmentChainId implements SegmentId {
             
             forward(availableHeadChain);
             
-            final int headToTailGap = availableHeadChain.gap(tailChain, maxIdDistributor.getStep());
+            final int headToTailGap = availableHeadChain.gap(tailChain, segmentStep(tailChain));
             final int safeGap = safeDistance - headToTailGap;
             
             if (safeGap <= 0 && !hunger) {
@@ -227,10 +422,11 @@ public class SegmentChainId implements SegmentId {
                     tailChain = tailChain.getNext();
                 }
                 if (log.isDebugEnabled()) {
-                    log.debug("AppendChain [{}] - restTail - tailChain.version:[{}:{}->{}] .", maxIdDistributor.getNamespacedName(), preTail.gap(tailChain, maxIdDistributor.getStep()),
+                    log.debug("AppendChain [{}] - restTail - tailChain.version:[{}:{}->{}] .", maxIdDistributor.getNamespacedName(), preTail.gap(tailChain, segmentStep(tailChain)),
                         preTail.getVersion(), tailChain.getVersion());
                 }
             } catch (NextIdSegmentExpiredException nextIdSegmentExpiredException) {
+                giveUpCount.increment();
                 if (log.isWarnEnabled()) {
                     log.warn("AppendChain [{}] - gave up this next IdSegmentChain.", maxIdDistributor.getNamespacedName(), nextIdSegmentExpiredException);
                 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.segment;
+
+import me.ahoo.cosid.IdGeneratorDecorator;
+
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread local leasing segment algorithm ID generator.
+ * Each thread leases a private range of IDs (see {@link #DEFAULT_LEASE_SIZE}) from the actual {@link SegmentId} with a single bulk claim,
+ * and then generates from a plain thread-local counter without any CAS contention.
+ *
+ * <p>IDs are unique and increasing within one thread, but only trend increasing across threads.
+ * The IDs left in the lease of a thread that dies or of a stopped JVM are wasted, see {@link #getWastedIds()}.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class ThreadLocalSegmentId implements SegmentId, IdGeneratorDecorator {
+    public static final int DEFAULT_LEASE_SIZE = 64;
+    
+    private final SegmentId actual;
+    private final int leaseSize;
+    private final ThreadLocal<Lease> leases;
+    private final Set<Lease> activeLeases = ConcurrentHashMap.newKeySet();
+    private final LongAdder wastedIds = new LongAdder();
+    
+    public ThreadLocalSegmentId(SegmentId actual) {
+        this(actual, DEFAULT_LEASE_SIZE, false);
+    }
+    
+    /**
+     * Create a ThreadLocalSegmentId.
+     *
+     * @param actual       actual SegmentId
+     * @param leaseSize    number of IDs leased per thread
+     * @param shutdownHook whether to report the wasted IDs on shutdown with a {@link WastedReporter},
+     *                     which keeps this instance reachable until the JVM exits, so only enable it for long-lived instances
+     */
+    public ThreadLocalSegmentId(SegmentId actual, int leaseSize, boolean shutdownHook) {
+        Preconditions.checkArgument(leaseSize > 0, "leaseSize:[%s] must be greater than 0.", leaseSize);
+        this.actual = actual;
+        this.leaseSize = leaseSize;
+        this.leases = ThreadLocal.withInitial(this::newLease);
+        if (shutdownHook) {
+            Runtime.getRuntime().addShutdownHook(new WastedReporter());
+        }
+    }
+    
+    @Nonnull
+    @Override
+    public SegmentId getActual() {
+        return actual;
+    }
+    
+    public int getLeaseSize() {
+        return leaseSize;
+    }
+    
+    @Override
+    public long generate() {
+        return leases.get().next(actual);
+    }
+    
+    /**
+     * Get the number of IDs wasted by the leases of threads that have died.
+     *
+     * @return wasted IDs
+     */
+    public long getWastedIds() {
+        reclaimDeadLeases();
+        return wastedIds.sum();
+    }
+    
+    /**
+     * Get the number of IDs leased by live threads and not yet consumed.
+     * Only an approximation, the counters of the live threads are read without synchronization.
+     *
+     * @return leased and not yet consumed IDs
+     */
+    public long getLeasedIds() {
+        long leasedIds = 0;
+        for (Lease lease : activeLeases) {
+            leasedIds += lease.remaining();
+        }
+        return leasedIds;
+    }
+    
+    private Lease newLease() {
+        reclaimDeadLeases();
+        Lease lease = new Lease(Thread.currentThread(), leaseSize);
+        activeLeases.add(lease);
+        return lease;
+    }
+    
+    private void reclaimDeadLeases() {
+        for (Lease lease : activeLeases) {
+            if (lease.isOwnerAlive()) {
+                continue;
+            }
+            if (activeLeases.remove(lease)) {
+                int remaining = lease.remaining();
+                wastedIds.add(remaining);
+                if (remaining > 0 && log.isDebugEnabled()) {
+                    log.debug("Reclaim Dead Lease - wasted:[{}].", remaining);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Static, so that the thread-local value of a pooled thread does not keep a discarded {@link ThreadLocalSegmentId} reachable.
+     */
+    private static final class Lease {
+        private final WeakReference<Thread> owner;
+        private final long[] ids;
+        /**
+         * Only accessed by the owner thread.
+         * Once the owner thread has terminated, it is safe to be read by any thread.
+         */
+        private int index;
+        
+        private Lease(Thread owner, int leaseSize) {
+            this.owner = new WeakReference<>(owner);
+            this.ids = new long[leaseSize];
+            this.index = ids.length;
+        }
+        
+        private long next(SegmentId actual) {
+            if (index == ids.length) {
+                actual.generate(ids);
+                index = 0;
+            }
+            return ids[index++];
+        }
+        
+        private int remaining() {
+            return ids.length - index;
+        }
+        
+        private boolean isOwnerAlive() {
+            Thread ownerThread = owner.get();
+            return ownerThread != null && ownerThread.isAlive();
+        }
+    }
+    
+    public class WastedReporter extends Thread {
+        @Override
+        public void run() {
+            long wasted = getWastedIds() + getLeasedIds();
+            if (log.isInfoEnabled()) {
+                log.info("Shutdown - wasted:[{}] - leaseSize:[{}].", wasted, leaseSize);
+            }
+        }
+    }
+}
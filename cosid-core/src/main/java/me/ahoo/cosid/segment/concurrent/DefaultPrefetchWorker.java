@@ -17,26 +17,40 @@ import com.google.common.base.Strings;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
 
 /**
  * Default Prefetch Worker.
+ * Only visits the jobs that were marked dirty by {@link #submit(AffinityJob)} or {@link #wakeup(AffinityJob)}, and parks otherwise.
+ * A wakeup always marks the job dirty before unparking, so it can not be lost between checking the dirty jobs and parking.
+ * Every {@code sweepPeriod} all jobs are marked dirty, as a fallback for missed wakeups and for the TTL and shrink maintenance of idle jobs.
  *
  * @author ahoo wang
  */
 @Slf4j
 public class DefaultPrefetchWorker extends Thread implements PrefetchWorker {
 
+    public static final int DEFAULT_SWEEP_PERIODS = 10;
     private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
     private volatile boolean shutdown = false;
     private final Duration prefetchPeriod;
+    private final Duration sweepPeriod;
     private final CopyOnWriteArraySet<AffinityJob> affinityJobs = new CopyOnWriteArraySet<>();
+    private final Set<AffinityJob> dirtyJobs = ConcurrentHashMap.newKeySet();
 
     public DefaultPrefetchWorker(Duration prefetchPeriod) {
+        this(prefetchPeriod, prefetchPeriod.multipliedBy(DEFAULT_SWEEP_PERIODS));
+    }
+
+    public DefaultPrefetchWorker(Duration prefetchPeriod, Duration sweepPeriod) {
         super(Strings.lenientFormat("DefaultPrefetchWorker-" + THREAD_COUNTER.incrementAndGet()));
         this.prefetchPeriod = prefetchPeriod;
+        this.sweepPeriod = sweepPeriod;
     }
 
     @Override
@@ -60,6 +74,8 @@ public class DefaultPrefetchWorker extends Thread implements PrefetchWorker {
             throw new IllegalArgumentException("PrefetchWorker is shutdown.");
         }
         affinityJobs.add(affinityJob);
+        dirtyJobs.add(affinityJob);
+        LockSupport.unpark(this);
     }
 
     @Override
@@ -68,6 +84,7 @@ public class DefaultPrefetchWorker extends Thread implements PrefetchWorker {
             log.info("Cancel [{}] jobSize:[{}].", affinityJob.getJobId(), affinityJobs.size());
         }
         affinityJobs.remove(affinityJob);
+        dirtyJobs.remove(affinityJob);
     }
 
     @Override
@@ -82,9 +99,9 @@ public class DefaultPrefetchWorker extends Thread implements PrefetchWorker {
             return;
         }
 
-        if (State.RUNNABLE.equals(this.getState())) {
+        if (!dirtyJobs.add(affinityJob)) {
             if (log.isDebugEnabled()) {
-                log.debug("Wakeup [{}] - PrefetchWorker is running ,Don't need to be awakened.", affinityJob.getJobId());
+                log.debug("Wakeup [{}] - already dirty ,Don't need to be awakened.", affinityJob.getJobId());
             }
             return;
         }
@@ -93,18 +110,37 @@ public class DefaultPrefetchWorker extends Thread implements PrefetchWorker {
 
     @Override
     public void run() {
+        final long sweepNanos = sweepPeriod.toNanos();
+        long nextSweepTime = System.nanoTime() + sweepNanos;
         while (!shutdown) {
             try {
-                affinityJobs.forEach(affinityJob -> {
-                    try {
-                        affinityJob.run();
-                    } catch (Throwable throwable) {
-                        if (log.isErrorEnabled()) {
-                            log.error(throwable.getMessage(), throwable);
-                        }
-                    }
-                });
-                LockSupport.parkNanos(this, prefetchPeriod.toNanos());
+                final long now = System.nanoTime();
+                if (now - nextSweepTime >= 0) {
+                    dirtyJobs.addAll(affinityJobs);
+                    nextSweepTime = now + sweepNanos;
+                }
+                runDirtyJobs();
+                if (dirtyJobs.isEmpty()) {
+                    LockSupport.parkNanos(this, prefetchPeriod.toNanos());
+                }
+            } catch (Throwable throwable) {
+                if (log.isErrorEnabled()) {
+                    log.error(throwable.getMessage(), throwable);
+                }
+            }
+        }
+    }
+
+    private void runDirtyJobs() {
+        Iterator<AffinityJob> iterator = dirtyJobs.iterator();
+        while (iterator.hasNext()) {
+            AffinityJob affinityJob = iterator.next();
+            iterator.remove();
+            if (!affinityJobs.contains(affinityJob)) {
+                continue;
+            }
+            try {
+                affinityJob.run();
             } catch (Throwable throwable) {
                 if (log.isErrorEnabled()) {
                     log.error(throwable.getMessage(), throwable);
@@ -0,0 +1,185 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.segment.concurrent;
+
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Executor Prefetch Worker.
+ * Bound to a single {@link AffinityJob} and runs it on the given {@link Executor},
+ * so that a slow distributor only stalls its own job instead of every job pinned to the same thread.
+ * The {@link ScheduledExecutorService} only ticks every {@code prefetchPeriod} and never runs the job itself.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class ExecutorPrefetchWorker implements PrefetchWorker {
+    
+    private static final AtomicInteger WORKER_COUNTER = new AtomicInteger();
+    private final String name;
+    private final Duration prefetchPeriod;
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+    /**
+     * Notified once the bound job is cancelled.
+     */
+    private final Consumer<ExecutorPrefetchWorker> cancelListener;
+    /**
+     * At most one run of the job is in flight.
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+    /**
+     * Set by every trigger, so that a wakeup arriving while the job is running is not lost.
+     */
+    private final AtomicBoolean signaled = new AtomicBoolean();
+    private volatile boolean shutdown = false;
+    private volatile AffinityJob affinityJob;
+    private volatile ScheduledFuture<?> tickFuture;
+    
+    public ExecutorPrefetchWorker(Duration prefetchPeriod, Executor executor, ScheduledExecutorService scheduler) {
+        this(prefetchPeriod, executor, scheduler, worker -> {
+        });
+    }
+    
+    public ExecutorPrefetchWorker(Duration prefetchPeriod, Executor executor, ScheduledExecutorService scheduler, Consumer<ExecutorPrefetchWorker> cancelListener) {
+        Preconditions.checkNotNull(executor, "executor can not be null!");
+        Preconditions.checkNotNull(scheduler, "scheduler can not be null!");
+        Preconditions.checkNotNull(cancelListener, "cancelListener can not be null!");
+        this.name = "ExecutorPrefetchWorker-" + WORKER_COUNTER.incrementAndGet();
+        this.prefetchPeriod = prefetchPeriod;
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.cancelListener = cancelListener;
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public void submit(AffinityJob affinityJob) {
+        if (log.isInfoEnabled()) {
+            log.info("Submit [{}] to [{}].", affinityJob.getJobId(), name);
+        }
+        if (shutdown) {
+            throw new IllegalArgumentException("PrefetchWorker is shutdown.");
+        }
+        synchronized (this) {
+            Preconditions.checkState(this.affinityJob == null, "PrefetchWorker:[%s] is already bound to job:[%s].", name, this.affinityJob);
+            this.affinityJob = affinityJob;
+            long periodNanos = prefetchPeriod.toNanos();
+            tickFuture = scheduler.scheduleWithFixedDelay(this::trigger, 0, periodNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    @Override
+    public void cancel(AffinityJob affinityJob) {
+        if (log.isInfoEnabled()) {
+            log.info("Cancel [{}] from [{}].", affinityJob.getJobId(), name);
+        }
+        synchronized (this) {
+            if (this.affinityJob != affinityJob) {
+                return;
+            }
+            this.affinityJob = null;
+            cancelTick();
+        }
+        cancelListener.accept(this);
+    }
+    
+    @Override
+    public void wakeup(AffinityJob affinityJob) {
+        if (log.isDebugEnabled()) {
+            log.debug("Wakeup [{}] - running:[{}].", affinityJob.getJobId(), running.get());
+        }
+        if (shutdown) {
+            if (log.isWarnEnabled()) {
+                log.warn("Wakeup [{}] - PrefetchWorker is shutdown,Can't be awakened!", affinityJob.getJobId());
+            }
+            return;
+        }
+        trigger();
+    }
+    
+    @Override
+    public void shutdown() {
+        if (log.isInfoEnabled()) {
+            log.info("Shutdown [{}]!", name);
+        }
+        if (shutdown) {
+            return;
+        }
+        shutdown = true;
+        synchronized (this) {
+            cancelTick();
+        }
+    }
+    
+    private void cancelTick() {
+        if (tickFuture != null) {
+            tickFuture.cancel(false);
+            tickFuture = null;
+        }
+    }
+    
+    private void trigger() {
+        signaled.set(true);
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            running.set(false);
+            if (log.isWarnEnabled()) {
+                log.warn("Trigger [{}] - rejected by executor.", name, rejectedExecutionException);
+            }
+        }
+    }
+    
+    private void drain() {
+        do {
+            while (signaled.getAndSet(false) && !shutdown) {
+                runJob();
+            }
+            running.set(false);
+        } while (signaled.get() && !shutdown && running.compareAndSet(false, true));
+    }
+    
+    private void runJob() {
+        AffinityJob currentJob = affinityJob;
+        if (currentJob == null) {
+            return;
+        }
+        try {
+            currentJob.run();
+        } catch (Throwable throwable) {
+            if (log.isErrorEnabled()) {
+                log.error(throwable.getMessage(), throwable);
+            }
+        }
+    }
+}
@@ -13,14 +13,20 @@
 
 package me.ahoo.cosid.segment.concurrent;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Prefetch Worker Executor Service.
+ * By default, jobs are bound round-robin to {@code corePoolSize} {@link DefaultPrefetchWorker} threads.
+ * When constructed with an {@link Executor}, every job gets its own {@link ExecutorPrefetchWorker} running on that executor instead.
  *
  * @author ahoo wang
  */
@@ -40,6 +46,9 @@ public class PrefetchWorkerExecutorService {
     private final DefaultPrefetchWorker[] workers;
     private boolean initialized = false;
     private final AtomicLong threadIdx = new AtomicLong();
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+    private final CopyOnWriteArraySet<ExecutorPrefetchWorker> executorWorkers = new CopyOnWriteArraySet<>();
 
     public PrefetchWorkerExecutorService(Duration prefetchPeriod, int corePoolSize) {
         this(prefetchPeriod, corePoolSize, true);
@@ -50,6 +59,30 @@ public class PrefetchWorkerExecutorService {
         this.prefetchPeriod = prefetchPeriod;
         this.corePoolSize = corePoolSize;
         this.workers = new DefaultPrefetchWorker[corePoolSize];
+        this.executor = null;
+        this.scheduler = null;
+        if (shutdownHook) {
+            Runtime.getRuntime().addShutdownHook(new GracefullyCloser());
+        }
+    }
+
+    /**
+     * Each submitted job runs on the given {@link Executor}, ticked every {@code prefetchPeriod} by the given {@link ScheduledExecutorService}.
+     * Both are owned by the caller and are not shut down by {@link #shutdown()}.
+     *
+     * @param prefetchPeriod prefetch period
+     * @param executor executor running the prefetch jobs
+     * @param scheduler scheduler ticking the prefetch jobs
+     * @param shutdownHook register shutdown hook
+     */
+    public PrefetchWorkerExecutorService(Duration prefetchPeriod, Executor executor, ScheduledExecutorService scheduler, boolean shutdownHook) {
+        Preconditions.checkNotNull(executor, "executor can not be null!");
+        Preconditions.checkNotNull(scheduler, "scheduler can not be null!");
+        this.prefetchPeriod = prefetchPeriod;
+        this.corePoolSize = 0;
+        this.workers = new DefaultPrefetchWorker[0];
+        this.executor = executor;
+        this.scheduler = scheduler;
         if (shutdownHook) {
             Runtime.getRuntime().addShutdownHook(new GracefullyCloser());
         }
@@ -84,6 +117,9 @@ public class PrefetchWorkerExecutorService {
                 worker.shutdown();
             }
         }
+        for (ExecutorPrefetchWorker executorWorker : executorWorkers) {
+            executorWorker.shutdown();
+        }
     }
 
     public void submit(AffinityJob affinityJob) {
@@ -101,6 +137,10 @@ public class PrefetchWorkerExecutorService {
             if (affinityJob.getPrefetchWorker() != null) {
                 return;
             }
+            if (executor != null) {
+                submitToExecutor(affinityJob);
+                return;
+            }
             ensureInitWorkers();
             DefaultPrefetchWorker prefetchWorker = chooseWorker();
             if (log.isInfoEnabled()) {
@@ -118,6 +158,21 @@ public class PrefetchWorkerExecutorService {
         }
     }
 
+    private void submitToExecutor(AffinityJob affinityJob) {
+        ExecutorPrefetchWorker prefetchWorker = new ExecutorPrefetchWorker(prefetchPeriod, executor, scheduler, executorWorkers::remove);
+        if (log.isInfoEnabled()) {
+            log.info("Submit jobId:[{}] is bound to executor worker:[{}].", affinityJob.getJobId(), prefetchWorker.getName());
+        }
+        executorWorkers.add(prefetchWorker);
+        affinityJob.setPrefetchWorker(prefetchWorker);
+        prefetchWorker.submit(affinityJob);
+    }
+
+    @VisibleForTesting
+    int getExecutorWorkerSize() {
+        return executorWorkers.size();
+    }
+    
     private DefaultPrefetchWorker chooseWorker() {
         return workers[(int) Math.abs(threadIdx.getAndIncrement() % workers.length)];
     }
@@ -0,0 +1,141 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.snowflake;
+
+import me.ahoo.cosid.snowflake.exception.TimestampOverflowException;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free SnowflakeId.
+ * Packs {@code lastTimestamp} and {@code sequence} into a single {@link AtomicLong} and advances it with CAS instead of {@code synchronized}.
+ * <pre>
+ * state = (lastTimestamp - epoch) &lt;&lt; sequenceBit | sequence
+ * </pre>
+ *
+ * @author ahoo wang
+ */
+public abstract class AbstractLockFreeSnowflakeId extends AbstractSnowflakeId {
+    private static final long INITIAL_STATE = -1L;
+    
+    private final AtomicLong state = new AtomicLong(INITIAL_STATE);
+    private final LongAdder generatedCount = new LongAdder();
+    
+    public AbstractLockFreeSnowflakeId(long epoch,
+                                       int timestampBit,
+                                       int machineBit,
+                                       int sequenceBit,
+                                       long machineId,
+                                       long sequenceResetThreshold) {
+        super(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold);
+    }
+    
+    public AbstractLockFreeSnowflakeId(long epoch,
+                                       int timestampBit,
+                                       int machineBit,
+                                       int sequenceBit,
+                                       long machineId,
+                                       long sequenceResetThreshold,
+                                       long maxLookahead) {
+        super(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, maxLookahead);
+    }
+    
+    private long lastTimestampOf(long state) {
+        if (INITIAL_STATE == state) {
+            return INITIAL_STATE;
+        }
+        return (state >>> sequenceBit) + epoch;
+    }
+    
+    private long sequenceOf(long state) {
+        if (INITIAL_STATE == state) {
+            return 0L;
+        }
+        return state & maxSequence;
+    }
+    
+    @Override
+    public long generate() {
+        while (true) {
+            final long lastState = state.get();
+            final long lastTimestamp = lastTimestampOf(lastState);
+            long currentTimestamp = logicalTime(lastTimestamp, getCurrentTime());
+            
+            //region Reset sequence based on sequence reset threshold,Optimize the problem of uneven sharding.
+            
+            long sequence = sequenceOf(lastState);
+            if (currentTimestamp > lastTimestamp
+                && sequence >= sequenceResetThreshold) {
+                sequence = 0L;
+            }
+            
+            sequence = (sequence + 1) & maxSequence;
+            
+            /*
+             * Every contending thread may see the sequence exhausted, only the one winning the CAS counts the spin or the borrow.
+             */
+            long spinNanos = -1L;
+            boolean borrowed = false;
+            if (sequence == 0L) {
+                final long borrowFloor = lastTimestamp - maxLookahead;
+                currentTimestamp = getPreciseTime();
+                if (currentTimestamp <= borrowFloor) {
+                    final long spinStart = System.nanoTime();
+                    currentTimestamp = spinUntilAfter(borrowFloor);
+                    spinNanos = System.nanoTime() - spinStart;
+                }
+                if (currentTimestamp <= lastTimestamp) {
+                    borrowed = true;
+                    currentTimestamp = lastTimestamp + 1;
+                }
+            }
+            
+            //endregion
+            long diffTimestamp = (currentTimestamp - epoch);
+            if (diffTimestamp > maxTimestamp) {
+                throw new TimestampOverflowException(epoch, diffTimestamp, maxTimestamp);
+            }
+            if (state.compareAndSet(lastState, diffTimestamp << sequenceBit | sequence)) {
+                if (spinNanos >= 0) {
+                    countNextTimeSpin(spinNanos);
+                }
+                if (borrowed) {
+                    countNextTimeBorrow();
+                }
+                generatedCount.increment();
+                return diffTimestamp << timestampLeft
+                    | machineId << machineLeft
+                    | sequence;
+            }
+        }
+    }
+    
+    @Override
+    public void generate(long[] ids) {
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = generate();
+        }
+    }
+    
+    @Override
+    public long getLastTimestamp() {
+        return lastTimestampOf(state.get());
+    }
+    
+    @Override
+    public long getGeneratedCount() {
+        return generatedCount.sum();
+    }
+}
@@ -18,12 +18,14 @@ import me.ahoo.cosid.snowflake.exception.TimestampOverflowException;
 
 import com.google.common.base.Strings;
 
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Abstract SnowflakeId.
  *
  * @author ahoo wang
  */
-public abstract class AbstractSnowflakeId implements SnowflakeId {
+public abstract class AbstractSnowflakeId implements SnowflakeId, SnowflakeIdStatistics {
     
     protected final long epoch;
     protected final int timestampBit;
@@ -38,9 +40,15 @@ public abstract class AbstractSnowflakeId implements SnowflakeId {
     protected final long timestampLeft;
     
     protected final long machineId;
-    private final long sequenceResetThreshold;
+    protected final long sequenceResetThreshold;
+    protected final long maxLookahead;
     protected long sequence = 0L;
     protected long lastTimestamp = -1L;
+    private long generatedCount = 0L;
+    private final LongAdder clockBackwardsCount = new LongAdder();
+    private final LongAdder nextTimeSpinCount = new LongAdder();
+    private final LongAdder nextTimeSpinNanos = new LongAdder();
+    private final LongAdder nextTimeBorrowCount = new LongAdder();
     
     public AbstractSnowflakeId(long epoch,
                                int timestampBit,
@@ -48,6 +56,22 @@ public abstract class AbstractSnowflakeId implements SnowflakeId {
                                int sequenceBit,
                                long machineId,
                                long sequenceResetThreshold) {
+        this(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, 0L);
+    }
+    
+    /**
+     * Create a SnowflakeId.
+     *
+     * @param maxLookahead how far the timestamp may be borrowed ahead of the current time once the sequence is exhausted, in the unit of the timestamp.
+     *                     {@code 0} spins until the current time catches up.
+     */
+    public AbstractSnowflakeId(long epoch,
+                               int timestampBit,
+                               int machineBit,
+                               int sequenceBit,
+                               long machineId,
+                               long sequenceResetThreshold,
+                               long maxLookahead) {
         if ((timestampBit + machineBit + sequenceBit) > TOTAL_BIT) {
             throw new IllegalArgumentException("total bit can't be greater than TOTAL_BIT[63] .");
         }
@@ -63,18 +87,93 @@ public abstract class AbstractSnowflakeId implements SnowflakeId {
         if (machineId > this.maxMachine || machineId < 0) {
             throw new IllegalArgumentException(Strings.lenientFormat("machineId can't be greater than maxMachine[%s] or less than 0 .", maxMachine));
         }
+        if (maxLookahead < 0) {
+            throw new IllegalArgumentException(Strings.lenientFormat("maxLookahead[%s] can't be less than 0 .", maxLookahead));
+        }
         this.machineId = machineId;
         this.sequenceResetThreshold = sequenceResetThreshold;
+        this.maxLookahead = maxLookahead;
     }
     
     protected long nextTime() {
-        long time = getCurrentTime();
-        while (time <= lastTimestamp) {
-            time = getCurrentTime();
+        return nextTime(lastTimestamp);
+    }
+    
+    /**
+     * Get the next timestamp after {@code lastTimestamp}.
+     * Borrow {@code lastTimestamp + 1} while it stays within {@link #maxLookahead} of the current time,
+     * otherwise spin until the current time catches up.
+     *
+     * @param lastTimestamp last timestamp
+     * @return next timestamp
+     */
+    protected long nextTime(long lastTimestamp) {
+        final long borrowFloor = lastTimestamp - maxLookahead;
+        long time = getPreciseTime();
+        if (time <= borrowFloor) {
+            final long spinStart = System.nanoTime();
+            time = spinUntilAfter(borrowFloor);
+            countNextTimeSpin(System.nanoTime() - spinStart);
+        }
+        if (time > lastTimestamp) {
+            return time;
+        }
+        countNextTimeBorrow();
+        return lastTimestamp + 1;
+    }
+    
+    /**
+     * Spin until the current time is after {@code borrowFloor}, without counting.
+     *
+     * @param borrowFloor borrow floor
+     * @return current time
+     */
+    protected long spinUntilAfter(long borrowFloor) {
+        long time = getPreciseTime();
+        while (time <= borrowFloor) {
+            time = getPreciseTime();
         }
         return time;
     }
     
+    protected void countNextTimeSpin(long spinNanos) {
+        nextTimeSpinCount.increment();
+        nextTimeSpinNanos.add(spinNanos);
+    }
+    
+    protected void countNextTimeBorrow() {
+        nextTimeBorrowCount.increment();
+    }
+    
+    /**
+     * Get the logical timestamp of the next ID from the current time.
+     * A {@code lastTimestamp} ahead of the current time within {@link #maxLookahead} was borrowed and is kept until the current time catches up.
+     *
+     * <p>The first ID starts {@link #maxLookahead} ahead of the current time, as if the whole lookahead was already borrowed.
+     * A previous owner of the same machine id may have borrowed up to {@link #maxLookahead} before a restart, and is never caught up with.
+     *
+     * @param lastTimestamp last timestamp
+     * @param currentTimestamp current time
+     * @return logical timestamp
+     */
+    protected long logicalTime(long lastTimestamp, long currentTimestamp) {
+        if (currentTimestamp >= lastTimestamp) {
+            if (lastTimestamp < 0) {
+                return currentTimestamp + maxLookahead;
+            }
+            return currentTimestamp;
+        }
+        if (lastTimestamp - currentTimestamp > maxLookahead) {
+            throw clockBackwards(lastTimestamp, currentTimestamp);
+        }
+        return lastTimestamp;
+    }
+    
+    protected ClockBackwardsException clockBackwards(long lastTimestamp, long currentTimestamp) {
+        clockBackwardsCount.increment();
+        return new ClockBackwardsException(lastTimestamp, currentTimestamp);
+    }
+    
     /**
      * get current timestamp.
      *
@@ -82,12 +181,50 @@ public abstract class AbstractSnowflakeId implements SnowflakeId {
      */
     protected abstract long getCurrentTime();
     
+    /**
+     * get current timestamp as precisely as possible, used by {@link #nextTime(long)} once the sequence is exhausted.
+     *
+     * @return current timestamp
+     */
+    protected long getPreciseTime() {
+        return getCurrentTime();
+    }
+    
     @Override
     public synchronized long generate() {
-        long currentTimestamp = getCurrentTime();
-        if (currentTimestamp < lastTimestamp) {
-            throw new ClockBackwardsException(lastTimestamp, currentTimestamp);
+        return nextId();
+    }
+    
+    /**
+     * Generate IDs in bulk within a single monitor entry.
+     * The rest of the sequence space of the current timestamp is handed out without reading the clock again.
+     *
+     * @param ids buffer to be filled with generated distributed IDs
+     */
+    @Override
+    public void generate(long[] ids) {
+        if (ids.length == 0) {
+            return;
         }
+        generateSynchronized(ids);
+    }
+    
+    private synchronized void generateSynchronized(long[] ids) {
+        int index = 0;
+        while (index < ids.length) {
+            final long id = nextId();
+            ids[index++] = id;
+            final int run = (int) Math.min(ids.length - index, maxSequence - sequence);
+            for (int i = 1; i <= run; i++) {
+                ids[index++] = id + i;
+            }
+            sequence += run;
+            generatedCount += run;
+        }
+    }
+    
+    private long nextId() {
+        long currentTimestamp = logicalTime(lastTimestamp, getCurrentTime());
         
         //region Reset sequence based on sequence reset threshold,Optimize the problem of uneven sharding.
         
@@ -108,6 +245,7 @@ public abstract class AbstractSnowflakeId implements SnowflakeId {
         if (diffTimestamp > maxTimestamp) {
             throw new TimestampOverflowException(epoch, diffTimestamp, maxTimestamp);
         }
+        generatedCount++;
         return diffTimestamp << timestampLeft
             | machineId << machineLeft
             | sequence;
@@ -158,4 +296,44 @@ public abstract class AbstractSnowflakeId implements SnowflakeId {
         return machineId;
     }
     
+    /**
+     * Read without synchronization, only used for monitoring.
+     */
+    @Override
+    public long getGeneratedCount() {
+        return generatedCount;
+    }
+    
+    @Override
+    public long getClockBackwardsCount() {
+        return clockBackwardsCount.sum();
+    }
+    
+    @Override
+    public long getNextTimeSpinCount() {
+        return nextTimeSpinCount.sum();
+    }
+    
+    @Override
+    public long getNextTimeSpinNanos() {
+        return nextTimeSpinNanos.sum();
+    }
+    
+    public long getMaxLookahead() {
+        return maxLookahead;
+    }
+    
+    @Override
+    public long getNextTimeBorrowCount() {
+        return nextTimeBorrowCount.sum();
+    }
+    
+    /**
+     * Read without synchronization, only used for monitoring.
+     */
+    @Override
+    public long getLookahead() {
+        return Math.max(0L, getLastTimestamp() - getCurrentTime());
+    }
+    
 }
@@ -23,6 +23,8 @@ import javax.annotation.Nonnull;
 
 /**
  * Clock Sync SnowflakeId.
+ * Waits for the clock to catch up with {@link me.ahoo.cosid.machine.DefaultClockBackwardsSynchronizer} by default,
+ * or never blocks with {@link me.ahoo.cosid.machine.LogicalClockBackwardsSynchronizer} when {@code actual} tolerates the clock backwards with its {@code maxLookahead}.
  *
  * @author ahoo wang
  */
@@ -60,6 +62,19 @@ public class ClockSyncSnowflakeId implements SnowflakeId, IdGeneratorDecorator {
         }
     }
     
+    @Override
+    public void generate(long[] ids) {
+        try {
+            actual.generate(ids);
+        } catch (ClockBackwardsException exception) {
+            if (log.isWarnEnabled()) {
+                log.warn(exception.getMessage(), exception);
+            }
+            clockBackwardsSynchronizer.syncUninterruptibly(actual.getLastTimestamp());
+            actual.generate(ids);
+        }
+    }
+    
     
     @Override
     public long getEpoch() {
@@ -0,0 +1,74 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.snowflake;
+
+import me.ahoo.cosid.CosId;
+import me.ahoo.cosid.util.MillisecondClock;
+
+/**
+ * Lock-free Millisecond SnowflakeId.
+ * Same bit layout as {@link MillisecondSnowflakeId}, but scales better under multi-thread contention.
+ *
+ * @author ahoo wang
+ */
+public class LockFreeMillisecondSnowflakeId extends AbstractLockFreeSnowflakeId {
+    
+    private final MillisecondClock clock;
+    
+    public LockFreeMillisecondSnowflakeId(long machineId) {
+        this(CosId.COSID_EPOCH, MillisecondSnowflakeId.DEFAULT_TIMESTAMP_BIT, MillisecondSnowflakeId.DEFAULT_MACHINE_BIT, MillisecondSnowflakeId.DEFAULT_SEQUENCE_BIT, machineId,
+            MillisecondSnowflakeId.DEFAULT_SEQUENCE_RESET_THRESHOLD);
+    }
+    
+    public LockFreeMillisecondSnowflakeId(int machineBit, long machineId) {
+        this(CosId.COSID_EPOCH, MillisecondSnowflakeId.DEFAULT_TIMESTAMP_BIT, machineBit, MillisecondSnowflakeId.DEFAULT_SEQUENCE_BIT, machineId,
+            MillisecondSnowflakeId.DEFAULT_SEQUENCE_RESET_THRESHOLD);
+    }
+    
+    public LockFreeMillisecondSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, long machineId) {
+        this(epoch, timestampBit, machineBit, sequenceBit, machineId, SnowflakeId.defaultSequenceResetThreshold(sequenceBit));
+    }
+    
+    public LockFreeMillisecondSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, long machineId, long sequenceResetThreshold) {
+        this(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, MillisecondClock.SYSTEM);
+    }
+    
+    public LockFreeMillisecondSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, long machineId, long sequenceResetThreshold, MillisecondClock clock) {
+        this(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, clock, 0L);
+    }
+    
+    /**
+     * Create a LockFreeMillisecondSnowflakeId.
+     *
+     * @param maxLookahead how many milliseconds the timestamp may be borrowed ahead of the clock once the sequence is exhausted, {@code 0} spins instead
+     */
+    public LockFreeMillisecondSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, long machineId, long sequenceResetThreshold, MillisecondClock clock, long maxLookahead) {
+        super(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, maxLookahead);
+        this.clock = clock;
+    }
+    
+    public MillisecondClock getClock() {
+        return clock;
+    }
+    
+    @Override
+    protected long getCurrentTime() {
+        return clock.currentTimeMillis();
+    }
+    
+    @Override
+    protected long getPreciseTime() {
+        return clock.preciseTimeMillis();
+    }
+}
@@ -14,6 +14,7 @@
 package me.ahoo.cosid.snowflake;
 
 import me.ahoo.cosid.CosId;
+import me.ahoo.cosid.util.MillisecondClock;
 
 /**
  * Millisecond SnowflakeId.
@@ -27,25 +28,49 @@ public class MillisecondSnowflakeId extends AbstractSnowflakeId {
     public static final int DEFAULT_SEQUENCE_BIT = 12;
     public static final long DEFAULT_SEQUENCE_RESET_THRESHOLD = ~(-1L << (DEFAULT_SEQUENCE_BIT - 1));
     
+    private final MillisecondClock clock;
     
     public MillisecondSnowflakeId(long machineId) {
         this(CosId.COSID_EPOCH, DEFAULT_TIMESTAMP_BIT, DEFAULT_MACHINE_BIT, DEFAULT_SEQUENCE_BIT, machineId, DEFAULT_SEQUENCE_RESET_THRESHOLD);
     }
     
     public MillisecondSnowflakeId(int machineBit, long machineId) {
-        super(CosId.COSID_EPOCH, DEFAULT_TIMESTAMP_BIT, machineBit, DEFAULT_SEQUENCE_BIT, machineId, DEFAULT_SEQUENCE_RESET_THRESHOLD);
+        this(CosId.COSID_EPOCH, DEFAULT_TIMESTAMP_BIT, machineBit, DEFAULT_SEQUENCE_BIT, machineId, DEFAULT_SEQUENCE_RESET_THRESHOLD);
     }
     
     public MillisecondSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, long machineId) {
-        super(epoch, timestampBit, machineBit, sequenceBit, machineId, SnowflakeId.defaultSequenceResetThreshold(sequenceBit));
+        this(epoch, timestampBit, machineBit, sequenceBit, machineId, SnowflakeId.defaultSequenceResetThreshold(sequenceBit));
     }
     
     public MillisecondSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, long machineId, long sequenceResetThreshold) {
-        super(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold);
+        this(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, MillisecondClock.SYSTEM);
+    }
+    
+    public MillisecondSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, long machineId, long sequenceResetThreshold, MillisecondClock clock) {
+        this(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, clock, 0L);
+    }
+    
+    /**
+     * Create a MillisecondSnowflakeId.
+     *
+     * @param maxLookahead how many milliseconds the timestamp may be borrowed ahead of the clock once the sequence is exhausted, {@code 0} spins instead
+     */
+    public MillisecondSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, long machineId, long sequenceResetThreshold, MillisecondClock clock, long maxLookahead) {
+        super(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, maxLookahead);
+        this.clock = clock;
+    }
+    
+    public MillisecondClock getClock() {
+        return clock;
     }
     
     @Override
     protected long getCurrentTime() {
-        return System.currentTimeMillis();
+        return clock.currentTimeMillis();
+    }
+    
+    @Override
+    protected long getPreciseTime() {
+        return clock.preciseTimeMillis();
     }
 }
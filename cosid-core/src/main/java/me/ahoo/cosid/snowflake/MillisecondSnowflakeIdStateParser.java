@@ -73,6 +73,21 @@ public class MillisecondSnowflakeIdStateParser extends SnowflakeIdStateParser {
         return ZonedDateTime.of(timestamp, getZoneId()).toInstant().toEpochMilli() - epoch;
     }
 
+    @Override
+    protected int getFractionDigits() {
+        return 3;
+    }
+
+    @Override
+    protected long toEpochMilli(long diffTime) {
+        return epoch + diffTime;
+    }
+
+    @Override
+    protected long toDiffTime(long epochMilli) {
+        return epochMilli - epoch;
+    }
+
     public static MillisecondSnowflakeIdStateParser of(SnowflakeId snowflakeId) {
         return of(snowflakeId, ZoneId.systemDefault());
     }
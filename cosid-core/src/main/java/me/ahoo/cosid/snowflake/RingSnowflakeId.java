@@ -0,0 +1,279 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.snowflake;
+
+import me.ahoo.cosid.IdGeneratorDecorator;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ring pre-filled SnowflakeId.
+ * A single background producer fills a bounded {@code long[]} ring ahead of demand with IDs of the actual {@link SnowflakeId},
+ * {@link #generate()} is a single sequence claim on the ring.
+ * Once the fill level drops to the padding threshold, the producer is scheduled to fill the free slots again.
+ *
+ * <p>Meant for {@link SecondSnowflakeId}, whose sequence space per second is large enough to fill the ring at once,
+ * and which borrows future seconds while filling when it is created with a {@code maxLookahead}.
+ *
+ * <p>When the ring is drained, the caller falls back to the actual {@link SnowflakeId},
+ * so IDs are unique but only trend increasing across the ring and the fallback.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class RingSnowflakeId implements SnowflakeId, IdGeneratorDecorator {
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    public static final int DEFAULT_PADDING_FACTOR = 50;
+    public static final Executor DEFAULT_FILL_EXECUTOR =
+        Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("RingSnowflakeId-Fill-%d").setDaemon(true).build());
+    
+    private final SnowflakeId actual;
+    private final long[] ring;
+    private final int mask;
+    private final int capacity;
+    private final int paddingThreshold;
+    private final long[] chunk;
+    private final Executor fillExecutor;
+    /**
+     * Next sequence to be claimed by the consumers.
+     */
+    private final AtomicLong head = new AtomicLong();
+    /**
+     * Next sequence to be published by the producer, only written by the producer.
+     */
+    private volatile long tail;
+    private final AtomicBoolean filling = new AtomicBoolean();
+    private final LongAdder drainedCount = new LongAdder();
+    
+    public RingSnowflakeId(SnowflakeId actual) {
+        this(actual, DEFAULT_CAPACITY, DEFAULT_PADDING_FACTOR, DEFAULT_FILL_EXECUTOR);
+    }
+    
+    /**
+     * Create a {@link RingSnowflakeId}, the ring is filled before returning.
+     *
+     * @param capacity ring capacity, rounded up to a power of 2
+     * @param paddingFactor fill level percentage of the capacity at which the producer is scheduled
+     */
+    public RingSnowflakeId(SnowflakeId actual, int capacity, int paddingFactor, Executor fillExecutor) {
+        Preconditions.checkArgument(capacity > 1 && capacity <= 1 << 30, "capacity:[%s] must be in (1, 2^30].", capacity);
+        Preconditions.checkArgument(paddingFactor > 0 && paddingFactor < 100, "paddingFactor:[%s] must be in (0, 100).", paddingFactor);
+        this.actual = actual;
+        this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.ring = new long[this.capacity];
+        this.paddingThreshold = (int) ((long) this.capacity * paddingFactor / 100);
+        this.chunk = new long[Math.max(1, this.capacity - this.paddingThreshold)];
+        this.fillExecutor = fillExecutor;
+        filling.set(true);
+        fill();
+    }
+    
+    @Nonnull
+    @Override
+    public SnowflakeId getActual() {
+        return actual;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public int getPaddingThreshold() {
+        return paddingThreshold;
+    }
+    
+    /**
+     * Get the number of pre-filled IDs in the ring.
+     * Read without synchronization, only used for monitoring.
+     *
+     * @return fill level
+     */
+    public int getFillLevel() {
+        return (int) Math.max(0, tail - head.get());
+    }
+    
+    /**
+     * Get the number of times that the ring was drained and the caller fell back to the actual {@link SnowflakeId}.
+     *
+     * @return drained count
+     */
+    public long getDrainedCount() {
+        return drainedCount.sum();
+    }
+    
+    @Override
+    public long generate() {
+        while (true) {
+            final long currentHead = head.get();
+            final long currentTail = tail;
+            if (currentHead >= currentTail) {
+                drainedCount.increment();
+                padding();
+                return actual.generate();
+            }
+            /*
+             * Read before claiming, the producer never overwrites a slot that has not been claimed.
+             */
+            final long id = ring[(int) currentHead & mask];
+            if (head.compareAndSet(currentHead, currentHead + 1)) {
+                if (currentTail - currentHead <= paddingThreshold) {
+                    padding();
+                }
+                return id;
+            }
+        }
+    }
+    
+    /**
+     * Claim as many pre-filled IDs as available with a single sequence claim, the rest falls back to the actual {@link SnowflakeId}.
+     *
+     * @param ids buffer to be filled with generated distributed IDs
+     */
+    @Override
+    public void generate(long[] ids) {
+        if (ids.length == 0) {
+            return;
+        }
+        while (true) {
+            final long currentHead = head.get();
+            final long currentTail = tail;
+            final int claimed = (int) Math.min(ids.length, currentTail - currentHead);
+            if (claimed <= 0) {
+                drainedCount.increment();
+                padding();
+                actual.generate(ids);
+                return;
+            }
+            for (int i = 0; i < claimed; i++) {
+                ids[i] = ring[(int) (currentHead + i) & mask];
+            }
+            if (head.compareAndSet(currentHead, currentHead + claimed)) {
+                if (currentTail - currentHead - claimed <= paddingThreshold) {
+                    padding();
+                }
+                for (int i = claimed; i < ids.length; i++) {
+                    ids[i] = actual.generate();
+                }
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Schedule the producer unless it is already filling.
+     */
+    private void padding() {
+        if (filling.get() || !filling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            fillExecutor.execute(this::fill);
+        } catch (Throwable throwable) {
+            filling.set(false);
+            if (log.isWarnEnabled()) {
+                log.warn("Padding - schedule fill failed.", throwable);
+            }
+        }
+    }
+    
+    /**
+     * Fill the free slots of the ring chunk by chunk, only called by the single producer that set {@link #filling}.
+     */
+    private void fill() {
+        long currentTail = tail;
+        try {
+            while (capacity - (currentTail - head.get()) >= chunk.length) {
+                actual.generate(chunk);
+                for (int i = 0; i < chunk.length; i++) {
+                    ring[(int) (currentTail + i) & mask] = chunk[i];
+                }
+                currentTail += chunk.length;
+                tail = currentTail;
+            }
+        } catch (Throwable throwable) {
+            /*
+             * The consumers fall back to the actual SnowflakeId once drained, which surfaces the failure to the caller.
+             */
+            if (log.isWarnEnabled()) {
+                log.warn("Fill - tail:[{}] failed.", currentTail, throwable);
+            }
+        } finally {
+            filling.set(false);
+        }
+        if (log.isTraceEnabled()) {
+            log.trace("Fill - tail:[{}].", currentTail);
+        }
+    }
+    
+    @Override
+    public long getEpoch() {
+        return actual.getEpoch();
+    }
+    
+    @Override
+    public int getTimestampBit() {
+        return actual.getTimestampBit();
+    }
+    
+    @Override
+    public int getMachineBit() {
+        return actual.getMachineBit();
+    }
+    
+    @Override
+    public int getSequenceBit() {
+        return actual.getSequenceBit();
+    }
+    
+    @Override
+    public boolean isSafeJavascript() {
+        return actual.isSafeJavascript();
+    }
+    
+    @Override
+    public long getMaxTimestamp() {
+        return actual.getMaxTimestamp();
+    }
+    
+    @Override
+    public long getMaxMachine() {
+        return actual.getMaxMachine();
+    }
+    
+    @Override
+    public long getMaxSequence() {
+        return actual.getMaxSequence();
+    }
+    
+    @Override
+    public long getLastTimestamp() {
+        return actual.getLastTimestamp();
+    }
+    
+    @Override
+    public long getMachineId() {
+        return actual.getMachineId();
+    }
+}
@@ -45,6 +45,15 @@ public class SecondSnowflakeId extends AbstractSnowflakeId {
         super(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold);
     }
     
+    /**
+     * Create a SecondSnowflakeId.
+     *
+     * @param maxLookahead how many seconds the timestamp may be borrowed ahead of the clock once the sequence is exhausted, {@code 0} spins instead
+     */
+    public SecondSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, long machineId, long sequenceResetThreshold, long maxLookahead) {
+        super(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, maxLookahead);
+    }
+    
     @Override
     protected long getCurrentTime() {
         return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
@@ -66,6 +66,21 @@ public class SecondSnowflakeIdStateParser extends SnowflakeIdStateParser {
         return ZonedDateTime.of(timestamp, getZoneId()).toInstant().toEpochMilli() / 1000 - epoch;
     }
 
+    @Override
+    protected int getFractionDigits() {
+        return 0;
+    }
+
+    @Override
+    protected long toEpochMilli(long diffTime) {
+        return (epoch + diffTime) * 1000;
+    }
+
+    @Override
+    protected long toDiffTime(long epochMilli) {
+        return Math.floorDiv(epochMilli, 1000) - epoch;
+    }
+
     public static SecondSnowflakeIdStateParser of(SnowflakeId snowflakeId) {
         return of(snowflakeId, ZoneId.systemDefault());
     }
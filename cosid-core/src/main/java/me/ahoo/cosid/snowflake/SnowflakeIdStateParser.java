@@ -19,7 +19,10 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
+import java.time.DateTimeException;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -34,6 +37,20 @@ import java.util.List;
 public abstract class SnowflakeIdStateParser {
     
     public static final String DELIMITER = "-";
+    private static final char DELIMITER_CHAR = '-';
+    /**
+     * yyyyMMddHHmmss.
+     */
+    private static final int DATE_SECOND_LENGTH = 14;
+    /**
+     * yyyyMMddHHmmssSSS-machineId-sequence, machineId and sequence have at most 19 digits.
+     */
+    public static final int MAX_FRIENDLY_ID_LENGTH = DATE_SECOND_LENGTH + 3 + 1 + 19 + 1 + 19;
+    /**
+     * Not supported by the fast friendly id path.
+     */
+    protected static final int UNSUPPORTED_FRACTION_DIGITS = -1;
+    
     protected final ZoneId zoneId;
     protected final long epoch;
     
@@ -48,6 +65,11 @@ public abstract class SnowflakeIdStateParser {
     protected final long timestampMask;
     protected final int timestampLeft;
     
+    /**
+     * The formatted date of the last second, shared by {@link #asFriendlyId(long)} and {@link #asId(CharSequence)}.
+     */
+    private volatile DatePrefix datePrefix = new DatePrefix(Long.MIN_VALUE, new char[DATE_SECOND_LENGTH], Long.MIN_VALUE);
+    
     public SnowflakeIdStateParser(long epoch, int timestampBit, int machineBit, int sequenceBit) {
         this(epoch, timestampBit, machineBit, sequenceBit, ZoneId.systemDefault());
     }
@@ -120,6 +142,216 @@ public abstract class SnowflakeIdStateParser {
             .build();
     }
     
+    /**
+     * Number of fraction-of-second digits after {@code yyyyMMddHHmmss} in the friendly id,
+     * {@link #UNSUPPORTED_FRACTION_DIGITS} to always go through {@link #parse(long)} and {@link #parse(String)}.
+     *
+     * @return fraction digits
+     */
+    protected int getFractionDigits() {
+        return UNSUPPORTED_FRACTION_DIGITS;
+    }
+    
+    protected long toEpochMilli(long diffTime) {
+        return getTimestamp(diffTime).atZone(getZoneId()).toInstant().toEpochMilli();
+    }
+    
+    protected long toDiffTime(long epochMilli) {
+        return getDiffTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), getZoneId()));
+    }
+    
+    /**
+     * Format the friendly id of {@code id} without building a {@link SnowflakeIdState}.
+     * The {@code yyyyMMddHHmmss} prefix is cached per second and the rest is written digit by digit.
+     *
+     * @param id snowflake id
+     * @return friendly id, same as {@code parse(id).getFriendlyId()}
+     */
+    public String asFriendlyId(long id) {
+        final char[] buf = new char[MAX_FRIENDLY_ID_LENGTH];
+        final int length = asFriendlyId(id, buf, 0);
+        if (length < 0) {
+            return parse(id).getFriendlyId();
+        }
+        return new String(buf, 0, length);
+    }
+    
+    /**
+     * Format the friendly id of {@code id} into {@code dst} starting at {@code offset}, without any allocation in the same second.
+     *
+     * @param id     snowflake id
+     * @param dst    destination buffer
+     * @param offset destination offset
+     * @return the number of written chars, {@code -1} if {@code dst} has not enough chars left and nothing is written
+     */
+    public int asFriendlyId(long id, char[] dst, int offset) {
+        final int fractionDigits = getFractionDigits();
+        if (fractionDigits == UNSUPPORTED_FRACTION_DIGITS) {
+            return copyFriendlyId(id, dst, offset);
+        }
+        final long epochMilli = toEpochMilli((id >> timestampLeft) & timestampMask);
+        final long epochSecond = Math.floorDiv(epochMilli, 1000);
+        final DatePrefix currentDatePrefix = datePrefix(epochSecond);
+        if (currentDatePrefix == null) {
+            return copyFriendlyId(id, dst, offset);
+        }
+        final long machineId = parseMachineId(id);
+        final long sequence = parseSequence(id);
+        final int machineLength = decimalLength(machineId);
+        final int sequenceLength = decimalLength(sequence);
+        final int dateLength = DATE_SECOND_LENGTH + fractionDigits;
+        final int length = dateLength + 1 + machineLength + 1 + sequenceLength;
+        if (length > dst.length - offset) {
+            return -1;
+        }
+        System.arraycopy(currentDatePrefix.chars, 0, dst, offset, DATE_SECOND_LENGTH);
+        writeDigits(Math.floorMod(epochMilli, 1000) / pow10(3 - fractionDigits), dst, offset + DATE_SECOND_LENGTH, fractionDigits);
+        dst[offset + dateLength] = DELIMITER_CHAR;
+        writeDigits(machineId, dst, offset + dateLength + 1, machineLength);
+        dst[offset + dateLength + 1 + machineLength] = DELIMITER_CHAR;
+        writeDigits(sequence, dst, offset + dateLength + 2 + machineLength, sequenceLength);
+        return length;
+    }
+    
+    private int copyFriendlyId(long id, char[] dst, int offset) {
+        final String friendlyId = parse(id).getFriendlyId();
+        if (friendlyId.length() > dst.length - offset) {
+            return -1;
+        }
+        friendlyId.getChars(0, friendlyId.length(), dst, offset);
+        return friendlyId.length();
+    }
+    
+    /**
+     * Parse the id of {@code friendlyId} without splitting it or building a {@link SnowflakeIdState}.
+     * Falls back to {@link #parse(String)} when {@code friendlyId} is not in the canonical format.
+     *
+     * @param friendlyId friendly id
+     * @return snowflake id, same as {@code parse(friendlyId).getId()}
+     */
+    public long asId(CharSequence friendlyId) {
+        Preconditions.checkNotNull(friendlyId, "friendlyId can not be null!");
+        final int fractionDigits = getFractionDigits();
+        final int dateLength = DATE_SECOND_LENGTH + fractionDigits;
+        final int length = friendlyId.length();
+        if (fractionDigits == UNSUPPORTED_FRACTION_DIGITS || length < dateLength + 4 || friendlyId.charAt(dateLength) != DELIMITER_CHAR) {
+            return parse(friendlyId.toString()).getId();
+        }
+        final int sequenceDelimiter = indexOf(friendlyId, dateLength + 1);
+        final long fraction = fractionDigits == 0 ? 0 : parseDigits(friendlyId, DATE_SECOND_LENGTH, dateLength);
+        final long machineId = parseDigits(friendlyId, dateLength + 1, sequenceDelimiter);
+        final long sequence = sequenceDelimiter < 0 ? -1 : parseDigits(friendlyId, sequenceDelimiter + 1, length);
+        final long epochSecond = parseEpochSecond(friendlyId);
+        if (fraction < 0 || machineId < 0 || sequence < 0 || epochSecond == Long.MIN_VALUE) {
+            return parse(friendlyId.toString()).getId();
+        }
+        final long epochMilli = epochSecond * 1000 + fraction * pow10(3 - fractionDigits);
+        return toDiffTime(epochMilli) << timestampLeft
+            | machineId << machineLeft
+            | sequence;
+    }
+    
+    @Nullable
+    private DatePrefix datePrefix(long epochSecond) {
+        DatePrefix currentDatePrefix = datePrefix;
+        if (currentDatePrefix.epochSecond == epochSecond) {
+            return currentDatePrefix;
+        }
+        LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), getZoneId());
+        if (dateTime.getYear() < 0 || dateTime.getYear() > 9999) {
+            return null;
+        }
+        char[] chars = new char[DATE_SECOND_LENGTH];
+        writeDigits(dateTime.getYear(), chars, 0, 4);
+        writeDigits(dateTime.getMonthValue(), chars, 4, 2);
+        writeDigits(dateTime.getDayOfMonth(), chars, 6, 2);
+        writeDigits(dateTime.getHour(), chars, 8, 2);
+        writeDigits(dateTime.getMinute(), chars, 10, 2);
+        writeDigits(dateTime.getSecond(), chars, 12, 2);
+        currentDatePrefix = new DatePrefix(epochSecond, chars, dateTime.atZone(getZoneId()).toEpochSecond());
+        datePrefix = currentDatePrefix;
+        return currentDatePrefix;
+    }
+    
+    /**
+     * Parse {@code yyyyMMddHHmmss}, reusing the cached second when the prefix matches.
+     *
+     * @return epoch second, {@link Long#MIN_VALUE} if invalid
+     */
+    private long parseEpochSecond(CharSequence friendlyId) {
+        final DatePrefix currentDatePrefix = datePrefix;
+        if (currentDatePrefix.matches(friendlyId)) {
+            return currentDatePrefix.parsedEpochSecond;
+        }
+        final long year = parseDigits(friendlyId, 0, 4);
+        final long month = parseDigits(friendlyId, 4, 6);
+        final long day = parseDigits(friendlyId, 6, 8);
+        final long hour = parseDigits(friendlyId, 8, 10);
+        final long minute = parseDigits(friendlyId, 10, 12);
+        final long second = parseDigits(friendlyId, 12, 14);
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0 || second < 0) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return LocalDateTime.of((int) year, (int) month, (int) day, (int) hour, (int) minute, (int) second).atZone(getZoneId()).toEpochSecond();
+        } catch (DateTimeException dateTimeException) {
+            return Long.MIN_VALUE;
+        }
+    }
+    
+    private static int indexOf(CharSequence friendlyId, int fromIndex) {
+        for (int i = fromIndex; i < friendlyId.length(); i++) {
+            if (friendlyId.charAt(i) == DELIMITER_CHAR) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Parse the decimal digits in {@code [from, to)}.
+     *
+     * @return value, {@code -1} if empty, too long or not a digit
+     */
+    private static long parseDigits(CharSequence chars, int from, int to) {
+        if (from >= to || to - from > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            final char digitChar = chars.charAt(i);
+            if (digitChar < '0' || digitChar > '9') {
+                return -1;
+            }
+            value = value * 10 + (digitChar - '0');
+        }
+        return value;
+    }
+    
+    private static void writeDigits(long value, char[] buf, int offset, int length) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+    
+    private static int decimalLength(long value) {
+        int length = 1;
+        while (value >= 10) {
+            value /= 10;
+            length++;
+        }
+        return length;
+    }
+    
+    private static long pow10(int exponent) {
+        long value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+    
     private long getMask(long bits) {
         return ~(-1L << bits);
     }
@@ -149,4 +381,31 @@ public abstract class SnowflakeIdStateParser {
         }
         return MillisecondSnowflakeIdStateParser.of(actual, zoneId);
     }
+    
+    private static final class DatePrefix {
+        private final long epochSecond;
+        private final char[] chars;
+        /**
+         * The epoch second that {@link #chars} parses back to, which differs from {@link #epochSecond} in the overlap of a daylight saving transition.
+         */
+        private final long parsedEpochSecond;
+        
+        private DatePrefix(long epochSecond, char[] chars, long parsedEpochSecond) {
+            this.epochSecond = epochSecond;
+            this.chars = chars;
+            this.parsedEpochSecond = parsedEpochSecond;
+        }
+        
+        private boolean matches(CharSequence friendlyId) {
+            if (epochSecond == Long.MIN_VALUE) {
+                return false;
+            }
+            for (int i = 0; i < DATE_SECOND_LENGTH; i++) {
+                if (chars[i] != friendlyId.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
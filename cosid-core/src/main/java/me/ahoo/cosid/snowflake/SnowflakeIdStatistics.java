@@ -0,0 +1,65 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.snowflake;
+
+/**
+ * SnowflakeId runtime statistics, used for monitoring.
+ *
+ * @author ahoo wang
+ */
+public interface SnowflakeIdStatistics {
+    
+    /**
+     * Get the total number of generated IDs.
+     *
+     * @return generated count
+     */
+    long getGeneratedCount();
+    
+    /**
+     * Get the number of detected clock backwards.
+     *
+     * @return clock backwards count
+     */
+    long getClockBackwardsCount();
+    
+    /**
+     * Get the number of spins waiting for the next time when the sequence is exhausted.
+     *
+     * @return next time spin count
+     */
+    long getNextTimeSpinCount();
+    
+    /**
+     * Get the total time spent spinning for the next time.
+     * unit {@link java.util.concurrent.TimeUnit#NANOSECONDS}
+     *
+     * @return next time spin nanos
+     */
+    long getNextTimeSpinNanos();
+    
+    /**
+     * Get the number of times that the next timestamp was borrowed ahead of the current time instead of spinning.
+     *
+     * @return next time borrow count
+     */
+    long getNextTimeBorrowCount();
+    
+    /**
+     * Get how far the last timestamp is running ahead of the current time, in the unit of the timestamp.
+     *
+     * @return lookahead
+     */
+    long getLookahead();
+}
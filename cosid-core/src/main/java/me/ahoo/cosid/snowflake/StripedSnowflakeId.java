@@ -0,0 +1,221 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.snowflake;
+
+import me.ahoo.cosid.CosId;
+
+import com.google.common.base.Preconditions;
+import com.google.common.math.IntMath;
+
+import java.math.RoundingMode;
+
+/**
+ * Striped Millisecond SnowflakeId.
+ * Splits the sequence bits into {@code 2^stripeBit} stripes, each stripe is an independent {@link MillisecondSnowflakeId} chosen by the current thread,
+ * so multi-thread contention scales down with the number of stripes while all stripes share the same machine id.
+ * <pre>
+ * [timestamp]-[machineId]-[stripe(stripeBit)-sequence(sequenceBit - stripeBit)]
+ * </pre>
+ * The bit layout is the same as {@link MillisecondSnowflakeId}, so {@link MillisecondSnowflakeIdStateParser} still works.
+ *
+ * <p>Trade-off: IDs are monotonic within one thread, but IDs generated by different threads within the same millisecond are no longer ordered by generation time,
+ * and each stripe only owns {@code 2^(sequenceBit - stripeBit)} sequences per millisecond.
+ *
+ * @author ahoo wang
+ */
+public class StripedSnowflakeId implements SnowflakeId, SnowflakeIdStatistics {
+    private static final long PROBE_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    
+    private final long epoch;
+    private final int timestampBit;
+    private final int machineBit;
+    private final int sequenceBit;
+    private final long machineId;
+    private final int stripeBit;
+    private final MillisecondSnowflakeId[] stripes;
+    
+    public StripedSnowflakeId(long machineId) {
+        this(machineId, defaultStripeBit(MillisecondSnowflakeId.DEFAULT_SEQUENCE_BIT));
+    }
+    
+    public StripedSnowflakeId(long machineId, int stripeBit) {
+        this(CosId.COSID_EPOCH, MillisecondSnowflakeId.DEFAULT_TIMESTAMP_BIT, MillisecondSnowflakeId.DEFAULT_MACHINE_BIT, MillisecondSnowflakeId.DEFAULT_SEQUENCE_BIT, machineId, stripeBit);
+    }
+    
+    public StripedSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, long machineId, int stripeBit) {
+        Preconditions.checkArgument(stripeBit >= 0 && stripeBit < sequenceBit, "stripeBit:[%s] must be greater than or equal to 0 and less than sequenceBit:[%s].", stripeBit, sequenceBit);
+        Preconditions.checkArgument(machineId >= 0 && machineId <= ~(-1L << machineBit), "machineId:[%s] can't be greater than maxMachine or less than 0.", machineId);
+        this.epoch = epoch;
+        this.timestampBit = timestampBit;
+        this.machineBit = machineBit;
+        this.sequenceBit = sequenceBit;
+        this.machineId = machineId;
+        this.stripeBit = stripeBit;
+        final int stripeSequenceBit = sequenceBit - stripeBit;
+        this.stripes = new MillisecondSnowflakeId[1 << stripeBit];
+        for (int stripe = 0; stripe < stripes.length; stripe++) {
+            long stripeMachineId = machineId << stripeBit | stripe;
+            stripes[stripe] = new MillisecondSnowflakeId(epoch, timestampBit, machineBit + stripeBit, stripeSequenceBit, stripeMachineId);
+        }
+    }
+    
+    /**
+     * The number of stripes is rounded up to the power of 2 of the available processors,
+     * and at least half of the sequence bits are kept for each stripe.
+     *
+     * @param sequenceBit sequence bit
+     * @return default stripe bit
+     */
+    public static int defaultStripeBit(int sequenceBit) {
+        int processorBit = IntMath.log2(Runtime.getRuntime().availableProcessors(), RoundingMode.CEILING);
+        return Math.min(processorBit, sequenceBit / 2);
+    }
+    
+    public int getStripeBit() {
+        return stripeBit;
+    }
+    
+    public int getStripes() {
+        return stripes.length;
+    }
+    
+    private MillisecondSnowflakeId stripe() {
+        if (stripeBit == 0) {
+            return stripes[0];
+        }
+        long probe = Thread.currentThread().getId() * PROBE_MULTIPLIER;
+        return stripes[(int) (probe >>> (Long.SIZE - stripeBit))];
+    }
+    
+    @Override
+    public long generate() {
+        return stripe().generate();
+    }
+    
+    @Override
+    public void generate(long[] ids) {
+        if (ids.length == 0) {
+            return;
+        }
+        stripe().generate(ids);
+    }
+    
+    @Override
+    public long getEpoch() {
+        return epoch;
+    }
+    
+    @Override
+    public int getTimestampBit() {
+        return timestampBit;
+    }
+    
+    @Override
+    public int getMachineBit() {
+        return machineBit;
+    }
+    
+    @Override
+    public int getSequenceBit() {
+        return sequenceBit;
+    }
+    
+    @Override
+    public long getMaxTimestamp() {
+        return stripes[0].getMaxTimestamp();
+    }
+    
+    @Override
+    public long getMaxMachine() {
+        return ~(-1L << machineBit);
+    }
+    
+    @Override
+    public long getMaxSequence() {
+        return ~(-1L << sequenceBit);
+    }
+    
+    /**
+     * The max last timestamp of all stripes.
+     *
+     * @return last timestamp
+     */
+    @Override
+    public long getLastTimestamp() {
+        long lastTimestamp = -1L;
+        for (MillisecondSnowflakeId stripe : stripes) {
+            lastTimestamp = Math.max(lastTimestamp, stripe.getLastTimestamp());
+        }
+        return lastTimestamp;
+    }
+    
+    @Override
+    public long getMachineId() {
+        return machineId;
+    }
+    
+    @Override
+    public long getGeneratedCount() {
+        long generatedCount = 0L;
+        for (MillisecondSnowflakeId stripe : stripes) {
+            generatedCount += stripe.getGeneratedCount();
+        }
+        return generatedCount;
+    }
+    
+    @Override
+    public long getClockBackwardsCount() {
+        long clockBackwardsCount = 0L;
+        for (MillisecondSnowflakeId stripe : stripes) {
+            clockBackwardsCount += stripe.getClockBackwardsCount();
+        }
+        return clockBackwardsCount;
+    }
+    
+    @Override
+    public long getNextTimeSpinCount() {
+        long nextTimeSpinCount = 0L;
+        for (MillisecondSnowflakeId stripe : stripes) {
+            nextTimeSpinCount += stripe.getNextTimeSpinCount();
+        }
+        return nextTimeSpinCount;
+    }
+    
+    @Override
+    public long getNextTimeSpinNanos() {
+        long nextTimeSpinNanos = 0L;
+        for (MillisecondSnowflakeId stripe : stripes) {
+            nextTimeSpinNanos += stripe.getNextTimeSpinNanos();
+        }
+        return nextTimeSpinNanos;
+    }
+    
+    @Override
+    public long getNextTimeBorrowCount() {
+        long nextTimeBorrowCount = 0L;
+        for (MillisecondSnowflakeId stripe : stripes) {
+            nextTimeBorrowCount += stripe.getNextTimeBorrowCount();
+        }
+        return nextTimeBorrowCount;
+    }
+    
+    @Override
+    public long getLookahead() {
+        long lookahead = 0L;
+        for (MillisecondSnowflakeId stripe : stripes) {
+            lookahead = Math.max(lookahead, stripe.getLookahead());
+        }
+        return lookahead;
+    }
+}
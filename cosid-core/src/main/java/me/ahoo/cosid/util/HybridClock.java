@@ -0,0 +1,46 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.util;
+
+/**
+ * Hybrid millisecond clock.
+ * The hot path reads the time published by the {@link TickerClock},
+ * and only the wait for the next millisecond after the sequence is exhausted falls back to the {@link System#currentTimeMillis()} syscall,
+ * so it does not wait for the next tick. The syscall result is published back to the ticker to keep the time monotonic for all readers,
+ * within {@link TickerClock#getMaxBackwardsMillis()}.
+ *
+ * @author ahoo wang
+ */
+public class HybridClock implements MillisecondClock {
+    private final TickerClock ticker;
+    
+    public HybridClock(TickerClock ticker) {
+        this.ticker = ticker;
+    }
+    
+    public TickerClock getTicker() {
+        return ticker;
+    }
+    
+    @Override
+    public long currentTimeMillis() {
+        return ticker.currentTimeMillis();
+    }
+    
+    @Override
+    public long preciseTimeMillis() {
+        return ticker.advance(System.currentTimeMillis());
+    }
+}
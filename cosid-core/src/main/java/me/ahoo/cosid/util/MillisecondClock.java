@@ -0,0 +1,94 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.util;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Pluggable millisecond time source of the snowflake and CosId generator hot paths.
+ *
+ * @author ahoo wang
+ */
+@ThreadSafe
+public interface MillisecondClock {
+    
+    /**
+     * {@link System#currentTimeMillis()} on every call.
+     */
+    MillisecondClock SYSTEM = System::currentTimeMillis;
+    
+    /**
+     * Get the current time in milliseconds, may be cached.
+     *
+     * @return current time in milliseconds
+     */
+    long currentTimeMillis();
+    
+    /**
+     * Get the current time in milliseconds as precisely as possible.
+     * Used while waiting for the next millisecond once the sequence of the current one is exhausted,
+     * never less than any value returned by {@link #currentTimeMillis()} before, unless the clock moved backwards beyond what the clock tolerates.
+     *
+     * @return current time in milliseconds
+     */
+    default long preciseTimeMillis() {
+        return currentTimeMillis();
+    }
+    
+    /**
+     * Get the shared clock of {@code type}, the background ticker is only started on first use.
+     *
+     * @param type clock type
+     * @return shared clock
+     */
+    static MillisecondClock of(Type type) {
+        switch (type) {
+            case SYSTEM:
+                return SYSTEM;
+            case TICKER:
+                return TickerHolder.TICKER;
+            case HYBRID:
+                return TickerHolder.HYBRID;
+            default:
+                throw new IllegalStateException("Unexpected value: " + type);
+        }
+    }
+    
+    enum Type {
+        /**
+         * {@link #SYSTEM}.
+         */
+        SYSTEM,
+        /**
+         * {@link TickerClock}, both the hot path and the wait for the next millisecond read the published time.
+         */
+        TICKER,
+        /**
+         * {@link HybridClock}, the hot path reads the published time and the wait for the next millisecond falls back to the syscall.
+         */
+        HYBRID
+    }
+    
+    /**
+     * Lazy holder of the shared ticker.
+     */
+    final class TickerHolder {
+        private static final TickerClock TICKER = new TickerClock();
+        private static final HybridClock HYBRID = new HybridClock(TICKER);
+        
+        private TickerHolder() {
+        }
+    }
+}
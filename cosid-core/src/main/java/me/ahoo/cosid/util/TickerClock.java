@@ -0,0 +1,138 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.util;
+
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Millisecond clock published by a background ticker thread.
+ * Readers only load a volatile field that is padded against false sharing, instead of making the {@link System#currentTimeMillis()} syscall.
+ *
+ * <p>A backwards system clock within {@code maxBackwards} is absorbed as a pause until it catches up.
+ * A larger backwards jump is published as is, so that the generators fail fast with a clock backwards exception instead of spinning until the clock catches up.
+ * The published time lags behind the system clock by at most one {@code tickPeriod}.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class TickerClock implements MillisecondClock, Runnable {
+    public static final Duration DEFAULT_TICK_PERIOD = Duration.ofNanos(500_000);
+    public static final Duration DEFAULT_MAX_BACKWARDS = Duration.ofSeconds(1);
+    private static final AtomicLongFieldUpdater<Value> VALUE = AtomicLongFieldUpdater.newUpdater(Value.class, "value");
+    
+    private final long tickPeriodNanos;
+    private final long maxBackwardsMillis;
+    private final PaddedValue time = new PaddedValue();
+    private final Thread thread;
+    
+    public TickerClock() {
+        this(DEFAULT_TICK_PERIOD);
+    }
+    
+    public TickerClock(Duration tickPeriod) {
+        this(tickPeriod, DEFAULT_MAX_BACKWARDS);
+    }
+    
+    /**
+     * Create a TickerClock.
+     *
+     * @param tickPeriod   period of the background ticker
+     * @param maxBackwards how far back a backwards system clock is absorbed as a pause
+     */
+    public TickerClock(Duration tickPeriod, Duration maxBackwards) {
+        Preconditions.checkArgument(!tickPeriod.isNegative() && !tickPeriod.isZero(), "tickPeriod:[%s] must be greater than 0.", tickPeriod);
+        Preconditions.checkArgument(!maxBackwards.isNegative(), "maxBackwards:[%s] can not be negative.", maxBackwards);
+        this.tickPeriodNanos = tickPeriod.toNanos();
+        this.maxBackwardsMillis = maxBackwards.toMillis();
+        this.time.value = System.currentTimeMillis();
+        this.thread = new Thread(this);
+        this.thread.setName("CosId-TickerClock");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+    
+    @Override
+    public long currentTimeMillis() {
+        return time.value;
+    }
+    
+    public long getMaxBackwardsMillis() {
+        return maxBackwardsMillis;
+    }
+    
+    /**
+     * Publish {@code timeMillis} unless a later time within {@link #getMaxBackwardsMillis()} has been published.
+     *
+     * @param timeMillis time in milliseconds
+     * @return the published time
+     */
+    long advance(long timeMillis) {
+        while (true) {
+            final long current = time.value;
+            if (timeMillis <= current && current - timeMillis <= maxBackwardsMillis) {
+                return current;
+            }
+            if (VALUE.compareAndSet(time, current, timeMillis)) {
+                if (timeMillis < current && log.isWarnEnabled()) {
+                    log.warn("Advance - clock moved backwards by [{}] ms beyond maxBackwards:[{}] ms, publish [{}].", current - timeMillis, maxBackwardsMillis, timeMillis);
+                }
+                return timeMillis;
+            }
+        }
+    }
+    
+    @Override
+    public void run() {
+        while (!thread.isInterrupted()) {
+            advance(System.currentTimeMillis());
+            LockSupport.parkNanos(this, tickPeriodNanos);
+        }
+    }
+    
+    public void stop() {
+        thread.interrupt();
+    }
+    
+    @SuppressWarnings("unused")
+    private static class LhsPadding {
+        protected long p01;
+        protected long p02;
+        protected long p03;
+        protected long p04;
+        protected long p05;
+        protected long p06;
+        protected long p07;
+    }
+    
+    private static class Value extends LhsPadding {
+        protected volatile long value;
+    }
+    
+    @SuppressWarnings("unused")
+    private static final class PaddedValue extends Value {
+        protected long p11;
+        protected long p12;
+        protected long p13;
+        protected long p14;
+        protected long p15;
+        protected long p16;
+        protected long p17;
+    }
+}
@@ -49,6 +49,26 @@ class PrefixIdConverterTest {
         assertThat(actual, equalTo(randomId));
     }
     
+    @Test
+    void asChars() {
+        long randomId = ThreadLocalRandom.current().nextLong();
+        char[] buf = new char[32];
+        int length = idConverter.asChars(randomId, buf, 1);
+        assertThat(new String(buf, 1, length), equalTo(PREFIX + randomId));
+        assertThat(idConverter.asLong(buf, 1, length), equalTo(randomId));
+        assertThat(idConverter.asChars(randomId, new char[PREFIX.length()], 0), equalTo(-1));
+    }
+    
+    @Test
+    void asLongFromCharsWhenPrefixMismatch() {
+        char[] shorter = "pre".toCharArray();
+        Assertions.assertThrows(NumberFormatException.class, () -> idConverter.asLong(shorter, 0, shorter.length));
+        char[] mismatch = "prefiX_111".toCharArray();
+        Assertions.assertThrows(NumberFormatException.class, () -> idConverter.asLong(mismatch, 0, mismatch.length));
+        char[] matched = "_prefix_111".toCharArray();
+        assertThat(idConverter.asLong(matched, 1, matched.length - 1), equalTo(111L));
+    }
+    
     @Test
     void asLongWhenNumberFormat() {
         Assertions.assertDoesNotThrow(() -> {
@@ -21,6 +21,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 /**
  * @author ahoo wang
  */
@@ -64,6 +67,9 @@ class Radix62IdConverterTest {
         Assertions.assertThrows(NumberFormatException.class, () -> {
             idConvert.asLong("1_");
         });
+        Assertions.assertThrows(NumberFormatException.class, () -> {
+            idConvert.asLong("11".toCharArray(), 1, -1);
+        });
     }
     
     @ParameterizedTest
@@ -115,4 +121,41 @@ class Radix62IdConverterTest {
         Assertions.assertEquals(charSize, actualIdStr.length());
     }
     
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 5, 62, 63, 124, 3843, 3844, Integer.MAX_VALUE, Long.MAX_VALUE})
+    void encodeIntoBuffers(long argId) {
+        for (Radix62IdConverter idConvert : new Radix62IdConverter[] {Radix62IdConverter.INSTANCE, Radix62IdConverter.PAD_START}) {
+            String expected = idConvert.asString(argId);
+            Assertions.assertEquals(expected.length(), idConvert.encodedLength(argId));
+            
+            char[] chars = new char[expected.length() + 2];
+            Assertions.assertEquals(expected.length(), idConvert.encode(argId, chars, 2));
+            Assertions.assertEquals(expected, new String(chars, 2, expected.length()));
+            
+            byte[] bytes = new byte[expected.length() + 3];
+            Assertions.assertEquals(expected.length(), idConvert.encode(argId, bytes, 3));
+            Assertions.assertEquals(expected, new String(bytes, 3, expected.length(), StandardCharsets.US_ASCII));
+            
+            ByteBuffer byteBuffer = ByteBuffer.allocateDirect(expected.length() + 1);
+            byteBuffer.position(1);
+            idConvert.encode(argId, byteBuffer);
+            Assertions.assertEquals(expected.length() + 1, byteBuffer.position());
+            byteBuffer.flip();
+            byteBuffer.position(1);
+            Assertions.assertEquals(expected, StandardCharsets.US_ASCII.decode(byteBuffer).toString());
+            
+            if (argId > 0) {
+                Assertions.assertEquals(argId, idConvert.asLong(chars, 2, expected.length()));
+                Assertions.assertEquals(argId, idConvert.asLong(bytes, 3, expected.length()));
+                Assertions.assertEquals(argId, idConvert.asLong("__" + expected, 2, expected.length()));
+            }
+        }
+    }
+    
+    @Test
+    void asLongBytesWhenNumberFormat() {
+        Radix62IdConverter idConvert = Radix62IdConverter.of(false, 2);
+        Assertions.assertThrows(NumberFormatException.class, () -> idConvert.asLong("1_".getBytes(StandardCharsets.US_ASCII), 0, 2));
+        Assertions.assertThrows(NumberFormatException.class, () -> idConvert.asLong("111".toCharArray(), 0, 3));
+    }
 }
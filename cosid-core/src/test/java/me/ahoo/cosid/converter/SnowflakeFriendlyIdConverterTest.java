@@ -13,9 +13,11 @@
 
 package me.ahoo.cosid.converter;
 
+import me.ahoo.cosid.snowflake.MillisecondSnowflakeIdStateParser;
 import me.ahoo.cosid.snowflake.SecondSnowflakeId;
 import me.ahoo.cosid.snowflake.SecondSnowflakeIdStateParser;
 import me.ahoo.cosid.snowflake.SnowflakeId;
+import me.ahoo.cosid.snowflake.SnowflakeIdStateParser;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -63,5 +65,45 @@ class SnowflakeFriendlyIdConverterTest {
         
     }
     
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 295913926632165376L, Long.MAX_VALUE})
+    void asStringSameAsParser(long argId) {
+        String expected = MillisecondSnowflakeIdStateParser.INSTANCE.parse(argId).getFriendlyId();
+        Assertions.assertEquals(expected, SnowflakeFriendlyIdConverter.INSTANCE.asString(argId));
+        Assertions.assertEquals(MillisecondSnowflakeIdStateParser.INSTANCE.parse(expected).getId(), SnowflakeFriendlyIdConverter.INSTANCE.asLong(expected));
+    }
     
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 295913926632165376L, Long.MAX_VALUE})
+    void asCharsSameAsString(long argId) {
+        char[] buf = new char[SnowflakeIdStateParser.MAX_FRIENDLY_ID_LENGTH + 1];
+        int length = SnowflakeFriendlyIdConverter.INSTANCE.asChars(argId, buf, 1);
+        Assertions.assertEquals(SnowflakeFriendlyIdConverter.INSTANCE.asString(argId), new String(buf, 1, length));
+        Assertions.assertEquals(argId, SnowflakeFriendlyIdConverter.INSTANCE.asLong(buf, 1, length));
+        Assertions.assertEquals(-1, SnowflakeFriendlyIdConverter.INSTANCE.asChars(argId, new char[length - 1], 0));
+    }
+    
+    @Test
+    void asStringSecond() {
+        SnowflakeId idGen = new SecondSnowflakeId(1);
+        SnowflakeIdStateParser stateParser = SecondSnowflakeIdStateParser.of(idGen);
+        SnowflakeFriendlyIdConverter idConverter = new SnowflakeFriendlyIdConverter(stateParser);
+        long id = idGen.generate();
+        String friendlyId = idConverter.asString(id);
+        Assertions.assertEquals(stateParser.parse(id).getFriendlyId(), friendlyId);
+        Assertions.assertEquals(id, idConverter.asLong(friendlyId));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {" 20220320133617924-5-0 ", "20220320133617924--5-0"})
+    void asLongWhenNotCanonical(String argId) {
+        long expected = MillisecondSnowflakeIdStateParser.INSTANCE.parse(argId).getId();
+        Assertions.assertEquals(expected, SnowflakeFriendlyIdConverter.INSTANCE.asLong(argId));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"20221320133617924-5-0", "2022032013361792-5-0", "20220320133617924-5"})
+    void asLongWhenIllegal(String argId) {
+        Assertions.assertThrows(RuntimeException.class, () -> SnowflakeFriendlyIdConverter.INSTANCE.asLong(argId));
+    }
 }
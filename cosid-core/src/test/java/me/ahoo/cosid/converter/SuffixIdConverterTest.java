@@ -16,6 +16,7 @@ package me.ahoo.cosid.converter;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.concurrent.ThreadLocalRandom;
@@ -47,4 +48,14 @@ class SuffixIdConverterTest {
         long actual = idConverter.asLong(randomId + SUFFIX);
         assertThat(actual, equalTo(randomId));
     }
+    
+    @Test
+    void asLongFromCharsWhenSuffixMismatch() {
+        char[] shorter = "fix".toCharArray();
+        Assertions.assertThrows(NumberFormatException.class, () -> idConverter.asLong(shorter, 0, shorter.length));
+        char[] mismatch = "111-suffiX".toCharArray();
+        Assertions.assertThrows(NumberFormatException.class, () -> idConverter.asLong(mismatch, 0, mismatch.length));
+        char[] matched = "111-suffix_".toCharArray();
+        assertThat(idConverter.asLong(matched, 0, matched.length - 1), equalTo(111L));
+    }
 }
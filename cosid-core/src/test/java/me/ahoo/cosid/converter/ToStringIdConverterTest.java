@@ -38,6 +38,35 @@ class ToStringIdConverterTest {
         Assertions.assertEquals(argId, actual);
     }
 
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, -1, 62, -124, Integer.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE})
+    void asChars(long argId) {
+        char[] buf = new char[24];
+        int length = ToStringIdConverter.INSTANCE.asChars(argId, buf, 2);
+        Assertions.assertEquals(String.valueOf(argId), new String(buf, 2, length));
+        Assertions.assertEquals(argId, ToStringIdConverter.INSTANCE.asLong(buf, 2, length));
+    }
+
+    @Test
+    void asCharsWhenNotEnoughRoom() {
+        char[] buf = new char[3];
+        Assertions.assertEquals(-1, ToStringIdConverter.INSTANCE.asChars(1000, buf, 0));
+        Assertions.assertEquals(-1, ToStringIdConverter.INSTANCE.asChars(1, buf, 3));
+    }
+
+    @Test
+    void asLongCharsWhenNumberFormat() {
+        Assertions.assertThrows(NumberFormatException.class, () -> {
+            ToStringIdConverter.INSTANCE.asLong("1_".toCharArray(), 0, 2);
+        });
+        Assertions.assertThrows(NumberFormatException.class, () -> {
+            ToStringIdConverter.INSTANCE.asLong("-".toCharArray(), 0, 1);
+        });
+        Assertions.assertThrows(NumberFormatException.class, () -> {
+            ToStringIdConverter.INSTANCE.asLong("92233720368547758070".toCharArray(), 0, 20);
+        });
+    }
+
     @Test
     void asLongWhenNumberFormat() {
         ToStringIdConverter idConvert = new ToStringIdConverter();
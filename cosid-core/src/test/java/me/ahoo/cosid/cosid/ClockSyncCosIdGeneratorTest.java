@@ -38,4 +38,12 @@ class ClockSyncCosIdGeneratorTest {
         CosIdState state2 = clockSyncCosIdGenerator.generateAsState();
         assertThat(state2, greaterThan(state1));
     }
+    
+    @Test
+    void generateAsString() {
+        String id1 = clockSyncCosIdGenerator.generateAsString();
+        String id2 = clockSyncCosIdGenerator.generateAsString();
+        assertThat(id2, greaterThan(id1));
+        assertThat(radix62CosIdGenerator.getStateParser().asState(id2), greaterThan(radix62CosIdGenerator.getStateParser().asState(id1)));
+    }
 }
@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
 
 class Radix62CosIdGeneratorTest {
@@ -72,4 +73,25 @@ class Radix62CosIdGeneratorTest {
     public void generateWhenConcurrentString() {
         new ConcurrentGenerateStingSpec(new Radix62CosIdGenerator(1)).verify();
     }
+    
+    @Test
+    void generateWhenBorrow() {
+        long now = System.currentTimeMillis();
+        AtomicLong clock = new AtomicLong(now);
+        Radix62CosIdGenerator cosIdGenerator = new Radix62CosIdGenerator(DEFAULT_TIMESTAMP_BIT, DEFAULT_MACHINE_BIT, 2, 1, 1, clock::get, 2);
+        CosIdState previous = cosIdGenerator.generateAsState();
+        assertThat(previous.getTimestamp(), equalTo(now + 2));
+        clock.set(now + 1);
+        for (int i = 0; i < 6; i++) {
+            CosIdState state = cosIdGenerator.generateAsState();
+            assertThat(state, greaterThan(previous));
+            previous = state;
+        }
+        assertThat(cosIdGenerator.getLastTimestamp(), equalTo(now + 3));
+        assertThat(cosIdGenerator.getLookahead(), equalTo(2L));
+        
+        clock.set(now + 4);
+        assertThat(cosIdGenerator.generateAsState().getTimestamp(), equalTo(now + 4));
+        assertThat(cosIdGenerator.getLookahead(), equalTo(0L));
+    }
 }
@@ -16,6 +16,8 @@ package me.ahoo.cosid.cosid;
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 
+import me.ahoo.cosid.util.MillisecondClock;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -68,4 +70,54 @@ class RadixCosIdStateParserTest {
         String id2 = radix36CosIdGenerator.getStateParser().asString(cosIdState);
         assertThat(id, equalTo(id2));
     }
+    
+    @Test
+    void asStateFromCharSequence() {
+        RadixCosIdStateParser stateParser = (RadixCosIdStateParser) radix62CosIdGenerator.getStateParser();
+        CosIdState cosIdState = radix62CosIdGenerator.generateAsState();
+        StringBuilder idBuilder = new StringBuilder(stateParser.asString(cosIdState));
+        assertThat(stateParser.asState(idBuilder), equalTo(cosIdState));
+    }
+    
+    @Test
+    void encode() {
+        RadixCosIdStateParser stateParser = (RadixCosIdStateParser) radix62CosIdGenerator.getStateParser();
+        CosIdState cosIdState = radix62CosIdGenerator.generateAsState();
+        char[] buf = new char[stateParser.getTotalCharSize() + 1];
+        int written = stateParser.encode(cosIdState.getTimestamp(), cosIdState.getMachineId(), cosIdState.getSequence(), buf, 1);
+        assertThat(written, equalTo(stateParser.getTotalCharSize()));
+        assertThat(new String(buf, 1, written), equalTo(stateParser.asString(cosIdState)));
+    }
+    
+    @Test
+    void asStringWhenNotPadStart() {
+        RadixCosIdStateParser stateParser = RadixCosIdStateParser.ofRadix62(RadixCosIdGenerator.DEFAULT_TIMESTAMP_BIT, RadixCosIdGenerator.DEFAULT_MACHINE_BIT,
+            RadixCosIdGenerator.DEFAULT_SEQUENCE_BIT, false);
+        assertThat(stateParser.asString(61, 1, 62), equalTo("Z110"));
+        assertThat(stateParser.asString(1, 2, 3), equalTo("123"));
+    }
+    
+    @Test
+    void encodeWhenNotPadStartReuseBuffer() {
+        RadixCosIdStateParser stateParser = RadixCosIdStateParser.ofRadix62(RadixCosIdGenerator.DEFAULT_TIMESTAMP_BIT, RadixCosIdGenerator.DEFAULT_MACHINE_BIT,
+            RadixCosIdGenerator.DEFAULT_SEQUENCE_BIT, false);
+        char[] buf = new char[stateParser.getTotalCharSize()];
+        int written = stateParser.encode(61, 1, 62, buf, 0);
+        assertThat(new String(buf, 0, written), equalTo("Z110"));
+        written = stateParser.encode(1, 2, 3, buf, 0);
+        assertThat(new String(buf, 0, written), equalTo("123"));
+    }
+    
+    @Test
+    void generateAsStringWhenNotPadStart() {
+        RadixCosIdStateParser stateParser = RadixCosIdStateParser.ofRadix62(RadixCosIdGenerator.DEFAULT_TIMESTAMP_BIT, RadixCosIdGenerator.DEFAULT_MACHINE_BIT,
+            RadixCosIdGenerator.DEFAULT_SEQUENCE_BIT, false);
+        RadixCosIdGenerator generator = new RadixCosIdGenerator(RadixCosIdGenerator.DEFAULT_TIMESTAMP_BIT, RadixCosIdGenerator.DEFAULT_MACHINE_BIT,
+            RadixCosIdGenerator.DEFAULT_SEQUENCE_BIT, 1, RadixCosIdGenerator.DEFAULT_SEQUENCE_RESET_THRESHOLD, stateParser, MillisecondClock.SYSTEM);
+        for (int i = 0; i < 100; i++) {
+            String id = generator.generateAsString();
+            assertThat(id.indexOf('\0'), equalTo(-1));
+            assertThat(id.length(), lessThan(stateParser.getTotalCharSize()));
+        }
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.machine;
+
+import me.ahoo.cosid.CosId;
+import me.ahoo.cosid.cosid.ClockSyncCosIdGenerator;
+import me.ahoo.cosid.cosid.CosIdGenerator;
+import me.ahoo.cosid.cosid.CosIdState;
+import me.ahoo.cosid.cosid.Radix62CosIdGenerator;
+import me.ahoo.cosid.cosid.RadixCosIdGenerator;
+import me.ahoo.cosid.snowflake.ClockSyncSnowflakeId;
+import me.ahoo.cosid.snowflake.MillisecondSnowflakeId;
+import me.ahoo.cosid.snowflake.exception.ClockTooManyBackwardsException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author ahoo wang
+ */
+class LogicalClockBackwardsSynchronizerTest {
+    private final LogicalClockBackwardsSynchronizer synchronizer = new LogicalClockBackwardsSynchronizer(100);
+    
+    @Test
+    void syncWhenNotBackwards() {
+        synchronizer.syncUninterruptibly(System.currentTimeMillis() - 10);
+    }
+    
+    @Test
+    void syncWhenWithinTolerance() {
+        long lastTimestamp = System.currentTimeMillis() + 50;
+        synchronizer.syncUninterruptibly(lastTimestamp);
+        Assertions.assertTrue(System.currentTimeMillis() < lastTimestamp);
+    }
+    
+    @Test
+    void syncWhenBeyondTolerance() {
+        Assertions.assertThrows(ClockTooManyBackwardsException.class, () -> synchronizer.syncUninterruptibly(System.currentTimeMillis() + 1000));
+    }
+    
+    @Test
+    void ctorWhenToleranceIsZero() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new LogicalClockBackwardsSynchronizer(0));
+    }
+    
+    @Test
+    void snowflakeIdWhenBackwards() {
+        long now = System.currentTimeMillis();
+        AtomicLong clock = new AtomicLong(now);
+        MillisecondSnowflakeId actual = new MillisecondSnowflakeId(CosId.COSID_EPOCH, 41, 10, 2, 1, 1, clock::get, synchronizer.getTolerance());
+        ClockSyncSnowflakeId snowflakeId = new ClockSyncSnowflakeId(actual, synchronizer);
+        snowflakeId.generate();
+        long caughtUp = now + synchronizer.getTolerance();
+        clock.set(caughtUp);
+        long previousId = snowflakeId.generate();
+        clock.set(caughtUp - 50);
+        for (int i = 0; i < 16; i++) {
+            long id = snowflakeId.generate();
+            Assertions.assertTrue(id > previousId);
+            previousId = id;
+        }
+        Assertions.assertEquals(caughtUp + 4, snowflakeId.getLastTimestamp());
+    }
+    
+    @Test
+    void cosIdGeneratorWhenBackwards() {
+        long now = System.currentTimeMillis();
+        AtomicLong clock = new AtomicLong(now);
+        CosIdGenerator cosIdGenerator = new ClockSyncCosIdGenerator(
+            new Radix62CosIdGenerator(RadixCosIdGenerator.DEFAULT_TIMESTAMP_BIT, RadixCosIdGenerator.DEFAULT_MACHINE_BIT, 2, 1, 1, clock::get, synchronizer.getTolerance()),
+            synchronizer);
+        cosIdGenerator.generateAsState();
+        long caughtUp = now + synchronizer.getTolerance();
+        clock.set(caughtUp);
+        CosIdState previous = cosIdGenerator.generateAsState();
+        clock.set(caughtUp - 50);
+        for (int i = 0; i < 16; i++) {
+            CosIdState state = cosIdGenerator.generateAsState();
+            Assertions.assertTrue(state.compareTo(previous) > 0);
+            previous = state;
+        }
+        Assertions.assertEquals(caughtUp + 4, cosIdGenerator.getLastTimestamp());
+    }
+}
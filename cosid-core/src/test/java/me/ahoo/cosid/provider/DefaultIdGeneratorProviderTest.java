@@ -18,10 +18,14 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import me.ahoo.cosid.IdGenerator;
 import me.ahoo.cosid.jvm.AtomicLongGenerator;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 /**
  * @author ahoo wang
@@ -93,4 +97,40 @@ class DefaultIdGeneratorProviderTest {
     @Test
     void getAll() {
     }
+
+    @Test
+    void entries() {
+        String idName = "test-entries";
+        DefaultIdGeneratorProvider provider = new DefaultIdGeneratorProvider();
+        provider.set(idName, AtomicLongGenerator.INSTANCE);
+        assertEquals(1, provider.entries().size());
+        assertEquals(idName, provider.entries().iterator().next().getKey());
+    }
+
+    @Test
+    void addListener() {
+        DefaultIdGeneratorProvider provider = new DefaultIdGeneratorProvider();
+        List<String> events = new ArrayList<>();
+        provider.addListener(new IdGeneratorProvider.Listener() {
+            @Override
+            public void onSet(String name, IdGenerator idGenerator) {
+                events.add("set:" + name);
+            }
+
+            @Override
+            public void onRemove(String name, IdGenerator idGenerator) {
+                events.add("remove:" + name);
+            }
+        });
+        provider.set("idGen-1", AtomicLongGenerator.INSTANCE);
+        provider.setShare(AtomicLongGenerator.INSTANCE);
+        provider.remove("idGen-1");
+        provider.remove("idGen-1");
+        provider.clear();
+        assertEquals(4, events.size());
+        assertEquals("set:idGen-1", events.get(0));
+        assertEquals("set:" + IdGeneratorProvider.SHARE, events.get(1));
+        assertEquals("remove:idGen-1", events.get(2));
+        assertEquals("remove:" + IdGeneratorProvider.SHARE, events.get(3));
+    }
 }
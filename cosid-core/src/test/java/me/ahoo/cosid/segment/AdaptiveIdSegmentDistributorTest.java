@@ -0,0 +1,125 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.segment;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author ahoo wang
+ */
+class AdaptiveIdSegmentDistributorTest {
+    
+    @Test
+    void ctorWhenMaxStepLessThanMinStep() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveIdSegmentDistributor(new IdSegmentDistributor.Atomic(), 100, 10, Duration.ofSeconds(1)));
+    }
+    
+    @Test
+    void getStep() {
+        AdaptiveIdSegmentDistributor distributor = new AdaptiveIdSegmentDistributor(new IdSegmentDistributor.Atomic(10));
+        assertThat(distributor.getStep(), equalTo(10L));
+        assertThat(distributor.getAdaptiveStep(), equalTo(10L));
+        assertThat(distributor.getMinStep(), equalTo(10L));
+        assertThat(distributor.getMaxStep(), equalTo(10L * AdaptiveIdSegmentDistributor.DEFAULT_MAX_STEP_MULTIPLIER));
+    }
+    
+    @Test
+    void adaptGrow() {
+        AdaptiveIdSegmentDistributor distributor = new AdaptiveIdSegmentDistributor(new IdSegmentDistributor.Atomic(100), 100, 1000, Duration.ofSeconds(1));
+        long now = 0;
+        distributor.adapt(100, now);
+        assertThat(distributor.getAdaptiveStep(), equalTo(100L));
+        now += TimeUnit.MILLISECONDS.toNanos(10);
+        distributor.adapt(100, now);
+        assertThat(distributor.getAdaptiveStep(), equalTo(200L));
+        now += TimeUnit.MILLISECONDS.toNanos(10);
+        distributor.adapt(200, now);
+        assertThat(distributor.getAdaptiveStep(), equalTo(400L));
+        now += TimeUnit.MILLISECONDS.toNanos(10);
+        distributor.adapt(400, now);
+        assertThat(distributor.getAdaptiveStep(), equalTo(800L));
+        now += TimeUnit.MILLISECONDS.toNanos(10);
+        distributor.adapt(800, now);
+        assertThat(distributor.getAdaptiveStep(), equalTo(1000L));
+        assertThat(distributor.getStep(), equalTo(100L));
+    }
+    
+    @Test
+    void adaptShrink() {
+        AdaptiveIdSegmentDistributor distributor = new AdaptiveIdSegmentDistributor(new IdSegmentDistributor.Atomic(800), 100, 1000, Duration.ofSeconds(1));
+        long now = 0;
+        distributor.adapt(800, now);
+        now += TimeUnit.SECONDS.toNanos(10);
+        distributor.adapt(800, now);
+        assertThat(distributor.getAdaptiveStep(), equalTo(400L));
+        now += TimeUnit.SECONDS.toNanos(10);
+        distributor.adapt(400, now);
+        assertThat(distributor.getAdaptiveStep(), equalTo(200L));
+        now += TimeUnit.SECONDS.toNanos(10);
+        distributor.adapt(200, now);
+        assertThat(distributor.getAdaptiveStep(), equalTo(100L));
+        now += TimeUnit.SECONDS.toNanos(10);
+        distributor.adapt(100, now);
+        assertThat(distributor.getAdaptiveStep(), equalTo(100L));
+    }
+    
+    @Test
+    void adaptSteady() {
+        AdaptiveIdSegmentDistributor distributor = new AdaptiveIdSegmentDistributor(new IdSegmentDistributor.Atomic(100), 10, 1000, Duration.ofSeconds(1));
+        distributor.adapt(100, 0);
+        distributor.adapt(100, TimeUnit.SECONDS.toNanos(1));
+        assertThat(distributor.getAdaptiveStep(), equalTo(100L));
+    }
+    
+    @Test
+    void nextIdSegment() {
+        AdaptiveIdSegmentDistributor distributor = new AdaptiveIdSegmentDistributor(new IdSegmentDistributor.Atomic(10));
+        IdSegment idSegment = distributor.nextIdSegment(IdSegment.TIME_TO_LIVE_FOREVER);
+        assertThat(idSegment.getStep(), equalTo(10L));
+        assertThat(idSegment.getMaxId(), equalTo(10L));
+        
+        IdSegment mergedIdSegment = distributor.nextIdSegment(3, IdSegment.TIME_TO_LIVE_FOREVER);
+        assertThat(mergedIdSegment.getMaxId(), equalTo(idSegment.getMaxId() + mergedIdSegment.getStep()));
+    }
+    
+    @Test
+    void generateWithDefaultSegmentId() {
+        DefaultSegmentId segmentId = new DefaultSegmentId(new AdaptiveIdSegmentDistributor(new IdSegmentDistributor.Atomic(10)));
+        long previousId = 0;
+        for (int i = 0; i < 100_000; i++) {
+            long id = segmentId.generate();
+            assertThat(id, greaterThan(previousId));
+            previousId = id;
+        }
+    }
+    
+    @Test
+    void generateWithSegmentChainId() {
+        SegmentChainId segmentChainId = new SegmentChainId(new AdaptiveIdSegmentDistributor(new IdSegmentDistributor.Atomic(10)));
+        long previousId = 0;
+        for (int i = 0; i < 100_000; i++) {
+            long id = segmentChainId.generate();
+            assertThat(id, greaterThan(previousId));
+            previousId = id;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author ahoo wang
+ */
+class CoalescingIdSegmentDistributorTest {
+    
+    @Test
+    void nextMaxId() {
+        CoalescingIdSegmentDistributor distributor = new CoalescingIdSegmentDistributor(new IdSegmentDistributor.Atomic(10));
+        assertThat(distributor.getStep(), equalTo(10L));
+        assertThat(distributor.nextMaxId(10), equalTo(10L));
+        assertThat(distributor.nextMaxId(5), equalTo(15L));
+    }
+    
+    @Test
+    void nextMaxIdWhenConcurrent() {
+        AtomicInteger fetchCount = new AtomicInteger();
+        IdSegmentDistributor.Atomic atomic = new IdSegmentDistributor.Atomic(10);
+        CoalescingIdSegmentDistributor distributor = new CoalescingIdSegmentDistributor(new IdSegmentDistributor.Atomic(10) {
+            @Override
+            public long nextMaxId(long step) {
+                fetchCount.incrementAndGet();
+                LockSupport.parkNanos(1_000_000);
+                return atomic.nextMaxId(step);
+            }
+        });
+        final int callers = 64;
+        ConcurrentSkipListSet<Long> maxIds = new ConcurrentSkipListSet<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(callers);
+        ExecutorService executorService = Executors.newFixedThreadPool(callers);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < callers; i++) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    Uninterruptibles.awaitUninterruptibly(startLatch);
+                    maxIds.add(distributor.nextMaxId(10));
+                }, executorService));
+            }
+            startLatch.countDown();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executorService.shutdown();
+        }
+        
+        assertThat(maxIds.size(), equalTo(callers));
+        assertThat(maxIds.first(), equalTo(10L));
+        assertThat(maxIds.last(), equalTo(10L * callers));
+        assertThat(fetchCount.get(), lessThan(callers));
+    }
+    
+    @Test
+    void nextMaxIdWhenBurstExceedsReservoirStep() {
+        List<Long> backendSteps = new CopyOnWriteArrayList<>();
+        IdSegmentDistributor.Atomic atomic = new IdSegmentDistributor.Atomic(10);
+        ReservoirIdSegmentDistributor reservoir = new ReservoirIdSegmentDistributor(new IdSegmentDistributor.Atomic(10) {
+            @Override
+            public long nextMaxId(long step) {
+                backendSteps.add(step);
+                LockSupport.parkNanos(1_000_000);
+                return atomic.nextMaxId(step);
+            }
+        }, 10, MoreExecutors.directExecutor());
+        List<Long> coalescedSteps = new CopyOnWriteArrayList<>();
+        CoalescingIdSegmentDistributor distributor = new CoalescingIdSegmentDistributor(new IdSegmentDistributor.Atomic(10) {
+            @Override
+            public long nextMaxId(long step) {
+                coalescedSteps.add(step);
+                return reservoir.nextMaxId(step);
+            }
+        }, reservoir.getReservoirStep());
+        final int callers = 64;
+        ConcurrentSkipListSet<Long> maxIds = new ConcurrentSkipListSet<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(callers);
+        ExecutorService executorService = Executors.newFixedThreadPool(callers);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < callers; i++) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    Uninterruptibles.awaitUninterruptibly(startLatch);
+                    maxIds.add(distributor.nextMaxId(30));
+                }, executorService));
+            }
+            startLatch.countDown();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executorService.shutdown();
+        }
+        
+        assertThat(maxIds.size(), equalTo(callers));
+        for (long coalescedStep : coalescedSteps) {
+            assertThat(coalescedStep, lessThanOrEqualTo(reservoir.getReservoirStep()));
+        }
+        for (long backendStep : backendSteps) {
+            assertThat(backendStep, equalTo(reservoir.getReservoirStep()));
+        }
+    }
+    
+    @Test
+    void nextMaxIdWhenStepExceedsMaxStep() {
+        CoalescingIdSegmentDistributor distributor = new CoalescingIdSegmentDistributor(new IdSegmentDistributor.Atomic(10), 100);
+        assertThat(distributor.nextMaxId(200), equalTo(200L));
+        assertThat(distributor.nextMaxId(10), equalTo(210L));
+    }
+    
+    @Test
+    void nextMaxIdWhenError() {
+        CoalescingIdSegmentDistributor distributor = new CoalescingIdSegmentDistributor(new IdSegmentDistributor.Atomic(10) {
+            @Override
+            public long nextMaxId(long step) {
+                throw new IllegalStateException("backend down");
+            }
+        });
+        assertThrows(IllegalStateException.class, () -> distributor.nextMaxId(10));
+        assertThrows(IllegalArgumentException.class, () -> distributor.nextMaxId(0));
+    }
+}
@@ -32,4 +32,25 @@ class DefaultIdSegmentTest {
         new ConcurrentGenerateSpec(segment::incrementAndGet).verify();
     }
     
+    @Test
+    void incrementAndGetBatch() {
+        DefaultIdSegment segment = new DefaultIdSegment(10, 10);
+        long[] ids = new long[4];
+        Assertions.assertEquals(4, segment.incrementAndGet(ids, 0));
+        Assertions.assertArrayEquals(new long[] {1, 2, 3, 4}, ids);
+        Assertions.assertEquals(2, segment.incrementAndGet(ids, 2));
+        Assertions.assertArrayEquals(new long[] {1, 2, 5, 6}, ids);
+    }
+    
+    @Test
+    void incrementAndGetBatchWhenOverflow() {
+        DefaultIdSegment segment = new DefaultIdSegment(10, 10);
+        long[] ids = new long[8];
+        Assertions.assertEquals(8, segment.incrementAndGet(ids, 0));
+        Assertions.assertEquals(2, segment.incrementAndGet(ids, 0));
+        Assertions.assertEquals(9, ids[0]);
+        Assertions.assertEquals(10, ids[1]);
+        Assertions.assertEquals(0, segment.incrementAndGet(ids, 0));
+    }
+    
 }
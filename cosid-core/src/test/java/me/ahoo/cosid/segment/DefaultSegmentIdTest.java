@@ -19,6 +19,8 @@ import me.ahoo.cosid.test.ConcurrentGenerateStingSpec;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * @author ahoo wang
  */
@@ -49,4 +51,29 @@ class DefaultSegmentIdTest {
         IdSegmentDistributor testMaxIdDistributor = new IdSegmentDistributor.Mock();
         new ConcurrentGenerateStingSpec(new DefaultSegmentId(testMaxIdDistributor)).verify();
     }
+    
+    @Test
+    void generateBatch() {
+        DefaultSegmentId defaultSegmentId = new DefaultSegmentId(new IdSegmentDistributor.Atomic(10));
+        long[] ids = defaultSegmentId.generate(25);
+        for (int i = 0; i < ids.length; i++) {
+            Assertions.assertEquals(i + 1, ids[i]);
+        }
+        Assertions.assertEquals(26, defaultSegmentId.generate());
+    }
+    
+    @Test
+    void generateBatchWhenEmpty() {
+        AtomicInteger fetchCount = new AtomicInteger();
+        DefaultSegmentId defaultSegmentId = new DefaultSegmentId(new IdSegmentDistributor.Atomic(10) {
+            @Override
+            public long nextMaxId(long step) {
+                fetchCount.incrementAndGet();
+                return super.nextMaxId(step);
+            }
+        });
+        Assertions.assertEquals(0, defaultSegmentId.generate(0).length);
+        Assertions.assertEquals(0, fetchCount.get());
+        Assertions.assertEquals(1, defaultSegmentId.generate());
+    }
 }
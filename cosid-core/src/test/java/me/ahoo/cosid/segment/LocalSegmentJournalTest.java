@@ -0,0 +1,171 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.segment;
+
+import static me.ahoo.cosid.segment.IdSegment.TIME_TO_LIVE_FOREVER;
+
+import me.ahoo.cosid.CosIdException;
+import me.ahoo.cosid.segment.concurrent.PrefetchWorkerExecutorService;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * LocalSegmentJournalTest .
+ *
+ * @author ahoo wang
+ */
+class LocalSegmentJournalTest {
+    @TempDir
+    File journalLocation;
+
+    @Test
+    void recoverWhenEmpty() {
+        try (LocalSegmentJournal journal = LocalSegmentJournal.open(journalLocation.getAbsolutePath(), "empty")) {
+            Assertions.assertFalse(journal.isCleanShutdown());
+            Assertions.assertTrue(journal.recover(TIME_TO_LIVE_FOREVER).isEmpty());
+        }
+    }
+
+    @Test
+    void recoverAfterClose() {
+        File journalFile = new File(journalLocation, "clean.journal");
+        try (LocalSegmentJournal journal = new LocalSegmentJournal(journalFile)) {
+            journal.recover(TIME_TO_LIVE_FOREVER);
+            journal.append(new DefaultIdSegment(10, 10));
+            journal.append(new DefaultIdSegment(20, 10));
+            journal.markHead(10);
+            journal.bind(() -> 3);
+        }
+
+        try (LocalSegmentJournal journal = new LocalSegmentJournal(journalFile)) {
+            Assertions.assertTrue(journal.isCleanShutdown());
+            List<IdSegment> recovered = journal.recover(TIME_TO_LIVE_FOREVER);
+            Assertions.assertEquals(2, recovered.size());
+            Assertions.assertEquals(3, recovered.get(0).getOffset());
+            Assertions.assertEquals(10, recovered.get(0).getMaxId());
+            Assertions.assertEquals(10, recovered.get(1).getOffset());
+            Assertions.assertEquals(20, recovered.get(1).getMaxId());
+            Assertions.assertFalse(journal.isCleanShutdown());
+        }
+    }
+
+    @Test
+    void recoverAfterCrash() throws IOException {
+        File journalFile = new File(journalLocation, "crash.journal");
+        File crashedFile = new File(journalLocation, "crashed.journal");
+        try (LocalSegmentJournal journal = new LocalSegmentJournal(journalFile)) {
+            journal.recover(TIME_TO_LIVE_FOREVER);
+            journal.append(new DefaultIdSegment(10, 10));
+            journal.append(new DefaultIdSegment(20, 10));
+            journal.markHead(10);
+            /*
+             * Snapshot the mapped file before closing, as if the process crashed.
+             */
+            Files.copy(journalFile.toPath(), crashedFile.toPath());
+        }
+
+        try (LocalSegmentJournal journal = new LocalSegmentJournal(crashedFile)) {
+            Assertions.assertFalse(journal.isCleanShutdown());
+            List<IdSegment> recovered = journal.recover(TIME_TO_LIVE_FOREVER);
+            Assertions.assertEquals(1, recovered.size());
+            Assertions.assertEquals(10, recovered.get(0).getOffset());
+            Assertions.assertEquals(20, recovered.get(0).getMaxId());
+        }
+    }
+
+    @Test
+    void recoverWhenExpired() {
+        File journalFile = new File(journalLocation, "expired.journal");
+        try (LocalSegmentJournal journal = new LocalSegmentJournal(journalFile)) {
+            journal.recover(TIME_TO_LIVE_FOREVER);
+            journal.append(new DefaultIdSegment(10, 10, 0, TIME_TO_LIVE_FOREVER));
+        }
+
+        try (LocalSegmentJournal journal = new LocalSegmentJournal(journalFile)) {
+            Assertions.assertTrue(journal.recover(1).isEmpty());
+        }
+    }
+
+    @Test
+    void appendWhenFull() {
+        File journalFile = new File(journalLocation, "full.journal");
+        try (LocalSegmentJournal journal = new LocalSegmentJournal(journalFile, 2, LocalSegmentJournal.DEFAULT_FLUSH_PERIOD)) {
+            journal.recover(TIME_TO_LIVE_FOREVER);
+            journal.append(new DefaultIdSegment(10, 10));
+            journal.append(new DefaultIdSegment(20, 10));
+            journal.append(new DefaultIdSegment(30, 10));
+            Assertions.assertEquals(2, journal.size());
+            List<IdSegment> recovered = journal.recover(TIME_TO_LIVE_FOREVER);
+            Assertions.assertEquals(20, recovered.get(0).getMaxId());
+            Assertions.assertEquals(30, recovered.get(1).getMaxId());
+        }
+    }
+
+    @Test
+    void openWhenLocked() {
+        File journalFile = new File(journalLocation, "locked.journal");
+        try (LocalSegmentJournal ignored = new LocalSegmentJournal(journalFile)) {
+            Assertions.assertThrows(CosIdException.class, () -> new LocalSegmentJournal(journalFile));
+        }
+    }
+
+    @Test
+    void segmentChainIdWarmRestart() {
+        IdSegmentDistributor distributor = new IdSegmentDistributor.Atomic(10);
+        File journalFile = new File(journalLocation, "chain.journal");
+        long lastId;
+        try (LocalSegmentJournal journal = new LocalSegmentJournal(journalFile)) {
+            SegmentChainId segmentChainId = new SegmentChainId(TIME_TO_LIVE_FOREVER, 2, distributor, PrefetchWorkerExecutorService.DEFAULT, journal);
+            segmentChainId.generate();
+            lastId = segmentChainId.generate();
+        }
+
+        try (LocalSegmentJournal journal = new LocalSegmentJournal(journalFile)) {
+            SegmentChainId segmentChainId = new SegmentChainId(TIME_TO_LIVE_FOREVER, 2, distributor, PrefetchWorkerExecutorService.DEFAULT, journal);
+            Assertions.assertEquals(lastId + 1, segmentChainId.generate());
+        }
+    }
+
+    @Test
+    void segmentChainIdRestartFromForcedState() throws IOException {
+        IdSegmentDistributor distributor = new IdSegmentDistributor.Atomic(10);
+        File journalFile = new File(journalLocation, "forced.journal");
+        File crashedFile = new File(journalLocation, "forced-crashed.journal");
+        long lastId = 0;
+        try (LocalSegmentJournal journal = new LocalSegmentJournal(journalFile)) {
+            SegmentChainId segmentChainId = new SegmentChainId(TIME_TO_LIVE_FOREVER, 4, distributor, PrefetchWorkerExecutorService.DEFAULT, journal);
+            for (int i = 0; i < 25; i++) {
+                lastId = segmentChainId.generate();
+                Assertions.assertTrue(journal.getForcedHeadMaxId() >= lastId);
+            }
+            /*
+             * Snapshot as if the host crashed, the head covering the last ID was forced before it was handed out.
+             */
+            Files.copy(journalFile.toPath(), crashedFile.toPath());
+        }
+
+        try (LocalSegmentJournal journal = new LocalSegmentJournal(crashedFile)) {
+            Assertions.assertFalse(journal.isCleanShutdown());
+            SegmentChainId segmentChainId = new SegmentChainId(TIME_TO_LIVE_FOREVER, 4, distributor, PrefetchWorkerExecutorService.DEFAULT, journal);
+            Assertions.assertTrue(segmentChainId.generate() > lastId);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author ahoo wang
+ */
+class ReservoirIdSegmentDistributorTest {
+    
+    @Test
+    void nextMaxId() {
+        AtomicInteger fetchCount = new AtomicInteger();
+        IdSegmentDistributor.Atomic atomic = new IdSegmentDistributor.Atomic(10);
+        ReservoirIdSegmentDistributor distributor = new ReservoirIdSegmentDistributor(new IdSegmentDistributor.Atomic(10) {
+            @Override
+            public long nextMaxId(long step) {
+                fetchCount.incrementAndGet();
+                return atomic.nextMaxId(step);
+            }
+        }, 10, Runnable::run);
+        assertThat(distributor.getReservoirStep(), equalTo(100L));
+        for (int i = 1; i <= 5; i++) {
+            assertThat(distributor.nextMaxId(10), equalTo(i * 10L));
+        }
+        assertThat(fetchCount.get(), equalTo(1));
+        assertThat(distributor.nextMaxId(10), equalTo(60L));
+        assertThat(fetchCount.get(), equalTo(2));
+        assertThat(distributor.getRemaining(), equalTo(40L));
+    }
+    
+    @Test
+    void nextMaxIdWhenStepTooShortForRest() {
+        ReservoirIdSegmentDistributor distributor = new ReservoirIdSegmentDistributor(new IdSegmentDistributor.Atomic(10), 10, Runnable::run);
+        assertThat(distributor.nextMaxId(90), equalTo(90L));
+        assertThat(distributor.nextMaxId(20), equalTo(120L));
+    }
+    
+    @Test
+    void nextMaxIdWhenStepGreaterThanReservoirStep() {
+        ReservoirIdSegmentDistributor distributor = new ReservoirIdSegmentDistributor(new IdSegmentDistributor.Atomic(10), 10, Runnable::run);
+        assertThat(distributor.nextMaxId(1000), equalTo(1000L));
+        assertThat(distributor.getRemaining(), equalTo(0L));
+    }
+    
+    @Test
+    void nextMaxIdWhenBackendDown() {
+        AtomicBoolean backendDown = new AtomicBoolean(false);
+        IdSegmentDistributor.Atomic atomic = new IdSegmentDistributor.Atomic(10);
+        ReservoirIdSegmentDistributor distributor = new ReservoirIdSegmentDistributor(new IdSegmentDistributor.Atomic(10) {
+            @Override
+            public long nextMaxId(long step) {
+                if (backendDown.get()) {
+                    throw new IllegalStateException("backend down");
+                }
+                return atomic.nextMaxId(step);
+            }
+        }, 10, Runnable::run);
+        distributor.nextMaxId(10);
+        backendDown.set(true);
+        for (int i = 2; i <= 10; i++) {
+            assertThat(distributor.nextMaxId(10), equalTo(i * 10L));
+        }
+        assertThrows(IllegalStateException.class, () -> distributor.nextMaxId(10));
+        backendDown.set(false);
+        assertThat(distributor.nextMaxId(10), equalTo(110L));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.segment;
+
+import static me.ahoo.cosid.segment.IdSegment.TIME_TO_LIVE_FOREVER;
+
+import me.ahoo.cosid.segment.concurrent.PrefetchWorkerExecutorService;
+import me.ahoo.cosid.test.ConcurrentGenerateSpec;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RingSegmentChainIdTest {
+
+    @Test
+    void generate() {
+        SegmentChainId actual = new SegmentChainId(TIME_TO_LIVE_FOREVER, 10, new IdSegmentDistributor.Atomic(), PrefetchWorkerExecutorService.DEFAULT);
+        RingSegmentChainId segmentId = new RingSegmentChainId(actual, 6, PrefetchWorkerExecutorService.DEFAULT);
+        Assertions.assertEquals(8, segmentId.getCapacity());
+        Assertions.assertEquals(8, segmentId.getFillLevel());
+        for (int i = 1; i <= 4; i++) {
+            Assertions.assertEquals(i, segmentId.generate());
+        }
+        segmentId.getFillJob().fill();
+        Assertions.assertEquals(8, segmentId.getFillLevel());
+        Assertions.assertEquals(5, segmentId.generate());
+    }
+
+    @Test
+    void generateWhenEmpty() {
+        SegmentChainId actual = new SegmentChainId(TIME_TO_LIVE_FOREVER, 10, new IdSegmentDistributor.Atomic(), PrefetchWorkerExecutorService.DEFAULT);
+        RingSegmentChainId segmentId = new RingSegmentChainId(actual, 8, PrefetchWorkerExecutorService.DEFAULT);
+        Assertions.assertEquals(0, segmentId.generate(0).length);
+        Assertions.assertEquals(0, segmentId.getDrainedCount());
+        Assertions.assertEquals(8, segmentId.getFillLevel());
+    }
+
+    @SneakyThrows
+    @Test
+    void generateWhenWakeupLost() {
+        AtomicBoolean rejecting = new AtomicBoolean(true);
+        AtomicInteger rejectedCount = new AtomicInteger();
+        CountDownLatch firstRejected = new CountDownLatch(1);
+        Executor executor = command -> {
+            if (rejecting.get()) {
+                rejectedCount.incrementAndGet();
+                firstRejected.countDown();
+                throw new RejectedExecutionException();
+            }
+            command.run();
+        };
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        PrefetchWorkerExecutorService executorService = new PrefetchWorkerExecutorService(Duration.ofMinutes(1), executor, scheduler, false);
+        try {
+            SegmentChainId actual = new SegmentChainId(TIME_TO_LIVE_FOREVER, 10, new IdSegmentDistributor.Atomic(), PrefetchWorkerExecutorService.DEFAULT);
+            RingSegmentChainId segmentId = new RingSegmentChainId(actual, 8, executorService);
+            Assertions.assertTrue(firstRejected.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i <= 5; i++) {
+                Assertions.assertEquals(i, segmentId.generate());
+            }
+            /*
+             * The wakeup at the low watermark is lost, the following claims do not wake up the worker again.
+             */
+            Assertions.assertEquals(2, rejectedCount.get());
+            Assertions.assertEquals(3, segmentId.getFillLevel());
+            rejecting.set(false);
+            for (int i = 6; i <= 8; i++) {
+                Assertions.assertEquals(i, segmentId.generate());
+            }
+            Assertions.assertEquals(2, rejectedCount.get());
+            Assertions.assertEquals(0, segmentId.getFillLevel());
+            /*
+             * The drained ring wakes up the worker regardless.
+             */
+            Assertions.assertEquals(17, segmentId.generate());
+            Assertions.assertEquals(1, segmentId.getDrainedCount());
+            Assertions.assertEquals(8, segmentId.getFillLevel());
+        } finally {
+            executorService.shutdown();
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void generateWhenConcurrent() {
+        RingSegmentChainId segmentId = new RingSegmentChainId(new SegmentChainId(new IdSegmentDistributor.Mock()));
+        new ConcurrentGenerateSpec(segmentId) {
+            @Override
+            protected void assertSingleEach(long previousId, long id) {
+            }
+
+            @Override
+            protected void assertGlobalFirst(long id) {
+            }
+
+            @Override
+            protected void assertGlobalEach(long previousId, long id) {
+                Assertions.assertTrue(id > previousId);
+            }
+
+            @Override
+            protected void assertGlobalLast(long lastId) {
+            }
+        }.verify();
+    }
+}
@@ -19,11 +19,13 @@ import me.ahoo.cosid.segment.concurrent.PrefetchWorkerExecutorService;
 import me.ahoo.cosid.test.ConcurrentGenerateSpec;
 import me.ahoo.cosid.test.ConcurrentGenerateStingSpec;
 
+import lombok.SneakyThrows;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -96,5 +98,64 @@ class SegmentChainIdTest {
         }.verify();
     }
     
+    @SneakyThrows
+    @Test
+    void wakeupOnLowWatermark() {
+        SegmentChainId segmentChainId = new SegmentChainId(TIME_TO_LIVE_FOREVER, 4, new IdSegmentDistributor.Atomic(10), PrefetchWorkerExecutorService.DEFAULT);
+        SegmentChainId.PrefetchJob prefetchJob = segmentChainId.getPrefetchJob();
+        for (int i = 0; i < 100 && prefetchJob.getHeadToTailGap() < 4; i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        long hungerCount = segmentChainId.getHungerCount();
+        for (int round = 0; round < 3; round++) {
+            segmentChainId.generate(30);
+            for (int i = 0; i < 100 && prefetchJob.getHeadToTailGap() < prefetchJob.getLowWatermark(); i++) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            Assertions.assertTrue(prefetchJob.getHeadToTailGap() >= prefetchJob.getLowWatermark());
+        }
+        Assertions.assertEquals(hungerCount, segmentChainId.getHungerCount());
+    }
+    
+    @SneakyThrows
+    @Test
+    void wakeupOnLowWatermarkWhenAdaptive() {
+        AdaptiveIdSegmentDistributor distributor = new AdaptiveIdSegmentDistributor(new IdSegmentDistributor.Atomic(10), 40, 40, AdaptiveIdSegmentDistributor.DEFAULT_FETCH_INTERVAL);
+        SegmentChainId segmentChainId = new SegmentChainId(TIME_TO_LIVE_FOREVER, 4, distributor, PrefetchWorkerExecutorService.DEFAULT);
+        SegmentChainId.PrefetchJob prefetchJob = segmentChainId.getPrefetchJob();
+        for (int i = 0; i < 100 && prefetchJob.lowWatermarkSequence == Long.MAX_VALUE; i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        /*
+         * 4 segments of the adaptive step 40, rather than 16 segments of the base step 10.
+         */
+        Assertions.assertEquals(4, prefetchJob.getHeadToTailGap());
+        Assertions.assertEquals(160 - 2 * 40, prefetchJob.lowWatermarkSequence);
+        
+        long hungerCount = segmentChainId.getHungerCount();
+        segmentChainId.generate(81);
+        for (int i = 0; i < 100 && prefetchJob.getHeadToTailGap() < prefetchJob.getLowWatermark(); i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Assertions.assertTrue(prefetchJob.getHeadToTailGap() >= prefetchJob.getLowWatermark());
+        Assertions.assertEquals(hungerCount, segmentChainId.getHungerCount());
+    }
+    
+    @Test
+    void generateBatch() {
+        SegmentChainId segmentChainId = new SegmentChainId(TIME_TO_LIVE_FOREVER, 10, new IdSegmentDistributor.Atomic(2), PrefetchWorkerExecutorService.DEFAULT);
+        long[] ids = segmentChainId.generate(50);
+        for (int i = 1; i < ids.length; i++) {
+            Assertions.assertTrue(ids[i] > ids[i - 1]);
+        }
+        Assertions.assertTrue(segmentChainId.generate() > ids[ids.length - 1]);
+    }
+    
+    @Test
+    void generateBatchWhenEmpty() {
+        SegmentChainId segmentChainId = new SegmentChainId(TIME_TO_LIVE_FOREVER, 10, new IdSegmentDistributor.Atomic(2), PrefetchWorkerExecutorService.DEFAULT);
+        Assertions.assertEquals(0, segmentChainId.generate(0).length);
+        Assertions.assertEquals(0, segmentChainId.getHungerCount());
+    }
     
 }
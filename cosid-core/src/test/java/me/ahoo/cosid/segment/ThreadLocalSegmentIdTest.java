@@ -0,0 +1,76 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.segment;
+
+import me.ahoo.cosid.test.ConcurrentGenerateSpec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+
+class ThreadLocalSegmentIdTest {
+    
+    @Test
+    void generate() {
+        ThreadLocalSegmentId segmentId = new ThreadLocalSegmentId(new DefaultSegmentId(new IdSegmentDistributor.Atomic()), 8, false);
+        for (int i = 1; i <= 20; i++) {
+            Assertions.assertEquals(i, segmentId.generate());
+        }
+        Assertions.assertEquals(4, segmentId.getLeasedIds());
+    }
+    
+    @Test
+    void getWastedIds() throws InterruptedException {
+        ThreadLocalSegmentId segmentId = new ThreadLocalSegmentId(new DefaultSegmentId(new IdSegmentDistributor.Atomic()), 8, false);
+        Thread thread = new Thread(segmentId::generate);
+        thread.start();
+        thread.join();
+        Assertions.assertEquals(7, segmentId.getWastedIds());
+        Assertions.assertEquals(0, segmentId.getLeasedIds());
+    }
+    
+    @Test
+    void collectWhenDiscarded() throws InterruptedException {
+        ThreadLocalSegmentId segmentId = new ThreadLocalSegmentId(new DefaultSegmentId(new IdSegmentDistributor.Atomic()), 8, false);
+        segmentId.generate();
+        WeakReference<ThreadLocalSegmentId> reference = new WeakReference<>(segmentId);
+        segmentId = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Assertions.assertNull(reference.get());
+    }
+    
+    @Test
+    void generateWhenConcurrent() {
+        ThreadLocalSegmentId segmentId = new ThreadLocalSegmentId(new SegmentChainId(new IdSegmentDistributor.Mock()));
+        new ConcurrentGenerateSpec(segmentId) {
+            @Override
+            protected void assertGlobalFirst(long id) {
+            }
+            
+            @Override
+            protected void assertGlobalEach(long previousId, long id) {
+                Assertions.assertTrue(id > previousId);
+            }
+            
+            @Override
+            protected void assertGlobalLast(long lastId) {
+            }
+        }.verify();
+    }
+}
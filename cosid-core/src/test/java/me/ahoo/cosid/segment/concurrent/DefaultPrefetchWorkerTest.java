@@ -0,0 +1,72 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.segment.concurrent;
+
+import me.ahoo.cosid.test.MockIdGenerator;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DefaultPrefetchWorkerTest .
+ *
+ * @author ahoo wang
+ */
+class DefaultPrefetchWorkerTest {
+    
+    @SneakyThrows
+    @Test
+    void sweepIdleJobs() {
+        DefaultPrefetchWorker prefetchWorker = new DefaultPrefetchWorker(Duration.ofMillis(10), Duration.ofMillis(50));
+        prefetchWorker.setDaemon(true);
+        prefetchWorker.start();
+        CountDownLatch countDownLatch = new CountDownLatch(3);
+        prefetchWorker.submit(new AffinityJob() {
+            @Override
+            public String getJobId() {
+                return MockIdGenerator.INSTANCE.generateAsString();
+            }
+            
+            @Override
+            public void setHungerTime(long hungerTime) {
+            
+            }
+            
+            @Override
+            public PrefetchWorker getPrefetchWorker() {
+                return prefetchWorker;
+            }
+            
+            @Override
+            public void setPrefetchWorker(PrefetchWorker prefetchWorker) {
+            
+            }
+            
+            @Override
+            public void run() {
+                countDownLatch.countDown();
+            }
+        });
+        try {
+            Assertions.assertTrue(countDownLatch.await(5, TimeUnit.SECONDS));
+        } finally {
+            prefetchWorker.shutdown();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.segment.concurrent;
+
+import me.ahoo.cosid.segment.IdSegment;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.SegmentChainId;
+import me.ahoo.cosid.test.MockIdGenerator;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExecutorPrefetchWorkerTest .
+ *
+ * @author ahoo wang
+ */
+class ExecutorPrefetchWorkerTest {
+    ExecutorService executor;
+    ScheduledExecutorService scheduler;
+    
+    @BeforeEach
+    void setup() {
+        executor = Executors.newCachedThreadPool();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+    
+    @AfterEach
+    void destroy() {
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+    
+    @SneakyThrows
+    @Test
+    void stuckJobDoesNotStallOthers() {
+        PrefetchWorkerExecutorService executorService = new PrefetchWorkerExecutorService(Duration.ofMillis(10), executor, scheduler, false);
+        CountDownLatch stuck = new CountDownLatch(1);
+        CountDownLatch progress = new CountDownLatch(5);
+        executorService.submit(new TestJob(stuck::await));
+        executorService.submit(new TestJob(progress::countDown));
+        Assertions.assertTrue(progress.await(5, TimeUnit.SECONDS));
+        stuck.countDown();
+        executorService.shutdown();
+    }
+    
+    @SneakyThrows
+    @Test
+    void wakeup() {
+        PrefetchWorkerExecutorService executorService = new PrefetchWorkerExecutorService(Duration.ofMinutes(1), executor, scheduler, false);
+        CountDownLatch latch = new CountDownLatch(2);
+        TestJob job = new TestJob(latch::countDown);
+        executorService.submit(job);
+        Assertions.assertNotNull(job.getPrefetchWorker());
+        job.getPrefetchWorker().wakeup(job);
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        executorService.shutdown();
+    }
+    
+    @Test
+    void cancel() {
+        PrefetchWorkerExecutorService executorService = new PrefetchWorkerExecutorService(Duration.ofMinutes(1), executor, scheduler, false);
+        TestJob job = new TestJob(() -> {
+        });
+        executorService.submit(job);
+        Assertions.assertEquals(1, executorService.getExecutorWorkerSize());
+        job.getPrefetchWorker().cancel(job);
+        Assertions.assertEquals(0, executorService.getExecutorWorkerSize());
+        executorService.shutdown();
+    }
+    
+    @Test
+    void submitWhenShutdown() {
+        ExecutorPrefetchWorker prefetchWorker = new ExecutorPrefetchWorker(Duration.ofSeconds(1), executor, scheduler);
+        prefetchWorker.shutdown();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> prefetchWorker.submit(new TestJob(() -> {
+        })));
+    }
+    
+    @Test
+    void generateWithSegmentChainId() {
+        PrefetchWorkerExecutorService executorService = new PrefetchWorkerExecutorService(Duration.ofMillis(100), executor, scheduler, false);
+        SegmentChainId segmentChainId = new SegmentChainId(IdSegment.TIME_TO_LIVE_FOREVER, 10, new IdSegmentDistributor.Atomic(2), executorService);
+        long previousId = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long id = segmentChainId.generate();
+            Assertions.assertTrue(id > previousId);
+            previousId = id;
+        }
+        executorService.shutdown();
+    }
+    
+    interface Action {
+        void apply() throws Exception;
+    }
+    
+    static class TestJob implements AffinityJob {
+        private final String jobId = MockIdGenerator.INSTANCE.generateAsString();
+        private final Action action;
+        private volatile PrefetchWorker prefetchWorker;
+        
+        TestJob(Action action) {
+            this.action = action;
+        }
+        
+        @Override
+        public String getJobId() {
+            return jobId;
+        }
+        
+        @Override
+        public void setHungerTime(long hungerTime) {
+        
+        }
+        
+        @Override
+        public PrefetchWorker getPrefetchWorker() {
+            return prefetchWorker;
+        }
+        
+        @Override
+        public void setPrefetchWorker(PrefetchWorker prefetchWorker) {
+            this.prefetchWorker = prefetchWorker;
+        }
+        
+        @SneakyThrows
+        @Override
+        public void run() {
+            action.apply();
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -109,7 +110,8 @@ class PrefetchWorkerExecutorServiceTest {
     @Test
     void checkBoundThread() {
         CountDownLatch countDownLatch = new CountDownLatch(10);
-        executorService.submit(new AffinityJob() {
+        AtomicReference<PrefetchWorker> boundWorker = new AtomicReference<>();
+        AffinityJob affinityJob = new AffinityJob() {
             private final AtomicReference<Thread> boundThread = new AtomicReference<>();
             
             @Override
@@ -124,12 +126,12 @@ class PrefetchWorkerExecutorServiceTest {
             
             @Override
             public PrefetchWorker getPrefetchWorker() {
-                return null;
+                return boundWorker.get();
             }
             
             @Override
             public void setPrefetchWorker(PrefetchWorker prefetchWorker) {
-            
+                boundWorker.set(prefetchWorker);
             }
             
             @Override
@@ -140,8 +142,53 @@ class PrefetchWorkerExecutorServiceTest {
                     }
                 }
             }
-        });
-        Assertions.assertTrue(countDownLatch.await(15, TimeUnit.SECONDS));
+        };
+        executorService.submit(affinityJob);
+        for (int i = 0; i < 100 && countDownLatch.getCount() > 0; i++) {
+            boundWorker.get().wakeup(affinityJob);
+            countDownLatch.await(100, TimeUnit.MILLISECONDS);
+        }
+        Assertions.assertEquals(0, countDownLatch.getCount());
+    }
+    
+    @SneakyThrows
+    @Test
+    void onlyVisitDirtyJobs() {
+        AtomicInteger runCount = new AtomicInteger();
+        AtomicReference<PrefetchWorker> boundWorker = new AtomicReference<>();
+        AffinityJob affinityJob = new AffinityJob() {
+            @Override
+            public String getJobId() {
+                return MockIdGenerator.INSTANCE.generateAsString();
+            }
+            
+            @Override
+            public void setHungerTime(long hungerTime) {
+            
+            }
+            
+            @Override
+            public PrefetchWorker getPrefetchWorker() {
+                return boundWorker.get();
+            }
+            
+            @Override
+            public void setPrefetchWorker(PrefetchWorker prefetchWorker) {
+                boundWorker.set(prefetchWorker);
+            }
+            
+            @Override
+            public void run() {
+                runCount.incrementAndGet();
+            }
+        };
+        executorService.submit(affinityJob);
+        TimeUnit.MILLISECONDS.sleep(PrefetchWorkerExecutorService.DEFAULT_PREFETCH_PERIOD.toMillis() * 2);
+        Assertions.assertEquals(1, runCount.get());
+        
+        boundWorker.get().wakeup(affinityJob);
+        TimeUnit.MILLISECONDS.sleep(100);
+        Assertions.assertEquals(2, runCount.get());
     }
     
 }
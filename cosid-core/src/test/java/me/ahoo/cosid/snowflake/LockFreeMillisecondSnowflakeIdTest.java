@@ -0,0 +1,91 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.snowflake;
+
+import me.ahoo.cosid.CosId;
+import me.ahoo.cosid.test.ConcurrentGenerateSpec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+class LockFreeMillisecondSnowflakeIdTest {
+    public static final long TEST_MACHINE_ID = 1;
+    
+    @Test
+    public void generate() {
+        SnowflakeId snowflakeId = new LockFreeMillisecondSnowflakeId(TEST_MACHINE_ID);
+        long idFirst = snowflakeId.generate();
+        long idSecond = snowflakeId.generate();
+        Assertions.assertTrue(idSecond > idFirst);
+        SnowflakeIdState idState = MillisecondSnowflakeIdStateParser.of(snowflakeId).parse(idSecond);
+        Assertions.assertEquals(TEST_MACHINE_ID, idState.getMachineId());
+        Assertions.assertTrue(snowflakeId.getLastTimestamp() > 0);
+    }
+    
+    @Test
+    public void generateWhenSequenceOverflow() {
+        SnowflakeId snowflakeId = new LockFreeMillisecondSnowflakeId(CosId.COSID_EPOCH, 41, 10, 2, TEST_MACHINE_ID);
+        long previousId = 0;
+        for (int i = 0; i < 100; i++) {
+            long id = snowflakeId.generate();
+            Assertions.assertTrue(id > previousId);
+            previousId = id;
+        }
+    }
+    
+    @Test
+    public void generateWhenConcurrent() {
+        new ConcurrentGenerateSpec(new LockFreeMillisecondSnowflakeId(TEST_MACHINE_ID)) {
+            @Override
+            protected void assertGlobalFirst(long id) {
+            }
+            
+            @Override
+            protected void assertGlobalEach(long previousId, long id) {
+                Assertions.assertTrue(id > previousId);
+            }
+            
+            @Override
+            protected void assertGlobalLast(long lastId) {
+            }
+            
+        }.verify();
+    }
+    
+    @Test
+    public void generateWhenConcurrentBorrow() {
+        long now = System.currentTimeMillis();
+        AtomicLong clock = new AtomicLong(now);
+        LockFreeMillisecondSnowflakeId snowflakeId = new LockFreeMillisecondSnowflakeId(CosId.COSID_EPOCH, 41, 10, 2, TEST_MACHINE_ID, 1, clock::get, 1000);
+        snowflakeId.generate();
+        clock.set(now + 1000);
+        int threads = 8;
+        int idsPerThread = 250;
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[threads];
+        for (int i = 0; i < threads; i++) {
+            futures[i] = CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < idsPerThread; j++) {
+                    snowflakeId.generate();
+                }
+            }, command -> new Thread(command).start());
+        }
+        CompletableFuture.allOf(futures).join();
+        Assertions.assertEquals(1 + threads * idsPerThread, snowflakeId.getGeneratedCount());
+        Assertions.assertEquals(snowflakeId.getLastTimestamp() - (now + 1000), snowflakeId.getNextTimeBorrowCount());
+        Assertions.assertEquals(0, snowflakeId.getNextTimeSpinCount());
+    }
+}
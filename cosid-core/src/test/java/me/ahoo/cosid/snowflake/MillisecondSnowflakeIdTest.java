@@ -5,6 +5,7 @@ import static org.hamcrest.Matchers.*;
 
 import me.ahoo.cosid.CosId;
 import me.ahoo.cosid.converter.Radix62IdConverter;
+import me.ahoo.cosid.snowflake.exception.ClockBackwardsException;
 import me.ahoo.cosid.test.ConcurrentGenerateSpec;
 import me.ahoo.cosid.test.ConcurrentGenerateStingSpec;
 
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
 
 /**
@@ -164,4 +166,79 @@ class MillisecondSnowflakeIdTest {
     public void generateWhenConcurrentString() {
         new ConcurrentGenerateStingSpec(new StringSnowflakeId(snowflakeId, Radix62IdConverter.PAD_START)).verify();
     }
+    
+    @Test
+    public void generateBatch() {
+        long[] ids = snowflakeId.generate(10000);
+        for (int i = 1; i < ids.length; i++) {
+            Assertions.assertTrue(ids[i] > ids[i - 1]);
+        }
+        Assertions.assertTrue(snowflakeId.generate() > ids[ids.length - 1]);
+    }
+    
+    @Test
+    public void generateBatchWhenEmpty() {
+        MillisecondSnowflakeId idGen = new MillisecondSnowflakeId(TEST_MACHINE_ID);
+        Assertions.assertEquals(0, idGen.generate(0).length);
+        Assertions.assertEquals(0, idGen.getGeneratedCount());
+    }
+    
+    @Test
+    public void generateWhenBorrow() {
+        long now = System.currentTimeMillis();
+        AtomicLong clock = new AtomicLong(now);
+        MillisecondSnowflakeId snowflakeId = new MillisecondSnowflakeId(CosId.COSID_EPOCH, 41, 10, 2, TEST_MACHINE_ID, 1, clock::get, 2);
+        long previousId = snowflakeId.generate();
+        Assertions.assertEquals(now + 2, snowflakeId.getLastTimestamp());
+        clock.set(now + 1);
+        for (int i = 0; i < 6; i++) {
+            long id = snowflakeId.generate();
+            Assertions.assertTrue(id > previousId);
+            previousId = id;
+        }
+        Assertions.assertEquals(now + 3, snowflakeId.getLastTimestamp());
+        Assertions.assertEquals(2, snowflakeId.getLookahead());
+        Assertions.assertEquals(1, snowflakeId.getNextTimeBorrowCount());
+        Assertions.assertEquals(0, snowflakeId.getNextTimeSpinCount());
+        
+        clock.set(now + 4);
+        Assertions.assertTrue(snowflakeId.generate() > previousId);
+        Assertions.assertEquals(now + 4, snowflakeId.getLastTimestamp());
+        Assertions.assertEquals(0, snowflakeId.getLookahead());
+    }
+    
+    @Test
+    public void generateWhenRestartAfterBorrow() {
+        long now = System.currentTimeMillis();
+        AtomicLong clock = new AtomicLong(now);
+        MillisecondSnowflakeId snowflakeId = new MillisecondSnowflakeId(CosId.COSID_EPOCH, 41, 10, 2, TEST_MACHINE_ID, 1, clock::get, 2);
+        long lastId = 0;
+        for (int i = 0; i < 3; i++) {
+            lastId = snowflakeId.generate();
+        }
+        clock.set(now + 1);
+        for (int i = 0; i < 4; i++) {
+            lastId = snowflakeId.generate();
+        }
+        Assertions.assertEquals(now + 3, snowflakeId.getLastTimestamp());
+        
+        clock.set(now + 2);
+        MillisecondSnowflakeId restarted = new MillisecondSnowflakeId(CosId.COSID_EPOCH, 41, 10, 2, TEST_MACHINE_ID, 1, clock::get, 2);
+        Assertions.assertTrue(restarted.generate() > lastId);
+    }
+    
+    @Test
+    public void generateWhenClockBackwardsBeyondLookahead() {
+        long now = System.currentTimeMillis();
+        AtomicLong clock = new AtomicLong(now);
+        MillisecondSnowflakeId snowflakeId = new MillisecondSnowflakeId(CosId.COSID_EPOCH, 41, 10, 12, TEST_MACHINE_ID, 1, clock::get, 2);
+        snowflakeId.generate();
+        clock.set(now + 2);
+        snowflakeId.generate();
+        clock.set(now);
+        snowflakeId.generate();
+        Assertions.assertEquals(now + 2, snowflakeId.getLastTimestamp());
+        clock.set(now - 1);
+        Assertions.assertThrows(ClockBackwardsException.class, snowflakeId::generate);
+    }
 }
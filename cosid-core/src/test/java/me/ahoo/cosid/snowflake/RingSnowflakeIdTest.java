@@ -0,0 +1,100 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.snowflake;
+
+import me.ahoo.cosid.CosId;
+import me.ahoo.cosid.test.ConcurrentGenerateSpec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class RingSnowflakeIdTest {
+    
+    @Test
+    void generate() {
+        RingSnowflakeId snowflakeId = new RingSnowflakeId(new SecondSnowflakeId(1), 6, 50, Runnable::run);
+        Assertions.assertEquals(8, snowflakeId.getCapacity());
+        Assertions.assertEquals(4, snowflakeId.getPaddingThreshold());
+        Assertions.assertEquals(8, snowflakeId.getFillLevel());
+        long previousId = 0;
+        for (int i = 0; i < 100; i++) {
+            long id = snowflakeId.generate();
+            Assertions.assertTrue(id > previousId);
+            previousId = id;
+        }
+        Assertions.assertEquals(0, snowflakeId.getDrainedCount());
+    }
+    
+    @Test
+    void generateBatch() {
+        RingSnowflakeId snowflakeId = new RingSnowflakeId(new SecondSnowflakeId(1), 8, 50, Runnable::run);
+        long[] ids = snowflakeId.generate(20);
+        for (int i = 1; i < ids.length; i++) {
+            Assertions.assertTrue(ids[i] > ids[i - 1]);
+        }
+        Assertions.assertEquals(0, snowflakeId.getDrainedCount());
+        Assertions.assertEquals(8, snowflakeId.getFillLevel());
+    }
+    
+    @Test
+    void generateBatchWhenEmpty() {
+        RingSnowflakeId snowflakeId = new RingSnowflakeId(new SecondSnowflakeId(1), 8, 50, Runnable::run);
+        Assertions.assertEquals(0, snowflakeId.generate(0).length);
+        Assertions.assertEquals(0, snowflakeId.getDrainedCount());
+        Assertions.assertEquals(8, snowflakeId.getFillLevel());
+    }
+    
+    @Test
+    void generateWhenBorrow() {
+        long now = System.currentTimeMillis();
+        AtomicLong clock = new AtomicLong(now);
+        MillisecondSnowflakeId actual = new MillisecondSnowflakeId(CosId.COSID_EPOCH, 41, 10, 4, 1, 7, clock::get, 60);
+        actual.generate();
+        clock.set(now + 60);
+        RingSnowflakeId snowflakeId = new RingSnowflakeId(actual, 64, 50, Runnable::run);
+        long previousId = 0;
+        for (int i = 0; i < 256; i++) {
+            long id = snowflakeId.generate();
+            Assertions.assertTrue(id > previousId);
+            previousId = id;
+        }
+        Assertions.assertTrue(actual.getNextTimeBorrowCount() > 0);
+    }
+    
+    @Test
+    void generateWhenConcurrent() {
+        RingSnowflakeId snowflakeId = new RingSnowflakeId(new SecondSnowflakeId(1));
+        new ConcurrentGenerateSpec(snowflakeId) {
+            @Override
+            protected void assertSingleEach(long previousId, long id) {
+            }
+            
+            @Override
+            protected void assertGlobalFirst(long id) {
+            }
+            
+            @Override
+            protected void assertGlobalEach(long previousId, long id) {
+                Assertions.assertTrue(id > previousId);
+            }
+            
+            @Override
+            protected void assertGlobalLast(long lastId) {
+            }
+        }.verify();
+    }
+}
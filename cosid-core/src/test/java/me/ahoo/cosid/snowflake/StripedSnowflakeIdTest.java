@@ -0,0 +1,71 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.snowflake;
+
+import me.ahoo.cosid.test.ConcurrentGenerateSpec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class StripedSnowflakeIdTest {
+    public static final long TEST_MACHINE_ID = 1;
+    
+    @Test
+    public void generate() {
+        StripedSnowflakeId snowflakeId = new StripedSnowflakeId(TEST_MACHINE_ID, 3);
+        Assertions.assertEquals(8, snowflakeId.getStripes());
+        long idFirst = snowflakeId.generate();
+        long idSecond = snowflakeId.generate();
+        Assertions.assertTrue(idSecond > idFirst);
+        SnowflakeIdState idState = MillisecondSnowflakeIdStateParser.of(snowflakeId).parse(idSecond);
+        Assertions.assertEquals(TEST_MACHINE_ID, idState.getMachineId());
+        Assertions.assertTrue(snowflakeId.getLastTimestamp() > 0);
+    }
+    
+    @Test
+    public void generateWhenNoStripe() {
+        StripedSnowflakeId snowflakeId = new StripedSnowflakeId(TEST_MACHINE_ID, 0);
+        Assertions.assertEquals(1, snowflakeId.getStripes());
+        Assertions.assertTrue(snowflakeId.generate() > 0);
+    }
+    
+    @Test
+    public void ctorWhenIllegalStripeBit() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new StripedSnowflakeId(TEST_MACHINE_ID, MillisecondSnowflakeId.DEFAULT_SEQUENCE_BIT));
+    }
+    
+    @Test
+    public void ctorWhenMachineIdOverflow() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new StripedSnowflakeId(1 << MillisecondSnowflakeId.DEFAULT_MACHINE_BIT, 2));
+    }
+    
+    @Test
+    public void generateWhenConcurrent() {
+        new ConcurrentGenerateSpec(new StripedSnowflakeId(TEST_MACHINE_ID)) {
+            @Override
+            protected void assertGlobalFirst(long id) {
+            }
+            
+            @Override
+            protected void assertGlobalEach(long previousId, long id) {
+                Assertions.assertTrue(id > previousId);
+            }
+            
+            @Override
+            protected void assertGlobalLast(long lastId) {
+            }
+            
+        }.verify();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author ahoo wang
+ */
+class TickerClockTest {
+
+    @Test
+    void currentTimeMillis() {
+        long actual = MillisecondClock.of(MillisecondClock.Type.TICKER).currentTimeMillis();
+        long diff = System.currentTimeMillis() - actual;
+        assertTrue(diff >= 0 && diff <= 100);
+    }
+
+    @SneakyThrows
+    @Test
+    void currentTimeMillisWhenSleep() {
+        MillisecondClock clock = MillisecondClock.of(MillisecondClock.Type.TICKER);
+        long previous = clock.currentTimeMillis();
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertTrue(clock.currentTimeMillis() > previous);
+    }
+
+    @Test
+    void advance() {
+        TickerClock clock = new TickerClock(Duration.ofDays(1));
+        try {
+            long current = clock.currentTimeMillis();
+            assertEquals(current + 10, clock.advance(current + 10));
+            assertEquals(current + 10, clock.advance(current));
+            assertEquals(current + 10, clock.currentTimeMillis());
+        } finally {
+            clock.stop();
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void advanceWhenBackwards() {
+        TickerClock clock = new TickerClock(Duration.ofDays(1), Duration.ofMillis(100));
+        try {
+            // let the ticker publish its first tick and park
+            TimeUnit.MILLISECONDS.sleep(50);
+            long current = clock.currentTimeMillis() + 1000;
+            assertEquals(current, clock.advance(current));
+            assertEquals(current, clock.advance(current - 100));
+            assertEquals(current - 101, clock.advance(current - 101));
+            assertEquals(current - 101, clock.currentTimeMillis());
+        } finally {
+            clock.stop();
+        }
+    }
+    
+    @Test
+    void ctorWhenMaxBackwardsIsNegative() {
+        assertThrows(IllegalArgumentException.class, () -> new TickerClock(Duration.ofDays(1), Duration.ofMillis(-1)));
+    }
+    
+    @Test
+    void ctorWhenTickPeriodIsZero() {
+        assertThrows(IllegalArgumentException.class, () -> new TickerClock(Duration.ZERO));
+    }
+
+    @Test
+    void hybridPreciseTimeMillis() {
+        MillisecondClock clock = MillisecondClock.of(MillisecondClock.Type.HYBRID);
+        long current = clock.currentTimeMillis();
+        long precise = clock.preciseTimeMillis();
+        assertTrue(precise >= current);
+        assertTrue(clock.currentTimeMillis() >= precise);
+    }
+}
@@ -24,6 +24,7 @@ import me.ahoo.cosid.snowflake.SnowflakeIdStateParser;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
@@ -86,6 +87,13 @@ public class AsStringDeserializer extends JsonDeserializer<Long> implements Cont
 
     @Override
     public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            int length = p.getTextLength();
+            if (length == 0) {
+                return null;
+            }
+            return converter.asLong(p.getTextCharacters(), p.getTextOffset(), length);
+        }
         String valueStr = p.getValueAsString();
         if (Strings.isNullOrEmpty(valueStr)) {
             return null;
@@ -45,6 +45,12 @@ public class AsStringSerializer extends JsonSerializer<Long> implements Contextu
     private static final AsStringSerializer DEFAULT_RADIX_PAD_START = new AsStringSerializer(Radix62IdConverter.PAD_START);
     private static final AsStringSerializer DEFAULT_FRIENDLY_ID = new AsStringSerializer(SnowflakeFriendlyIdConverter.INSTANCE);
     
+    static final int SCRATCH_SIZE = 64;
+    /**
+     * Per-thread scratch buffer that IDs are written into, {@link JsonGenerator} copies it out so it can be reused right away.
+     */
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[SCRATCH_SIZE]);
+    
     private final IdConverter converter;
     
     public AsStringSerializer() {
@@ -94,8 +100,13 @@ public class AsStringSerializer extends JsonSerializer<Long> implements Contextu
         if (Objects.isNull(value)) {
             gen.writeNull();
         } else {
-            String valueStr = converter.asString(value);
-            gen.writeString(valueStr);
+            char[] scratch = SCRATCH.get();
+            int length = converter.asChars(value, scratch, 0);
+            if (length < 0) {
+                gen.writeString(converter.asString(value));
+                return;
+            }
+            gen.writeString(scratch, 0, length);
         }
     }
 }
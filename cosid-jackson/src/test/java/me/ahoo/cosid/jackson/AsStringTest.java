@@ -14,6 +14,8 @@
 package me.ahoo.cosid.jackson;
 
 import me.ahoo.cosid.CosId;
+import me.ahoo.cosid.converter.PrefixIdConverter;
+import me.ahoo.cosid.converter.ToStringIdConverter;
 import me.ahoo.cosid.jackson.dto.CustomizeFriendlyIdDto;
 import me.ahoo.cosid.jackson.dto.FriendlyIdDto;
 import me.ahoo.cosid.jackson.dto.RadixDto;
@@ -26,11 +28,15 @@ import me.ahoo.cosid.snowflake.MillisecondSnowflakeIdStateParser;
 import me.ahoo.cosid.snowflake.SnowflakeFriendlyId;
 import me.ahoo.cosid.snowflake.SnowflakeId;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Strings;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringWriter;
+
 /**
  * @author ahoo wang
  */
@@ -169,6 +175,34 @@ public class AsStringTest {
         Assertions.assertEquals(dto.getObjectLong(), deDto.getObjectLong());
     }
     
+    @SneakyThrows
+    @Test
+    public void deserializeWhenEmpty() {
+        ToStringDto deDto = objectMapper.readValue("{\"primitiveLong\":\"1\",\"objectLong\":\"\"}", ToStringDto.class);
+        Assertions.assertEquals(1, deDto.getPrimitiveLong());
+        Assertions.assertNull(deDto.getObjectLong());
+    }
+    
+    @SneakyThrows
+    @Test
+    public void deserializeWhenNumber() {
+        ToStringDto deDto = objectMapper.readValue("{\"primitiveLong\":1,\"objectLong\":2}", ToStringDto.class);
+        Assertions.assertEquals(1, deDto.getPrimitiveLong());
+        Assertions.assertEquals(2L, deDto.getObjectLong());
+    }
+    
+    @SneakyThrows
+    @Test
+    public void serializeWhenExceedScratch() {
+        String prefix = Strings.repeat("p", AsStringSerializer.SCRATCH_SIZE);
+        AsStringSerializer serializer = new AsStringSerializer(new PrefixIdConverter(prefix, ToStringIdConverter.INSTANCE));
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(writer)) {
+            serializer.serialize(100L, gen, objectMapper.getSerializerProvider());
+        }
+        Assertions.assertEquals("\"" + prefix + "100\"", writer.toString());
+    }
+    
     @SneakyThrows
     @Test
     public void testNull() {
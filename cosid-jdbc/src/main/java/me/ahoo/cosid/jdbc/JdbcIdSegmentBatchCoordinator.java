@@ -0,0 +1,305 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.jdbc;
+
+import me.ahoo.cosid.CosIdException;
+import me.ahoo.cosid.jdbc.exception.NotFoundMaxIdException;
+import me.ahoo.cosid.jdbc.exception.SegmentNameMissingException;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Jdbc IdSegment Batch Coordinator.
+ * Coalesces the pending {@code nextMaxId} requests of all {@link JdbcIdSegmentDistributor} sharing a {@link DataSource} into one transaction.
+ * The caller holding the flush lock runs the batch for everyone that queued up while the previous batch was in flight (group commit).
+ *
+ * <ul>
+ *     <li>Default mode: one JDBC batch of {@code incrementMaxIdSql}, then one {@code fetchMaxIdsSql} query for all names.</li>
+ *     <li>Returning mode: one multi-row {@code UPDATE ... FROM (VALUES ...) RETURNING} statement for all names, so each batch needs one statement instead of two.</li>
+ * </ul>
+ * Requests are applied in segment name order. When the batch transaction fails (e.g. deadlock or {@link java.sql.BatchUpdateException}),
+ * each request is retried in its own transaction, so one bad request does not fail the others.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class JdbcIdSegmentBatchCoordinator {
+    
+    /**
+     * {@code %s} is replaced by the placeholders of the names.
+     */
+    public static final String FETCH_MAX_IDS_SQL
+        = "select name,last_max_id from cosid where name in (%s);";
+    /**
+     * PostgreSQL. {@code %s} is replaced by the {@code (name, step)} rows.
+     */
+    public static final String INCREMENT_MAX_IDS_RETURNING_SQL
+        = "update cosid set last_max_id=(cosid.last_max_id + v.step),last_fetch_time=extract(epoch from now()) from (values %s) as v(name, step) where cosid.name = v.name"
+        + " returning cosid.name,cosid.last_max_id;";
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+    
+    private final DataSource dataSource;
+    private final String incrementMaxIdSql;
+    private final String fetchMaxIdsSql;
+    private final boolean returning;
+    private final int maxBatchSize;
+    private final ConcurrentLinkedQueue<Request> pendingRequests = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    
+    public JdbcIdSegmentBatchCoordinator(DataSource dataSource) {
+        this(dataSource, JdbcIdSegmentDistributor.INCREMENT_MAX_ID_SQL, FETCH_MAX_IDS_SQL, false, DEFAULT_MAX_BATCH_SIZE);
+    }
+    
+    /**
+     * Create JdbcIdSegmentBatchCoordinator.
+     *
+     * @param dataSource dataSource
+     * @param incrementMaxIdSql increment sql, parameters are {@code (step, name)}.
+     *                          In returning mode a multi-row statement, whose {@code %s} is replaced by the {@code (name, step)} rows, returning {@code (name, last_max_id)}.
+     * @param fetchMaxIdsSql fetch sql returning {@code (name, last_max_id)}, ignored in returning mode
+     * @param returning whether {@code incrementMaxIdSql} is an {@code UPDATE ... RETURNING} statement
+     * @param maxBatchSize the max number of requests per transaction
+     */
+    public JdbcIdSegmentBatchCoordinator(DataSource dataSource, String incrementMaxIdSql, String fetchMaxIdsSql, boolean returning, int maxBatchSize) {
+        Preconditions.checkNotNull(dataSource, "dataSource can not be null!");
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(incrementMaxIdSql), "incrementMaxIdSql can not be empty!");
+        Preconditions.checkArgument(returning || !Strings.isNullOrEmpty(fetchMaxIdsSql), "fetchMaxIdsSql can not be empty!");
+        Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize:[%s] must be greater than 0!", maxBatchSize);
+        this.dataSource = dataSource;
+        this.incrementMaxIdSql = incrementMaxIdSql;
+        this.fetchMaxIdsSql = fetchMaxIdsSql;
+        this.returning = returning;
+        this.maxBatchSize = maxBatchSize;
+    }
+    
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+    
+    public boolean isReturning() {
+        return returning;
+    }
+    
+    public long nextMaxId(String segmentName, long step) {
+        IdSegmentDistributor.ensureStep(step);
+        Request request = new Request(segmentName, step);
+        pendingRequests.add(request);
+        flushLock.lock();
+        try {
+            while (!request.result.isDone()) {
+                flush();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+        try {
+            return request.result.join();
+        } catch (CompletionException completionException) {
+            if (completionException.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) completionException.getCause();
+            }
+            throw completionException;
+        }
+    }
+    
+    private void flush() {
+        List<Request> batch = new ArrayList<>(Math.min(maxBatchSize, pendingRequests.size()));
+        Request pending;
+        while (batch.size() < maxBatchSize && (pending = pendingRequests.poll()) != null) {
+            batch.add(pending);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        /*
+         * Lock the rows in the same order in every transaction, so that concurrent batches
+         * (e.g. from other instances) do not deadlock on each other. The sort is stable, which keeps the order of repeated names.
+         */
+        batch.sort(Comparator.comparing(request -> request.segmentName));
+        if (log.isDebugEnabled()) {
+            log.debug("Flush - batchSize:[{}] - returning:[{}].", batch.size(), returning);
+        }
+        
+        try {
+            execute(batch);
+        } catch (RuntimeException batchException) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(batchException);
+                return;
+            }
+            if (log.isWarnEnabled()) {
+                log.warn("Flush - batchSize:[{}] failed:[{}], retry each request in its own transaction.", batch.size(), batchException.getMessage());
+            }
+            for (Request request : batch) {
+                try {
+                    execute(Collections.singletonList(request));
+                } catch (RuntimeException requestException) {
+                    request.result.completeExceptionally(requestException);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Run {@code batch} in one transaction and complete each request with its own result.
+     *
+     * @param batch requests ordered by segment name
+     * @throws RuntimeException when the transaction fails, in which case no request is completed
+     */
+    private void execute(List<Request> batch) {
+        final long[] maxIds = new long[batch.size()];
+        final RuntimeException[] failures = new RuntimeException[batch.size()];
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                if (returning) {
+                    incrementReturning(connection, batch, maxIds, failures);
+                } else {
+                    incrementThenFetch(connection, batch, maxIds, failures);
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException exception) {
+                connection.rollback();
+                throw exception;
+            }
+        } catch (SQLException sqlException) {
+            if (log.isErrorEnabled()) {
+                log.error(sqlException.getMessage(), sqlException);
+            }
+            throw new CosIdException(sqlException.getMessage(), sqlException);
+        }
+        
+        for (int i = 0; i < batch.size(); i++) {
+            Request request = batch.get(i);
+            if (failures[i] != null) {
+                request.result.completeExceptionally(failures[i]);
+            } else {
+                request.result.complete(maxIds[i]);
+            }
+        }
+    }
+    
+    private void incrementReturning(Connection connection, List<Request> batch, long[] maxIds, RuntimeException[] failures) throws SQLException {
+        /*
+         * One row per name, an UPDATE ... FROM applies only one of the rows joined to the same target row.
+         */
+        Map<String, Long> totalSteps = new LinkedHashMap<>(batch.size() * 2);
+        for (Request request : batch) {
+            totalSteps.merge(request.segmentName, request.step, Math::addExact);
+        }
+        String rows = Joiner.on(',').join(Collections.nCopies(totalSteps.size(), "(?,?)"));
+        Map<String, Long> lastMaxIds = new HashMap<>(totalSteps.size() * 2);
+        try (PreparedStatement accStatement = connection.prepareStatement(String.format(incrementMaxIdSql, rows))) {
+            int parameterIndex = 1;
+            for (Map.Entry<String, Long> totalStep : totalSteps.entrySet()) {
+                accStatement.setString(parameterIndex++, totalStep.getKey());
+                accStatement.setLong(parameterIndex++, totalStep.getValue());
+            }
+            try (ResultSet resultSet = accStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    lastMaxIds.put(resultSet.getString(1), resultSet.getLong(2));
+                }
+            }
+        }
+        peelOff(batch, null, lastMaxIds, maxIds, failures);
+    }
+    
+    private void incrementThenFetch(Connection connection, List<Request> batch, long[] maxIds, RuntimeException[] failures) throws SQLException {
+        int[] affected;
+        try (PreparedStatement accStatement = connection.prepareStatement(incrementMaxIdSql)) {
+            for (Request request : batch) {
+                accStatement.setLong(1, request.step);
+                accStatement.setString(2, request.segmentName);
+                accStatement.addBatch();
+            }
+            affected = accStatement.executeBatch();
+        }
+        
+        Set<String> segmentNames = new LinkedHashSet<>();
+        batch.forEach(request -> segmentNames.add(request.segmentName));
+        String placeholders = Joiner.on(',').join(Collections.nCopies(segmentNames.size(), "?"));
+        Map<String, Long> lastMaxIds = new HashMap<>(segmentNames.size() * 2);
+        try (PreparedStatement fetchStatement = connection.prepareStatement(String.format(fetchMaxIdsSql, placeholders))) {
+            int parameterIndex = 1;
+            for (String segmentName : segmentNames) {
+                fetchStatement.setString(parameterIndex++, segmentName);
+            }
+            try (ResultSet resultSet = fetchStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    lastMaxIds.put(resultSet.getString(1), resultSet.getLong(2));
+                }
+            }
+        }
+        
+        peelOff(batch, affected, lastMaxIds, maxIds, failures);
+    }
+    
+    /**
+     * The same name may appear more than once in a batch, the updates are applied in order,
+     * so walk backwards and peel off each step from the final last_max_id.
+     *
+     * @param affected update counts of the batched increments, or {@code null} in returning mode where a missing row means a missing name
+     */
+    private static void peelOff(List<Request> batch, @Nullable int[] affected, Map<String, Long> lastMaxIds, long[] maxIds, RuntimeException[] failures) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            Request request = batch.get(i);
+            if (affected != null && affected[i] == 0) {
+                failures[i] = new SegmentNameMissingException(request.segmentName);
+                continue;
+            }
+            Long lastMaxId = lastMaxIds.get(request.segmentName);
+            if (lastMaxId == null) {
+                failures[i] = affected == null ? new SegmentNameMissingException(request.segmentName) : new NotFoundMaxIdException(request.segmentName);
+                continue;
+            }
+            maxIds[i] = lastMaxId;
+            lastMaxIds.put(request.segmentName, lastMaxId - request.step);
+        }
+    }
+    
+    private static class Request {
+        private final String segmentName;
+        private final long step;
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+        
+        Request(String segmentName, long step) {
+            this.segmentName = segmentName;
+            this.step = step;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import com.google.common.base.Strings;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -48,12 +49,24 @@ public class JdbcIdSegmentDistributor implements IdSegmentDistributor {
     private final DataSource dataSource;
     private final String incrementMaxIdSql;
     private final String fetchMaxIdSql;
+    @Nullable
+    private final JdbcIdSegmentBatchCoordinator batchCoordinator;
 
     public JdbcIdSegmentDistributor(String namespace, String name, long step, DataSource dataSource) {
         this(namespace, name, step, INCREMENT_MAX_ID_SQL, FETCH_MAX_ID_SQL, dataSource);
     }
 
     public JdbcIdSegmentDistributor(String namespace, String name, long step, String incrementMaxIdSql, String fetchMaxIdSql, DataSource dataSource) {
+        this(namespace, name, step, incrementMaxIdSql, fetchMaxIdSql, dataSource, null);
+    }
+
+    /**
+     * Create JdbcIdSegmentDistributor.
+     *
+     * @param batchCoordinator when not null, {@link #nextMaxId(long)} is coalesced with the other distributors sharing the coordinator
+     */
+    public JdbcIdSegmentDistributor(String namespace, String name, long step, String incrementMaxIdSql, String fetchMaxIdSql, DataSource dataSource,
+                                    @Nullable JdbcIdSegmentBatchCoordinator batchCoordinator) {
         Preconditions.checkArgument(!Strings.isNullOrEmpty(namespace), "namespace can not be empty!");
         Preconditions.checkArgument(!Strings.isNullOrEmpty(name), "name can not be empty!");
         Preconditions.checkArgument(step > 0, "step:[%s] must be greater than 0!", step);
@@ -67,6 +80,7 @@ public class JdbcIdSegmentDistributor implements IdSegmentDistributor {
         this.incrementMaxIdSql = incrementMaxIdSql;
         this.fetchMaxIdSql = fetchMaxIdSql;
         this.dataSource = dataSource;
+        this.batchCoordinator = batchCoordinator;
     }
 
     @Nonnull
@@ -89,6 +103,9 @@ public class JdbcIdSegmentDistributor implements IdSegmentDistributor {
     @Override
     public long nextMaxId(long step) {
         IdSegmentDistributor.ensureStep(step);
+        if (batchCoordinator != null) {
+            return batchCoordinator.nextMaxId(getNamespacedName(), step);
+        }
         try (Connection connection = dataSource.getConnection()) {
             connection.setAutoCommit(false);
             try (PreparedStatement accStatement = connection.prepareStatement(incrementMaxIdSql)) {
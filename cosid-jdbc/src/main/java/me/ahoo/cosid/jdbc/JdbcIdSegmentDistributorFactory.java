@@ -18,6 +18,7 @@ import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.sql.DataSource;
 
 /**
@@ -31,13 +32,21 @@ public class JdbcIdSegmentDistributorFactory implements IdSegmentDistributorFact
     private final JdbcIdSegmentInitializer jdbcIdSegmentInitializer;
     private final String incrementMaxIdSql;
     private final String fetchMaxIdSql;
+    @Nullable
+    private final JdbcIdSegmentBatchCoordinator batchCoordinator;
 
     public JdbcIdSegmentDistributorFactory(DataSource dataSource, boolean enableAutoInitIdSegment, JdbcIdSegmentInitializer jdbcIdSegmentInitializer, String incrementMaxIdSql, String fetchMaxIdSql) {
+        this(dataSource, enableAutoInitIdSegment, jdbcIdSegmentInitializer, incrementMaxIdSql, fetchMaxIdSql, null);
+    }
+
+    public JdbcIdSegmentDistributorFactory(DataSource dataSource, boolean enableAutoInitIdSegment, JdbcIdSegmentInitializer jdbcIdSegmentInitializer, String incrementMaxIdSql, String fetchMaxIdSql,
+                                           @Nullable JdbcIdSegmentBatchCoordinator batchCoordinator) {
         this.dataSource = dataSource;
         this.enableAutoInitIdSegment = enableAutoInitIdSegment;
         this.jdbcIdSegmentInitializer = jdbcIdSegmentInitializer;
         this.incrementMaxIdSql = incrementMaxIdSql;
         this.fetchMaxIdSql = fetchMaxIdSql;
+        this.batchCoordinator = batchCoordinator;
     }
 
     @Nonnull
@@ -48,7 +57,7 @@ public class JdbcIdSegmentDistributorFactory implements IdSegmentDistributorFact
         }
         return new JdbcIdSegmentDistributor(
             definition.getNamespace(), definition.getName(), definition.getStep(),
-            incrementMaxIdSql, fetchMaxIdSql, dataSource
+            incrementMaxIdSql, fetchMaxIdSql, dataSource, batchCoordinator
         );
     }
 }
@@ -22,6 +22,7 @@ import me.ahoo.cosid.machine.InstanceId;
 import me.ahoo.cosid.machine.MachineIdOverflowException;
 import me.ahoo.cosid.machine.MachineState;
 import me.ahoo.cosid.machine.MachineStateStorage;
+import me.ahoo.cosid.machine.NamespacedInstanceId;
 
 import com.google.common.base.Strings;
 import lombok.extern.slf4j.Slf4j;
@@ -32,7 +33,12 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Jdbc MachineId Distributor.
@@ -244,4 +250,58 @@ public class JdbcMachineIdDistributor extends AbstractMachineIdDistributor {
             throw new CosIdException(sqlException.getMessage(), sqlException);
         }
     }
+    
+    /**
+     * Guard all instances with one batch of {@link #GUARD_MACHINE_STATE} on a single connection.
+     * Only an explicit update count is trusted, the instances whose count is unknown (e.g. {@link Statement#SUCCESS_NO_INFO}) are guarded one by one.
+     */
+    @Override
+    protected Map<NamespacedInstanceId, Throwable> guardAllRemote(Map<NamespacedInstanceId, MachineState> machineStates, Duration safeGuardDuration) {
+        if (log.isDebugEnabled()) {
+            log.debug("Guard All Remote - size:[{}].", machineStates.size());
+        }
+        Map<NamespacedInstanceId, Throwable> failures = new HashMap<>();
+        List<Map.Entry<NamespacedInstanceId, MachineState>> entries = new ArrayList<>(machineStates.entrySet());
+        List<Map.Entry<NamespacedInstanceId, MachineState>> unknownEntries = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement guardMachineStatement = connection.prepareStatement(GUARD_MACHINE_STATE)) {
+                for (Map.Entry<NamespacedInstanceId, MachineState> entry : entries) {
+                    guardMachineStatement.setLong(1, entry.getValue().getLastTimeStamp());
+                    guardMachineStatement.setString(2, entry.getKey().getNamespace());
+                    guardMachineStatement.setString(3, entry.getKey().getInstanceId().getInstanceId());
+                    guardMachineStatement.setInt(4, entry.getValue().getMachineId());
+                    guardMachineStatement.addBatch();
+                }
+                int[] affected = guardMachineStatement.executeBatch();
+                for (int i = 0; i < entries.size(); i++) {
+                    Map.Entry<NamespacedInstanceId, MachineState> entry = entries.get(i);
+                    if (i >= affected.length || affected[i] < 0) {
+                        unknownEntries.add(entry);
+                    } else if (0 == affected[i]) {
+                        NamespacedInstanceId namespacedInstanceId = entry.getKey();
+                        failures.put(namespacedInstanceId,
+                            new MachineIdLostException(namespacedInstanceId.getNamespace(), namespacedInstanceId.getInstanceId(), entry.getValue()));
+                    }
+                }
+            }
+        } catch (SQLException sqlException) {
+            if (log.isErrorEnabled()) {
+                log.error(sqlException.getMessage(), sqlException);
+            }
+            CosIdException cosIdException = new CosIdException(sqlException.getMessage(), sqlException);
+            for (Map.Entry<NamespacedInstanceId, MachineState> entry : entries) {
+                failures.put(entry.getKey(), cosIdException);
+            }
+            return failures;
+        }
+        
+        for (Map.Entry<NamespacedInstanceId, MachineState> entry : unknownEntries) {
+            try {
+                guardRemote(entry.getKey().getNamespace(), entry.getKey().getInstanceId(), entry.getValue(), safeGuardDuration);
+            } catch (Throwable throwable) {
+                failures.put(entry.getKey(), throwable);
+            }
+        }
+        return failures;
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.jdbc;
+
+import me.ahoo.cosid.CosIdException;
+import me.ahoo.cosid.jdbc.exception.SegmentNameMissingException;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
+import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
+import me.ahoo.cosid.test.MockIdGenerator;
+import me.ahoo.cosid.test.segment.distributor.IdSegmentDistributorSpec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * @author ahoo wang
+ */
+class JdbcIdSegmentBatchCoordinatorTest extends IdSegmentDistributorSpec {
+    DataSource dataSource;
+    JdbcIdSegmentBatchCoordinator batchCoordinator;
+    JdbcIdSegmentDistributorFactory distributorFactory;
+    
+    @BeforeEach
+    void setup() {
+        dataSource = DataSourceFactory.INSTANCE.createDataSource();
+        batchCoordinator = new JdbcIdSegmentBatchCoordinator(dataSource);
+        distributorFactory =
+            new JdbcIdSegmentDistributorFactory(dataSource, true, new JdbcIdSegmentInitializer(dataSource), JdbcIdSegmentDistributor.INCREMENT_MAX_ID_SQL,
+                JdbcIdSegmentDistributor.FETCH_MAX_ID_SQL, batchCoordinator);
+    }
+    
+    @Override
+    protected IdSegmentDistributorFactory getFactory() {
+        return distributorFactory;
+    }
+    
+    @Override
+    protected <T extends IdSegmentDistributor> void setMaxIdBack(T distributor, long maxId) {
+    
+    }
+    
+    @Override
+    public void nextMaxIdWhenBack() {
+        //TODO
+    }
+    
+    @Test
+    void nextMaxIdAcrossNamespaces() {
+        String namespace = MockIdGenerator.INSTANCE.generateAsString();
+        int namespaces = 50;
+        IdSegmentDistributor[] distributors = new IdSegmentDistributor[namespaces];
+        for (int i = 0; i < namespaces; i++) {
+            distributors[i] = distributorFactory.create(new IdSegmentDistributorDefinition(namespace, "batch-" + i, 0, 10));
+        }
+        CompletableFuture<?>[] results = Arrays.stream(distributors)
+            .flatMap(distributor -> Arrays.stream(new IdSegmentDistributor[] {distributor, distributor}))
+            .map(distributor -> CompletableFuture.supplyAsync(() -> distributor.nextMaxId(10)))
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(results).join();
+        for (IdSegmentDistributor distributor : distributors) {
+            Assertions.assertEquals(30, distributor.nextMaxId(10));
+        }
+    }
+    
+    @Test
+    void nextMaxIdWhenOneRequestFails() {
+        String namespace = MockIdGenerator.INSTANCE.generateAsString();
+        IdSegmentDistributor overflowDistributor = distributorFactory.create(new IdSegmentDistributorDefinition(namespace, "overflow", 0, 10));
+        IdSegmentDistributor healthyDistributor = distributorFactory.create(new IdSegmentDistributorDefinition(namespace, "healthy", 0, 10));
+        Assertions.assertEquals(10, overflowDistributor.nextMaxId(10));
+        CompletableFuture<Long> overflow = CompletableFuture.supplyAsync(() -> overflowDistributor.nextMaxId(Long.MAX_VALUE));
+        CompletableFuture<Long> healthy = CompletableFuture.supplyAsync(() -> healthyDistributor.nextMaxId(10));
+        Assertions.assertEquals(10, healthy.join());
+        Assertions.assertThrows(CompletionException.class, overflow::join);
+        Assertions.assertEquals(20, overflowDistributor.nextMaxId(10));
+    }
+    
+    @Test
+    void nextMaxIdWhenSegmentNameMissing() {
+        String namespace = MockIdGenerator.INSTANCE.generateAsString();
+        JdbcIdSegmentDistributor jdbcIdSegmentDistributor = new JdbcIdSegmentDistributor(namespace, "SegmentNameMissing", 100,
+            JdbcIdSegmentDistributor.INCREMENT_MAX_ID_SQL, JdbcIdSegmentDistributor.FETCH_MAX_ID_SQL, dataSource, batchCoordinator);
+        Assertions.assertThrows(SegmentNameMissingException.class, () -> {
+            jdbcIdSegmentDistributor.nextMaxId(1);
+        });
+    }
+    
+    @Test
+    void nextMaxIdWhenWrongSql() {
+        String namespace = MockIdGenerator.INSTANCE.generateAsString();
+        JdbcIdSegmentBatchCoordinator wrongSqlCoordinator = new JdbcIdSegmentBatchCoordinator(dataSource, "WrongSql", "WrongSql", false, 10);
+        Assertions.assertThrows(CosIdException.class, () -> {
+            wrongSqlCoordinator.nextMaxId(IdSegmentDistributor.getNamespacedName(namespace, "WrongSql"), 1);
+        });
+    }
+}
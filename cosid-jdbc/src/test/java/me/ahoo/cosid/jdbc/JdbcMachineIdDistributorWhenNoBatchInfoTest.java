@@ -0,0 +1,78 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.jdbc;
+
+import me.ahoo.cosid.machine.ClockBackwardsSynchronizer;
+import me.ahoo.cosid.machine.MachineIdDistributor;
+import me.ahoo.cosid.machine.MachineStateStorage;
+import me.ahoo.cosid.test.machine.distributor.MachineIdDistributorSpec;
+
+import org.junit.jupiter.api.BeforeEach;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Drivers may answer a batch with {@link Statement#SUCCESS_NO_INFO}, the guard must then fall back to guarding each instance.
+ *
+ * @author ahoo wang
+ */
+class JdbcMachineIdDistributorWhenNoBatchInfoTest extends MachineIdDistributorSpec {
+    DataSource dataSource;
+    
+    @BeforeEach
+    void setup() {
+        dataSource = noBatchInfo(DataSourceFactory.INSTANCE.createDataSource(), DataSource.class);
+    }
+    
+    @Override
+    protected MachineIdDistributor getDistributor() {
+        return new JdbcMachineIdDistributor(dataSource, MachineStateStorage.LOCAL, ClockBackwardsSynchronizer.DEFAULT);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> T noBatchInfo(T target, Class<T> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Connection) {
+                return noBatchInfo((Connection) result, Connection.class);
+            }
+            if (result instanceof PreparedStatement) {
+                return noBatchInfo((PreparedStatement) result, PreparedStatement.class);
+            }
+            if ("executeBatch".equals(method.getName())) {
+                int[] affected = (int[]) result;
+                Arrays.fill(affected, Statement.SUCCESS_NO_INFO);
+                return affected;
+            }
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException invocationTargetException) {
+            throw invocationTargetException.getCause();
+        }
+    }
+}
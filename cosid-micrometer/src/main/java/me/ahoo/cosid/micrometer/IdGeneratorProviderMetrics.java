@@ -0,0 +1,103 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.micrometer;
+
+import me.ahoo.cosid.IdGenerator;
+import me.ahoo.cosid.IdGeneratorDecorator;
+import me.ahoo.cosid.provider.IdGeneratorProvider;
+import me.ahoo.cosid.segment.RingSegmentChainId;
+import me.ahoo.cosid.segment.SegmentChainId;
+import me.ahoo.cosid.snowflake.SnowflakeIdStatistics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.search.Search;
+
+import java.util.Map;
+
+/**
+ * IdGeneratorProvider Metrics.
+ * Binds the metrics of every registered {@link IdGenerator} tagged by its name,
+ * including the ones registered after binding, such as the lazily created per-namespace generators.
+ *
+ * @author ahoo wang
+ */
+public class IdGeneratorProviderMetrics implements MeterBinder {
+    public static final String TAG_GENERATOR = "generator";
+    
+    private final IdGeneratorProvider idGeneratorProvider;
+    
+    public IdGeneratorProviderMetrics(IdGeneratorProvider idGeneratorProvider) {
+        this.idGeneratorProvider = idGeneratorProvider;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        idGeneratorProvider.addListener(new IdGeneratorProvider.Listener() {
+            @Override
+            public void onSet(String name, IdGenerator idGenerator) {
+                synchronized (IdGeneratorProviderMetrics.this) {
+                    unbind(name, registry);
+                    bind(name, idGenerator, registry);
+                }
+            }
+            
+            @Override
+            public void onRemove(String name, IdGenerator idGenerator) {
+                synchronized (IdGeneratorProviderMetrics.this) {
+                    unbind(name, registry);
+                }
+            }
+        });
+        synchronized (this) {
+            for (Map.Entry<String, IdGenerator> entry : idGeneratorProvider.entries()) {
+                bind(entry.getKey(), entry.getValue(), registry);
+            }
+        }
+    }
+    
+    private static void bind(String name, IdGenerator idGenerator, MeterRegistry registry) {
+        Tags tags = Tags.of(TAG_GENERATOR, name);
+        bindRing(idGenerator, tags, registry);
+        IdGenerator actual = IdGeneratorDecorator.getActual(idGenerator);
+        if (actual instanceof SnowflakeIdStatistics) {
+            new SnowflakeIdMetrics((SnowflakeIdStatistics) actual, tags).bindTo(registry);
+        } else if (actual instanceof SegmentChainId) {
+            new SegmentChainIdMetrics((SegmentChainId) actual, tags).bindTo(registry);
+        }
+    }
+    
+    /**
+     * Remove the meters of the previous ID generator of {@code name}, otherwise a replaced generator would stay metered.
+     */
+    private static void unbind(String name, MeterRegistry registry) {
+        Search.in(registry)
+            .name(meterName -> meterName.startsWith("cosid."))
+            .tag(TAG_GENERATOR, name)
+            .meters()
+            .forEach(registry::remove);
+    }
+    
+    private static void bindRing(IdGenerator idGenerator, Tags tags, MeterRegistry registry) {
+        IdGenerator current = idGenerator;
+        while (current instanceof IdGeneratorDecorator) {
+            if (current instanceof RingSegmentChainId) {
+                new RingSegmentChainIdMetrics((RingSegmentChainId) current, tags).bindTo(registry);
+                return;
+            }
+            current = ((IdGeneratorDecorator) current).getActual();
+        }
+    }
+}
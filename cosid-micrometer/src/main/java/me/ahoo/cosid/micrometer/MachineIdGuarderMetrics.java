@@ -0,0 +1,62 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.micrometer;
+
+import me.ahoo.cosid.machine.DefaultMachineIdGuarder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MachineIdGuarder Metrics.
+ *
+ * @author ahoo wang
+ */
+public class MachineIdGuarderMetrics implements MeterBinder {
+    public static final String GUARD = "cosid.machine.guard";
+    public static final String GUARD_FAILURES = "cosid.machine.guard.failures";
+    
+    private final DefaultMachineIdGuarder machineIdGuarder;
+    private final Iterable<Tag> tags;
+    
+    public MachineIdGuarderMetrics(DefaultMachineIdGuarder machineIdGuarder) {
+        this(machineIdGuarder, Collections.emptyList());
+    }
+    
+    public MachineIdGuarderMetrics(DefaultMachineIdGuarder machineIdGuarder, Iterable<Tag> tags) {
+        this.machineIdGuarder = machineIdGuarder;
+        this.tags = tags;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder(GUARD, machineIdGuarder,
+                DefaultMachineIdGuarder::getGuardCount,
+                DefaultMachineIdGuarder::getGuardNanos,
+                TimeUnit.NANOSECONDS)
+            .description("The time spent guarding the registered machine ids.")
+            .tags(tags)
+            .register(registry);
+        FunctionCounter.builder(GUARD_FAILURES, machineIdGuarder, DefaultMachineIdGuarder::getFailureCount)
+            .description("The number of failed machine id guards.")
+            .tags(tags)
+            .register(registry);
+    }
+}
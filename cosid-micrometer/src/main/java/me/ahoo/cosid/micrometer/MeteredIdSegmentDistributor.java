@@ -0,0 +1,84 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.micrometer;
+
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metered IdSegment Distributor.
+ * Records the latency of fetching the next segment and the number of IDs per segment.
+ *
+ * @author ahoo wang
+ */
+public class MeteredIdSegmentDistributor implements IdSegmentDistributor {
+    public static final String FETCH = "cosid.segment.fetch";
+    public static final String FETCH_IDS = "cosid.segment.fetch.ids";
+    public static final String TAG_NAMESPACE = "namespace";
+    public static final String TAG_NAME = "name";
+    
+    private final IdSegmentDistributor actual;
+    private final Timer fetchTimer;
+    private final DistributionSummary fetchIds;
+    
+    public MeteredIdSegmentDistributor(IdSegmentDistributor actual, MeterRegistry registry) {
+        this.actual = actual;
+        Tags tags = Tags.of(TAG_NAMESPACE, actual.getNamespace(), TAG_NAME, actual.getName());
+        this.fetchTimer = Timer.builder(FETCH)
+            .description("The latency of fetching the next segment from the distributor.")
+            .tags(tags)
+            .register(registry);
+        this.fetchIds = DistributionSummary.builder(FETCH_IDS)
+            .description("The number of IDs per fetched segment.")
+            .tags(tags)
+            .register(registry);
+    }
+    
+    public IdSegmentDistributor getActual() {
+        return actual;
+    }
+    
+    @Override
+    public String getNamespace() {
+        return actual.getNamespace();
+    }
+    
+    @Override
+    public String getName() {
+        return actual.getName();
+    }
+    
+    @Override
+    public long getStep() {
+        return actual.getStep();
+    }
+    
+    @Override
+    public long nextMaxId(long step) {
+        long startTime = System.nanoTime();
+        try {
+            long nextMaxId = actual.nextMaxId(step);
+            fetchIds.record(step);
+            return nextMaxId;
+        } finally {
+            fetchTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.micrometer;
+
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
+import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Metered IdSegment Distributor Factory.
+ *
+ * @author ahoo wang
+ */
+public class MeteredIdSegmentDistributorFactory implements IdSegmentDistributorFactory {
+    private final IdSegmentDistributorFactory actual;
+    private final MeterRegistry registry;
+    
+    public MeteredIdSegmentDistributorFactory(IdSegmentDistributorFactory actual, MeterRegistry registry) {
+        this.actual = actual;
+        this.registry = registry;
+    }
+    
+    public IdSegmentDistributorFactory getActual() {
+        return actual;
+    }
+    
+    @Override
+    public IdSegmentDistributor create(IdSegmentDistributorDefinition definition) {
+        return new MeteredIdSegmentDistributor(actual.create(definition), registry);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.micrometer;
+
+import me.ahoo.cosid.segment.RingSegmentChainId;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * RingSegmentChainId Metrics.
+ *
+ * @author ahoo wang
+ */
+public class RingSegmentChainIdMetrics implements MeterBinder {
+    public static final String FILL_LEVEL = "cosid.segment.ring.fill";
+    public static final String CAPACITY = "cosid.segment.ring.capacity";
+    public static final String DRAINED = "cosid.segment.ring.drained";
+    
+    private final RingSegmentChainId ringSegmentChainId;
+    private final Iterable<Tag> tags;
+    
+    public RingSegmentChainIdMetrics(RingSegmentChainId ringSegmentChainId, Iterable<Tag> tags) {
+        this.ringSegmentChainId = ringSegmentChainId;
+        this.tags = tags;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(FILL_LEVEL, ringSegmentChainId, RingSegmentChainId::getFillLevel)
+            .description("The number of pre-generated IDs in the ring.")
+            .tags(tags)
+            .register(registry);
+        Gauge.builder(CAPACITY, ringSegmentChainId, RingSegmentChainId::getCapacity)
+            .description("The capacity of the ring.")
+            .tags(tags)
+            .register(registry);
+        FunctionCounter.builder(DRAINED, ringSegmentChainId, RingSegmentChainId::getDrainedCount)
+            .description("The number of times the ring was drained and the caller fell back to the chain.")
+            .tags(tags)
+            .register(registry);
+    }
+}
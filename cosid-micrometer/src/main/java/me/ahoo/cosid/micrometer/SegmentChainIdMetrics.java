@@ -0,0 +1,62 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.micrometer;
+
+import me.ahoo.cosid.segment.SegmentChainId;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * SegmentChainId Metrics.
+ *
+ * @author ahoo wang
+ */
+public class SegmentChainIdMetrics implements MeterBinder {
+    public static final String HEAD_TO_TAIL_GAP = "cosid.segment.chain.gap";
+    public static final String PREFETCH_DISTANCE = "cosid.segment.chain.prefetch.distance";
+    public static final String HUNGER = "cosid.segment.chain.hunger";
+    public static final String GIVE_UP = "cosid.segment.chain.give.up";
+    
+    private final SegmentChainId segmentChainId;
+    private final Iterable<Tag> tags;
+    
+    public SegmentChainIdMetrics(SegmentChainId segmentChainId, Iterable<Tag> tags) {
+        this.segmentChainId = segmentChainId;
+        this.tags = tags;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(HEAD_TO_TAIL_GAP, segmentChainId, chainId -> chainId.getPrefetchJob().getHeadToTailGap())
+            .description("The number of prefetched segments between the head and the tail of the chain.")
+            .tags(tags)
+            .register(registry);
+        Gauge.builder(PREFETCH_DISTANCE, segmentChainId, chainId -> chainId.getPrefetchJob().getPrefetchDistance())
+            .description("The current prefetch distance of the chain.")
+            .tags(tags)
+            .register(registry);
+        FunctionCounter.builder(HUNGER, segmentChainId, SegmentChainId::getHungerCount)
+            .description("The number of times the chain was hungry and woke up the prefetch worker.")
+            .tags(tags)
+            .register(registry);
+        FunctionCounter.builder(GIVE_UP, segmentChainId, SegmentChainId::getGiveUpCount)
+            .description("The number of times the chain gave up waiting for a prefetched segment.")
+            .tags(tags)
+            .register(registry);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.micrometer;
+
+import me.ahoo.cosid.snowflake.SnowflakeIdStatistics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SnowflakeId Metrics.
+ *
+ * @author ahoo wang
+ */
+public class SnowflakeIdMetrics implements MeterBinder {
+    public static final String GENERATED = "cosid.snowflake.generated";
+    public static final String CLOCK_BACKWARDS = "cosid.snowflake.clock.backwards";
+    public static final String NEXT_TIME_SPIN = "cosid.snowflake.next.time.spin";
+    public static final String NEXT_TIME_BORROW = "cosid.snowflake.next.time.borrow";
+    public static final String LOOKAHEAD = "cosid.snowflake.lookahead";
+    
+    private final SnowflakeIdStatistics statistics;
+    private final Iterable<Tag> tags;
+    
+    public SnowflakeIdMetrics(SnowflakeIdStatistics statistics, Iterable<Tag> tags) {
+        this.statistics = statistics;
+        this.tags = tags;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(GENERATED, statistics, SnowflakeIdStatistics::getGeneratedCount)
+            .description("The total number of generated IDs.")
+            .tags(tags)
+            .register(registry);
+        FunctionCounter.builder(CLOCK_BACKWARDS, statistics, SnowflakeIdStatistics::getClockBackwardsCount)
+            .description("The number of detected clock backwards.")
+            .tags(tags)
+            .register(registry);
+        FunctionTimer.builder(NEXT_TIME_SPIN, statistics,
+                SnowflakeIdStatistics::getNextTimeSpinCount,
+                SnowflakeIdStatistics::getNextTimeSpinNanos,
+                TimeUnit.NANOSECONDS)
+            .description("The time spent spinning for the next time when the sequence is exhausted.")
+            .tags(tags)
+            .register(registry);
+        FunctionCounter.builder(NEXT_TIME_BORROW, statistics, SnowflakeIdStatistics::getNextTimeBorrowCount)
+            .description("The number of times that the next time was borrowed ahead of the current time when the sequence is exhausted.")
+            .tags(tags)
+            .register(registry);
+        Gauge.builder(LOOKAHEAD, statistics, SnowflakeIdStatistics::getLookahead)
+            .description("How far the last timestamp is running ahead of the current time.")
+            .tags(tags)
+            .register(registry);
+    }
+}
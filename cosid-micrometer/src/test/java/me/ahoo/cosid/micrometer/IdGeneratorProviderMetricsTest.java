@@ -0,0 +1,119 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.micrometer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import me.ahoo.cosid.provider.DefaultIdGeneratorProvider;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.RingSegmentChainId;
+import me.ahoo.cosid.segment.SegmentChainId;
+import me.ahoo.cosid.snowflake.ClockSyncSnowflakeId;
+import me.ahoo.cosid.snowflake.MillisecondSnowflakeId;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author ahoo wang
+ */
+class IdGeneratorProviderMetricsTest {
+    
+    @Test
+    void bindTo() {
+        DefaultIdGeneratorProvider provider = new DefaultIdGeneratorProvider();
+        ClockSyncSnowflakeId snowflakeId = new ClockSyncSnowflakeId(new MillisecondSnowflakeId(1));
+        provider.set("snowflake", snowflakeId);
+        SegmentChainId segmentChainId = new SegmentChainId(new IdSegmentDistributor.Atomic());
+        provider.set("segment", segmentChainId);
+        
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new IdGeneratorProviderMetrics(provider).bindTo(registry);
+        
+        snowflakeId.generate();
+        snowflakeId.generate(new long[10]);
+        FunctionCounter generated = registry.find(SnowflakeIdMetrics.GENERATED)
+            .tag(IdGeneratorProviderMetrics.TAG_GENERATOR, "snowflake")
+            .functionCounter();
+        assertThat(generated, notNullValue());
+        assertThat(generated.count(), equalTo(11D));
+        FunctionTimer nextTimeSpin = registry.find(SnowflakeIdMetrics.NEXT_TIME_SPIN).functionTimer();
+        assertThat(nextTimeSpin, notNullValue());
+        assertThat(registry.find(SnowflakeIdMetrics.NEXT_TIME_BORROW).functionCounter(), notNullValue());
+        assertThat(registry.find(SnowflakeIdMetrics.LOOKAHEAD).gauge(), notNullValue());
+        
+        segmentChainId.generate();
+        Gauge gap = registry.find(SegmentChainIdMetrics.HEAD_TO_TAIL_GAP)
+            .tag(IdGeneratorProviderMetrics.TAG_GENERATOR, "segment")
+            .gauge();
+        assertThat(gap, notNullValue());
+        FunctionCounter hunger = registry.find(SegmentChainIdMetrics.HUNGER).functionCounter();
+        assertThat(hunger, notNullValue());
+        assertThat(registry.find(SegmentChainIdMetrics.GIVE_UP).functionCounter(), notNullValue());
+        assertThat(registry.find(SegmentChainIdMetrics.PREFETCH_DISTANCE).gauge(), notNullValue());
+    }
+    
+    @Test
+    void bindToRing() {
+        DefaultIdGeneratorProvider provider = new DefaultIdGeneratorProvider();
+        RingSegmentChainId ringSegmentChainId = new RingSegmentChainId(new SegmentChainId(new IdSegmentDistributor.Atomic()));
+        provider.set("ring", ringSegmentChainId);
+        
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new IdGeneratorProviderMetrics(provider).bindTo(registry);
+        
+        Gauge fillLevel = registry.find(RingSegmentChainIdMetrics.FILL_LEVEL)
+            .tag(IdGeneratorProviderMetrics.TAG_GENERATOR, "ring")
+            .gauge();
+        assertThat(fillLevel, notNullValue());
+        assertThat(registry.find(RingSegmentChainIdMetrics.CAPACITY).gauge().value(), equalTo((double) RingSegmentChainId.DEFAULT_CAPACITY));
+        assertThat(registry.find(RingSegmentChainIdMetrics.DRAINED).functionCounter(), notNullValue());
+        assertThat(registry.find(SegmentChainIdMetrics.HEAD_TO_TAIL_GAP).tag(IdGeneratorProviderMetrics.TAG_GENERATOR, "ring").gauge(), notNullValue());
+    }
+    
+    @Test
+    void bindToWhenRegisteredAfterBinding() {
+        DefaultIdGeneratorProvider provider = new DefaultIdGeneratorProvider();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new IdGeneratorProviderMetrics(provider).bindTo(registry);
+        assertThat(registry.find(SnowflakeIdMetrics.GENERATED).functionCounter(), nullValue());
+        
+        MillisecondSnowflakeId snowflakeId = new MillisecondSnowflakeId(1);
+        provider.set("late", snowflakeId);
+        snowflakeId.generate();
+        FunctionCounter generated = registry.find(SnowflakeIdMetrics.GENERATED)
+            .tag(IdGeneratorProviderMetrics.TAG_GENERATOR, "late")
+            .functionCounter();
+        assertThat(generated, notNullValue());
+        assertThat(generated.count(), equalTo(1D));
+        
+        MillisecondSnowflakeId replacement = new MillisecondSnowflakeId(2);
+        provider.set("late", replacement);
+        replacement.generate(new long[3]);
+        generated = registry.find(SnowflakeIdMetrics.GENERATED)
+            .tag(IdGeneratorProviderMetrics.TAG_GENERATOR, "late")
+            .functionCounter();
+        assertThat(generated, notNullValue());
+        assertThat(generated.count(), equalTo(3D));
+        
+        provider.remove("late");
+        assertThat(registry.find(SnowflakeIdMetrics.GENERATED).functionCounter(), nullValue());
+    }
+}
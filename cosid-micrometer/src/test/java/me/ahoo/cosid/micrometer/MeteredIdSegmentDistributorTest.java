@@ -0,0 +1,84 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.micrometer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author ahoo wang
+ */
+class MeteredIdSegmentDistributorTest {
+    
+    @Test
+    void nextMaxId() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        IdSegmentDistributor actual = new IdSegmentDistributor.Atomic();
+        MeteredIdSegmentDistributor distributor = new MeteredIdSegmentDistributor(actual, registry);
+        assertThat(distributor.getNamespace(), equalTo(actual.getNamespace()));
+        assertThat(distributor.getName(), equalTo(actual.getName()));
+        assertThat(distributor.getStep(), equalTo(actual.getStep()));
+        
+        long maxId = distributor.nextMaxId(10);
+        assertThat(maxId, equalTo(10L));
+        distributor.nextMaxId(20);
+        
+        Timer fetchTimer = registry.find(MeteredIdSegmentDistributor.FETCH)
+            .tag(MeteredIdSegmentDistributor.TAG_NAMESPACE, actual.getNamespace())
+            .tag(MeteredIdSegmentDistributor.TAG_NAME, actual.getName())
+            .timer();
+        assertThat(fetchTimer, notNullValue());
+        assertThat(fetchTimer.count(), equalTo(2L));
+        
+        DistributionSummary fetchIds = registry.find(MeteredIdSegmentDistributor.FETCH_IDS).summary();
+        assertThat(fetchIds, notNullValue());
+        assertThat(fetchIds.count(), equalTo(2L));
+        assertThat(fetchIds.totalAmount(), equalTo(30D));
+    }
+    
+    @Test
+    void nextMaxIdWhenFailed() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        IdSegmentDistributor actual = new IdSegmentDistributor.Atomic() {
+            @Override
+            public long nextMaxId(long step) {
+                throw new IllegalStateException("fetch failed");
+            }
+        };
+        MeteredIdSegmentDistributor distributor = new MeteredIdSegmentDistributor(actual, registry);
+        Assertions.assertThrows(IllegalStateException.class, () -> distributor.nextMaxId(10));
+        
+        assertThat(registry.find(MeteredIdSegmentDistributor.FETCH).timer().count(), equalTo(1L));
+        assertThat(registry.find(MeteredIdSegmentDistributor.FETCH_IDS).summary().count(), equalTo(0L));
+    }
+    
+    @Test
+    void factoryCreate() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MeteredIdSegmentDistributorFactory factory = new MeteredIdSegmentDistributorFactory(definition -> new IdSegmentDistributor.Atomic(definition.getStep()), registry);
+        IdSegmentDistributor distributor = factory.create(new IdSegmentDistributorDefinition("ns", "test", 0, 100));
+        assertThat(distributor instanceof MeteredIdSegmentDistributor, equalTo(true));
+        assertThat(distributor.nextMaxId(), equalTo(100L));
+    }
+}
@@ -58,6 +58,7 @@ dependencies {
     annotationProcessor(platform(project(":cosid-dependencies")))
     implementation(project(":cosid-spring-boot-starter"))
     implementation(project(":cosid-jackson"))
+    implementation(project(":cosid-proxy"))
 
     //region cosid-spring-redis
     implementation(project(":cosid-spring-redis"))
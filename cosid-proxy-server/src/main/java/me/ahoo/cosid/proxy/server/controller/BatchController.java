@@ -0,0 +1,89 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.proxy.server.controller;
+
+import me.ahoo.cosid.provider.IdGeneratorProvider;
+import me.ahoo.cosid.proxy.BatchCommand;
+import me.ahoo.cosid.proxy.BatchProtocol;
+import me.ahoo.cosid.proxy.BatchResult;
+
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch Controller .
+ * Serves many segment {@code nextMaxId} and ID generation commands across namespaces in one round trip of the binary {@link BatchProtocol}.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+@RestController
+@RequestMapping("batch")
+public class BatchController {
+    /**
+     * The max number of IDs generated by all the commands of one frame.
+     */
+    public static final int MAX_FRAME_IDS = IdController.MAX_BATCH_COUNT;
+    
+    private final SegmentController segmentController;
+    private final IdGeneratorProvider provider;
+    
+    public BatchController(SegmentController segmentController, IdGeneratorProvider provider) {
+        this.segmentController = segmentController;
+        this.provider = provider;
+    }
+    
+    /**
+     * Execute commands in order, a failed command does not fail the others.
+     * A generate command fails once the frame would generate more than {@link #MAX_FRAME_IDS} IDs in total.
+     */
+    @PostMapping(consumes = BatchProtocol.MEDIA_TYPE, produces = BatchProtocol.MEDIA_TYPE)
+    public byte[] execute(@RequestBody byte[] frame) {
+        List<BatchCommand> commands = BatchProtocol.decodeCommands(frame);
+        List<BatchResult> results = new ArrayList<>(commands.size());
+        long remainingIds = MAX_FRAME_IDS;
+        for (BatchCommand command : commands) {
+            BatchResult result = execute(command, remainingIds);
+            results.add(result);
+            if (command.getOp() == BatchCommand.GENERATE && result.isOk()) {
+                remainingIds -= command.getValue();
+            }
+        }
+        return BatchProtocol.encodeResults(results);
+    }
+    
+    private BatchResult execute(BatchCommand command, long remainingIds) {
+        try {
+            if (command.getOp() == BatchCommand.NEXT_MAX_ID) {
+                return BatchResult.ok(segmentController.nextMaxId(command.getNamespace(), command.getName(), command.getValue()));
+            }
+            Preconditions.checkArgument(command.getValue() <= remainingIds, "size:[%s] can not be greater than the remaining %s of %s IDs per frame.",
+                command.getValue(), remainingIds, MAX_FRAME_IDS);
+            return BatchResult.ok(provider.getRequired(command.getName()).generate((int) command.getValue()));
+        } catch (RuntimeException runtimeException) {
+            if (log.isWarnEnabled()) {
+                log.warn("Execute {} failed.", command, runtimeException);
+            }
+            return BatchResult.error(String.valueOf(runtimeException));
+        }
+    }
+}
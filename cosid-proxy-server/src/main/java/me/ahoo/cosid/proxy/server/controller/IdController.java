@@ -15,9 +15,11 @@ package me.ahoo.cosid.proxy.server.controller;
 
 import me.ahoo.cosid.provider.IdGeneratorProvider;
 
+import com.google.common.base.Preconditions;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -32,6 +34,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @RequestMapping("ids")
 public class IdController {
+    public static final int MAX_BATCH_COUNT = 10000;
     private final IdGeneratorProvider provider;
     
     public IdController(IdGeneratorProvider provider) {
@@ -52,6 +55,21 @@ public class IdController {
             .generate();
     }
     
+    /**
+     * Generate {@code count} IDs in one request, as a packed {@code long} array.
+     * <p>
+     * Important: it still costs one network round trip per call,
+     * it is not recommended to use this method to obtain IDs, lease a segment through {@link SegmentController#lease} instead.
+     * </p>
+     */
+    @GetMapping("{name}/batch")
+    public long[] generateBatch(@PathVariable String name, @RequestParam(defaultValue = "100") int count) {
+        Preconditions.checkArgument(count > 0 && count <= MAX_BATCH_COUNT, "count:[%s] must be in (0, %s].", count, MAX_BATCH_COUNT);
+        return provider
+            .getRequired(name)
+            .generate(count);
+    }
+    
     @GetMapping("/as-string")
     public String generateAsString() {
         return provider
@@ -13,11 +13,15 @@
 
 package me.ahoo.cosid.proxy.server.controller;
 
+import me.ahoo.cosid.proxy.SegmentLeaseDto;
+import me.ahoo.cosid.segment.CoalescingIdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
+import me.ahoo.cosid.segment.ReservoirIdSegmentDistributor;
 
 import com.google.common.base.Preconditions;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -36,20 +40,40 @@ import java.util.concurrent.ConcurrentHashMap;
 public class SegmentController {
     private final IdSegmentDistributorFactory distributorFactory;
     private final ConcurrentHashMap<String, IdSegmentDistributor> distributors;
+    /**
+     * Reservoir step multiplier of {@link ReservoirIdSegmentDistributor}, the reservoir is disabled when not positive.
+     */
+    private final int reservoirMultiplier;
     
-    public SegmentController(IdSegmentDistributorFactory distributorFactory) {
+    public SegmentController(IdSegmentDistributorFactory distributorFactory,
+                             @Value("${cosid.proxy-server.segment.reservoir-multiplier:" + ReservoirIdSegmentDistributor.DEFAULT_MULTIPLIER + "}") int reservoirMultiplier) {
         this.distributorFactory = distributorFactory;
         this.distributors = new ConcurrentHashMap<>();
+        this.reservoirMultiplier = reservoirMultiplier;
     }
     
     /**
      * Create an ID segment dispatcher, the operation is idempotent.
+     * Concurrent {@code nextMaxId} calls of the same distributor are coalesced,
+     * and answered from the local reservoir of large backend leases unless {@code cosid.proxy-server.segment.reservoir-multiplier} is not positive.
      */
     @PostMapping("/distributor/{namespace}/{name}")
     public void createDistributor(@PathVariable String namespace, @PathVariable String name, long offset, long step) {
         String namespacedName = IdSegmentDistributor.getNamespacedName(namespace, name);
         distributors.computeIfAbsent(namespacedName,
-            key -> distributorFactory.create(new IdSegmentDistributorDefinition(namespace, name, offset, step)));
+            key -> createDistributor(new IdSegmentDistributorDefinition(namespace, name, offset, step)));
+    }
+    
+    private IdSegmentDistributor createDistributor(IdSegmentDistributorDefinition definition) {
+        IdSegmentDistributor distributor = distributorFactory.create(definition);
+        if (reservoirMultiplier > 0) {
+            ReservoirIdSegmentDistributor reservoir = new ReservoirIdSegmentDistributor(distributor, reservoirMultiplier, ReservoirIdSegmentDistributor.DEFAULT_PREFETCH_EXECUTOR);
+            /*
+             * Keep each coalesced call within the reservoir step, otherwise a burst of waiters would bypass the reservoir.
+             */
+            return new CoalescingIdSegmentDistributor(reservoir, reservoir.getReservoirStep());
+        }
+        return new CoalescingIdSegmentDistributor(distributor);
     }
     
     @PatchMapping("/{namespace}/{name}")
@@ -59,4 +83,13 @@ public class SegmentController {
         Preconditions.checkNotNull(distributor);
         return distributor.nextMaxId(step);
     }
+    
+    /**
+     * Lease the ID range {@code (offset, maxId]} of {@code step} IDs, so that the client expands the IDs locally.
+     */
+    @PatchMapping("/{namespace}/{name}/lease")
+    public SegmentLeaseDto lease(@PathVariable String namespace, @PathVariable String name, long step) {
+        long maxId = nextMaxId(namespace, name, step);
+        return new SegmentLeaseDto(maxId - step, maxId);
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.server.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import me.ahoo.cosid.provider.DefaultIdGeneratorProvider;
+import me.ahoo.cosid.proxy.BatchCommand;
+import me.ahoo.cosid.proxy.BatchProtocol;
+import me.ahoo.cosid.proxy.BatchResult;
+import me.ahoo.cosid.segment.DefaultSegmentId;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BatchControllerTest .
+ *
+ * @author ahoo wang
+ */
+class BatchControllerTest {
+    private BatchController batchController;
+    
+    @BeforeEach
+    void setup() {
+        SegmentController segmentController = new SegmentController(definition -> new IdSegmentDistributor.Atomic(definition.getStep()), 0);
+        segmentController.createDistributor("ns", "order", 0, 10);
+        DefaultIdGeneratorProvider provider = new DefaultIdGeneratorProvider();
+        provider.set("seq", new DefaultSegmentId(new IdSegmentDistributor.Atomic(100)));
+        batchController = new BatchController(segmentController, provider);
+    }
+    
+    private List<BatchResult> execute(BatchCommand... commands) {
+        byte[] frame = batchController.execute(BatchProtocol.encodeCommands(Arrays.asList(commands)));
+        return BatchProtocol.decodeResults(frame);
+    }
+    
+    @Test
+    void execute() {
+        List<BatchResult> results = execute(
+            BatchCommand.nextMaxId("ns", "order", 10),
+            BatchCommand.generate("seq", 3),
+            BatchCommand.nextMaxId("ns", "order", 20)
+        );
+        assertThat(results, equalTo(Arrays.asList(BatchResult.ok(10), BatchResult.ok(1, 2, 3), BatchResult.ok(30))));
+    }
+    
+    @Test
+    void executeWhenOneCommandFails() {
+        List<BatchResult> results = execute(
+            BatchCommand.nextMaxId("ns", "not-found", 10),
+            BatchCommand.generate("not-found", 3),
+            BatchCommand.nextMaxId("ns", "order", 10)
+        );
+        assertThat(results.size(), equalTo(3));
+        Assertions.assertFalse(results.get(0).isOk());
+        Assertions.assertFalse(results.get(1).isOk());
+        assertThat(results.get(2), equalTo(BatchResult.ok(10)));
+    }
+    
+    @Test
+    void executeWhenExceedMaxFrameIds() {
+        int half = BatchController.MAX_FRAME_IDS / 2;
+        List<BatchResult> results = execute(
+            BatchCommand.generate("seq", half),
+            BatchCommand.generate("seq", half + 1),
+            BatchCommand.generate("seq", half),
+            BatchCommand.generate("seq", 1)
+        );
+        Assertions.assertTrue(results.get(0).isOk());
+        Assertions.assertFalse(results.get(1).isOk());
+        Assertions.assertTrue(results.get(2).isOk());
+        Assertions.assertFalse(results.get(3).isOk());
+        assertThat(results.get(0).getValues().length + results.get(2).getValues().length, equalTo(BatchController.MAX_FRAME_IDS));
+    }
+}
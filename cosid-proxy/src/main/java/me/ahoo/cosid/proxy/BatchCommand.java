@@ -0,0 +1,109 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.proxy;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+
+/**
+ * A single command carried by a {@link BatchProtocol} frame.
+ *
+ * @author ahoo wang
+ */
+public final class BatchCommand {
+    
+    public static final byte NEXT_MAX_ID = 1;
+    public static final byte GENERATE = 2;
+    
+    private final byte op;
+    private final String namespace;
+    private final String name;
+    /**
+     * step of {@link #NEXT_MAX_ID}, number of IDs of {@link #GENERATE}.
+     */
+    private final long value;
+    
+    public BatchCommand(byte op, String namespace, String name, long value) {
+        Preconditions.checkArgument(op == NEXT_MAX_ID || op == GENERATE, "Unknown op:[%s].", op);
+        Preconditions.checkNotNull(namespace, "namespace can not be null!");
+        Preconditions.checkNotNull(name, "name can not be null!");
+        Preconditions.checkArgument(value > 0, "value:[%s] must be greater than 0.", value);
+        this.op = op;
+        this.namespace = namespace;
+        this.name = name;
+        this.value = value;
+    }
+    
+    /**
+     * {@code nextMaxId(step)} of the segment distributor {@code namespace.name}.
+     */
+    public static BatchCommand nextMaxId(String namespace, String name, long step) {
+        return new BatchCommand(NEXT_MAX_ID, namespace, name, step);
+    }
+    
+    /**
+     * {@code size} IDs of the ID generator {@code name}, the namespace is ignored.
+     */
+    public static BatchCommand generate(String name, int size) {
+        return new BatchCommand(GENERATE, "", name, size);
+    }
+    
+    public byte getOp() {
+        return op;
+    }
+    
+    @Nonnull
+    public String getNamespace() {
+        return namespace;
+    }
+    
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+    
+    public long getValue() {
+        return value;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BatchCommand)) {
+            return false;
+        }
+        BatchCommand that = (BatchCommand) o;
+        return op == that.op && value == that.value && namespace.equals(that.namespace) && name.equals(that.name);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(op, namespace, name, value);
+    }
+    
+    @Override
+    public String toString() {
+        return "BatchCommand{"
+            + "op=" + op
+            + ", namespace='" + namespace + '\''
+            + ", name='" + name + '\''
+            + ", value=" + value
+            + '}';
+    }
+}
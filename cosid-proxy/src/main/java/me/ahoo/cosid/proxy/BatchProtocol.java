@@ -0,0 +1,153 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.proxy;
+
+import com.google.common.base.Preconditions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary batch protocol of CosId-Proxy.
+ * A single round trip carries many {@link BatchCommand}s across namespaces over a kept-alive connection,
+ * instead of one JSON request per {@code nextMaxId} or per ID.
+ *
+ * <pre>
+ * request  := version:byte count:int (op:byte namespace:utf name:utf value:long){count}
+ * response := version:byte count:int (OK:byte size:int value:long{size} | ERROR:byte message:utf){count}
+ * </pre>
+ * Results are in the same order as the commands.
+ *
+ * @author ahoo wang
+ */
+public final class BatchProtocol {
+    
+    public static final String MEDIA_TYPE = "application/x-cosid-batch";
+    public static final byte VERSION = 1;
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_ERROR = 1;
+    public static final int MAX_COMMANDS = 4096;
+    
+    private BatchProtocol() {
+    }
+    
+    public static byte[] encodeCommands(List<BatchCommand> commands) {
+        Preconditions.checkArgument(commands.size() <= MAX_COMMANDS, "commands size:[%s] can not be greater than %s.", commands.size(), MAX_COMMANDS);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(5 + commands.size() * 32);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(VERSION);
+            output.writeInt(commands.size());
+            for (BatchCommand command : commands) {
+                output.writeByte(command.getOp());
+                output.writeUTF(command.getNamespace());
+                output.writeUTF(command.getName());
+                output.writeLong(command.getValue());
+            }
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        return bytes.toByteArray();
+    }
+    
+    /**
+     * Decode commands.
+     *
+     * @throws IllegalArgumentException if {@code frame} is malformed
+     */
+    public static List<BatchCommand> decodeCommands(byte[] frame) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(frame))) {
+            final int count = readHeader(input);
+            List<BatchCommand> commands = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                commands.add(new BatchCommand(input.readByte(), input.readUTF(), input.readUTF(), input.readLong()));
+            }
+            return commands;
+        } catch (IOException ioException) {
+            throw new IllegalArgumentException("Malformed batch commands frame.", ioException);
+        }
+    }
+    
+    public static byte[] encodeResults(List<BatchResult> results) {
+        int valueSize = 0;
+        for (BatchResult result : results) {
+            valueSize += result.getValues().length;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(5 + results.size() * 5 + valueSize * 8);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(VERSION);
+            output.writeInt(results.size());
+            for (BatchResult result : results) {
+                if (!result.isOk()) {
+                    output.writeByte(STATUS_ERROR);
+                    output.writeUTF(result.getError());
+                    continue;
+                }
+                output.writeByte(STATUS_OK);
+                long[] values = result.getValues();
+                output.writeInt(values.length);
+                for (long value : values) {
+                    output.writeLong(value);
+                }
+            }
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        return bytes.toByteArray();
+    }
+    
+    /**
+     * Decode results.
+     *
+     * @throws IllegalArgumentException if {@code frame} is malformed
+     */
+    public static List<BatchResult> decodeResults(byte[] frame) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(frame))) {
+            final int count = readHeader(input);
+            List<BatchResult> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final byte status = input.readByte();
+                if (status == STATUS_ERROR) {
+                    results.add(BatchResult.error(input.readUTF()));
+                    continue;
+                }
+                Preconditions.checkArgument(status == STATUS_OK, "Unknown status:[%s].", status);
+                final int size = input.readInt();
+                Preconditions.checkArgument(size >= 0 && size <= input.available() / Long.BYTES, "Illegal values size:[%s].", size);
+                long[] values = new long[size];
+                for (int j = 0; j < size; j++) {
+                    values[j] = input.readLong();
+                }
+                results.add(BatchResult.ok(values));
+            }
+            return results;
+        } catch (IOException ioException) {
+            throw new IllegalArgumentException("Malformed batch results frame.", ioException);
+        }
+    }
+    
+    private static int readHeader(DataInputStream input) throws IOException {
+        final byte version = input.readByte();
+        Preconditions.checkArgument(version == VERSION, "Unsupported version:[%s].", version);
+        final int count = input.readInt();
+        Preconditions.checkArgument(count >= 0 && count <= MAX_COMMANDS, "Illegal count:[%s].", count);
+        return count;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.proxy;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Result of a {@link BatchCommand}, either values or an error message.
+ *
+ * @author ahoo wang
+ */
+public final class BatchResult {
+    
+    private static final long[] NO_VALUES = new long[0];
+    
+    private final long[] values;
+    @Nullable
+    private final String error;
+    
+    private BatchResult(long[] values, @Nullable String error) {
+        this.values = values;
+        this.error = error;
+    }
+    
+    public static BatchResult ok(long... values) {
+        Preconditions.checkNotNull(values, "values can not be null!");
+        return new BatchResult(values, null);
+    }
+    
+    public static BatchResult error(String error) {
+        Preconditions.checkNotNull(error, "error can not be null!");
+        return new BatchResult(NO_VALUES, error);
+    }
+    
+    public boolean isOk() {
+        return error == null;
+    }
+    
+    /**
+     * The max id of {@link BatchCommand#NEXT_MAX_ID}, or the IDs of {@link BatchCommand#GENERATE}.
+     */
+    @Nonnull
+    public long[] getValues() {
+        return values;
+    }
+    
+    @Nullable
+    public String getError() {
+        return error;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BatchResult)) {
+            return false;
+        }
+        BatchResult that = (BatchResult) o;
+        return Arrays.equals(values, that.values) && Objects.equals(error, that.error);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(values) + Objects.hashCode(error);
+    }
+    
+    @Override
+    public String toString() {
+        return isOk() ? "BatchResult{values=" + Arrays.toString(values) + '}' : "BatchResult{error='" + error + "'}";
+    }
+}
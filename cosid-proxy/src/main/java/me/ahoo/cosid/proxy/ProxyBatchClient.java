@@ -0,0 +1,211 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.proxy;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Batching client of the CosId-Proxy {@link BatchProtocol} endpoint.
+ *
+ * <p>Up to {@code maxInFlight} batches are in flight at the same time, multiplexed over one HTTP/2 connection or spread over the kept-alive HTTP/1.1 connections of the {@link OkHttpClient}.
+ * Commands submitted while all of them are in flight are queued and sent together as the next batch as soon as one returns,
+ * so concurrent {@code nextMaxId} calls across namespaces share round trips without adding any latency when the client is idle,
+ * and a slow batch does not hold up the commands of the other namespaces.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class ProxyBatchClient {
+    
+    public static final MediaType BATCH = MediaType.get(BatchProtocol.MEDIA_TYPE);
+    /**
+     * Below the default {@code maxRequestsPerHost} of the {@link okhttp3.Dispatcher}, beyond which calls would only queue in the dispatcher.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+    
+    private final OkHttpClient client;
+    private final String apiUrl;
+    private final int maxBatchSize;
+    private final int maxInFlight;
+    private final ConcurrentLinkedQueue<PendingCommand> pendingCommands = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    public ProxyBatchClient(OkHttpClient client, String proxyHost) {
+        this(client, proxyHost, BatchProtocol.MAX_COMMANDS);
+    }
+    
+    public ProxyBatchClient(OkHttpClient client, String proxyHost, int maxBatchSize) {
+        this(client, proxyHost, maxBatchSize, DEFAULT_MAX_IN_FLIGHT);
+    }
+    
+    public ProxyBatchClient(OkHttpClient client, String proxyHost, int maxBatchSize, int maxInFlight) {
+        Preconditions.checkArgument(maxBatchSize > 0 && maxBatchSize <= BatchProtocol.MAX_COMMANDS,
+            "maxBatchSize:[%s] must be in (0, %s].", maxBatchSize, BatchProtocol.MAX_COMMANDS);
+        Preconditions.checkArgument(maxInFlight > 0, "maxInFlight:[%s] must be greater than 0.", maxInFlight);
+        this.client = client;
+        this.apiUrl = proxyHost + "/batch";
+        this.maxBatchSize = maxBatchSize;
+        this.maxInFlight = maxInFlight;
+    }
+    
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+    
+    @Nonnull
+    public CompletableFuture<Long> nextMaxIdAsync(String namespace, String name, long step) {
+        return submit(BatchCommand.nextMaxId(namespace, name, step)).thenApply(values -> values[0]);
+    }
+    
+    @Nonnull
+    public CompletableFuture<long[]> generateAsync(String name, int size) {
+        return submit(BatchCommand.generate(name, size));
+    }
+    
+    /**
+     * Submit {@code command} to the next batch.
+     *
+     * @return the values of {@link BatchResult}, or completed exceptionally with the error of {@link BatchResult}
+     */
+    @Nonnull
+    public CompletableFuture<long[]> submit(BatchCommand command) {
+        PendingCommand pendingCommand = new PendingCommand(command);
+        pendingCommands.add(pendingCommand);
+        tryFlush();
+        return pendingCommand.future;
+    }
+    
+    private void tryFlush() {
+        while (!pendingCommands.isEmpty()) {
+            final int currentInFlight = inFlight.get();
+            if (currentInFlight >= maxInFlight) {
+                return;
+            }
+            if (!inFlight.compareAndSet(currentInFlight, currentInFlight + 1)) {
+                continue;
+            }
+            List<PendingCommand> batch = new ArrayList<>(Math.min(maxBatchSize, pendingCommands.size()));
+            PendingCommand pendingCommand;
+            while (batch.size() < maxBatchSize && (pendingCommand = pendingCommands.poll()) != null) {
+                batch.add(pendingCommand);
+            }
+            if (batch.isEmpty()) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            send(batch);
+        }
+    }
+    
+    /**
+     * Send {@code batch} asynchronously, {@link #complete} is called exactly once for it.
+     */
+    private void send(List<PendingCommand> batch) {
+        try {
+            List<BatchCommand> commands = new ArrayList<>(batch.size());
+            for (PendingCommand pendingCommand : batch) {
+                commands.add(pendingCommand.command);
+            }
+            Request request = new Request.Builder()
+                .url(apiUrl)
+                .post(RequestBody.create(BATCH, BatchProtocol.encodeCommands(commands)))
+                .build();
+            client.newCall(request).enqueue(new Callback() {
+                @Override
+                public void onFailure(@Nonnull Call call, @Nonnull IOException e) {
+                    complete(batch, null, e);
+                }
+                
+                @Override
+                public void onResponse(@Nonnull Call call, @Nonnull Response response) {
+                    List<BatchResult> results;
+                    try (Response closeableResponse = response) {
+                        results = parseResults(batch.size(), closeableResponse);
+                    } catch (Throwable throwable) {
+                        complete(batch, null, throwable);
+                        return;
+                    }
+                    complete(batch, results, null);
+                }
+            });
+        } catch (Throwable throwable) {
+            if (log.isWarnEnabled()) {
+                log.warn("Send batch - size:[{}] failed.", batch.size(), throwable);
+            }
+            complete(batch, null, throwable);
+        }
+    }
+    
+    private List<BatchResult> parseResults(int size, Response response) throws IOException {
+        ResponseBody responseBody = response.body();
+        assert responseBody != null;
+        if (!response.isSuccessful()) {
+            throw new IllegalStateException(Strings.lenientFormat("Batch - response:[%s].", responseBody.string()));
+        }
+        List<BatchResult> results = BatchProtocol.decodeResults(responseBody.bytes());
+        if (results.size() != size) {
+            throw new IllegalStateException(Strings.lenientFormat("Batch - expected results size:[%s] but:[%s].", size, results.size()));
+        }
+        return results;
+    }
+    
+    private void complete(List<PendingCommand> batch, List<BatchResult> results, Throwable throwable) {
+        if (log.isDebugEnabled()) {
+            log.debug("Complete batch - size:[{}].", batch.size());
+        }
+        inFlight.decrementAndGet();
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<long[]> future = batch.get(i).future;
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+                continue;
+            }
+            BatchResult result = results.get(i);
+            if (result.isOk()) {
+                future.complete(result.getValues());
+            } else {
+                future.completeExceptionally(new IllegalStateException(Strings.lenientFormat("Command:[%s] - error:[%s].", batch.get(i).command, result.getError())));
+            }
+        }
+        tryFlush();
+    }
+    
+    private static final class PendingCommand {
+        private final BatchCommand command;
+        private final CompletableFuture<long[]> future = new CompletableFuture<>();
+        
+        private PendingCommand(BatchCommand command) {
+            this.command = command;
+        }
+    }
+}
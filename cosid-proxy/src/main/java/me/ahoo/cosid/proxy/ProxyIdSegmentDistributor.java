@@ -15,12 +15,14 @@ package me.ahoo.cosid.proxy;
 
 import static me.ahoo.cosid.proxy.ProxyMachineIdDistributor.JSON;
 
-import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.AsyncIdSegmentDistributor;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
@@ -28,6 +30,10 @@ import okhttp3.Response;
 import okhttp3.ResponseBody;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * ProxyIdSegmentDistributor .
@@ -37,14 +43,27 @@ import javax.annotation.Nonnull;
  * @author ahoo wang
  */
 @Slf4j
-public class ProxyIdSegmentDistributor implements IdSegmentDistributor {
+public class ProxyIdSegmentDistributor implements AsyncIdSegmentDistributor {
     private final OkHttpClient client;
     private final String proxyHost;
     private final String namespace;
     private final String name;
     private final long step;
+    @Nullable
+    private final ProxyBatchClient batchClient;
     
     public ProxyIdSegmentDistributor(OkHttpClient client, String proxyHost, String namespace, String name, long step) {
+        this(client, proxyHost, namespace, name, step, null);
+    }
+    
+    /**
+     * Create a {@link ProxyIdSegmentDistributor}.
+     *
+     * @param batchClient when not null, {@code nextMaxId} requests go through the {@link BatchProtocol} endpoint,
+     *                    batched with the requests of the other distributors sharing it
+     */
+    public ProxyIdSegmentDistributor(OkHttpClient client, String proxyHost, String namespace, String name, long step, @Nullable ProxyBatchClient batchClient) {
+        this.batchClient = batchClient;
         this.client = client;
         this.proxyHost = proxyHost;
         this.namespace = namespace;
@@ -72,25 +91,127 @@ public class ProxyIdSegmentDistributor implements IdSegmentDistributor {
     @SneakyThrows
     @Override
     public long nextMaxId(long step) {
+        if (batchClient != null) {
+            return batchClient.nextMaxIdAsync(getNamespace(), getName(), step).join();
+        }
+        try (Response response = client.newCall(nextMaxIdRequest(step)).execute()) {
+            return parseNextMaxId(step, response);
+        }
+    }
+    
+    /**
+     * Same as {@link #nextMaxId(long)}, but enqueued on the {@link OkHttpClient} dispatcher instead of blocking the calling thread.
+     */
+    @Nonnull
+    @Override
+    public CompletionStage<Long> nextMaxIdAsync(long step) {
+        if (batchClient != null) {
+            return batchClient.nextMaxIdAsync(getNamespace(), getName(), step);
+        }
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        client.newCall(nextMaxIdRequest(step)).enqueue(new Callback() {
+            @Override
+            public void onFailure(@Nonnull Call call, @Nonnull IOException e) {
+                future.completeExceptionally(e);
+            }
+            
+            @Override
+            public void onResponse(@Nonnull Call call, @Nonnull Response response) {
+                try (Response closeableResponse = response) {
+                    future.complete(parseNextMaxId(step, closeableResponse));
+                } catch (Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+            }
+        });
+        return future;
+    }
+    
+    /**
+     * Lease the ID range {@code (offset, maxId]} of {@code step} IDs through the range-lease endpoint.
+     */
+    @SneakyThrows
+    @Nonnull
+    public SegmentLeaseDto lease(long step) {
+        if (batchClient != null) {
+            return leaseAsync(step).join();
+        }
+        try (Response response = client.newCall(leaseRequest(step)).execute()) {
+            return parseLease(step, response);
+        }
+    }
+    
+    /**
+     * Same as {@link #lease(long)}, but enqueued on the {@link OkHttpClient} dispatcher instead of blocking the calling thread.
+     */
+    @Nonnull
+    public CompletableFuture<SegmentLeaseDto> leaseAsync(long step) {
+        if (batchClient != null) {
+            return batchClient.nextMaxIdAsync(getNamespace(), getName(), step).thenApply(maxId -> new SegmentLeaseDto(maxId - step, maxId));
+        }
+        CompletableFuture<SegmentLeaseDto> future = new CompletableFuture<>();
+        client.newCall(leaseRequest(step)).enqueue(new Callback() {
+            @Override
+            public void onFailure(@Nonnull Call call, @Nonnull IOException e) {
+                future.completeExceptionally(e);
+            }
+            
+            @Override
+            public void onResponse(@Nonnull Call call, @Nonnull Response response) {
+                try (Response closeableResponse = response) {
+                    future.complete(parseLease(step, closeableResponse));
+                } catch (Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+            }
+        });
+        return future;
+    }
+    
+    private Request leaseRequest(long step) {
+        String apiUrl =
+            Strings.lenientFormat("%s/segments/%s/%s/lease?step=%s", proxyHost, getNamespace(), getName(), step);
+        
+        return new Request.Builder()
+            .url(apiUrl)
+            .patch(RequestBody.create(JSON, ""))
+            .build();
+    }
+    
+    private SegmentLeaseDto parseLease(long step, Response response) throws IOException {
+        ResponseBody responseBody = response.body();
+        assert responseBody != null;
+        String bodyStr = responseBody.string();
+        if (log.isInfoEnabled()) {
+            log.info("Lease -[{}]- step:[{}] - response:[{}].", getNamespacedName(), step, bodyStr);
+        }
+        if (!response.isSuccessful()) {
+            throw new IllegalStateException(Strings.lenientFormat("Distributor:[%s] - response:[%s]", getNamespacedName(), bodyStr));
+        }
+        return Jsons.OBJECT_MAPPER.readValue(bodyStr, SegmentLeaseDto.class);
+    }
+    
+    private Request nextMaxIdRequest(long step) {
         String apiUrl =
             Strings.lenientFormat("%s/segments/%s/%s?step=%s", proxyHost, getNamespace(), getName(), step);
         
-        Request request = new Request.Builder()
+        return new Request.Builder()
             .url(apiUrl)
             .patch(RequestBody.create(JSON, ""))
             .build();
-        try (Response response = client.newCall(request).execute()) {
-            ResponseBody responseBody = response.body();
-            assert responseBody != null;
-            String bodyStr = responseBody.string();
-            if (log.isInfoEnabled()) {
-                log.info("Next Max Id -[{}]- step:[{}] - response:[{}].", getNamespacedName(), step, bodyStr);
-            }
-            if (!response.isSuccessful()) {
-                throw new IllegalStateException(Strings.lenientFormat("Distributor:[%s] - response:[%s]", getNamespacedName(), bodyStr));
-            }
-            Preconditions.checkNotNull(bodyStr);
-            return Long.parseLong(bodyStr);
+    }
+    
+    private long parseNextMaxId(long step, Response response) throws IOException {
+        ResponseBody responseBody = response.body();
+        assert responseBody != null;
+        String bodyStr = responseBody.string();
+        if (log.isInfoEnabled()) {
+            log.info("Next Max Id -[{}]- step:[{}] - response:[{}].", getNamespacedName(), step, bodyStr);
+        }
+        if (!response.isSuccessful()) {
+            throw new IllegalStateException(Strings.lenientFormat("Distributor:[%s] - response:[%s]", getNamespacedName(), bodyStr));
         }
+        Preconditions.checkNotNull(bodyStr);
+        return Long.parseLong(bodyStr);
     }
 }
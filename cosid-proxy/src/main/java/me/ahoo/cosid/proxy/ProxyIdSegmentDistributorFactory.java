@@ -29,6 +29,7 @@ import okhttp3.Response;
 import okhttp3.ResponseBody;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * ProxyIdSegmentDistributorFactory .
@@ -42,9 +43,17 @@ public class ProxyIdSegmentDistributorFactory implements IdSegmentDistributorFac
     
     private final String proxyHost;
     
+    @Nullable
+    private final ProxyBatchClient batchClient;
+    
     public ProxyIdSegmentDistributorFactory(OkHttpClient client, String proxyHost) {
+        this(client, proxyHost, null);
+    }
+    
+    public ProxyIdSegmentDistributorFactory(OkHttpClient client, String proxyHost, @Nullable ProxyBatchClient batchClient) {
         this.client = client;
         this.proxyHost = proxyHost;
+        this.batchClient = batchClient;
     }
     
     @Nonnull
@@ -74,6 +83,6 @@ public class ProxyIdSegmentDistributorFactory implements IdSegmentDistributorFac
             }
         }
         
-        return new ProxyIdSegmentDistributor(client, proxyHost, definition.getNamespace(), definition.getName(), definition.getStep());
+        return new ProxyIdSegmentDistributor(client, proxyHost, definition.getNamespace(), definition.getName(), definition.getStep(), batchClient);
     }
 }
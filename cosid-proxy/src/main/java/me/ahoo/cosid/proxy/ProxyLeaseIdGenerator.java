@@ -0,0 +1,92 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.proxy;
+
+import me.ahoo.cosid.IdGenerator;
+
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Client side ID generator that expands the ID ranges leased from CosId-Proxy locally.
+ *
+ * <p>The next lease is prefetched asynchronously once the current one is half consumed,
+ * so {@link #generate()} only blocks on the network when the prefetch cannot keep up.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class ProxyLeaseIdGenerator implements IdGenerator {
+    
+    private final ProxyIdSegmentDistributor distributor;
+    private final long step;
+    private final long prefetchThreshold;
+    /**
+     * The last generated ID of the current lease {@code (offset, maxId]}.
+     */
+    private long cursor;
+    private long maxId;
+    private CompletableFuture<SegmentLeaseDto> nextLease;
+    
+    public ProxyLeaseIdGenerator(ProxyIdSegmentDistributor distributor) {
+        this(distributor, distributor.getStep());
+    }
+    
+    /**
+     * Create a {@link ProxyLeaseIdGenerator}.
+     *
+     * @param distributor distributor created by {@link ProxyIdSegmentDistributorFactory}, which makes sure the server side distributor exists
+     * @param step        number of IDs per lease
+     */
+    public ProxyLeaseIdGenerator(ProxyIdSegmentDistributor distributor, long step) {
+        Preconditions.checkArgument(step > 0, "step:[%s] must be greater than 0.", step);
+        this.distributor = distributor;
+        this.step = step;
+        this.prefetchThreshold = step / 2;
+    }
+    
+    public ProxyIdSegmentDistributor getDistributor() {
+        return distributor;
+    }
+    
+    public long getStep() {
+        return step;
+    }
+    
+    @Override
+    public synchronized long generate() {
+        if (cursor >= maxId) {
+            nextLease();
+        }
+        final long id = ++cursor;
+        if (nextLease == null && maxId - cursor <= prefetchThreshold) {
+            nextLease = distributor.leaseAsync(step);
+        }
+        return id;
+    }
+    
+    private void nextLease() {
+        final CompletableFuture<SegmentLeaseDto> prefetchedLease = nextLease;
+        nextLease = null;
+        final SegmentLeaseDto lease = prefetchedLease != null ? prefetchedLease.join() : distributor.lease(step);
+        if (log.isDebugEnabled()) {
+            log.debug("Next Lease -[{}]- {}.", distributor.getNamespacedName(), lease);
+        }
+        cursor = lease.getOffset();
+        maxId = lease.getMaxId();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.proxy;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Objects;
+
+/**
+ * Segment lease, the ID range {@code (offset, maxId]} handed out to a client that expands the IDs locally.
+ *
+ * @author ahoo wang
+ */
+public class SegmentLeaseDto {
+    private final long offset;
+    private final long maxId;
+    
+    @JsonCreator
+    public SegmentLeaseDto(@JsonProperty("offset") long offset, @JsonProperty("maxId") long maxId) {
+        this.offset = offset;
+        this.maxId = maxId;
+    }
+    
+    public long getOffset() {
+        return offset;
+    }
+    
+    public long getMaxId() {
+        return maxId;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SegmentLeaseDto)) {
+            return false;
+        }
+        SegmentLeaseDto that = (SegmentLeaseDto) o;
+        return offset == that.offset && maxId == that.maxId;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, maxId);
+    }
+    
+    @Override
+    public String toString() {
+        return "SegmentLeaseDto{"
+            + "offset=" + offset
+            + ", maxId=" + maxId
+            + '}';
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.proxy;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+class BatchProtocolTest {
+    
+    @Test
+    void commands() {
+        List<BatchCommand> commands = Arrays.asList(
+            BatchCommand.nextMaxId("ns-1", "order", 100),
+            BatchCommand.nextMaxId("ns-2", "user", 10),
+            BatchCommand.generate("snowflake", 3)
+        );
+        byte[] frame = BatchProtocol.encodeCommands(commands);
+        assertThat(BatchProtocol.decodeCommands(frame), equalTo(commands));
+    }
+    
+    @Test
+    void results() {
+        List<BatchResult> results = Arrays.asList(
+            BatchResult.ok(100),
+            BatchResult.error("not found"),
+            BatchResult.ok(1, 2, 3)
+        );
+        byte[] frame = BatchProtocol.encodeResults(results);
+        assertThat(BatchProtocol.decodeResults(frame), equalTo(results));
+    }
+    
+    @Test
+    void resultsWhenEmpty() {
+        byte[] frame = BatchProtocol.encodeResults(Collections.emptyList());
+        Assertions.assertTrue(BatchProtocol.decodeResults(frame).isEmpty());
+    }
+    
+    @Test
+    void decodeWhenMalformed() {
+        byte[] frame = BatchProtocol.encodeCommands(Collections.singletonList(BatchCommand.nextMaxId("ns", "order", 100)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BatchProtocol.decodeCommands(Arrays.copyOf(frame, frame.length - 1)));
+        frame[0] = 2;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BatchProtocol.decodeCommands(frame));
+    }
+    
+    @Test
+    void commandWhenIllegal() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BatchCommand.nextMaxId("ns", "order", 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BatchCommand((byte) 3, "ns", "order", 1));
+    }
+}
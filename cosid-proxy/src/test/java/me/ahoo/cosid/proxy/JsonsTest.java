@@ -28,4 +28,12 @@ class JsonsTest {
         assertThat(actual, equalTo(errorResponse));
     }
     
+    @Test
+    void serializeSegmentLease() {
+        SegmentLeaseDto lease = new SegmentLeaseDto(100, 200);
+        String jsonStr = Jsons.serialize(lease);
+        assertThat(jsonStr, equalTo("{\"offset\":100,\"maxId\":200}"));
+        assertThat(Jsons.deserialize(jsonStr, SegmentLeaseDto.class), equalTo(lease));
+    }
+    
 }
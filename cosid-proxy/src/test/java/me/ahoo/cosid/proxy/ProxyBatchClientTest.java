@@ -0,0 +1,211 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+import com.google.common.base.Strings;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * ProxyBatchClientTest .
+ *
+ * @author ahoo wang
+ */
+class ProxyBatchClientTest {
+    private static final String PROXY_HOST = "http://cosid-proxy";
+    
+    /**
+     * Answer each frame locally instead of going to the network, recording the received commands.
+     */
+    private static OkHttpClient mockClient(List<List<BatchCommand>> frames, Function<List<BatchCommand>, Response.Builder> handler) {
+        Interceptor interceptor = chain -> {
+            Buffer buffer = new Buffer();
+            chain.request().body().writeTo(buffer);
+            List<BatchCommand> commands = BatchProtocol.decodeCommands(buffer.readByteArray());
+            frames.add(commands);
+            return handler.apply(commands)
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .build();
+        };
+        return new OkHttpClient.Builder().addInterceptor(interceptor).build();
+    }
+    
+    private static Response.Builder ok(List<BatchResult> results) {
+        return new Response.Builder()
+            .code(200)
+            .message("OK")
+            .body(ResponseBody.create(ProxyBatchClient.BATCH, BatchProtocol.encodeResults(results)));
+    }
+    
+    private static List<BatchResult> echo(List<BatchCommand> commands) {
+        List<BatchResult> results = new ArrayList<>(commands.size());
+        for (BatchCommand command : commands) {
+            results.add(BatchResult.ok(command.getValue()));
+        }
+        return results;
+    }
+    
+    @Test
+    void nextMaxIdAsync() {
+        List<List<BatchCommand>> frames = new CopyOnWriteArrayList<>();
+        ProxyBatchClient batchClient = new ProxyBatchClient(mockClient(frames, commands -> ok(echo(commands))), PROXY_HOST);
+        assertThat(batchClient.nextMaxIdAsync("ns", "order", 100).join(), equalTo(100L));
+        assertThat(frames.size(), equalTo(1));
+        assertThat(frames.get(0).get(0), equalTo(BatchCommand.nextMaxId("ns", "order", 100)));
+    }
+    
+    @Test
+    void submitWhenInFlight() throws InterruptedException {
+        List<List<BatchCommand>> frames = new CopyOnWriteArrayList<>();
+        CountDownLatch firstArrived = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        ProxyBatchClient batchClient = new ProxyBatchClient(mockClient(frames, commands -> {
+            if (firstArrived.getCount() > 0) {
+                firstArrived.countDown();
+                try {
+                    releaseFirst.await();
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return ok(echo(commands));
+        }), PROXY_HOST, BatchProtocol.MAX_COMMANDS, 1);
+        
+        CompletableFuture<Long> first = batchClient.nextMaxIdAsync("ns", "first", 1);
+        Assertions.assertTrue(firstArrived.await(5, TimeUnit.SECONDS));
+        List<CompletableFuture<Long>> queued = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            queued.add(batchClient.nextMaxIdAsync("ns-" + i, "order", 10 + i));
+        }
+        releaseFirst.countDown();
+        
+        assertThat(first.join(), equalTo(1L));
+        for (int i = 0; i < queued.size(); i++) {
+            assertThat(queued.get(i).join(), equalTo(10L + i));
+        }
+        assertThat(frames.size(), equalTo(2));
+        assertThat(frames.get(1).size(), equalTo(10));
+    }
+    
+    @Test
+    void submitWhenSlowBatch() throws InterruptedException {
+        List<List<BatchCommand>> frames = new CopyOnWriteArrayList<>();
+        CountDownLatch slowArrived = new CountDownLatch(1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        ProxyBatchClient batchClient = new ProxyBatchClient(mockClient(frames, commands -> {
+            if ("slow".equals(commands.get(0).getName())) {
+                slowArrived.countDown();
+                try {
+                    releaseSlow.await();
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return ok(echo(commands));
+        }), PROXY_HOST);
+        
+        CompletableFuture<Long> slow = batchClient.nextMaxIdAsync("ns", "slow", 1);
+        Assertions.assertTrue(slowArrived.await(5, TimeUnit.SECONDS));
+        try {
+            assertThat(batchClient.nextMaxIdAsync("other", "fast", 10).join(), equalTo(10L));
+            Assertions.assertFalse(slow.isDone());
+        } finally {
+            releaseSlow.countDown();
+        }
+        assertThat(slow.join(), equalTo(1L));
+    }
+    
+    @Test
+    void submitWhenEncodeFails() {
+        List<List<BatchCommand>> frames = new CopyOnWriteArrayList<>();
+        ProxyBatchClient batchClient = new ProxyBatchClient(mockClient(frames, commands -> ok(echo(commands))), PROXY_HOST, BatchProtocol.MAX_COMMANDS, 1);
+        String tooLongName = Strings.repeat("a", 65536);
+        ExecutionException executionException = Assertions.assertThrows(ExecutionException.class,
+            () -> batchClient.nextMaxIdAsync("ns", tooLongName, 10).get(5, TimeUnit.SECONDS));
+        assertThat(executionException.getCause(), instanceOf(UncheckedIOException.class));
+        assertThat(batchClient.nextMaxIdAsync("ns", "order", 10).join(), equalTo(10L));
+        assertThat(frames.size(), equalTo(1));
+    }
+    
+    @Test
+    void submitWhenCommandFails() {
+        List<List<BatchCommand>> frames = new CopyOnWriteArrayList<>();
+        ProxyBatchClient batchClient = new ProxyBatchClient(mockClient(frames, commands -> {
+            List<BatchResult> results = echo(commands);
+            results.set(0, BatchResult.error("not found"));
+            return ok(results);
+        }), PROXY_HOST);
+        ExecutionException executionException = Assertions.assertThrows(ExecutionException.class,
+            () -> batchClient.nextMaxIdAsync("ns", "not-found", 10).get());
+        assertThat(executionException.getCause(), instanceOf(IllegalStateException.class));
+        Assertions.assertTrue(executionException.getCause().getMessage().contains("not found"));
+    }
+    
+    @Test
+    void submitWhenResponseIsNotSuccessful() {
+        List<List<BatchCommand>> frames = new CopyOnWriteArrayList<>();
+        ProxyBatchClient batchClient = new ProxyBatchClient(mockClient(frames, commands -> new Response.Builder()
+            .code(500)
+            .message("Internal Server Error")
+            .body(ResponseBody.create(MediaType.get("text/plain"), "error"))), PROXY_HOST);
+        ExecutionException executionException = Assertions.assertThrows(ExecutionException.class,
+            () -> batchClient.generateAsync("seq", 3).get());
+        assertThat(executionException.getCause(), instanceOf(IllegalStateException.class));
+    }
+    
+    @Test
+    void submitWhenResultsSizeMismatch() {
+        List<List<BatchCommand>> frames = new CopyOnWriteArrayList<>();
+        ProxyBatchClient batchClient = new ProxyBatchClient(mockClient(frames, commands -> ok(new ArrayList<>())), PROXY_HOST);
+        ExecutionException executionException = Assertions.assertThrows(ExecutionException.class,
+            () -> batchClient.nextMaxIdAsync("ns", "order", 10).get());
+        assertThat(executionException.getCause(), instanceOf(IllegalStateException.class));
+    }
+    
+    @Test
+    void submitWhenNetworkFails() {
+        OkHttpClient client = new OkHttpClient.Builder()
+            .addInterceptor(chain -> {
+                throw new IOException("connection reset");
+            })
+            .build();
+        ProxyBatchClient batchClient = new ProxyBatchClient(client, PROXY_HOST);
+        ExecutionException executionException = Assertions.assertThrows(ExecutionException.class,
+            () -> batchClient.nextMaxIdAsync("ns", "order", 10).get());
+        assertThat(executionException.getCause(), instanceOf(IOException.class));
+    }
+}
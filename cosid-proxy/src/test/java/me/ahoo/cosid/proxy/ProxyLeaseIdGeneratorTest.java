@@ -0,0 +1,126 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ProxyLeaseIdGeneratorTest .
+ *
+ * @author ahoo wang
+ */
+class ProxyLeaseIdGeneratorTest {
+    
+    /**
+     * Leases from a local counter instead of CosId-Proxy.
+     */
+    static class MockDistributor extends ProxyIdSegmentDistributor {
+        final AtomicLong lastMaxId = new AtomicLong();
+        final AtomicInteger leaseCount = new AtomicInteger();
+        final AtomicInteger leaseAsyncCount = new AtomicInteger();
+        final AtomicBoolean failing = new AtomicBoolean();
+        
+        MockDistributor(long step) {
+            super(new OkHttpClient(), "http://cosid-proxy", "ns", "lease", step);
+        }
+        
+        private SegmentLeaseDto nextLease(long step) {
+            if (failing.get()) {
+                throw new IllegalStateException("CosId-Proxy is down.");
+            }
+            long maxId = lastMaxId.addAndGet(step);
+            return new SegmentLeaseDto(maxId - step, maxId);
+        }
+        
+        @Override
+        public SegmentLeaseDto lease(long step) {
+            leaseCount.incrementAndGet();
+            return nextLease(step);
+        }
+        
+        @Override
+        public CompletableFuture<SegmentLeaseDto> leaseAsync(long step) {
+            leaseAsyncCount.incrementAndGet();
+            try {
+                return CompletableFuture.completedFuture(nextLease(step));
+            } catch (RuntimeException runtimeException) {
+                CompletableFuture<SegmentLeaseDto> future = new CompletableFuture<>();
+                future.completeExceptionally(runtimeException);
+                return future;
+            }
+        }
+    }
+    
+    @Test
+    void generate() {
+        MockDistributor distributor = new MockDistributor(10);
+        ProxyLeaseIdGenerator idGenerator = new ProxyLeaseIdGenerator(distributor);
+        for (long expected = 1; expected <= 10; expected++) {
+            assertThat(idGenerator.generate(), equalTo(expected));
+        }
+        assertThat(distributor.leaseCount.get(), equalTo(1));
+        assertThat(distributor.leaseAsyncCount.get(), equalTo(1));
+    }
+    
+    @Test
+    void generateWhenLeaseExhausted() {
+        MockDistributor distributor = new MockDistributor(10);
+        ProxyLeaseIdGenerator idGenerator = new ProxyLeaseIdGenerator(distributor);
+        for (long expected = 1; expected <= 100; expected++) {
+            assertThat(idGenerator.generate(), equalTo(expected));
+        }
+        assertThat(distributor.leaseCount.get(), equalTo(1));
+        assertThat(distributor.leaseAsyncCount.get(), equalTo(10));
+    }
+    
+    @Test
+    void generateWhenLeaseFailed() {
+        MockDistributor distributor = new MockDistributor(10);
+        distributor.failing.set(true);
+        ProxyLeaseIdGenerator idGenerator = new ProxyLeaseIdGenerator(distributor);
+        Assertions.assertThrows(IllegalStateException.class, idGenerator::generate);
+        
+        distributor.failing.set(false);
+        assertThat(idGenerator.generate(), equalTo(1L));
+    }
+    
+    @Test
+    void generateWhenPrefetchFailed() {
+        MockDistributor distributor = new MockDistributor(10);
+        ProxyLeaseIdGenerator idGenerator = new ProxyLeaseIdGenerator(distributor);
+        for (int i = 0; i < 4; i++) {
+            idGenerator.generate();
+        }
+        distributor.failing.set(true);
+        for (long expected = 5; expected <= 10; expected++) {
+            assertThat(idGenerator.generate(), equalTo(expected));
+        }
+        CompletionException completionException = Assertions.assertThrows(CompletionException.class, idGenerator::generate);
+        assertThat(completionException.getCause().getClass(), equalTo(IllegalStateException.class));
+        
+        distributor.failing.set(false);
+        assertThat(idGenerator.generate(), equalTo(11L));
+    }
+}
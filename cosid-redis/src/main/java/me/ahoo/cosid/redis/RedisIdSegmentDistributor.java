@@ -16,15 +16,18 @@ package me.ahoo.cosid.redis;
 import static me.ahoo.cosid.redis.RedisMachineIdDistributor.hashTag;
 
 import me.ahoo.cosid.CosId;
+import me.ahoo.cosid.segment.AsyncIdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import io.lettuce.core.cluster.api.reactive.RedisClusterReactiveCommands;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
 
 import javax.annotation.Nonnull;
 import java.time.Duration;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Redis IdSegmentDistributor.
@@ -32,7 +35,7 @@ import java.time.Duration;
  * @author ahoo wang
  */
 @Slf4j
-public class RedisIdSegmentDistributor implements IdSegmentDistributor {
+public class RedisIdSegmentDistributor implements AsyncIdSegmentDistributor {
     
     public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(1);
     
@@ -112,21 +115,36 @@ public class RedisIdSegmentDistributor implements IdSegmentDistributor {
     
     @Override
     public long nextMaxId(long step) {
+        Long nextMaxId = nextMaxIdMono(step).block(timeout);
+        assert nextMaxId != null;
+        Preconditions.checkNotNull(nextMaxId, "nextMaxId can not be null!");
+        return nextMaxId;
+    }
+    
+    /**
+     * Same as {@link #nextMaxId(long)}, but completes on the Lettuce event loop instead of blocking the calling thread.
+     */
+    @Nonnull
+    @Override
+    public CompletionStage<Long> nextMaxIdAsync(long step) {
+        return nextMaxIdMono(step).timeout(timeout).toFuture();
+    }
+    
+    private Mono<Long> nextMaxIdMono(long step) {
         IdSegmentDistributor.ensureStep(step);
         if (log.isDebugEnabled()) {
             log.debug("Next MaxId [{}] step:[{}].", adderKey, step);
         }
         final long nextMinMaxId = lastMaxId + step;
         
-        Long nextMaxId = redisCommands.incrby(adderKey, step).block(timeout);
-        assert nextMaxId != null;
-        Preconditions.checkNotNull(nextMaxId, "nextMaxId can not be null!");
-        if (log.isDebugEnabled()) {
-            log.debug("Next MaxId [{}] step:[{}] - nextMaxId:[{}].", adderKey, step, nextMaxId);
-        }
-        
-        Preconditions.checkState(nextMaxId >= nextMinMaxId, "nextMaxId:[%s] must be greater than nextMinMaxId:[%s]!", nextMaxId, nextMinMaxId);
-        this.lastMaxId = nextMaxId;
-        return nextMaxId;
+        return redisCommands.incrby(adderKey, step).map(nextMaxId -> {
+            if (log.isDebugEnabled()) {
+                log.debug("Next MaxId [{}] step:[{}] - nextMaxId:[{}].", adderKey, step, nextMaxId);
+            }
+            
+            Preconditions.checkState(nextMaxId >= nextMinMaxId, "nextMaxId:[%s] must be greater than nextMinMaxId:[%s]!", nextMaxId, nextMinMaxId);
+            this.lastMaxId = nextMaxId;
+            return nextMaxId;
+        });
     }
 }
@@ -23,15 +23,20 @@ import me.ahoo.cosid.machine.MachineIdLostException;
 import me.ahoo.cosid.machine.MachineIdOverflowException;
 import me.ahoo.cosid.machine.MachineState;
 import me.ahoo.cosid.machine.MachineStateStorage;
+import me.ahoo.cosid.machine.NamespacedInstanceId;
 import me.ahoo.cosky.core.redis.RedisScripts;
 
 import io.lettuce.core.ScriptOutputType;
 import io.lettuce.core.cluster.api.reactive.RedisClusterReactiveCommands;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Redis MachineIdDistributor.
@@ -114,10 +119,32 @@ public class RedisMachineIdDistributor extends AbstractMachineIdDistributor {
     
     @Override
     protected void guardRemote(String namespace, InstanceId instanceId, MachineState machineState, Duration safeGuardDuration) {
+        guardAsync(namespace, instanceId, machineState).block(timeout);
+    }
+    
+    /**
+     * Guard all instances by pipelining the guard scripts on the shared connection, so that a guard cycle costs one round trip.
+     * The scripts are not merged into one, because the namespaces are hash-tagged and may live in different slots of redis-cluster.
+     */
+    @Override
+    protected Map<NamespacedInstanceId, Throwable> guardAllRemote(Map<NamespacedInstanceId, MachineState> machineStates, Duration safeGuardDuration) {
+        Map<NamespacedInstanceId, Throwable> failures = Flux.fromIterable(machineStates.entrySet())
+            .flatMap(entry -> {
+                NamespacedInstanceId namespacedInstanceId = entry.getKey();
+                return guardAsync(namespacedInstanceId.getNamespace(), namespacedInstanceId.getInstanceId(), entry.getValue())
+                    .then(Mono.<Map.Entry<NamespacedInstanceId, Throwable>>empty())
+                    .onErrorResume(throwable -> Mono.just(new AbstractMap.SimpleImmutableEntry<>(namespacedInstanceId, throwable)));
+            })
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+            .block(timeout);
+        return null == failures ? Collections.emptyMap() : failures;
+    }
+    
+    protected Mono<Void> guardAsync(String namespace, InstanceId instanceId, MachineState machineState) {
         if (log.isDebugEnabled()) {
-            log.debug("Guard Remote instanceId:[{}]@[{}] - machineState:[{}].", instanceId, namespace, machineState);
+            log.debug("Guard Async instanceId:[{}]@[{}] - machineState:[{}].", instanceId, namespace, machineState);
         }
-        Long affected = RedisScripts.doEnsureScript(MACHINE_ID_GUARD, redisCommands,
+        return RedisScripts.doEnsureScript(MACHINE_ID_GUARD, redisCommands,
                 (scriptSha) -> {
                     String[] keys = {hashTag(namespace)};
                     String[] values = {instanceId.getInstanceId(), String.valueOf(machineState.getLastTimeStamp())};
@@ -129,10 +156,12 @@ public class RedisMachineIdDistributor extends AbstractMachineIdDistributor {
                 return state.get(0);
             })
             .cast(Long.class)
-            .block(timeout);
-        if (null != affected && 0 == affected) {
-            throw new MachineIdLostException(namespace, instanceId, machineState);
-        }
+            .flatMap(affected -> {
+                if (0 == affected) {
+                    return Mono.error(new MachineIdLostException(namespace, instanceId, machineState));
+                }
+                return Mono.empty();
+            });
     }
     
     /**
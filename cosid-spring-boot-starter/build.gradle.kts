@@ -36,6 +36,10 @@ java {
         usingSourceSet(sourceSets[SourceSet.MAIN_SOURCE_SET_NAME])
         capability(group.toString(), "mybatis-support", version.toString())
     }
+    registerFeature("micrometerSupport") {
+        usingSourceSet(sourceSets[SourceSet.MAIN_SOURCE_SET_NAME])
+        capability(group.toString(), "micrometer-support", version.toString())
+    }
 }
 
 dependencies {
@@ -53,6 +57,8 @@ dependencies {
     "proxySupportImplementation"(project(":cosid-proxy"))
 
     "mybatisSupportImplementation"(project(":cosid-mybatis"))
+
+    "micrometerSupportImplementation"(project(":cosid-micrometer"))
     api("org.springframework.boot:spring-boot-starter")
     api("org.springframework.cloud:spring-cloud-commons")
 
@@ -20,6 +20,10 @@ package me.ahoo.cosid.spring.boot.starter;
  */
 public class ProxyProperties {
     private String host = "http://localhost:8688";
+    /**
+     * Send segment {@code nextMaxId} requests through the binary batch endpoint of CosId-Proxy.
+     */
+    private boolean batch = false;
     
     public String getHost() {
         return host;
@@ -29,4 +33,13 @@ public class ProxyProperties {
         this.host = host;
         return this;
     }
+    
+    public boolean isBatch() {
+        return batch;
+    }
+    
+    public ProxyProperties setBatch(boolean batch) {
+        this.batch = batch;
+        return this;
+    }
 }
@@ -20,12 +20,15 @@ import me.ahoo.cosid.cosid.Radix36CosIdGenerator;
 import me.ahoo.cosid.cosid.Radix62CosIdGenerator;
 import me.ahoo.cosid.machine.ClockBackwardsSynchronizer;
 import me.ahoo.cosid.machine.InstanceId;
+import me.ahoo.cosid.machine.LogicalClockBackwardsSynchronizer;
 import me.ahoo.cosid.machine.MachineIdDistributor;
 import me.ahoo.cosid.machine.MachineIdGuarder;
 import me.ahoo.cosid.provider.IdGeneratorProvider;
 import me.ahoo.cosid.spring.boot.starter.ConditionalOnCosIdEnabled;
 import me.ahoo.cosid.spring.boot.starter.machine.MachineProperties;
+import me.ahoo.cosid.util.MillisecondClock;
 
+import com.google.common.base.Preconditions;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -59,28 +62,46 @@ public class CosIdGeneratorAutoConfiguration {
         int machineId =
             machineIdDistributor.distribute(cosIdGeneratorProperties.getNamespace(), cosIdGeneratorProperties.getMachineBit(), instanceId, machineProperties.getSafeGuardDuration()).getMachineId();
         machineIdGuarder.register(cosIdGeneratorProperties.getNamespace(), instanceId);
+        MillisecondClock clock = MillisecondClock.of(cosIdGeneratorProperties.getClock());
+        ClockBackwardsSynchronizer generatorSynchronizer = generatorSynchronizer(clockBackwardsSynchronizer);
+        long maxLookaheadMillis = Math.max(cosIdGeneratorProperties.getMaxLookahead().toMillis(), generatorSynchronizer.getTolerance());
+        Preconditions.checkArgument(maxLookaheadMillis <= CosIdGeneratorProperties.MAX_LOOKAHEAD.toMillis(),
+            "maxLookahead:[%s] ms, including the clock backwards tolerance, can not be greater than [%s].", maxLookaheadMillis, CosIdGeneratorProperties.MAX_LOOKAHEAD);
         CosIdGenerator cosIdGenerator;
         switch (cosIdGeneratorProperties.getType()) {
             case RADIX62: {
                 cosIdGenerator =
                     new Radix62CosIdGenerator(cosIdGeneratorProperties.getTimestampBit(),
                         cosIdGeneratorProperties.getMachineBit(), cosIdGeneratorProperties.getSequenceBit(), machineId,
-                        cosIdGeneratorProperties.getSequenceResetThreshold());
+                        cosIdGeneratorProperties.getSequenceResetThreshold(), clock,
+                        maxLookaheadMillis);
                 break;
             }
             case RADIX36: {
                 cosIdGenerator =
                     new Radix36CosIdGenerator(cosIdGeneratorProperties.getTimestampBit(),
                         cosIdGeneratorProperties.getMachineBit(), cosIdGeneratorProperties.getSequenceBit(), machineId,
-                        cosIdGeneratorProperties.getSequenceResetThreshold());
+                        cosIdGeneratorProperties.getSequenceResetThreshold(), clock,
+                        maxLookaheadMillis);
                 break;
             }
             default:
                 throw new IllegalStateException("Unexpected value: " + cosIdGeneratorProperties.getType());
         }
         
-        CosIdGenerator clockSyncCosIdGenerator = new ClockSyncCosIdGenerator(cosIdGenerator, clockBackwardsSynchronizer);
+        CosIdGenerator clockSyncCosIdGenerator = new ClockSyncCosIdGenerator(cosIdGenerator, generatorSynchronizer);
         idGeneratorProvider.set(CosId.COSID, clockSyncCosIdGenerator);
         return clockSyncCosIdGenerator;
     }
+    
+    /**
+     * The machine ID distributors always wait for the clock, only the generators may tolerate a clock backwards.
+     */
+    private ClockBackwardsSynchronizer generatorSynchronizer(ClockBackwardsSynchronizer clockBackwardsSynchronizer) {
+        MachineProperties.ClockBackwards clockBackwards = machineProperties.getClockBackwards();
+        if (MachineProperties.ClockBackwards.Mode.LOGICAL.equals(clockBackwards.getMode())) {
+            return new LogicalClockBackwardsSynchronizer(clockBackwards.getTolerance());
+        }
+        return clockBackwardsSynchronizer;
+    }
 }
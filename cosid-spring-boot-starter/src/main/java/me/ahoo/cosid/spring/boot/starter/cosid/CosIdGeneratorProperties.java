@@ -18,12 +18,20 @@ import static me.ahoo.cosid.spring.boot.starter.CosIdProperties.DEFAULT_NAMESPAC
 
 import me.ahoo.cosid.CosId;
 import me.ahoo.cosid.cosid.RadixCosIdGenerator;
+import me.ahoo.cosid.util.MillisecondClock;
 
+import com.google.common.base.Preconditions;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = CosIdGeneratorProperties.PREFIX)
 public class CosIdGeneratorProperties {
     public static final String PREFIX = CosId.COSID_PREFIX + "generator";
+    /**
+     * Upper bound of {@link #maxLookahead}, a restart reserves the whole lookahead so that borrowed timestamps are never reissued.
+     */
+    public static final Duration MAX_LOOKAHEAD = Duration.ofSeconds(10);
     private boolean enabled = false;
     private Type type = Type.RADIX62;
     private String namespace = DEFAULT_NAMESPACE;
@@ -31,6 +39,8 @@ public class CosIdGeneratorProperties {
     private int timestampBit = RadixCosIdGenerator.DEFAULT_TIMESTAMP_BIT;
     private int sequenceBit = RadixCosIdGenerator.DEFAULT_SEQUENCE_BIT;
     private int sequenceResetThreshold = RadixCosIdGenerator.DEFAULT_SEQUENCE_RESET_THRESHOLD;
+    private MillisecondClock.Type clock = MillisecondClock.Type.SYSTEM;
+    private Duration maxLookahead = Duration.ZERO;
     
     public boolean isEnabled() {
         return enabled;
@@ -88,6 +98,24 @@ public class CosIdGeneratorProperties {
         this.type = type;
     }
     
+    public MillisecondClock.Type getClock() {
+        return clock;
+    }
+    
+    public void setClock(MillisecondClock.Type clock) {
+        this.clock = clock;
+    }
+    
+    public Duration getMaxLookahead() {
+        return maxLookahead;
+    }
+    
+    public void setMaxLookahead(Duration maxLookahead) {
+        Preconditions.checkArgument(!maxLookahead.isNegative() && maxLookahead.compareTo(MAX_LOOKAHEAD) <= 0,
+            "maxLookahead:[%s] must be in [0, %s].", maxLookahead, MAX_LOOKAHEAD);
+        this.maxLookahead = maxLookahead;
+    }
+    
     public enum Type {
         RADIX62,
         RADIX36
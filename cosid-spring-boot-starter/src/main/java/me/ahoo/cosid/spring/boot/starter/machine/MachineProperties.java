@@ -17,6 +17,7 @@ import me.ahoo.cosid.CosId;
 import me.ahoo.cosid.machine.DefaultClockBackwardsSynchronizer;
 import me.ahoo.cosid.machine.DefaultMachineIdGuarder;
 import me.ahoo.cosid.machine.LocalMachineStateStorage;
+import me.ahoo.cosid.machine.LogicalClockBackwardsSynchronizer;
 import me.ahoo.cosid.machine.MachineIdDistributor;
 import me.ahoo.cosid.snowflake.MillisecondSnowflakeId;
 
@@ -278,6 +279,11 @@ public class MachineProperties {
         
         private int spinThreshold = DefaultClockBackwardsSynchronizer.DEFAULT_SPIN_THRESHOLD;
         private int brokenThreshold = DefaultClockBackwardsSynchronizer.DEFAULT_BROKEN_THRESHOLD;
+        private Mode mode = Mode.WAIT;
+        /**
+         * Used by {@link Mode#LOGICAL}, unit {@link java.util.concurrent.TimeUnit#MILLISECONDS}.
+         */
+        private int tolerance = LogicalClockBackwardsSynchronizer.DEFAULT_TOLERANCE;
         
         public int getSpinThreshold() {
             return spinThreshold;
@@ -294,5 +300,32 @@ public class MachineProperties {
         public void setBrokenThreshold(int brokenThreshold) {
             this.brokenThreshold = brokenThreshold;
         }
+        
+        public Mode getMode() {
+            return mode;
+        }
+        
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+        
+        public int getTolerance() {
+            return tolerance;
+        }
+        
+        public void setTolerance(int tolerance) {
+            this.tolerance = tolerance;
+        }
+        
+        public enum Mode {
+            /**
+             * The generators wait for the clock to catch up, see {@link DefaultClockBackwardsSynchronizer}.
+             */
+            WAIT,
+            /**
+             * The generators keep issuing IDs from their last timestamp within {@link #tolerance}, see {@link LogicalClockBackwardsSynchronizer}.
+             */
+            LOGICAL
+        }
     }
 }
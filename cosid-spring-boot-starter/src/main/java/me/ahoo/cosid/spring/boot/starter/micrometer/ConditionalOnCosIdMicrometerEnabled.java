@@ -0,0 +1,40 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.spring.boot.starter.micrometer;
+
+import me.ahoo.cosid.CosId;
+import me.ahoo.cosid.spring.boot.starter.EnabledSuffix;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Conditional On CosId Micrometer Enabled.
+ *
+ * @author ahoo wang
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@ConditionalOnProperty(value = ConditionalOnCosIdMicrometerEnabled.ENABLED_KEY, matchIfMissing = true, havingValue = "true")
+public @interface ConditionalOnCosIdMicrometerEnabled {
+    String ENABLED_KEY = CosId.COSID_PREFIX + "micrometer" + EnabledSuffix.KEY;
+    /**
+     * Opt-in, wrapping the {@link me.ahoo.cosid.segment.IdSegmentDistributorFactory} bean changes its type.
+     */
+    String DISTRIBUTOR_ENABLED_KEY = CosId.COSID_PREFIX + "micrometer.distributor" + EnabledSuffix.KEY;
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.spring.boot.starter.micrometer;
+
+import me.ahoo.cosid.machine.DefaultMachineIdGuarder;
+import me.ahoo.cosid.machine.MachineIdGuarder;
+import me.ahoo.cosid.micrometer.IdGeneratorProviderMetrics;
+import me.ahoo.cosid.micrometer.MachineIdGuarderMetrics;
+import me.ahoo.cosid.provider.IdGeneratorProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+/**
+ * CosId Metrics Binder.
+ * Binds the metrics after all singletons are instantiated, {@link IdGeneratorProviderMetrics} keeps listening to the {@link IdGeneratorProvider},
+ * so an {@link me.ahoo.cosid.IdGenerator} registered afterwards is metered as well.
+ *
+ * @author ahoo wang
+ */
+public class CosIdMetricsBinder implements SmartInitializingSingleton {
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final IdGeneratorProvider idGeneratorProvider;
+    private final ObjectProvider<MachineIdGuarder> machineIdGuarderProvider;
+    
+    public CosIdMetricsBinder(ObjectProvider<MeterRegistry> meterRegistryProvider,
+                              IdGeneratorProvider idGeneratorProvider,
+                              ObjectProvider<MachineIdGuarder> machineIdGuarderProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+        this.idGeneratorProvider = idGeneratorProvider;
+        this.machineIdGuarderProvider = machineIdGuarderProvider;
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfUnique();
+        if (meterRegistry == null) {
+            return;
+        }
+        new IdGeneratorProviderMetrics(idGeneratorProvider).bindTo(meterRegistry);
+        MachineIdGuarder machineIdGuarder = machineIdGuarderProvider.getIfUnique();
+        if (machineIdGuarder instanceof DefaultMachineIdGuarder) {
+            new MachineIdGuarderMetrics((DefaultMachineIdGuarder) machineIdGuarder).bindTo(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.spring.boot.starter.micrometer;
+
+import me.ahoo.cosid.machine.MachineIdGuarder;
+import me.ahoo.cosid.micrometer.IdGeneratorProviderMetrics;
+import me.ahoo.cosid.provider.IdGeneratorProvider;
+import me.ahoo.cosid.spring.boot.starter.ConditionalOnCosIdEnabled;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * CosId Micrometer AutoConfiguration.
+ *
+ * @author ahoo wang
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnCosIdEnabled
+@ConditionalOnCosIdMicrometerEnabled
+@ConditionalOnClass({MeterRegistry.class, IdGeneratorProviderMetrics.class})
+public class CosIdMicrometerAutoConfiguration {
+    
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(value = ConditionalOnCosIdMicrometerEnabled.DISTRIBUTOR_ENABLED_KEY, havingValue = "true")
+    public static MeteredIdSegmentDistributorFactoryPostProcessor meteredIdSegmentDistributorFactoryPostProcessor(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new MeteredIdSegmentDistributorFactoryPostProcessor(meterRegistryProvider);
+    }
+    
+    @Bean
+    @ConditionalOnMissingBean
+    public CosIdMetricsBinder cosIdMetricsBinder(ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                                 IdGeneratorProvider idGeneratorProvider,
+                                                 ObjectProvider<MachineIdGuarder> machineIdGuarderProvider) {
+        return new CosIdMetricsBinder(meterRegistryProvider, idGeneratorProvider, machineIdGuarderProvider);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.spring.boot.starter.micrometer;
+
+import me.ahoo.cosid.micrometer.MeteredIdSegmentDistributorFactory;
+import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Wraps every {@link IdSegmentDistributorFactory} into {@link MeteredIdSegmentDistributorFactory}.
+ * The bean is no longer an instance of its original type, so it is only registered when
+ * {@link ConditionalOnCosIdMicrometerEnabled#DISTRIBUTOR_ENABLED_KEY} is {@code true}.
+ *
+ * @author ahoo wang
+ */
+public class MeteredIdSegmentDistributorFactoryPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    
+    public MeteredIdSegmentDistributorFactoryPostProcessor(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof IdSegmentDistributorFactory) || bean instanceof MeteredIdSegmentDistributorFactory) {
+            return bean;
+        }
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfUnique();
+        if (meterRegistry == null) {
+            return bean;
+        }
+        return new MeteredIdSegmentDistributorFactory((IdSegmentDistributorFactory) bean, meterRegistry);
+    }
+}
@@ -13,6 +13,7 @@
 
 package me.ahoo.cosid.spring.boot.starter.segment;
 
+import me.ahoo.cosid.jdbc.JdbcIdSegmentBatchCoordinator;
 import me.ahoo.cosid.jdbc.JdbcIdSegmentDistributorFactory;
 import me.ahoo.cosid.jdbc.JdbcIdSegmentInitializer;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
@@ -59,7 +60,14 @@ public class CosIdJdbcSegmentAutoConfiguration {
     @ConditionalOnMissingBean
     public IdSegmentDistributorFactory idSegmentDistributorFactory(DataSource dataSource, JdbcIdSegmentInitializer jdbcIdSegmentInitializer) {
         SegmentIdProperties.Distributor.Jdbc jdbc = segmentIdProperties.getDistributor().getJdbc();
-        return new JdbcIdSegmentDistributorFactory(dataSource, jdbc.isEnableAutoInitIdSegment(), jdbcIdSegmentInitializer, jdbc.getIncrementMaxIdSql(), jdbc.getFetchMaxIdSql());
+        JdbcIdSegmentBatchCoordinator batchCoordinator = null;
+        if (jdbc.isEnableBatch()) {
+            String incrementMaxIdSql = jdbc.isEnableReturning() ? jdbc.getIncrementMaxIdReturningSql() : jdbc.getIncrementMaxIdSql();
+            batchCoordinator = new JdbcIdSegmentBatchCoordinator(dataSource, incrementMaxIdSql, jdbc.getFetchMaxIdsSql(), jdbc.isEnableReturning(),
+                JdbcIdSegmentBatchCoordinator.DEFAULT_MAX_BATCH_SIZE);
+        }
+        return new JdbcIdSegmentDistributorFactory(dataSource, jdbc.isEnableAutoInitIdSegment(), jdbcIdSegmentInitializer, jdbc.getIncrementMaxIdSql(), jdbc.getFetchMaxIdSql(),
+            batchCoordinator);
     }
 
 }
@@ -13,10 +13,12 @@
 
 package me.ahoo.cosid.spring.boot.starter.segment;
 
+import me.ahoo.cosid.proxy.ProxyBatchClient;
 import me.ahoo.cosid.proxy.ProxyIdSegmentDistributorFactory;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
 import me.ahoo.cosid.spring.boot.starter.ConditionalOnCosIdEnabled;
 import me.ahoo.cosid.spring.boot.starter.CosIdProperties;
+import me.ahoo.cosid.spring.boot.starter.ProxyProperties;
 
 import okhttp3.OkHttpClient;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -52,7 +54,9 @@ public class CosIdProxySegmentAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public IdSegmentDistributorFactory idSegmentDistributorFactory(OkHttpClient httpClient) {
-        return new ProxyIdSegmentDistributorFactory(httpClient, cosIdProperties.getProxy().getHost());
+        ProxyProperties proxyProperties = cosIdProperties.getProxy();
+        ProxyBatchClient batchClient = proxyProperties.isBatch() ? new ProxyBatchClient(httpClient, proxyProperties.getHost()) : null;
+        return new ProxyIdSegmentDistributorFactory(httpClient, proxyProperties.getHost(), batchClient);
     }
     
 }
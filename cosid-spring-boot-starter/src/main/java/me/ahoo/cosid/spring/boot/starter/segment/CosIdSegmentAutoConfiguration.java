@@ -19,10 +19,13 @@ import me.ahoo.cosid.converter.Radix62IdConverter;
 import me.ahoo.cosid.converter.SuffixIdConverter;
 import me.ahoo.cosid.converter.ToStringIdConverter;
 import me.ahoo.cosid.provider.IdGeneratorProvider;
+import me.ahoo.cosid.segment.AdaptiveIdSegmentDistributor;
 import me.ahoo.cosid.segment.DefaultSegmentId;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
+import me.ahoo.cosid.segment.LocalSegmentJournal;
+import me.ahoo.cosid.segment.RingSegmentChainId;
 import me.ahoo.cosid.segment.SegmentChainId;
 import me.ahoo.cosid.segment.SegmentId;
 import me.ahoo.cosid.segment.StringSegmentId;
@@ -74,18 +77,25 @@ public class CosIdSegmentAutoConfiguration {
         return new CosIdLifecyclePrefetchWorkerExecutorService(prefetchWorkerExecutorService);
     }
     
+    @Bean
+    @ConditionalOnMissingBean
+    public CosIdSegmentJournalRegistry segmentJournalRegistry() {
+        return new CosIdSegmentJournalRegistry();
+    }
+    
     private IdSegmentDistributorDefinition asDistributorDefinition(String name, SegmentIdProperties.IdDefinition idDefinition) {
         return new IdSegmentDistributorDefinition(cosIdProperties.getNamespace(), name, idDefinition.getOffset(), idDefinition.getStep());
     }
     
     @Bean
     @ConditionalOnMissingBean
-    public SegmentId shareSegmentId(IdSegmentDistributorFactory distributorFactory, IdGeneratorProvider idGeneratorProvider, PrefetchWorkerExecutorService prefetchWorkerExecutorService) {
+    public SegmentId shareSegmentId(IdSegmentDistributorFactory distributorFactory, IdGeneratorProvider idGeneratorProvider, PrefetchWorkerExecutorService prefetchWorkerExecutorService,
+                                    CosIdSegmentJournalRegistry segmentJournalRegistry) {
         SegmentIdProperties.IdDefinition shareIdDefinition = segmentIdProperties.getShare();
         IdSegmentDistributorDefinition shareDistributorDefinition = asDistributorDefinition(IdGeneratorProvider.SHARE, shareIdDefinition);
-        IdSegmentDistributor shareIdSegmentDistributor = distributorFactory.create(shareDistributorDefinition);
+        IdSegmentDistributor shareIdSegmentDistributor = adaptive(shareIdDefinition, distributorFactory.create(shareDistributorDefinition));
         
-        SegmentId shareIdGen = createSegment(segmentIdProperties, shareIdDefinition, shareIdSegmentDistributor, prefetchWorkerExecutorService);
+        SegmentId shareIdGen = createSegment(segmentIdProperties, shareIdDefinition, shareIdSegmentDistributor, prefetchWorkerExecutorService, segmentJournalRegistry);
         
         if (Objects.isNull(idGeneratorProvider.getShare())) {
             idGeneratorProvider.setShare(shareIdGen);
@@ -97,17 +107,26 @@ public class CosIdSegmentAutoConfiguration {
         
         segmentIdProperties.getProvider().forEach((name, idDefinition) -> {
             IdSegmentDistributorDefinition distributorDefinition = asDistributorDefinition(name, idDefinition);
-            IdSegmentDistributor idSegmentDistributor = distributorFactory.create(distributorDefinition);
-            SegmentId idGenerator = createSegment(segmentIdProperties, idDefinition, idSegmentDistributor, prefetchWorkerExecutorService);
+            IdSegmentDistributor idSegmentDistributor = adaptive(idDefinition, distributorFactory.create(distributorDefinition));
+            SegmentId idGenerator = createSegment(segmentIdProperties, idDefinition, idSegmentDistributor, prefetchWorkerExecutorService, segmentJournalRegistry);
             idGeneratorProvider.set(name, idGenerator);
         });
         
         return shareIdGen;
     }
     
+    private static IdSegmentDistributor adaptive(SegmentIdProperties.IdDefinition idDefinition, IdSegmentDistributor idSegmentDistributor) {
+        SegmentIdProperties.Adaptive adaptive = idDefinition.getAdaptive();
+        if (adaptive == null || !adaptive.isEnabled()) {
+            return idSegmentDistributor;
+        }
+        long minStep = idDefinition.getStep();
+        long maxStep = MoreObjects.firstNonNull(adaptive.getMaxStep(), Math.multiplyExact(minStep, AdaptiveIdSegmentDistributor.DEFAULT_MAX_STEP_MULTIPLIER));
+        return new AdaptiveIdSegmentDistributor(idSegmentDistributor, minStep, maxStep, adaptive.getFetchInterval());
+    }
     
     private static SegmentId createSegment(SegmentIdProperties segmentIdProperties, SegmentIdProperties.IdDefinition idDefinition, IdSegmentDistributor idSegmentDistributor,
-                                           PrefetchWorkerExecutorService prefetchWorkerExecutorService) {
+                                           PrefetchWorkerExecutorService prefetchWorkerExecutorService, CosIdSegmentJournalRegistry segmentJournalRegistry) {
         long ttl = MoreObjects.firstNonNull(idDefinition.getTtl(), segmentIdProperties.getTtl());
         SegmentIdProperties.Mode mode = MoreObjects.firstNonNull(idDefinition.getMode(), segmentIdProperties.getMode());
         
@@ -116,7 +135,16 @@ public class CosIdSegmentAutoConfiguration {
             segmentId = new DefaultSegmentId(ttl, idSegmentDistributor);
         } else {
             SegmentIdProperties.Chain chain = MoreObjects.firstNonNull(idDefinition.getChain(), segmentIdProperties.getChain());
-            segmentId = new SegmentChainId(ttl, chain.getSafeDistance(), idSegmentDistributor, prefetchWorkerExecutorService);
+            LocalSegmentJournal journal = null;
+            if (chain.getJournal() != null && chain.getJournal().isEnabled()) {
+                journal = segmentJournalRegistry.open(chain.getJournal().getLocation(), idSegmentDistributor.getNamespacedName());
+            }
+            SegmentChainId segmentChainId = new SegmentChainId(ttl, chain.getSafeDistance(), idSegmentDistributor, prefetchWorkerExecutorService, journal);
+            if (chain.getRing() != null && chain.getRing().isEnabled()) {
+                segmentId = new RingSegmentChainId(segmentChainId, chain.getRing().getCapacity(), prefetchWorkerExecutorService);
+            } else {
+                segmentId = segmentChainId;
+            }
         }
         
         IdConverterDefinition converterDefinition = idDefinition.getConverter();
@@ -0,0 +1,57 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.spring.boot.starter.segment;
+
+import me.ahoo.cosid.segment.LocalSegmentJournal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * CosId Segment Journal Registry.
+ * Closes the opened {@link LocalSegmentJournal}s on destroy, which runs after all lifecycles (including {@link CosIdLifecyclePrefetchWorkerExecutorService}) are stopped
+ * and after the segment ID beans depending on it are destroyed, so that the next start resumes from the exact consumed watermark.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class CosIdSegmentJournalRegistry implements DisposableBean {
+    private final CopyOnWriteArrayList<LocalSegmentJournal> journals = new CopyOnWriteArrayList<>();
+    
+    public LocalSegmentJournal open(String location, String name) {
+        LocalSegmentJournal journal = LocalSegmentJournal.open(location, name);
+        journals.add(journal);
+        return journal;
+    }
+    
+    public CopyOnWriteArrayList<LocalSegmentJournal> getJournals() {
+        return journals;
+    }
+    
+    @Override
+    public void destroy() {
+        for (LocalSegmentJournal journal : journals) {
+            try {
+                journal.close();
+            } catch (Throwable throwable) {
+                if (log.isErrorEnabled()) {
+                    log.error("Close journal failed:[{}]!", throwable.getMessage(), throwable);
+                }
+            }
+        }
+        journals.clear();
+    }
+}
@@ -16,9 +16,13 @@ package me.ahoo.cosid.spring.boot.starter.segment;
 import static me.ahoo.cosid.segment.IdSegment.TIME_TO_LIVE_FOREVER;
 
 import me.ahoo.cosid.CosId;
+import me.ahoo.cosid.jdbc.JdbcIdSegmentBatchCoordinator;
 import me.ahoo.cosid.jdbc.JdbcIdSegmentDistributor;
 import me.ahoo.cosid.jdbc.JdbcIdSegmentInitializer;
+import me.ahoo.cosid.segment.AdaptiveIdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.LocalSegmentJournal;
+import me.ahoo.cosid.segment.RingSegmentChainId;
 import me.ahoo.cosid.segment.SegmentChainId;
 import me.ahoo.cosid.segment.concurrent.PrefetchWorkerExecutorService;
 import me.ahoo.cosid.spring.boot.starter.IdConverterDefinition;
@@ -122,12 +126,50 @@ public class SegmentIdProperties {
         CHAIN
     }
     
+    public static class Adaptive {
+        private boolean enabled = false;
+        /**
+         * The upper bound of the adaptive step, defaults to {@code step * AdaptiveIdSegmentDistributor.DEFAULT_MAX_STEP_MULTIPLIER}.
+         * The lower bound is {@link IdDefinition#getStep()}.
+         */
+        private Long maxStep;
+        private Duration fetchInterval = AdaptiveIdSegmentDistributor.DEFAULT_FETCH_INTERVAL;
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public Long getMaxStep() {
+            return maxStep;
+        }
+        
+        public void setMaxStep(Long maxStep) {
+            this.maxStep = maxStep;
+        }
+        
+        public Duration getFetchInterval() {
+            return fetchInterval;
+        }
+        
+        public void setFetchInterval(Duration fetchInterval) {
+            this.fetchInterval = fetchInterval;
+        }
+    }
+    
     public static class Chain {
         private int safeDistance = SegmentChainId.DEFAULT_SAFE_DISTANCE;
         private PrefetchWorker prefetchWorker;
+        private Journal journal;
+        private Ring ring;
         
         public Chain() {
             prefetchWorker = new PrefetchWorker();
+            journal = new Journal();
+            ring = new Ring();
         }
         
         public int getSafeDistance() {
@@ -146,6 +188,70 @@ public class SegmentIdProperties {
             this.prefetchWorker = prefetchWorker;
         }
         
+        public Journal getJournal() {
+            return journal;
+        }
+        
+        public void setJournal(Journal journal) {
+            this.journal = journal;
+        }
+        
+        public Ring getRing() {
+            return ring;
+        }
+        
+        public void setRing(Ring ring) {
+            this.ring = ring;
+        }
+        
+        /**
+         * Ring pre-generation, see {@link RingSegmentChainId}.
+         */
+        public static class Ring {
+            private boolean enabled = false;
+            private int capacity = RingSegmentChainId.DEFAULT_CAPACITY;
+            
+            public boolean isEnabled() {
+                return enabled;
+            }
+            
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+            
+            public int getCapacity() {
+                return capacity;
+            }
+            
+            public void setCapacity(int capacity) {
+                this.capacity = capacity;
+            }
+        }
+        
+        /**
+         * Local segment journal, see {@link LocalSegmentJournal}.
+         */
+        public static class Journal {
+            private boolean enabled = false;
+            private String location = LocalSegmentJournal.DEFAULT_JOURNAL_LOCATION_PATH;
+            
+            public boolean isEnabled() {
+                return enabled;
+            }
+            
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+            
+            public String getLocation() {
+                return location;
+            }
+            
+            public void setLocation(String location) {
+                this.location = location;
+            }
+        }
+        
         public static class PrefetchWorker {
             
             private Duration prefetchPeriod = PrefetchWorkerExecutorService.DEFAULT_PREFETCH_PERIOD;
@@ -234,6 +340,16 @@ public class SegmentIdProperties {
             private String initCosidTableSql = JdbcIdSegmentInitializer.INIT_COSID_TABLE_SQL;
             private boolean enableAutoInitIdSegment = true;
             private String initIdSegmentSql = JdbcIdSegmentInitializer.INIT_ID_SEGMENT_SQL;
+            /**
+             * Coalesce the segment fetches of all namespaces into shared transactions.
+             */
+            private boolean enableBatch = false;
+            private String fetchMaxIdsSql = JdbcIdSegmentBatchCoordinator.FETCH_MAX_IDS_SQL;
+            /**
+             * Use the multi-row {@link #incrementMaxIdReturningSql} in batch mode, so that each batch needs one statement instead of two.
+             */
+            private boolean enableReturning = false;
+            private String incrementMaxIdReturningSql = JdbcIdSegmentBatchCoordinator.INCREMENT_MAX_IDS_RETURNING_SQL;
             
             public String getIncrementMaxIdSql() {
                 return incrementMaxIdSql;
@@ -283,6 +399,38 @@ public class SegmentIdProperties {
                 this.initIdSegmentSql = initIdSegmentSql;
             }
             
+            public boolean isEnableBatch() {
+                return enableBatch;
+            }
+            
+            public void setEnableBatch(boolean enableBatch) {
+                this.enableBatch = enableBatch;
+            }
+            
+            public String getFetchMaxIdsSql() {
+                return fetchMaxIdsSql;
+            }
+            
+            public void setFetchMaxIdsSql(String fetchMaxIdsSql) {
+                this.fetchMaxIdsSql = fetchMaxIdsSql;
+            }
+            
+            public boolean isEnableReturning() {
+                return enableReturning;
+            }
+            
+            public void setEnableReturning(boolean enableReturning) {
+                this.enableReturning = enableReturning;
+            }
+            
+            public String getIncrementMaxIdReturningSql() {
+                return incrementMaxIdReturningSql;
+            }
+            
+            public void setIncrementMaxIdReturningSql(String incrementMaxIdReturningSql) {
+                this.incrementMaxIdReturningSql = incrementMaxIdReturningSql;
+            }
+            
         }
         
         public enum Type {
@@ -304,6 +452,7 @@ public class SegmentIdProperties {
          */
         private Long ttl;
         private Chain chain;
+        private Adaptive adaptive = new Adaptive();
         @NestedConfigurationProperty
         private IdConverterDefinition converter = new IdConverterDefinition();
         
@@ -347,6 +496,14 @@ public class SegmentIdProperties {
             this.chain = chain;
         }
         
+        public Adaptive getAdaptive() {
+            return adaptive;
+        }
+        
+        public void setAdaptive(Adaptive adaptive) {
+            this.adaptive = adaptive;
+        }
+        
         public IdConverterDefinition getConverter() {
             return converter;
         }
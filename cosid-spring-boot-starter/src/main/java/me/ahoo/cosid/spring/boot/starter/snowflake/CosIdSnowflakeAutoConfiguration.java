@@ -22,6 +22,7 @@ import me.ahoo.cosid.converter.SuffixIdConverter;
 import me.ahoo.cosid.converter.ToStringIdConverter;
 import me.ahoo.cosid.provider.IdGeneratorProvider;
 import me.ahoo.cosid.machine.ClockBackwardsSynchronizer;
+import me.ahoo.cosid.machine.LogicalClockBackwardsSynchronizer;
 import me.ahoo.cosid.snowflake.ClockSyncSnowflakeId;
 import me.ahoo.cosid.snowflake.DefaultSnowflakeFriendlyId;
 import me.ahoo.cosid.snowflake.MillisecondSnowflakeId;
@@ -36,7 +37,9 @@ import me.ahoo.cosid.spring.boot.starter.ConditionalOnCosIdEnabled;
 import me.ahoo.cosid.spring.boot.starter.CosIdProperties;
 import me.ahoo.cosid.spring.boot.starter.IdConverterDefinition;
 import me.ahoo.cosid.spring.boot.starter.machine.MachineProperties;
+import me.ahoo.cosid.util.MillisecondClock;
 
+import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -47,6 +50,7 @@ import org.springframework.context.annotation.Primary;
 
 import java.time.ZoneId;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * CosId Snowflake AutoConfiguration.
@@ -71,30 +75,47 @@ public class CosIdSnowflakeAutoConfiguration {
     @ConditionalOnMissingBean
     public SnowflakeId shareSnowflakeId(final MachineId machineId, IdGeneratorProvider idGeneratorProvider,
                                         ClockBackwardsSynchronizer clockBackwardsSynchronizer) {
+        ClockBackwardsSynchronizer generatorSynchronizer = generatorSynchronizer(clockBackwardsSynchronizer);
         SnowflakeIdProperties.IdDefinition shareIdDefinition = snowflakeIdProperties.getShare();
-        SnowflakeId shareIdGen = createIdGen(machineId, shareIdDefinition, clockBackwardsSynchronizer);
+        SnowflakeId shareIdGen = createIdGen(machineId, shareIdDefinition, generatorSynchronizer);
         idGeneratorProvider.setShare(shareIdGen);
         if (snowflakeIdProperties.getProvider().isEmpty()) {
             return shareIdGen;
         }
         snowflakeIdProperties.getProvider().forEach((name, idDefinition) -> {
-            IdGenerator idGenerator = createIdGen(machineId, idDefinition, clockBackwardsSynchronizer);
+            IdGenerator idGenerator = createIdGen(machineId, idDefinition, generatorSynchronizer);
             idGeneratorProvider.set(name, idGenerator);
         });
         
         return shareIdGen;
     }
     
+    /**
+     * The machine ID distributors always wait for the clock, only the generators may tolerate a clock backwards.
+     */
+    private ClockBackwardsSynchronizer generatorSynchronizer(ClockBackwardsSynchronizer clockBackwardsSynchronizer) {
+        MachineProperties.ClockBackwards clockBackwards = machineProperties.getClockBackwards();
+        if (MachineProperties.ClockBackwards.Mode.LOGICAL.equals(clockBackwards.getMode())) {
+            return new LogicalClockBackwardsSynchronizer(clockBackwards.getTolerance());
+        }
+        return clockBackwardsSynchronizer;
+    }
+    
     private SnowflakeId createIdGen(final MachineId machineId, SnowflakeIdProperties.IdDefinition idDefinition,
                                     ClockBackwardsSynchronizer clockBackwardsSynchronizer) {
         long epoch = getEpoch(idDefinition);
         int machineBit = machineProperties.getMachineBit();
+        long maxLookaheadMillis = Math.max(idDefinition.getMaxLookahead().toMillis(), clockBackwardsSynchronizer.getTolerance());
+        Preconditions.checkArgument(maxLookaheadMillis <= SnowflakeIdProperties.IdDefinition.MAX_LOOKAHEAD.toMillis(),
+            "maxLookahead:[%s] ms, including the clock backwards tolerance, can not be greater than [%s].", maxLookaheadMillis, SnowflakeIdProperties.IdDefinition.MAX_LOOKAHEAD);
         SnowflakeId snowflakeId;
         if (SnowflakeIdProperties.IdDefinition.TimestampUnit.SECOND.equals(idDefinition.getTimestampUnit())) {
-            snowflakeId = new SecondSnowflakeId(epoch, idDefinition.getTimestampBit(), machineBit, idDefinition.getSequenceBit(), machineId.getMachineId(), idDefinition.getSequenceResetThreshold());
+            snowflakeId = new SecondSnowflakeId(epoch, idDefinition.getTimestampBit(), machineBit, idDefinition.getSequenceBit(), machineId.getMachineId(), idDefinition.getSequenceResetThreshold(),
+                TimeUnit.MILLISECONDS.toSeconds(maxLookaheadMillis + TimeUnit.SECONDS.toMillis(1) - 1));
         } else {
             snowflakeId =
-                new MillisecondSnowflakeId(epoch, idDefinition.getTimestampBit(), machineBit, idDefinition.getSequenceBit(), machineId.getMachineId(), idDefinition.getSequenceResetThreshold());
+                new MillisecondSnowflakeId(epoch, idDefinition.getTimestampBit(), machineBit, idDefinition.getSequenceBit(), machineId.getMachineId(), idDefinition.getSequenceResetThreshold(),
+                    MillisecondClock.of(idDefinition.getClock()), maxLookaheadMillis);
         }
         if (idDefinition.isClockSync()) {
             snowflakeId = new ClockSyncSnowflakeId(snowflakeId, clockBackwardsSynchronizer);
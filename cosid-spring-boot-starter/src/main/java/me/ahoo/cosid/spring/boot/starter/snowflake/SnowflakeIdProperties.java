@@ -19,7 +19,9 @@ import me.ahoo.cosid.snowflake.MillisecondSnowflakeId;
 import me.ahoo.cosid.machine.DefaultMachineIdGuarder;
 import me.ahoo.cosid.machine.LocalMachineStateStorage;
 import me.ahoo.cosid.spring.boot.starter.IdConverterDefinition;
+import me.ahoo.cosid.util.MillisecondClock;
 
+import com.google.common.base.Preconditions;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
@@ -91,6 +93,10 @@ public class SnowflakeIdProperties {
     }
     
     public static class IdDefinition {
+        /**
+         * Upper bound of {@link #maxLookahead}, a restart reserves the whole lookahead so that borrowed timestamps are never reissued.
+         */
+        public static final Duration MAX_LOOKAHEAD = Duration.ofSeconds(10);
         private boolean clockSync = true;
         private boolean friendly = true;
         private TimestampUnit timestampUnit = TimestampUnit.MILLISECOND;
@@ -98,6 +104,14 @@ public class SnowflakeIdProperties {
         private int timestampBit = MillisecondSnowflakeId.DEFAULT_TIMESTAMP_BIT;
         private int sequenceBit = MillisecondSnowflakeId.DEFAULT_SEQUENCE_BIT;
         private long sequenceResetThreshold = MillisecondSnowflakeId.DEFAULT_SEQUENCE_RESET_THRESHOLD;
+        /**
+         * Time source of {@link TimestampUnit#MILLISECOND}.
+         */
+        private MillisecondClock.Type clock = MillisecondClock.Type.SYSTEM;
+        /**
+         * How far the timestamp may be borrowed ahead of the clock once the sequence is exhausted, {@link Duration#ZERO} spins instead.
+         */
+        private Duration maxLookahead = Duration.ZERO;
         @NestedConfigurationProperty
         private IdConverterDefinition converter = new IdConverterDefinition();
         
@@ -157,6 +171,24 @@ public class SnowflakeIdProperties {
             this.sequenceResetThreshold = sequenceResetThreshold;
         }
         
+        public MillisecondClock.Type getClock() {
+            return clock;
+        }
+        
+        public void setClock(MillisecondClock.Type clock) {
+            this.clock = clock;
+        }
+        
+        public Duration getMaxLookahead() {
+            return maxLookahead;
+        }
+        
+        public void setMaxLookahead(Duration maxLookahead) {
+            Preconditions.checkArgument(!maxLookahead.isNegative() && maxLookahead.compareTo(MAX_LOOKAHEAD) <= 0,
+                "maxLookahead:[%s] must be in [0, %s].", maxLookahead, MAX_LOOKAHEAD);
+            this.maxLookahead = maxLookahead;
+        }
+        
         public IdConverterDefinition getConverter() {
             return converter;
         }
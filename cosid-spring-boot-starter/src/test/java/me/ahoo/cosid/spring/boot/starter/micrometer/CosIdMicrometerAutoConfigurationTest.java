@@ -0,0 +1,94 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.spring.boot.starter.micrometer;
+
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+import me.ahoo.cosid.micrometer.IdGeneratorProviderMetrics;
+import me.ahoo.cosid.micrometer.MeteredIdSegmentDistributor;
+import me.ahoo.cosid.micrometer.MeteredIdSegmentDistributorFactory;
+import me.ahoo.cosid.micrometer.SegmentChainIdMetrics;
+import me.ahoo.cosid.provider.IdGeneratorProvider;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
+import me.ahoo.cosid.spring.boot.starter.CosIdAutoConfiguration;
+import me.ahoo.cosid.spring.boot.starter.segment.ConditionalOnCosIdSegmentEnabled;
+import me.ahoo.cosid.spring.boot.starter.segment.CosIdSegmentAutoConfiguration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+/**
+ * CosIdMicrometerAutoConfigurationTest .
+ *
+ * @author ahoo wang
+ */
+class CosIdMicrometerAutoConfigurationTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner();
+    
+    @Test
+    void contextLoads() {
+        this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(ConditionalOnCosIdMicrometerEnabled.DISTRIBUTOR_ENABLED_KEY + "=true")
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withBean(IdSegmentDistributorFactory.class, () -> definition -> new IdSegmentDistributor.Atomic(definition.getStep()))
+            .withUserConfiguration(CosIdAutoConfiguration.class, CosIdSegmentAutoConfiguration.class, CosIdMicrometerAutoConfiguration.class)
+            .run(context -> {
+                assertThat(context)
+                    .hasSingleBean(CosIdMicrometerAutoConfiguration.class)
+                    .hasSingleBean(MeteredIdSegmentDistributorFactoryPostProcessor.class)
+                    .hasSingleBean(CosIdMetricsBinder.class)
+                    .getBean(IdSegmentDistributorFactory.class)
+                    .isInstanceOf(MeteredIdSegmentDistributorFactory.class);
+                
+                MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+                assertThat(meterRegistry.find(MeteredIdSegmentDistributor.FETCH).timer()).isNotNull();
+                assertThat(meterRegistry.find(SegmentChainIdMetrics.HUNGER)
+                    .tag(IdGeneratorProviderMetrics.TAG_GENERATOR, IdGeneratorProvider.SHARE)
+                    .functionCounter()).isNotNull();
+            });
+    }
+    
+    @Test
+    void contextLoadsWhenDistributorNotEnabled() {
+        this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withBean(IdSegmentDistributorFactory.class, () -> definition -> new IdSegmentDistributor.Atomic(definition.getStep()))
+            .withUserConfiguration(CosIdAutoConfiguration.class, CosIdSegmentAutoConfiguration.class, CosIdMicrometerAutoConfiguration.class)
+            .run(context -> {
+                assertThat(context)
+                    .hasSingleBean(CosIdMetricsBinder.class)
+                    .doesNotHaveBean(MeteredIdSegmentDistributorFactoryPostProcessor.class)
+                    .getBean(IdSegmentDistributorFactory.class)
+                    .isNotInstanceOf(MeteredIdSegmentDistributorFactory.class);
+            });
+    }
+    
+    @Test
+    void contextLoadsWhenDisabled() {
+        this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdMicrometerEnabled.ENABLED_KEY + "=false")
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withUserConfiguration(CosIdAutoConfiguration.class, CosIdMicrometerAutoConfiguration.class)
+            .run(context -> {
+                assertThat(context)
+                    .doesNotHaveBean(CosIdMicrometerAutoConfiguration.class)
+                    .doesNotHaveBean(CosIdMetricsBinder.class);
+            });
+    }
+}
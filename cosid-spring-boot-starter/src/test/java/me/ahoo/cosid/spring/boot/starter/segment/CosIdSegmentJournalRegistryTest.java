@@ -0,0 +1,74 @@
+package me.ahoo.cosid.spring.boot.starter.segment;
+
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+import me.ahoo.cosid.segment.SegmentId;
+import me.ahoo.cosid.segment.concurrent.PrefetchWorkerExecutorService;
+import me.ahoo.cosid.spring.boot.starter.CosIdAutoConfiguration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+/**
+package me.ahoo.cosid.spring.boot.starter.segment;
+
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
+import me.ahoo.cosid.segment.SegmentId;
+import me.ahoo.cosid.spring.boot.starter.CosIdAutoConfiguration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CosIdSegmentJournalRegistryTest .
+ *
+ * @author ahoo wang
+ */
+class CosIdSegmentJournalRegistryTest {
+    private static final IdSegmentDistributor DISTRIBUTOR = new IdSegmentDistributor.Atomic(10);
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner();
+    @TempDir
+    Path journalLocation;
+    
+    @Test
+    void resumeWhenCleanRestart() {
+        AtomicLong lastId = new AtomicLong();
+        ApplicationContextRunner journalContextRunner = this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(SegmentIdProperties.PREFIX + ".chain.journal.enabled=true")
+            .withPropertyValues(SegmentIdProperties.PREFIX + ".chain.journal.location=" + journalLocation.toString())
+            .withUserConfiguration(CosIdAutoConfiguration.class, SharedDistributorConfiguration.class, CosIdSegmentAutoConfiguration.class);
+        
+        journalContextRunner.run(context -> {
+            assertThat(context).hasSingleBean(CosIdSegmentJournalRegistry.class);
+            SegmentId segmentId = context.getBean(SegmentId.class);
+            for (int i = 0; i < 25; i++) {
+                lastId.set(segmentId.generate());
+            }
+            assertEquals(1, context.getBean(CosIdSegmentJournalRegistry.class).getJournals().size());
+        });
+        
+        journalContextRunner.run(context -> {
+            assertEquals(lastId.get() + 1, context.getBean(SegmentId.class).generate());
+        });
+    }
+    
+    @Configuration
+    static class SharedDistributorConfiguration {
+        @Bean
+        public IdSegmentDistributorFactory idSegmentDistributorFactory() {
+            return definition -> DISTRIBUTOR;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import static me.ahoo.cosid.segment.IdSegment.TIME_TO_LIVE_FOREVER;
 
 import me.ahoo.cosid.jdbc.JdbcIdSegmentDistributor;
 import me.ahoo.cosid.jdbc.JdbcIdSegmentInitializer;
+import me.ahoo.cosid.segment.AdaptiveIdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 import me.ahoo.cosid.segment.SegmentChainId;
 import me.ahoo.cosid.segment.concurrent.PrefetchWorkerExecutorService;
@@ -421,5 +422,28 @@ class SegmentIdPropertiesTest {
             idDefinition.setConverter(converter);
             Assertions.assertEquals(converter, idDefinition.getConverter());
         }
+        
+        @Test
+        public void getAdaptive() {
+            SegmentIdProperties.IdDefinition idDefinition = new SegmentIdProperties.IdDefinition();
+            Assertions.assertNotNull(idDefinition.getAdaptive());
+            Assertions.assertFalse(idDefinition.getAdaptive().isEnabled());
+            Assertions.assertNull(idDefinition.getAdaptive().getMaxStep());
+            Assertions.assertEquals(AdaptiveIdSegmentDistributor.DEFAULT_FETCH_INTERVAL, idDefinition.getAdaptive().getFetchInterval());
+        }
+        
+        @Test
+        public void setAdaptive() {
+            SegmentIdProperties.Adaptive adaptive = new SegmentIdProperties.Adaptive();
+            adaptive.setEnabled(true);
+            adaptive.setMaxStep(1000L);
+            adaptive.setFetchInterval(Duration.ofSeconds(5));
+            SegmentIdProperties.IdDefinition idDefinition = new SegmentIdProperties.IdDefinition();
+            idDefinition.setAdaptive(adaptive);
+            Assertions.assertEquals(adaptive, idDefinition.getAdaptive());
+            Assertions.assertTrue(adaptive.isEnabled());
+            Assertions.assertEquals(1000L, adaptive.getMaxStep());
+            Assertions.assertEquals(Duration.ofSeconds(5), adaptive.getFetchInterval());
+        }
     }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.test.machine.distributor;
+
+import static me.ahoo.cosid.test.machine.distributor.MachineIdDistributorSpec.TEST_MACHINE_BIT;
+import static me.ahoo.cosid.test.machine.distributor.MachineIdDistributorSpec.mockInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.instanceOf;
+
+import me.ahoo.cosid.machine.InstanceId;
+import me.ahoo.cosid.machine.MachineIdDistributor;
+import me.ahoo.cosid.machine.NamespacedInstanceId;
+import me.ahoo.cosid.machine.NotFoundMachineStateException;
+import me.ahoo.cosid.test.MockIdGenerator;
+import me.ahoo.cosid.test.TestSpec;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * GuardAll .
+ *
+ * @author ahoo wang
+ */
+public class GuardAll implements TestSpec {
+    private final Supplier<MachineIdDistributor> implFactory;
+    
+    public GuardAll(Supplier<MachineIdDistributor> implFactory) {
+        this.implFactory = implFactory;
+    }
+    
+    @Override
+    public void verify() {
+        MachineIdDistributor distributor = implFactory.get();
+        String namespace = MockIdGenerator.usePrefix("GuardAll").generateAsString();
+        InstanceId instanceId0 = mockInstance(0, false);
+        InstanceId instanceId1 = mockInstance(1, false);
+        distributor.distribute(namespace, TEST_MACHINE_BIT, instanceId0, MachineIdDistributor.FOREVER_SAFE_GUARD_DURATION);
+        distributor.distribute(namespace, TEST_MACHINE_BIT, instanceId1, MachineIdDistributor.FOREVER_SAFE_GUARD_DURATION);
+        NamespacedInstanceId notFound = new NamespacedInstanceId(namespace, mockInstance(2, false));
+        
+        Map<NamespacedInstanceId, Throwable> failures = distributor.guardAll(Arrays.asList(
+            new NamespacedInstanceId(namespace, instanceId0),
+            new NamespacedInstanceId(namespace, instanceId1),
+            notFound
+        ), MachineIdDistributor.FOREVER_SAFE_GUARD_DURATION);
+        
+        assertThat(failures, aMapWithSize(1));
+        assertThat(failures.get(notFound), instanceOf(NotFoundMachineStateException.class));
+    }
+}
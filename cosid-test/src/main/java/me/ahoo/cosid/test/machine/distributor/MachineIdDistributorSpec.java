@@ -85,6 +85,16 @@ public abstract class MachineIdDistributorSpec {
         new GuardLost(this::getDistributor).verify();
     }
     
+    @Test
+    public void guardAll() {
+        new GuardAll(this::getDistributor).verify();
+    }
+    
+    @Test
+    public void guardAllLost() {
+        new GuardAllLost(this::getDistributor).verify();
+    }
+    
     @Test
     public void distributeStable() {
         new DistributeStable(this::getDistributor).verify();
@@ -19,6 +19,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 
+import me.ahoo.cosid.segment.AsyncIdSegmentDistributor;
 import me.ahoo.cosid.segment.DefaultSegmentId;
 import me.ahoo.cosid.segment.IdSegment;
 import me.ahoo.cosid.segment.IdSegmentChain;
@@ -31,6 +32,7 @@ import me.ahoo.cosid.test.Assert;
 import me.ahoo.cosid.test.ConcurrentGenerateSpec;
 import me.ahoo.cosid.test.MockIdGenerator;
 
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
@@ -209,6 +211,29 @@ public abstract class IdSegmentDistributorSpec {
         }
     }
     
+    @SuppressWarnings("unchecked")
+    @Test
+    public void nextMaxIdAsyncConcurrent() {
+        String namespace = MockIdGenerator.INSTANCE.generateAsString();
+        IdSegmentDistributorDefinition definition = new IdSegmentDistributorDefinition(namespace, "nextMaxIdAsyncConcurrent", TEST_OFFSET, TEST_STEP);
+        IdSegmentDistributor distributor = getFactory().create(definition);
+        Assumptions.assumeTrue(distributor instanceof AsyncIdSegmentDistributor);
+        AsyncIdSegmentDistributor asyncDistributor = (AsyncIdSegmentDistributor) distributor;
+        int concurrency = 20;
+        CompletableFuture<Long>[] results = new CompletableFuture[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            results[i] = asyncDistributor.nextMaxIdAsync(1).toCompletableFuture();
+        }
+        CompletableFuture.allOf(results).join();
+        Long[] maxIds = Arrays.stream(results).map(CompletableFuture::join).sorted().toArray(Long[]::new);
+        for (int i = 0; i < maxIds.length; i++) {
+            assertThat(maxIds[i], equalTo((long) (i + 1)));
+        }
+        
+        IdSegment nextIdSegment = asyncDistributor.nextIdSegmentAsync(TIME_TO_LIVE_FOREVER).toCompletableFuture().join();
+        assertThat(nextIdSegment.getMaxId(), equalTo(concurrency + TEST_STEP));
+    }
+    
     @Test
     public void generateConcurrent() {
         String namespace = MockIdGenerator.INSTANCE.generateAsString();
@@ -23,22 +23,28 @@ import me.ahoo.cosid.machine.MachineIdLostException;
 import me.ahoo.cosid.machine.MachineIdOverflowException;
 import me.ahoo.cosid.machine.MachineState;
 import me.ahoo.cosid.machine.MachineStateStorage;
+import me.ahoo.cosid.machine.NamespacedInstanceId;
 import me.ahoo.cosid.util.Exceptions;
 
 import com.google.common.base.Strings;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.curator.RetryPolicy;
 import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.api.transaction.CuratorOp;
 import org.apache.curator.framework.recipes.atomic.AtomicValue;
 import org.apache.curator.framework.recipes.atomic.DistributedAtomicInteger;
 import org.apache.curator.framework.recipes.atomic.PromotedToLock;
 import org.apache.curator.utils.ZKPaths;
 import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.OpResult;
 import org.apache.zookeeper.data.Stat;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
@@ -267,6 +273,66 @@ public class ZookeeperMachineIdDistributor extends AbstractMachineIdDistributor
         }
     }
     
+    /**
+     * Guard all instances with one multi-op transaction, so that a guard cycle costs one round trip.
+     * The transaction is atomic, so a lost instance is excluded and the rest are retried.
+     */
+    @Override
+    protected Map<NamespacedInstanceId, Throwable> guardAllRemote(Map<NamespacedInstanceId, MachineState> machineStates, Duration safeGuardDuration) {
+        if (log.isDebugEnabled()) {
+            log.debug("Guard All Remote - size:[{}].", machineStates.size());
+        }
+        Map<NamespacedInstanceId, Throwable> failures = new HashMap<>();
+        List<Map.Entry<NamespacedInstanceId, MachineState>> pending = new ArrayList<>(machineStates.entrySet());
+        while (!pending.isEmpty()) {
+            try {
+                List<CuratorOp> operations = new ArrayList<>(pending.size());
+                for (Map.Entry<NamespacedInstanceId, MachineState> entry : pending) {
+                    String instancePath = getInstancePath(entry.getKey().getNamespace(), entry.getKey().getInstanceId().getInstanceId());
+                    operations.add(curatorFramework.transactionOp().setData().forPath(instancePath, entry.getValue().toStateString().getBytes(StandardCharsets.UTF_8)));
+                }
+                curatorFramework.transaction().forOperations(operations);
+                return failures;
+            } catch (KeeperException keeperException) {
+                int lostIdx = getNoNodeIdx(keeperException);
+                if (lostIdx < 0) {
+                    putFailures(failures, pending, new CosIdException(keeperException.getMessage(), keeperException));
+                    return failures;
+                }
+                Map.Entry<NamespacedInstanceId, MachineState> lost = pending.remove(lostIdx);
+                NamespacedInstanceId namespacedInstanceId = lost.getKey();
+                failures.put(namespacedInstanceId, new MachineIdLostException(namespacedInstanceId.getNamespace(), namespacedInstanceId.getInstanceId(), lost.getValue()));
+            } catch (RuntimeException | Error runtimeException) {
+                putFailures(failures, pending, runtimeException);
+                return failures;
+            } catch (Exception exception) {
+                putFailures(failures, pending, new CosIdException(exception.getMessage(), exception));
+                return failures;
+            }
+        }
+        return failures;
+    }
+    
+    private static int getNoNodeIdx(KeeperException keeperException) {
+        List<OpResult> results = keeperException.getResults();
+        if (null == results) {
+            return -1;
+        }
+        for (int i = 0; i < results.size(); i++) {
+            OpResult result = results.get(i);
+            if (result instanceof OpResult.ErrorResult && KeeperException.Code.NONODE.intValue() == ((OpResult.ErrorResult) result).getErr()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static void putFailures(Map<NamespacedInstanceId, Throwable> failures, List<Map.Entry<NamespacedInstanceId, MachineState>> pending, Throwable throwable) {
+        for (Map.Entry<NamespacedInstanceId, MachineState> entry : pending) {
+            failures.put(entry.getKey(), throwable);
+        }
+    }
+    
     private void revertTemporary(String namespace, String instanceId, MachineState machineState) {
         String revertMachinePath = getRevertMachinePath(namespace, machineState.getMachineId());
         String instancePath = getInstancePath(namespace, instanceId);
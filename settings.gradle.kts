@@ -28,6 +28,7 @@ include(":cosid-test")
 include(":cosid-proxy")
 include(":cosid-proxy-server")
 include(":cosid-axon")
+include(":cosid-micrometer")
 
 include("cosid-example")
 project(":cosid-example").projectDir = file("examples/cosid-example")